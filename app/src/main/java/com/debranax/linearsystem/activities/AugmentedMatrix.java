@@ -3,31 +3,44 @@ package com.debranax.linearsystem.activities;
 import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
+import androidx.lifecycle.ViewModelProvider;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
+import android.content.ClipData;
+import android.content.ClipboardManager;
 import android.content.Intent;
 import android.os.Bundle;
-import android.text.*;
 import android.view.*;
-import android.widget.EditText;
-import android.widget.TableLayout;
-import android.widget.TableRow;
+import android.widget.ProgressBar;
 import android.widget.Toast;
 
 import com.debranax.linearsystem.R;
+import com.debranax.linearsystem.adapters.AugmentedMatrixAdapter;
 import com.debranax.linearsystem.databinding.*;
 import com.debranax.linearsystem.math.LinearSystemInfo;
-import com.debranax.linearsystem.math.LinearSystemsSolver;
+import com.debranax.linearsystem.math.LinearSystemUtils;
+import com.debranax.linearsystem.math.SolverCheckpoint;
+import com.debranax.linearsystem.math.SolverOptions;
+import com.debranax.linearsystem.storage.DraftStore;
+import com.debranax.linearsystem.storage.HistoryStore;
 import com.debranax.linearsystem.utils.*;
 
-import java.io.*;
-import java.math.BigDecimal;
+import java.io.File;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
-public class AugmentedMatrix extends AppCompatActivity implements TextWatcher, View.OnFocusChangeListener {
+public class AugmentedMatrix extends AppCompatActivity implements AugmentedMatrixViewModel.SolveListener {
 
-    private TableLayout tableLayout;
+    private RecyclerView recyclerView;
+    private AugmentedMatrixAdapter adapter;
     private ActivityAugmentedMatrixBinding binding;
     private int unknowns;
-    private String beforeNumber = "";
+    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+    private ProgressBar progressBar;
+    private AugmentedMatrixViewModel viewModel;
+    private DraftStore draftStore;
+    private HistoryStore historyStore;
 
     /**
      * Actions when activity is created
@@ -35,7 +48,7 @@ public class AugmentedMatrix extends AppCompatActivity implements TextWatcher, V
      */
     @Override
     protected void onCreate(Bundle savedInstanceState) {
-        String[][] savedMatrix = null;
+        AugmentedMatrixModel model;
         super.onCreate(savedInstanceState);
         binding = ActivityAugmentedMatrixBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
@@ -49,14 +62,41 @@ public class AugmentedMatrix extends AppCompatActivity implements TextWatcher, V
             Toast.makeText(this, getString(R.string.missing_argument_results), Toast.LENGTH_LONG).show();
             return;
         }
-        tableLayout = binding.tableLayoutAugmentedMatrix;
-        if (savedInstanceState != null) {
-            Serializable serializable = savedInstanceState.getSerializable(Constants.SAVE_STATE_AUGMENTED_MATRIX);
-            if (serializable != null) {
-                savedMatrix = (String[][]) serializable;
+        recyclerView = binding.recyclerViewAugmentedMatrix;
+        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        recyclerView.setHasFixedSize(true);
+        recyclerView.setItemAnimator(null);
+        progressBar = binding.progressBarSolve;
+        draftStore = DraftStore.getInstance(this);
+        historyStore = HistoryStore.getInstance(this);
+        viewModel = new ViewModelProvider(this).get(AugmentedMatrixViewModel.class);
+        model = viewModel.getModel();
+        if (model == null) {
+            model = getInitialModel(savedInstanceState);
+        }
+        processMatrixGrid(model);
+        //A solve started before the activity was recreated continues
+        viewModel.setSolveListener(this);
+    }
+
+    /**
+     * Get the model when the activity is created without a previous model in the ViewModel, if the
+     * activity is restored (e.g. the process was killed) or opened from the history the saved draft
+     * is loaded lazily
+     * @param savedInstanceState Saved Instance State Bundle
+     * @return Model of the augmented matrix
+     */
+    private AugmentedMatrixModel getInitialModel(final Bundle savedInstanceState) {
+        boolean loadDraft = getIntent().getBooleanExtra(Constants.LOAD_DRAFT, false);
+        if (loadDraft || (savedInstanceState != null
+                && savedInstanceState.getBoolean(Constants.SAVE_STATE_AUGMENTED_MATRIX))) {
+            int draftUnknowns = draftStore.getUnknowns();
+            if (draftUnknowns > 0) {
+                unknowns = draftUnknowns;
+                return new AugmentedMatrixModel(unknowns, draftStore);
             }
         }
-        processTableLayout(savedMatrix);
+        return new AugmentedMatrixModel(unknowns);
     }
 
     /**
@@ -70,6 +110,17 @@ public class AugmentedMatrix extends AppCompatActivity implements TextWatcher, V
         return true;
     }
 
+    /**
+     * Check the complex input if it is enabled
+     * @param menu Menu to prepare
+     * @return true
+     */
+    @Override
+    public boolean onPrepareOptionsMenu(Menu menu) {
+        menu.findItem(R.id.complex_item).setChecked(adapter != null && adapter.getModel().isComplexInput());
+        return super.onPrepareOptionsMenu(menu);
+    }
+
     /**
      *  Action when an option menu is selected
      * @param item Item selected
@@ -78,163 +129,190 @@ public class AugmentedMatrix extends AppCompatActivity implements TextWatcher, V
     @Override
     public boolean onOptionsItemSelected(@NonNull MenuItem item) {
         if (item.getItemId() == R.id.solve_item) {
-            solve();
+            if (!viewModel.isSolving()) {
+                solve();
+            }
+            return true;
+        }
+        if (item.getItemId() == R.id.paste_item) {
+            pasteMatrix();
+            return true;
+        }
+        if (item.getItemId() == R.id.complex_item) {
+            if (adapter != null) {
+                adapter.setComplexInput(!adapter.getModel().isComplexInput());
+            }
             return true;
         }
         return super.onOptionsItemSelected(item);
     }
 
     /**
-     * Save the current values in the view (augmented matrix)
+     * If the linear system is being solved the solve is cancelled, otherwise default parent action
+     */
+    @Override
+    public void onBackPressed() {
+        if (viewModel != null && viewModel.isSolving()) {
+            viewModel.cancelSolve();
+            return;
+        }
+        super.onBackPressed();
+    }
+
+    /**
+     * Save the cells changed since the last save in the draft
+     */
+    @Override
+    protected void onPause() {
+        if (viewModel != null) {
+            viewModel.saveDraft(draftStore);
+        }
+        super.onPause();
+    }
+
+    /**
+     * Release the background thread used to parse the pasted matrix, the solve in progress is kept in the
+     * ViewModel and it is only cancelled when the activity finishes (see {@link AugmentedMatrixViewModel})
+     */
+    @Override
+    protected void onDestroy() {
+        executorService.shutdownNow();
+        if (viewModel != null) {
+            viewModel.setSolveListener(null);
+        }
+        super.onDestroy();
+    }
+
+    /**
+     * Only a flag is saved, the values of the augmented matrix are kept in the ViewModel
+     * (e.g. device rotated) and in the draft (e.g. process killed)
      * @param outState Bundle where state is saved
      */
     @Override
     protected void onSaveInstanceState(@NonNull Bundle outState) {
-        String[][] savedMatrix = new String[unknowns][unknowns + 1];
-        Utils.fillAugmentedMatrix(savedMatrix, tableLayout);
         super.onSaveInstanceState(outState);
-        outState.putSerializable(Constants.SAVE_STATE_AUGMENTED_MATRIX, savedMatrix);
-    }
-
-    /**
-     * Set the information in the TableLayout based on the matrix pass as an argument
-     * e.g when the device is rotated the view is recreated but the data is saved and
-     * "restore" this information in the view
-     * @param savedMatrix Augmented matrix where values are read
-     */
-    private void processTableLayout(String[][] savedMatrix) {
-        final String VAR_VALUE = "X";
-        final String A_VALUE = "a";
-        for (int row = 0; row < unknowns; row++) {
-            TableRow tableRow = new TableRow(this);
-            TableRow.LayoutParams layoutParams = new TableRow.LayoutParams(TableRow.LayoutParams.MATCH_PARENT);
-            tableRow.setLayoutParams(layoutParams);
-            for (int column = 0; column < unknowns; column++) {
-                EditText editText = this.getEditTextSystem(VAR_VALUE, row, column,
-                        unknowns, savedMatrix);
-                tableRow.addView(editText);
-            }
-            EditText editText = this.getEditTextSystem(A_VALUE, row, unknowns,
-                    unknowns, savedMatrix);
-            tableRow.addView(editText);
-            tableLayout.addView(tableRow);
-        }
-        tableLayout.setBackgroundResource(R.drawable.table_border);
+        outState.putBoolean(Constants.SAVE_STATE_AUGMENTED_MATRIX, viewModel != null);
     }
 
     /**
-     * Create an EditText instance to put it in the TableLayout
-     * @param var Hint value show in the EditText
-     * @param row Row of the augmented matrix
-     * @param column Column of the augmented matrix
-     * @param totalColumns Total of columns of the augmented matrix
-     * @param savedMatrix Augmented matrix
-     * @return EditText instance
+     * Show the augmented matrix in the grid, only the visible cells are created as views
+     * @param model Model with the values of the augmented matrix
      */
-    private EditText getEditTextSystem(final String var, final int row, final int column,
-                                       final int totalColumns,
-                                       final String[][] savedMatrix) {
-        EditText editText = new EditText(this);
-        int columnHint = totalColumns == column ? row + 1 : column + 1;
-        editText.setKeyListener(FractionalNumberKeyListener.getInstance());
-        editText.setWidth(Constants.WIDTH_EDIT_TEXT_AUGMENTED);
-        editText.setMinWidth(Constants.WIDTH_EDIT_TEXT_AUGMENTED);
-        editText.setGravity(Gravity.CENTER_HORIZONTAL);
-        editText.setHint(var + columnHint);
-        editText.setFilters(new InputFilter.LengthFilter[]{
-                new InputFilter.LengthFilter(Constants.MAX_TEXT_LENGTH)});
-        if (savedMatrix != null && savedMatrix[row][column] != null) {
-            editText.setText(savedMatrix[row][column]);
-        }
-        editText.addTextChangedListener(this);
-        editText.setOnFocusChangeListener(this);
-        return editText;
+    private void processMatrixGrid(final AugmentedMatrixModel model) {
+        unknowns = model.getUnknowns();
+        viewModel.setModel(model);
+        adapter = new AugmentedMatrixAdapter(model);
+        recyclerView.setAdapter(adapter);
     }
 
     /**
-     * Validate the values of the augmented matrix and if it is OK solve the linear system
+     * Read the augmented matrix from the clipboard, the text is parsed and validated in a background
+     * thread and the grid is rebuilt with the size of the pasted system
      */
-    private void solve() {
-        BigDecimal[][] matrix = new BigDecimal[unknowns][unknowns + 1];
-        LinearSystemInfo linearSystemInfo;
-        Intent intent;
-        boolean validation;
-        Utils.ValidationResult validationResult = Utils.fillAugmentedMatrix(matrix, tableLayout);
-        if (validationResult == Utils.ValidationResult.Empty) {
-            Toast.makeText(AugmentedMatrix.this,
-                    getString(R.string.empty_field_augmented), Toast.LENGTH_LONG).show();
+    private void pasteMatrix() {
+        ClipboardManager clipboard = (ClipboardManager) getSystemService(CLIPBOARD_SERVICE);
+        ClipData clip = clipboard != null ? clipboard.getPrimaryClip() : null;
+        if (clip == null || clip.getItemCount() == 0) {
+            Toast.makeText(this, getString(R.string.empty_clipboard_augmented), Toast.LENGTH_LONG).show();
             return;
         }
-        if (validationResult == Utils.ValidationResult.InvalidNumber) {
-            Toast.makeText(AugmentedMatrix.this,
-                    getString(R.string.invalid_field_augmented), Toast.LENGTH_LONG).show();
+        final String text = clip.getItemAt(0).coerceToText(this).toString();
+        final int maxUnknowns = Utils.getMaxUnknowns(this);
+        executorService.execute(() -> {
+            final MatrixTextParser.ParseResult parseResult = MatrixTextParser.parse(text,
+                    Constants.MIN_UNKNOWNS, maxUnknowns);
+            runOnUiThread(() -> processPastedMatrix(parseResult));
+        });
+    }
+
+    /**
+     * Show the pasted matrix in the grid or the first invalid cell found
+     * @param parseResult Result of parsing the text of the clipboard
+     */
+    private void processPastedMatrix(final MatrixTextParser.ParseResult parseResult) {
+        if (isFinishing() || isDestroyed()) {
             return;
         }
-        validation = Utils.isZeroMatrix(matrix);
-        if (validation) {
-            Toast.makeText(AugmentedMatrix.this,
-                    getString(R.string.zero_matrix_validation_augmented), Toast.LENGTH_LONG).show();
+        if (!parseResult.isValid()) {
+            int message = R.string.invalid_cell_paste_augmented;
+            if (parseResult.getValidationResult() == Utils.ValidationResult.Empty) {
+                message = R.string.empty_cell_paste_augmented;
+            } else if (parseResult.getValidationResult() == Utils.ValidationResult.InvalidSize) {
+                message = R.string.invalid_size_paste_augmented;
+            }
+            Toast.makeText(this, getString(message, parseResult.getRow(), parseResult.getColumn(),
+                    Constants.MIN_UNKNOWNS, Utils.getMaxUnknowns(this)), Toast.LENGTH_LONG).show();
             return;
         }
-        linearSystemInfo = LinearSystemsSolver.solve(matrix);
-        intent = new Intent(AugmentedMatrix.this, Results.class);
-        intent.putExtra(Constants.LINEAR_SYSTEM_INFO, linearSystemInfo);
-        startActivity(intent);
+        getIntent().putExtra(Constants.UNKNOWNS, parseResult.getUnknowns());
+        getIntent().removeExtra(Constants.LOAD_DRAFT);
+        //The values were already validated and converted by the parser
+        processMatrixGrid(new AugmentedMatrixModel(parseResult.getCells(), parseResult.getMatrix()));
     }
 
     /**
-     * Method required as part of the interface OnFocusChangeListener. NOT USED
-     * @param s
-     * @param start
-     * @param count
-     * @param after
+     * Solve the linear system, the values are validated, converted and analyzed in the background (see
+     * {@link AugmentedMatrixViewModel#solve(android.content.Context, AugmentedMatrixModel, SolverOptions, HistoryStore)})
      */
-    @Override
-    public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+    private void solve() {
+        final SolverOptions options = new SolverOptions();
+        progressBar.setProgress(0);
+        progressBar.setVisibility(View.VISIBLE);
+        options.setTimeBudgetMillis(Constants.SOLVE_TIME_BUDGET_MILLIS);
+        options.setVerificationEnabled(true);
+        //A solve stopped by the time budget or killed with the process continues the next time, a small
+        //system finishes long before its first checkpoint would be written
+        if (adapter.getModel().getUnknowns() >= Constants.MIN_CHECKPOINT_UNKNOWNS) {
+            options.setCheckpoint(new SolverCheckpoint(new File(getCacheDir(), Constants.CHECKPOINT_FILE_NAME)));
+        }
+        viewModel.solve(this, adapter.getModel(), options, historyStore);
     }
 
     /**
-     * Method required as part of the interface OnFocusChangeListener. NOT USED
-     * @param s
-     * @param start
-     * @param before
-     * @param count
+     * Show the first invalid cell of the augmented matrix (if any) and its message
+     * @param message Message of the validation
+     * @param row Row of the invalid cell, -1 if the whole matrix is invalid
+     * @param column Column of the invalid cell, -1 if the whole matrix is invalid
      */
     @Override
-    public void onTextChanged(CharSequence s, int start, int before, int count) {
+    public void onSolveRejected(final int message, final int row, final int column) {
+        progressBar.setVisibility(View.GONE);
+        if (row >= 0) {
+            recyclerView.scrollToPosition(row);
+            adapter.scrollToColumn(column);
+        }
+        Toast.makeText(AugmentedMatrix.this, getString(message), Toast.LENGTH_LONG).show();
     }
 
     /**
-     * Action after Text changed of the Editable used to captured the augmented matrix
-     * @param s Editable used to captured the augmented matrix
+     * Show the progress of the solve, also called when the activity is recreated during a solve
+     * @param eliminatedColumns Columns eliminated so far
+     * @param totalColumns Total columns to eliminate
      */
     @Override
-    public void afterTextChanged(Editable s) {
-        boolean isValidNumber = Utils.isWritingValidNumber(s.toString());
-        if (!isValidNumber) {
-            s.replace(0, s.length(), beforeNumber);
-        }
-        beforeNumber = s.toString();
+    public void onSolveProgress(final int eliminatedColumns, final int totalColumns) {
+        progressBar.setVisibility(View.VISIBLE);
+        progressBar.setMax(totalColumns);
+        progressBar.setProgress(eliminatedColumns);
     }
 
     /**
-     * Action after focus changed , is applied to EditText where the user capture the augmented matrix
-     * @param v View (EditText where the user capture the augmented matrix)
-     * @param hasFocus True if has focus
+     * Show the results of the linear system, if the solve was cancelled by the user only a message is displayed
+     * @param linearSystemInfo Result of the solver
      */
     @Override
-    public void onFocusChange(View v, boolean hasFocus) {
-        EditText editText = (EditText) v;
-        if (hasFocus) {
-            beforeNumber = editText.getText().toString().trim();
+    public void onSolveFinished(final LinearSystemInfo linearSystemInfo) {
+        Intent intent;
+        progressBar.setVisibility(View.GONE);
+        if (isFinishing()) {
             return;
         }
-        String number = editText.getText().toString().trim();
-        if (number.length() >= 2 && number.startsWith(".")) {
-            number = "0" + number;
-        } else if (number.length() >= 2 && number.endsWith(".")) {
-            number = number.substring(0, 1);
+        if (linearSystemInfo.getStatusCode() == LinearSystemUtils.StatusCode.CANCELLED.getStatusCodeVal()) {
+            Toast.makeText(this, getString(R.string.cancelled_solve_augmented), Toast.LENGTH_SHORT).show();
+            return;
         }
-        editText.setText(number);
+        intent = new Intent(AugmentedMatrix.this, Results.class);
+        ResultStore.putExtra(this, intent, linearSystemInfo);
+        startActivity(intent);
     }
 }
\ No newline at end of file
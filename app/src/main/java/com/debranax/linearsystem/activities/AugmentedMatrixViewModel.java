@@ -0,0 +1,315 @@
+package com.debranax.linearsystem.activities;
+
+import android.content.Context;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.StringRes;
+import androidx.lifecycle.ViewModel;
+
+import com.debranax.linearsystem.R;
+import com.debranax.linearsystem.math.AsyncLinearSystemsSolver;
+import com.debranax.linearsystem.math.CancellationToken;
+import com.debranax.linearsystem.math.ComplexMatrix;
+import com.debranax.linearsystem.math.LinearSystemInfo;
+import com.debranax.linearsystem.math.LinearSystemUtils;
+import com.debranax.linearsystem.math.MatrixAnalyzer;
+import com.debranax.linearsystem.math.MatrixStructure;
+import com.debranax.linearsystem.math.SolverOptions;
+import com.debranax.linearsystem.service.SolverServiceClient;
+import com.debranax.linearsystem.storage.DraftStore;
+import com.debranax.linearsystem.storage.HistoryStore;
+import com.debranax.linearsystem.utils.AugmentedMatrixModel;
+import com.debranax.linearsystem.utils.Utils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Keep the model of the augmented matrix while the activity is recreated (e.g. device rotated) and
+ * save the changes of the draft in a background thread. The solve in progress is also kept here, the
+ * recreated activity attaches its {@link SolveListener} and receives the last progress and the result
+ * (if it arrived while there was no activity). The solve is cancelled only when the activity finishes.
+ */
+public class AugmentedMatrixViewModel extends ViewModel {
+
+    public interface SolveListener {
+        /**
+         * Called in the UI thread with the progress of the solve
+         * @param eliminatedColumns Columns eliminated so far
+         * @param totalColumns Total columns to eliminate
+         */
+        void onSolveProgress(int eliminatedColumns, int totalColumns);
+
+        /**
+         * Called in the UI thread when the solve finishes (solved, interrupted or error)
+         * @param linearSystemInfo Result of the solver or of the history
+         */
+        void onSolveFinished(LinearSystemInfo linearSystemInfo);
+
+        /**
+         * Called in the UI thread when the augmented matrix is not valid, nothing is solved
+         * @param message String resource of the message
+         * @param row Row of the first invalid cell, -1 if the whole matrix is invalid (e.g. zero matrix)
+         * @param column Column of the first invalid cell, -1 if the whole matrix is invalid
+         */
+        void onSolveRejected(@StringRes int message, int row, int column);
+    }
+
+    private final ExecutorService draftExecutor = Executors.newSingleThreadExecutor();
+    private final ExecutorService solveExecutor = Executors.newSingleThreadExecutor();
+    private final AsyncLinearSystemsSolver asyncSolver = new AsyncLinearSystemsSolver();
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private AugmentedMatrixModel model;
+    private SolverServiceClient solverClient;
+    private SolveListener solveListener;
+    private CancellationToken cancellationToken;
+    private int eliminatedColumns;
+    private int totalColumns;
+    private LinearSystemInfo pendingResult;
+
+    public AugmentedMatrixModel getModel() {
+        return model;
+    }
+
+    public void setModel(AugmentedMatrixModel model) {
+        this.model = model;
+    }
+
+    /**
+     * Save the cells changed since the last save
+     * @param draftStore Store where the draft is saved
+     */
+    public void saveDraft(final DraftStore draftStore) {
+        if (model == null) {
+            return;
+        }
+        final AugmentedMatrixModel.Changes changes = model.takeChanges();
+        if (!changes.isEmpty()) {
+            draftExecutor.execute(() -> draftStore.write(changes));
+        }
+    }
+
+    /**
+     * Attach the listener of the activity, if a solve is in progress its last progress is sent and if
+     * it finished without an activity the result is sent
+     * @param solveListener Listener of the activity, null to detach it (e.g. the activity is destroyed)
+     */
+    public void setSolveListener(final SolveListener solveListener) {
+        this.solveListener = solveListener;
+        if (solveListener == null) {
+            return;
+        }
+        if (pendingResult != null) {
+            LinearSystemInfo linearSystemInfo = pendingResult;
+            pendingResult = null;
+            solveListener.onSolveFinished(linearSystemInfo);
+        } else if (cancellationToken != null) {
+            solveListener.onSolveProgress(eliminatedColumns, totalColumns);
+        }
+    }
+
+    /**
+     * @return True if a solve is in progress or its result was not delivered yet
+     */
+    public boolean isSolving() {
+        return cancellationToken != null;
+    }
+
+    /**
+     * Cancel the solve in progress
+     */
+    public void cancelSolve() {
+        if (cancellationToken != null) {
+            cancellationToken.cancel();
+        }
+    }
+
+    /**
+     * Validate, convert and analyze the values of the model in the background and solve the linear system,
+     * a system with complex values is solved by {@link #solveComplex(AugmentedMatrixModel, SolverOptions)}.
+     * The history is checked first and the result is saved in it. It is solved in the solver process when
+     * the device supports it, otherwise in this process
+     * @param context Context of the activity, only its application context is kept
+     * @param model Model with the values of the augmented matrix
+     * @param options Options of the solver, the cancellation token, the progress listener and the matrix
+     *                structure are set here
+     * @param historyStore History of solved systems
+     */
+    public void solve(final Context context, final AugmentedMatrixModel model, final SolverOptions options,
+                      final HistoryStore historyStore) {
+        startSolve(options);
+        //The shared memory used to transfer the matrix to the solver process needs API 27
+        if (solverClient == null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.O_MR1) {
+            solverClient = new SolverServiceClient(context.getApplicationContext());
+        }
+        solveExecutor.execute(() -> {
+            final int unknowns = model.getUnknowns();
+            final BigDecimal[][] matrix = new BigDecimal[unknowns][unknowns + 1];
+            if (model.isComplex()) {
+                solveComplex(model, options);
+                return;
+            }
+            if (!isValidMatrix(model, model.fillAugmentedMatrix(matrix))) {
+                return;
+            }
+            MatrixStructure structure = MatrixAnalyzer.analyze(matrix);
+            if (structure.isZero()) {
+                postRejected(R.string.zero_matrix_validation_augmented, -1, -1);
+                return;
+            }
+            options.setMatrixStructure(structure);
+            //The last use of a saved system is already updated by get
+            LinearSystemInfo linearSystemInfo = historyStore.get(matrix);
+            if (linearSystemInfo != null) {
+                postResult(linearSystemInfo);
+                return;
+            }
+            linearSystemInfo = historyStore.solveWithFactorization(matrix, options);
+            if (linearSystemInfo != null) {
+                postResult(linearSystemInfo);
+                saveHistory(historyStore, matrix, linearSystemInfo);
+                return;
+            }
+            AsyncLinearSystemsSolver.Callback callback = solvedSystemInfo -> {
+                postResult(solvedSystemInfo);
+                saveHistory(historyStore, matrix, solvedSystemInfo);
+            };
+            if (solverClient != null) {
+                solverClient.solve(matrix, options, callback);
+            } else {
+                asyncSolver.solve(matrix, options, callback);
+            }
+        });
+    }
+
+    /**
+     * Validate and solve the complex linear system in this process (called in the solve executor), the
+     * complex systems are not saved in the history
+     * @param model Model with the values of the augmented matrix
+     * @param options Options of the solve, only the cancellation token, the progress listener and the
+     *                time budget are used
+     */
+    private void solveComplex(final AugmentedMatrixModel model, final SolverOptions options) {
+        final int unknowns = model.getUnknowns();
+        final BigDecimal[][] matrix = new BigDecimal[unknowns][unknowns + 1];
+        final BigDecimal[][] imaginaryMatrix = new BigDecimal[unknowns][unknowns + 1];
+        final SolverOptions complexOptions = new SolverOptions();
+        if (!isValidMatrix(model, model.fillAugmentedMatrix(matrix, imaginaryMatrix))) {
+            return;
+        }
+        complexOptions.setCancellationToken(options.getCancellationToken());
+        complexOptions.setProgressListener(options.getProgressListener());
+        complexOptions.setTimeBudgetMillis(options.getTimeBudgetMillis());
+        asyncSolver.solve(ComplexMatrix.fromParts(matrix, imaginaryMatrix), complexOptions, this::postResult);
+    }
+
+    /**
+     * Post the first invalid cell of the augmented matrix (if any) to the activity
+     * @param model Model with the values of the augmented matrix
+     * @param validationResult Result of filling the augmented matrix
+     * @return True if the augmented matrix is valid
+     */
+    private boolean isValidMatrix(final AugmentedMatrixModel model, final Utils.ValidationResult validationResult) {
+        if (validationResult == Utils.ValidationResult.Empty) {
+            postRejected(R.string.empty_field_augmented, model.getInvalidRow(), model.getInvalidColumn());
+            return false;
+        }
+        if (validationResult == Utils.ValidationResult.InvalidNumber) {
+            postRejected(R.string.invalid_field_augmented, model.getInvalidRow(), model.getInvalidColumn());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Start tracking a new solve
+     * @param options Options of the solver
+     */
+    private void startSolve(final SolverOptions options) {
+        cancellationToken = new CancellationToken();
+        eliminatedColumns = 0;
+        totalColumns = 0;
+        pendingResult = null;
+        options.setCancellationToken(cancellationToken);
+        options.setProgressListener((eliminated, total) -> handler.post(() -> {
+            eliminatedColumns = eliminated;
+            totalColumns = total;
+            if (solveListener != null && cancellationToken != null) {
+                solveListener.onSolveProgress(eliminated, total);
+            }
+        }));
+    }
+
+    /**
+     * Deliver the result in the UI thread, it is kept until an activity is attached
+     * @param linearSystemInfo Result of the solver or of the history
+     */
+    private void postResult(final LinearSystemInfo linearSystemInfo) {
+        handler.post(() -> {
+            cancellationToken = null;
+            if (solveListener != null) {
+                solveListener.onSolveFinished(linearSystemInfo);
+            } else {
+                pendingResult = linearSystemInfo;
+            }
+        });
+    }
+
+    /**
+     * Deliver the validation error in the UI thread, it is discarded if there is no activity attached
+     * @param message String resource of the message
+     * @param row Row of the first invalid cell or -1
+     * @param column Column of the first invalid cell or -1
+     */
+    private void postRejected(@StringRes final int message, final int row, final int column) {
+        handler.post(() -> {
+            cancellationToken = null;
+            if (solveListener != null) {
+                solveListener.onSolveRejected(message, row, column);
+            }
+        });
+    }
+
+    /**
+     * Save the result in the history after it is shown, a result that depends on the device (cancelled
+     * or out of time) is not saved
+     * @param historyStore History of solved systems
+     * @param matrix Augmented matrix captured by the user
+     * @param linearSystemInfo Result of the solver or of the history
+     */
+    private static void saveHistory(final HistoryStore historyStore, final BigDecimal[][] matrix,
+                                    final LinearSystemInfo linearSystemInfo) {
+        int statusCode = linearSystemInfo.getStatusCode();
+        if (statusCode == LinearSystemUtils.StatusCode.CANCELLED.getStatusCodeVal()
+                || statusCode == LinearSystemUtils.StatusCode.TIME_BUDGET_EXCEEDED.getStatusCodeVal()
+                || statusCode == LinearSystemUtils.StatusCode.UNEXPECTED_ERROR.getStatusCodeVal()) {
+            return;
+        }
+        try {
+            historyStore.add(matrix, linearSystemInfo);
+        } catch (IOException e) {
+            //The history is optional, the result is shown anyway
+        }
+    }
+
+    /**
+     * The activity finished, the solve in progress is cancelled and pending saves are finished before
+     * the executors end
+     */
+    @Override
+    protected void onCleared() {
+        cancelSolve();
+        solveListener = null;
+        handler.removeCallbacksAndMessages(null);
+        draftExecutor.shutdown();
+        solveExecutor.shutdown();
+        asyncSolver.shutdown();
+        if (solverClient != null) {
+            solverClient.unbind();
+        }
+    }
+}
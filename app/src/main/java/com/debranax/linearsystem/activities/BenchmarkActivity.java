@@ -0,0 +1,142 @@
+package com.debranax.linearsystem.activities;
+
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.appcompat.widget.Toolbar;
+import androidx.lifecycle.ViewModelProvider;
+
+import android.os.Bundle;
+import android.view.View;
+import android.widget.Toast;
+
+import com.debranax.linearsystem.R;
+import com.debranax.linearsystem.databinding.*;
+import com.debranax.linearsystem.math.SolverBenchmark;
+import com.debranax.linearsystem.utils.Constants;
+import com.debranax.linearsystem.utils.Utils;
+
+import java.util.List;
+
+/**
+ * Latency and memory of every engine on this device, the maximum unknowns suggested by the benchmark
+ * replaces {@link Constants#MAX_UNKNOWNS_DEFAULT} when it is applied. The benchmark runs in
+ * {@link BenchmarkViewModel} so it continues when the activity is recreated
+ */
+public class BenchmarkActivity extends AppCompatActivity implements BenchmarkViewModel.BenchmarkListener {
+    private static final double NANOS_PER_MILLI = 1000000d;
+    private static final int BYTES_PER_KB = 1024;
+    private ActivityBenchmarkBinding binding;
+    private BenchmarkViewModel viewModel;
+    private int suggestedMaxUnknowns;
+
+    /**
+     * Actions when activity is created
+     * @param savedInstanceState Saved Instance State Bundle
+     */
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        binding = ActivityBenchmarkBinding.inflate(getLayoutInflater());
+        setContentView(binding.getRoot());
+
+        Toolbar toolbar = binding.toolbar.getRoot();
+        setSupportActionBar(toolbar);
+        Utils.setActionBar(getSupportActionBar(), null);
+        binding.textViewMessage.setText(getString(R.string.hint_benchmark, Utils.getMaxUnknowns(this)));
+        binding.buttonRun.setOnClickListener(v -> runBenchmark());
+        binding.buttonCancel.setOnClickListener(v -> viewModel.cancel());
+        binding.buttonApply.setOnClickListener(v -> applySuggestion());
+        viewModel = new ViewModelProvider(this).get(BenchmarkViewModel.class);
+        //A benchmark started before the activity was recreated continues
+        viewModel.setBenchmarkListener(this);
+    }
+
+    /**
+     * The benchmark in progress is kept in the ViewModel, it is only cancelled when the activity finishes
+     */
+    @Override
+    protected void onDestroy() {
+        viewModel.setBenchmarkListener(null);
+        super.onDestroy();
+    }
+
+    /**
+     * If the benchmark is running it is cancelled, otherwise default parent action
+     */
+    @Override
+    public void onBackPressed() {
+        if (viewModel.isRunning()) {
+            viewModel.cancel();
+            return;
+        }
+        super.onBackPressed();
+    }
+
+    /**
+     * Run the standard benchmark, the progress is shown by case
+     */
+    private void runBenchmark() {
+        binding.textViewResults.setText("");
+        viewModel.run();
+        onBenchmarkProgress(0, 0);
+    }
+
+    /**
+     * Show the progress of the benchmark, also called when the activity is recreated while it runs
+     * @param completedCases Cases measured so far
+     * @param totalCases Total cases of the benchmark
+     */
+    @Override
+    public void onBenchmarkProgress(final int completedCases, final int totalCases) {
+        binding.buttonRun.setVisibility(View.GONE);
+        binding.buttonCancel.setVisibility(View.VISIBLE);
+        binding.buttonApply.setEnabled(false);
+        binding.textViewMessage.setText(getString(R.string.running_benchmark));
+        binding.progressBarBenchmark.setVisibility(View.VISIBLE);
+        binding.progressBarBenchmark.setMax(totalCases);
+        binding.progressBarBenchmark.setProgress(completedCases);
+    }
+
+    /**
+     * Show the results, the suggestion can be applied if it is not the current maximum
+     * @param results Results of every case
+     * @param suggestion Maximum unknowns suggested for this device
+     */
+    @Override
+    public void onBenchmarkFinished(final List<SolverBenchmark.Result> results, final int suggestion) {
+        StringBuilder text = new StringBuilder();
+        for (SolverBenchmark.Result result : results) {
+            text.append(getString(R.string.result_benchmark, result.getFamily().name(), result.getSize(),
+                    result.getEngine().name(), result.getMedianNanos() / NANOS_PER_MILLI,
+                    result.getP95Nanos() / NANOS_PER_MILLI, result.getMemoryBytes() / BYTES_PER_KB)).append('\n');
+        }
+        suggestedMaxUnknowns = suggestion;
+        binding.textViewResults.setText(text);
+        binding.textViewMessage.setText(getString(R.string.suggestion_benchmark, suggestion,
+                Utils.getMaxUnknowns(this)));
+        showControls();
+        binding.buttonApply.setEnabled(suggestion != Utils.getMaxUnknowns(this));
+    }
+
+    /**
+     * The benchmark was cancelled, the controls are restored without a suggestion
+     */
+    @Override
+    public void onBenchmarkCancelled() {
+        binding.textViewMessage.setText(getString(R.string.hint_benchmark, Utils.getMaxUnknowns(this)));
+        showControls();
+        Toast.makeText(this, getString(R.string.cancelled_benchmark), Toast.LENGTH_SHORT).show();
+    }
+
+    private void showControls() {
+        binding.progressBarBenchmark.setVisibility(View.GONE);
+        binding.buttonCancel.setVisibility(View.GONE);
+        binding.buttonRun.setVisibility(View.VISIBLE);
+    }
+
+    private void applySuggestion() {
+        Utils.setMaxUnknowns(this, suggestedMaxUnknowns);
+        binding.buttonApply.setEnabled(false);
+        binding.textViewMessage.setText(getString(R.string.hint_benchmark, suggestedMaxUnknowns));
+        Toast.makeText(this, getString(R.string.applied_benchmark, suggestedMaxUnknowns), Toast.LENGTH_SHORT).show();
+    }
+}
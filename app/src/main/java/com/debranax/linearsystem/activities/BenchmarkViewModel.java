@@ -0,0 +1,150 @@
+package com.debranax.linearsystem.activities;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.lifecycle.ViewModel;
+
+import com.debranax.linearsystem.math.CancellationToken;
+import com.debranax.linearsystem.math.SolverBenchmark;
+import com.debranax.linearsystem.utils.Constants;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keep the benchmark in progress and its last results while the activity is recreated (e.g. device
+ * rotated), the recreated activity attaches its {@link BenchmarkListener} and receives the last progress
+ * or the results. The benchmark is cancelled by the user or when the activity finishes.
+ */
+public class BenchmarkViewModel extends ViewModel {
+
+    public interface BenchmarkListener {
+        /**
+         * Called in the UI thread with the progress of the benchmark
+         * @param completedCases Cases measured so far
+         * @param totalCases Total cases of the benchmark
+         */
+        void onBenchmarkProgress(int completedCases, int totalCases);
+
+        /**
+         * Called in the UI thread when the benchmark finishes and when an activity is attached after it
+         * @param results Results of every case
+         * @param suggestedMaxUnknowns Maximum unknowns suggested for this device
+         */
+        void onBenchmarkFinished(List<SolverBenchmark.Result> results, int suggestedMaxUnknowns);
+
+        /**
+         * Called in the UI thread when the benchmark is cancelled by the user
+         */
+        void onBenchmarkCancelled();
+    }
+
+    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private BenchmarkListener benchmarkListener;
+    private CancellationToken cancellationToken;
+    private int completedCases;
+    private int totalCases;
+    private List<SolverBenchmark.Result> results;
+    private int suggestedMaxUnknowns;
+
+    /**
+     * Attach the listener of the activity, if the benchmark is in progress its last progress is sent and
+     * if it finished its results are sent
+     * @param benchmarkListener Listener of the activity, null to detach it (e.g. the activity is destroyed)
+     */
+    public void setBenchmarkListener(final BenchmarkListener benchmarkListener) {
+        this.benchmarkListener = benchmarkListener;
+        if (benchmarkListener == null) {
+            return;
+        }
+        if (cancellationToken != null) {
+            benchmarkListener.onBenchmarkProgress(completedCases, totalCases);
+        } else if (results != null) {
+            benchmarkListener.onBenchmarkFinished(results, suggestedMaxUnknowns);
+        }
+    }
+
+    /**
+     * @return True if the benchmark is in progress
+     */
+    public boolean isRunning() {
+        return cancellationToken != null;
+    }
+
+    /**
+     * Run the standard benchmark in a background thread, the progress is sent by case
+     */
+    public void run() {
+        if (cancellationToken != null) {
+            return;
+        }
+        final CancellationToken token = new CancellationToken();
+        final long memoryBudgetBytes = Runtime.getRuntime().maxMemory() / 2;
+        cancellationToken = token;
+        completedCases = 0;
+        totalCases = 0;
+        results = null;
+        executorService.execute(() -> {
+            final List<SolverBenchmark.Result> benchmarkResults = SolverBenchmark.standard().run(token,
+                    (completed, total) -> handler.post(() -> {
+                        if (cancellationToken != token) {
+                            return;
+                        }
+                        completedCases = completed;
+                        totalCases = total;
+                        if (benchmarkListener != null) {
+                            benchmarkListener.onBenchmarkProgress(completed, total);
+                        }
+                    }));
+            if (benchmarkResults == null) {
+                return;
+            }
+            final int suggestion = SolverBenchmark.suggestMaxUnknowns(benchmarkResults,
+                    TimeUnit.MILLISECONDS.toNanos(Constants.BENCHMARK_TARGET_LATENCY_MILLIS), memoryBudgetBytes,
+                    Constants.MIN_UNKNOWNS, Constants.MAX_UNKNOWNS_LIMIT);
+            handler.post(() -> {
+                if (cancellationToken != token) {
+                    return;
+                }
+                cancellationToken = null;
+                results = benchmarkResults;
+                suggestedMaxUnknowns = suggestion;
+                if (benchmarkListener != null) {
+                    benchmarkListener.onBenchmarkFinished(benchmarkResults, suggestion);
+                }
+            });
+        });
+    }
+
+    /**
+     * Cancel the benchmark in progress, the listener is called at once so the controls are restored
+     * while the current case finishes in the background
+     */
+    public void cancel() {
+        if (cancellationToken == null) {
+            return;
+        }
+        cancellationToken.cancel();
+        cancellationToken = null;
+        if (benchmarkListener != null) {
+            benchmarkListener.onBenchmarkCancelled();
+        }
+    }
+
+    /**
+     * The activity finished, the benchmark in progress is cancelled
+     */
+    @Override
+    protected void onCleared() {
+        if (cancellationToken != null) {
+            cancellationToken.cancel();
+        }
+        benchmarkListener = null;
+        handler.removeCallbacksAndMessages(null);
+        executorService.shutdownNow();
+    }
+}
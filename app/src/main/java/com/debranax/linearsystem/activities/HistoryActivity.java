@@ -0,0 +1,185 @@
+package com.debranax.linearsystem.activities;
+
+import androidx.annotation.NonNull;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.appcompat.widget.Toolbar;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import android.content.Intent;
+import android.os.Bundle;
+import android.view.Menu;
+import android.view.MenuItem;
+import android.widget.Toast;
+
+import com.debranax.linearsystem.R;
+import com.debranax.linearsystem.adapters.HistoryAdapter;
+import com.debranax.linearsystem.databinding.*;
+import com.debranax.linearsystem.math.LinearSystemInfo;
+import com.debranax.linearsystem.storage.DraftStore;
+import com.debranax.linearsystem.storage.HistoryStore;
+import com.debranax.linearsystem.utils.AugmentedMatrixModel;
+import com.debranax.linearsystem.utils.Constants;
+import com.debranax.linearsystem.utils.ResultStore;
+import com.debranax.linearsystem.utils.Utils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Systems solved before, the solution of an entry is shown without solving it again
+ */
+public class HistoryActivity extends AppCompatActivity implements HistoryAdapter.OnEntryClickListener {
+    private ActivityHistoryBinding binding;
+    private RecyclerView recyclerView;
+    private HistoryStore historyStore;
+    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+    /**
+     * Actions when activity is created
+     * @param savedInstanceState Saved Instance State Bundle
+     */
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        binding = ActivityHistoryBinding.inflate(getLayoutInflater());
+        setContentView(binding.getRoot());
+
+        Toolbar toolbar = binding.toolbar.getRoot();
+        setSupportActionBar(toolbar);
+        Utils.setActionBar(getSupportActionBar(), null);
+        recyclerView = binding.recyclerViewHistory;
+        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        recyclerView.setHasFixedSize(true);
+        historyStore = HistoryStore.getInstance(this);
+    }
+
+    /**
+     * The entries are read every time the activity is shown because a recall changes their order
+     */
+    @Override
+    protected void onResume() {
+        super.onResume();
+        executorService.execute(() -> {
+            final List<HistoryStore.Entry> entries = historyStore.getEntries();
+            runOnUiThread(() -> showEntries(entries));
+        });
+    }
+
+    @Override
+    protected void onDestroy() {
+        executorService.shutdownNow();
+        super.onDestroy();
+    }
+
+    /**
+     * Inflate the menu
+     * @param menu Menu to inflate
+     * @return true
+     */
+    @Override
+    public boolean onCreateOptionsMenu(Menu menu) {
+        getMenuInflater().inflate(R.menu.history_menu, menu);
+        return true;
+    }
+
+    /**
+     *  Action when an option menu is selected
+     * @param item Item selected
+     * @return True if item is selected otherwise default parent value is return
+     */
+    @Override
+    public boolean onOptionsItemSelected(@NonNull MenuItem item) {
+        if (item.getItemId() == R.id.clear_history) {
+            executorService.execute(() -> {
+                historyStore.clear();
+                final List<HistoryStore.Entry> entries = historyStore.getEntries();
+                runOnUiThread(() -> showEntries(entries));
+            });
+            return true;
+        }
+        return super.onOptionsItemSelected(item);
+    }
+
+    /**
+     * Show the stored solution of the entry, the system is not solved again
+     * @param entry Entry of the history
+     */
+    @Override
+    public void onEntryClick(final HistoryStore.Entry entry) {
+        executorService.execute(() -> {
+            final LinearSystemInfo linearSystemInfo = historyStore.get(entry.getKey());
+            runOnUiThread(() -> showResults(linearSystemInfo));
+        });
+    }
+
+    /**
+     * Open the system in the augmented matrix (as the draft) so the constants can be changed, the
+     * saved factorization of the coefficients is used when it is solved
+     * @param entry Entry of the history
+     */
+    @Override
+    public void onEntryLongClick(final HistoryStore.Entry entry) {
+        final DraftStore draftStore = DraftStore.getInstance(this);
+        executorService.execute(() -> {
+            final BigDecimal[][] matrix = historyStore.getMatrix(entry.getKey());
+            if (matrix != null) {
+                draftStore.write(new AugmentedMatrixModel(toCells(matrix)).takeChanges());
+            }
+            runOnUiThread(() -> openAugmentedMatrix(matrix));
+        });
+    }
+
+    private void showEntries(final List<HistoryStore.Entry> entries) {
+        if (isFinishing()) {
+            return;
+        }
+        binding.textViewMessage.setText(getString(entries.isEmpty() ? R.string.empty_history : R.string.hint_history));
+        recyclerView.setAdapter(new HistoryAdapter(entries, this));
+    }
+
+    private void showResults(final LinearSystemInfo linearSystemInfo) {
+        if (isFinishing()) {
+            return;
+        }
+        if (linearSystemInfo == null) {
+            Toast.makeText(this, getString(R.string.missing_entry_history), Toast.LENGTH_SHORT).show();
+            return;
+        }
+        Intent intent = new Intent(this, Results.class);
+        ResultStore.putExtra(this, intent, linearSystemInfo);
+        startActivity(intent);
+    }
+
+    private void openAugmentedMatrix(final BigDecimal[][] matrix) {
+        if (isFinishing()) {
+            return;
+        }
+        if (matrix == null) {
+            Toast.makeText(this, getString(R.string.missing_entry_history), Toast.LENGTH_SHORT).show();
+            return;
+        }
+        Intent intent = new Intent(this, AugmentedMatrix.class);
+        intent.putExtra(Constants.UNKNOWNS, matrix.length);
+        intent.putExtra(Constants.LOAD_DRAFT, true);
+        startActivity(intent);
+    }
+
+    /**
+     * Text of the cells of the augmented matrix
+     * @param matrix Augmented matrix
+     * @return Values as they are captured by the user
+     */
+    private static String[][] toCells(final BigDecimal[][] matrix) {
+        String[][] cells = new String[matrix.length][];
+        for (int row = 0; row < matrix.length; row++) {
+            cells[row] = new String[matrix[row].length];
+            for (int column = 0; column < matrix[row].length; column++) {
+                cells[row][column] = matrix[row][column].toPlainString();
+            }
+        }
+        return cells;
+    }
+}
@@ -14,6 +14,7 @@ import android.widget.Toast;
 import com.debranax.linearsystem.R;
 import com.debranax.linearsystem.databinding.*;
 import com.debranax.linearsystem.utils.Constants;
+import com.debranax.linearsystem.utils.Utils;
 
 public class MainActivity extends AppCompatActivity {
     private ActivityMainBinding binding;
@@ -63,6 +64,16 @@ public class MainActivity extends AppCompatActivity {
      */
     @Override
     public boolean onOptionsItemSelected(@NonNull MenuItem item) {
+        if (item.getItemId() == R.id.history) {
+            Intent intent = new Intent(this, HistoryActivity.class);
+            startActivity(intent);
+            return true;
+        }
+        if (item.getItemId() == R.id.benchmark) {
+            Intent intent = new Intent(this, BenchmarkActivity.class);
+            startActivity(intent);
+            return true;
+        }
         if (item.getItemId() == R.id.about) {
             Intent intent = new Intent(this, AboutActivity.class);
             startActivity(intent);
@@ -82,8 +93,10 @@ public class MainActivity extends AppCompatActivity {
             return;
         }
         unknowns = Integer.parseInt(unknownsVal);
-        if (unknowns < Constants.MIN_UNKNOWNS || unknowns > Constants.MAX_UNKNOWNS_DEFAULT) {
-            Toast.makeText(MainActivity.this, getString(R.string.invalid_unknowns_main), Toast.LENGTH_LONG).show();
+        int maxUnknowns = Utils.getMaxUnknowns(this);
+        if (unknowns < Constants.MIN_UNKNOWNS || unknowns > maxUnknowns) {
+            Toast.makeText(MainActivity.this, getString(R.string.invalid_unknowns_main, Constants.MIN_UNKNOWNS,
+                    maxUnknowns), Toast.LENGTH_LONG).show();
             return;
         }
         Intent intent = new Intent(this, AugmentedMatrix.class);
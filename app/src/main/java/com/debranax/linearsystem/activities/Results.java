@@ -3,35 +3,51 @@ package com.debranax.linearsystem.activities;
 import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
+import androidx.core.content.FileProvider;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import android.content.ClipData;
 import android.content.ClipboardManager;
 import android.content.Intent;
 import android.graphics.text.LineBreaker;
+import android.net.Uri;
 import android.os.Build;
 import android.os.Bundle;
 import android.view.Menu;
 import android.view.MenuItem;
 import android.view.View;
-import android.widget.TableLayout;
-import android.widget.TableRow;
 import android.widget.TextView;
 import android.widget.Toast;
 
 import com.debranax.linearsystem.R;
+import com.debranax.linearsystem.adapters.ResultsAdapter;
 import com.debranax.linearsystem.databinding.*;
 import com.debranax.linearsystem.math.LinearSystemInfo;
 import com.debranax.linearsystem.math.LinearSystemUtils;
+import com.debranax.linearsystem.math.ResultFormatter;
 import com.debranax.linearsystem.utils.Constants;
+import com.debranax.linearsystem.utils.ResultStore;
+import com.debranax.linearsystem.utils.SolutionExporter;
 import com.debranax.linearsystem.utils.Utils;
 
-import java.math.BigDecimal;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 
 public class Results extends AppCompatActivity {
 
-    private TableLayout tableLayout;
+    private RecyclerView recyclerView;
     private ActivityResultsBinding binding;
+    private LinearSystemInfo linearSystemInfo;
+    private int exportDecimals = Constants.EXPORT_DECIMALS_DEFAULT;
+    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
 
     /**
      * Actions when activity is created
@@ -47,18 +63,57 @@ public class Results extends AppCompatActivity {
         setSupportActionBar(toolbar);
         Utils.setActionBar(getSupportActionBar(), R.drawable.ic_home);
         Bundle bundle = getIntent().getExtras();
-        tableLayout = binding.tableLayoutResults;
-        LinearSystemInfo linearSystemInfo = bundle != null ? (LinearSystemInfo) bundle.get(Constants.LINEAR_SYSTEM_INFO) : null;
-        this.processResponse(linearSystemInfo);
+        recyclerView = binding.recyclerViewResults;
+        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        recyclerView.setHasFixedSize(true);
+        if (savedInstanceState != null) {
+            exportDecimals = savedInstanceState.getInt(Constants.SAVE_STATE_EXPORT_DECIMALS, exportDecimals);
+        }
+        //A large result is read from its file if the process was killed
+        executorService.execute(() -> {
+            LinearSystemInfo storedSystemInfo = ResultStore.getExtra(this, bundle);
+            boolean expired = ResultStore.isExpired(bundle, storedSystemInfo);
+            runOnUiThread(() -> {
+                if (isFinishing() || isDestroyed()) {
+                    return;
+                }
+                linearSystemInfo = storedSystemInfo;
+                this.processResponse(linearSystemInfo, expired);
+            });
+        });
+    }
+
+    /**
+     * Save the precision chosen for the export
+     * @param outState Bundle where state is saved
+     */
+    @Override
+    protected void onSaveInstanceState(@NonNull Bundle outState) {
+        super.onSaveInstanceState(outState);
+        outState.putInt(Constants.SAVE_STATE_EXPORT_DECIMALS, exportDecimals);
+    }
+
+    /**
+     * Release the result kept in the ResultStore (if any) when the activity is closed
+     */
+    @Override
+    protected void onDestroy() {
+        if (isFinishing()) {
+            ResultStore.removeExtra(this, getIntent().getExtras());
+        }
+        executorService.shutdown();
+        super.onDestroy();
     }
 
     /**
      * Process the results of the linear system
      * @param linearSystemInfo
+     * @param expired True if the result is no longer in the ResultStore
      */
-    private void  processResponse(final LinearSystemInfo linearSystemInfo){
+    private void  processResponse(final LinearSystemInfo linearSystemInfo, final boolean expired){
         if (linearSystemInfo == null){
-            Toast.makeText(this, getString(R.string.missing_argument_results), Toast.LENGTH_SHORT).show();
+            Toast.makeText(this, getString(expired ? R.string.expired_result_results : R.string.missing_argument_results),
+                    Toast.LENGTH_LONG).show();
             return;
         }
         if (!linearSystemInfo.isSolved()) {
@@ -80,6 +135,28 @@ public class Results extends AppCompatActivity {
         return true;
     }
 
+    /**
+     * Check the precision chosen for the export
+     * @param menu Menu to prepare
+     * @return true
+     */
+    @Override
+    public boolean onPrepareOptionsMenu(Menu menu) {
+        int itemId = R.id.precision_full_results;
+        if (exportDecimals == 2) {
+            itemId = R.id.precision_2_results;
+        } else if (exportDecimals == 5) {
+            itemId = R.id.precision_5_results;
+        } else if (exportDecimals == 10) {
+            itemId = R.id.precision_10_results;
+        }
+        MenuItem precisionItem = menu.findItem(itemId);
+        if (precisionItem != null) {
+            precisionItem.setChecked(true);
+        }
+        return super.onPrepareOptionsMenu(menu);
+    }
+
     /**
      *  Action when an option menu is selected
      * @param item Item selected
@@ -87,11 +164,24 @@ public class Results extends AppCompatActivity {
      */
     @Override
     public boolean onOptionsItemSelected(@NonNull MenuItem item) {
-        if (item.getItemId() == R.id.copy_results) {
-            copyResults();
+        int itemId = item.getItemId();
+        if (itemId == R.id.copy_text_results || itemId == R.id.copy_csv_results
+                || itemId == R.id.copy_json_results) {
+            copyResults(getFormat(itemId));
             return true;
         }
-        if (item.getItemId() == R.id.about) {
+        if (itemId == R.id.share_text_results || itemId == R.id.share_csv_results
+                || itemId == R.id.share_json_results) {
+            shareResults(getFormat(itemId));
+            return true;
+        }
+        if (itemId == R.id.precision_2_results || itemId == R.id.precision_5_results
+                || itemId == R.id.precision_10_results || itemId == R.id.precision_full_results) {
+            exportDecimals = getDecimals(itemId);
+            item.setChecked(true);
+            return true;
+        }
+        if (itemId == R.id.about) {
             Intent intent = new Intent(this, AboutActivity.class);
             startActivity(intent);
             return true;
@@ -99,22 +189,51 @@ public class Results extends AppCompatActivity {
         return super.onOptionsItemSelected(item);
     }
 
+    private SolutionExporter.Format getFormat(final int itemId) {
+        if (itemId == R.id.copy_csv_results || itemId == R.id.share_csv_results) {
+            return SolutionExporter.Format.CSV;
+        }
+        if (itemId == R.id.copy_json_results || itemId == R.id.share_json_results) {
+            return SolutionExporter.Format.JSON;
+        }
+        return SolutionExporter.Format.TEXT;
+    }
+
+    private int getDecimals(final int itemId) {
+        if (itemId == R.id.precision_2_results) {
+            return 2;
+        }
+        if (itemId == R.id.precision_5_results) {
+            return 5;
+        }
+        if (itemId == R.id.precision_10_results) {
+            return 10;
+        }
+        return SolutionExporter.FULL_PRECISION;
+    }
+
     /**
-     * Copy the solution to the clipboard
+     * Copy the solution to the clipboard, it is exported from the LinearSystemInfo in a background thread
+     * @param format Format of the solution
      */
-    private void copyResults() {
-        StringBuilder stringBuilder = new StringBuilder();
+    private void copyResults(final SolutionExporter.Format format) {
+        if (linearSystemInfo == null) {
+            return;
+        }
+        final int decimals = exportDecimals;
+        executorService.execute(() -> {
+            final String text = SolutionExporter.exportToString(linearSystemInfo, format, decimals);
+            runOnUiThread(() -> setClipboard(text));
+        });
+    }
+
+    private void setClipboard(final String text) {
         String message = getString(R.string.copied_results);
         ClipboardManager clipboard = (ClipboardManager) getSystemService(CLIPBOARD_SERVICE);
-        ClipData clip;
-        for (int row = 0; row < tableLayout.getChildCount(); row++) {
-            String rowResult = this.getResults(row);
-            stringBuilder.append(rowResult);
-            stringBuilder.append(System.getProperty("line.separator"));
-        }
-        clip = ClipData.newPlainText("Solution", stringBuilder.toString());
-        if (clipboard != null) {
-            clipboard.setPrimaryClip(clip);
+        if (text.length() > Constants.MAX_CLIPBOARD_CHARS) {
+            message = getString(R.string.too_large_copy_results);
+        } else if (clipboard != null) {
+            clipboard.setPrimaryClip(ClipData.newPlainText("Solution", text));
         } else {
             message = getString(R.string.not_copied_results);
         }
@@ -122,77 +241,80 @@ public class Results extends AppCompatActivity {
     }
 
     /**
-     * Copy the solution to a string of the row pass as parameter
-     * @param row Row whee the result is obtained
-     * @return String with the result
+     * Write the solution in a file of the cache and share it, the file is streamed from the LinearSystemInfo
+     * in a background thread
+     * @param format Format of the solution
      */
-    private String getResults (final int row){
-        StringBuilder stringBuilder = new StringBuilder();
-        View child = tableLayout.getChildAt(row);
-        if (child instanceof TableRow) {
-            TableRow tableRow = (TableRow) child;
-            for (int column = 0; column < tableRow.getChildCount(); column++) {
-                TextView textView = (TextView) tableRow.getChildAt(column);
-                stringBuilder.append(textView.getText().toString());
+    private void shareResults(final SolutionExporter.Format format) {
+        if (linearSystemInfo == null) {
+            return;
+        }
+        final int decimals = exportDecimals;
+        final File directory = new File(getCacheDir(), Constants.EXPORT_DIRECTORY);
+        executorService.execute(() -> {
+            File file = new File(directory, Constants.EXPORT_FILE_NAME + "." + format.getExtension());
+            try {
+                if (!directory.isDirectory() && !directory.mkdirs()) {
+                    throw new IOException("The directory of the exports cannot be created");
+                }
+                Writer writer = new OutputStreamWriter(new FileOutputStream(file), Charset.forName("UTF-8"));
+                try {
+                    SolutionExporter.export(linearSystemInfo, format, decimals, writer);
+                } finally {
+                    writer.close();
+                }
+            } catch (IOException e) {
+                file = null;
             }
+            final File exportedFile = file;
+            runOnUiThread(() -> startShare(exportedFile, format));
+        });
+    }
+
+    private void startShare(final File file, final SolutionExporter.Format format) {
+        if (isFinishing()) {
+            return;
+        }
+        if (file == null) {
+            Toast.makeText(this, getString(R.string.not_shared_results), Toast.LENGTH_SHORT).show();
+            return;
+        }
+        Uri uri = FileProvider.getUriForFile(this, getPackageName() + Constants.FILE_PROVIDER_SUFFIX, file);
+        Intent intent = new Intent(Intent.ACTION_SEND);
+        intent.setType(format.getMimeType());
+        intent.putExtra(Intent.EXTRA_STREAM, uri);
+        intent.addFlags(Intent.FLAG_GRANT_READ_URI_PERMISSION);
+        if (intent.resolveActivity(getPackageManager()) != null) {
+            startActivity(Intent.createChooser(intent, getString(R.string.share_results)));
+        } else {
+            Toast.makeText(this, getString(R.string.no_intent_available), Toast.LENGTH_LONG).show();
         }
-        return  stringBuilder.toString();
     }
 
     /**
-     * Actions when the linear system is solved successfully
+     * Actions when the linear system is solved successfully, the values are formatted when their rows
+     * are shown
      * @param linearSystemInfo Instance of the results of the linear system
      */
     private void processSolvedSystem(final LinearSystemInfo linearSystemInfo) {
-        for (int row = 1; row <= linearSystemInfo.getSolution().length; row++) {
-            TableRow tableRow = new TableRow(this);
-            TableRow.LayoutParams layoutParams = new TableRow.LayoutParams(TableRow.LayoutParams.MATCH_PARENT);
-            TextView textViewVar = new TextView(this);
-            TextView textViewSol = new TextView(this);
-            BigDecimal bigDecimalResult;
-            tableRow.setLayoutParams(layoutParams);
-            tableRow.setBackgroundResource(R.drawable.table_border);
-
-            textViewVar.setText(String.format(" X%s ", row));
-            bigDecimalResult = linearSystemInfo.getSolution()[row - 1];
-            if (LinearSystemUtils.isLong(bigDecimalResult)) {
-                textViewSol.setText(String.format("= %s", bigDecimalResult.longValue()));
-            } else {
-                textViewSol.setText(String.format("= %s", LinearSystemUtils.format(bigDecimalResult,
-                        Constants.FORMAT_RESULTS)));
-            }
-            setCommonTextAttributes(textViewVar);
-            textViewVar.setPadding(Constants.PADDING_35, Constants.PADDING_10,
-                    Constants.PADDING_10, Constants.PADDING_10);
-            setCommonTextAttributes(textViewSol);
-            textViewSol.setPadding(Constants.PADDING_10, Constants.PADDING_10,
-                    Constants.PADDING_45, Constants.PADDING_10);
-            tableRow.addView(textViewVar);
-            tableRow.addView(textViewSol);
-            tableLayout.addView(tableRow);
+        recyclerView.setAdapter(new ResultsAdapter(new ResultFormatter(linearSystemInfo.getSolution(),
+                linearSystemInfo.getImaginarySolution(), Constants.FORMAT_RESULTS)));
+        //The results of the history were not checked, their residual is NaN
+        if (!linearSystemInfo.isVerified() && !Double.isNaN(linearSystemInfo.getResidualNorm())) {
+            TextView textViewMessage = binding.textViewMessage;
+            textViewMessage.setVisibility(View.VISIBLE);
+            textViewMessage.setText(getString(R.string.not_verified_results));
         }
     }
 
-    /**
-     * Set some common properties of the TextView used to show the results
-     * @param textView TextView where properties are applied
-     */
-    private void setCommonTextAttributes(TextView textView) {
-        textView.setTextSize(Constants.SIZE_TEXT_RESULTS);
-        textView.setMinHeight(Constants.HEIGHT_TEXT_RESULTS);
-    }
-
     /**
      * If there is an error trying to solve the linear systems,has trivial solution or is not possible
      * to solve the linear system a message is displayed in the activity
      * @param linearSystemInfo Instance of the results of the linear system
      */
     private void processErrorSystem(LinearSystemInfo linearSystemInfo) {
-        TableRow tableRow = new TableRow(this);
-        TableRow.LayoutParams layoutParams = new TableRow.LayoutParams(TableRow.LayoutParams.MATCH_PARENT);
-
-        TextView textViewMessage = new TextView(this);
-        tableRow.setLayoutParams(layoutParams);
+        TextView textViewMessage = binding.textViewMessage;
+        textViewMessage.setVisibility(View.VISIBLE);
         textViewMessage.setTextSize(Constants.SIZE_TEXT_RESULTS);
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
             textViewMessage.setJustificationMode(LineBreaker.JUSTIFICATION_MODE_INTER_WORD);
@@ -203,11 +325,12 @@ public class Results extends AppCompatActivity {
         } else if (linearSystemInfo.getStatusCode()
                 == LinearSystemUtils.StatusCode.ZERO_COLUMN.getStatusCodeVal()) {
             textViewMessage.setText(getString(R.string.zero_matrix_results));
+        } else if (linearSystemInfo.getStatusCode()
+                == LinearSystemUtils.StatusCode.TIME_BUDGET_EXCEEDED.getStatusCodeVal()) {
+            textViewMessage.setText(getString(R.string.time_budget_exceeded_results));
         } else {
             textViewMessage.setText(getString(R.string.unexpected_error_augmented));
         }
-        tableRow.addView(textViewMessage);
-        tableLayout.addView(tableRow);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,291 @@
+package com.debranax.linearsystem.adapters;
+
+import android.content.Context;
+import android.text.Editable;
+import android.text.InputFilter;
+import android.text.TextWatcher;
+import android.view.Gravity;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.EditText;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.debranax.linearsystem.utils.AugmentedMatrixModel;
+import com.debranax.linearsystem.utils.Constants;
+import com.debranax.linearsystem.utils.FractionalNumberKeyListener;
+import com.debranax.linearsystem.utils.Utils;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Adapter of the rows of the augmented matrix, every row is a horizontal RecyclerView of cells so only
+ * the visible cells exist as views. All the rows share the pool of cells and the horizontal scroll.
+ */
+public class AugmentedMatrixAdapter extends RecyclerView.Adapter<AugmentedMatrixAdapter.RowViewHolder> {
+    private static final String VAR_VALUE = "X";
+    private static final String A_VALUE = "a";
+
+    private final AugmentedMatrixModel model;
+    private final RecyclerView.RecycledViewPool cellPool = new RecyclerView.RecycledViewPool();
+    private final Set<RecyclerView> attachedRows = new HashSet<>();
+    private int firstVisibleColumn;
+    private int firstVisibleOffset;
+
+    private final RecyclerView.OnScrollListener rowScrollListener = new RecyclerView.OnScrollListener() {
+        @Override
+        public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+            if (newState == RecyclerView.SCROLL_STATE_DRAGGING) {
+                for (RecyclerView row : attachedRows) {
+                    if (row != recyclerView) {
+                        row.stopScroll();
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+            //Rows scrolled by this listener are idle, only the row scrolled by the user is propagated
+            if (dx == 0 || recyclerView.getScrollState() == RecyclerView.SCROLL_STATE_IDLE) {
+                return;
+            }
+            for (RecyclerView row : attachedRows) {
+                if (row != recyclerView) {
+                    row.scrollBy(dx, 0);
+                }
+            }
+            saveHorizontalPosition(recyclerView);
+        }
+    };
+
+    public AugmentedMatrixAdapter(final AugmentedMatrixModel model) {
+        this.model = model;
+        this.cellPool.setMaxRecycledViews(0, Constants.MAX_RECYCLED_CELLS);
+    }
+
+    public AugmentedMatrixModel getModel() {
+        return model;
+    }
+
+    @NonNull
+    @Override
+    public RowViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        Context context = parent.getContext();
+        RecyclerView rowRecyclerView = new RecyclerView(context);
+        LinearLayoutManager layoutManager = new LinearLayoutManager(context, LinearLayoutManager.HORIZONTAL,
+                false);
+        layoutManager.setRecycleChildrenOnDetach(true);
+        rowRecyclerView.setLayoutParams(new RecyclerView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
+                ViewGroup.LayoutParams.WRAP_CONTENT));
+        rowRecyclerView.setLayoutManager(layoutManager);
+        rowRecyclerView.setRecycledViewPool(cellPool);
+        rowRecyclerView.setHasFixedSize(true);
+        rowRecyclerView.setItemAnimator(null);
+        rowRecyclerView.addOnScrollListener(rowScrollListener);
+        return new RowViewHolder(rowRecyclerView, layoutManager, new CellAdapter(model));
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RowViewHolder holder, int position) {
+        holder.cellAdapter.setRow(position);
+        holder.layoutManager.scrollToPositionWithOffset(firstVisibleColumn, firstVisibleOffset);
+    }
+
+    @Override
+    public int getItemCount() {
+        return model.getUnknowns();
+    }
+
+    @Override
+    public void onViewAttachedToWindow(@NonNull RowViewHolder holder) {
+        attachedRows.add(holder.rowRecyclerView);
+    }
+
+    @Override
+    public void onViewDetachedFromWindow(@NonNull RowViewHolder holder) {
+        holder.rowRecyclerView.stopScroll();
+        attachedRows.remove(holder.rowRecyclerView);
+    }
+
+    /**
+     * Enable or disable the complex numbers (a+bi) in every cell, the cells change their keyboard
+     * @param complexInput True to capture complex numbers with the text keyboard
+     */
+    public void setComplexInput(final boolean complexInput) {
+        model.setComplexInput(complexInput);
+        notifyDataSetChanged();
+    }
+
+    /**
+     * Scroll all the rows to show the column (e.g. to show an invalid cell)
+     * @param column Column of the augmented matrix
+     */
+    public void scrollToColumn(final int column) {
+        firstVisibleColumn = column;
+        firstVisibleOffset = 0;
+        for (RecyclerView row : attachedRows) {
+            row.stopScroll();
+            ((LinearLayoutManager) row.getLayoutManager()).scrollToPositionWithOffset(column, 0);
+        }
+    }
+
+    /**
+     * Keep the first visible column and its offset so new rows are bound with the same horizontal scroll
+     * @param recyclerView Row scrolled by the user
+     */
+    private void saveHorizontalPosition(final RecyclerView recyclerView) {
+        LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+        int position = layoutManager.findFirstVisibleItemPosition();
+        View firstView = position != RecyclerView.NO_POSITION ? layoutManager.findViewByPosition(position) : null;
+        if (firstView != null) {
+            firstVisibleColumn = position;
+            firstVisibleOffset = firstView.getLeft() - recyclerView.getPaddingLeft();
+        }
+    }
+
+    static class RowViewHolder extends RecyclerView.ViewHolder {
+        private final RecyclerView rowRecyclerView;
+        private final LinearLayoutManager layoutManager;
+        private final CellAdapter cellAdapter;
+
+        RowViewHolder(final RecyclerView rowRecyclerView, final LinearLayoutManager layoutManager,
+                      final CellAdapter cellAdapter) {
+            super(rowRecyclerView);
+            this.rowRecyclerView = rowRecyclerView;
+            this.layoutManager = layoutManager;
+            this.cellAdapter = cellAdapter;
+            rowRecyclerView.setAdapter(cellAdapter);
+        }
+    }
+
+    /**
+     * Adapter of the cells of one row of the augmented matrix
+     */
+    static class CellAdapter extends RecyclerView.Adapter<CellViewHolder> {
+        private final AugmentedMatrixModel model;
+        private int row;
+
+        CellAdapter(final AugmentedMatrixModel model) {
+            this.model = model;
+        }
+
+        void setRow(final int row) {
+            this.row = row;
+            notifyDataSetChanged();
+        }
+
+        @NonNull
+        @Override
+        public CellViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            EditText editText = new EditText(parent.getContext());
+            editText.setKeyListener(FractionalNumberKeyListener.getInstance());
+            editText.setWidth(Constants.WIDTH_EDIT_TEXT_AUGMENTED);
+            editText.setMinWidth(Constants.WIDTH_EDIT_TEXT_AUGMENTED);
+            editText.setGravity(Gravity.CENTER_HORIZONTAL);
+            editText.setFilters(new InputFilter.LengthFilter[]{
+                    new InputFilter.LengthFilter(Constants.MAX_TEXT_LENGTH)});
+            return new CellViewHolder(editText, model);
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull CellViewHolder holder, int position) {
+            holder.bind(row, position);
+        }
+
+        @Override
+        public int getItemCount() {
+            return model.getTotalColumns();
+        }
+    }
+
+    /**
+     * Cell of the augmented matrix, the text captured is written in the model at the bound position
+     */
+    static class CellViewHolder extends RecyclerView.ViewHolder implements TextWatcher, View.OnFocusChangeListener {
+        private final EditText editText;
+        private final AugmentedMatrixModel model;
+        private int row;
+        private int column;
+        private boolean binding;
+        private String beforeNumber = "";
+
+        CellViewHolder(final EditText editText, final AugmentedMatrixModel model) {
+            super(editText);
+            this.editText = editText;
+            this.model = model;
+            editText.addTextChangedListener(this);
+            editText.setOnFocusChangeListener(this);
+        }
+
+        /**
+         * Show the value of the cell of the model
+         * @param row Row of the augmented matrix
+         * @param column Column of the augmented matrix
+         */
+        void bind(final int row, final int column) {
+            int unknowns = model.getUnknowns();
+            this.row = row;
+            this.column = column;
+            binding = true;
+            editText.setHint(column == unknowns ? A_VALUE + (row + 1) : VAR_VALUE + (column + 1));
+            //The text keyboard is only used by the cells that capture complex numbers
+            FractionalNumberKeyListener keyListener = FractionalNumberKeyListener.getInstance(null,
+                    model.isComplexInput(row, column));
+            if (editText.getKeyListener() != keyListener) {
+                editText.setKeyListener(keyListener);
+            }
+            editText.setText(model.getValue(row, column));
+            beforeNumber = editText.getText().toString();
+            binding = false;
+        }
+
+        @Override
+        public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+        }
+
+        @Override
+        public void onTextChanged(CharSequence s, int start, int before, int count) {
+        }
+
+        /**
+         * Action after Text changed of the Editable used to captured the augmented matrix
+         * @param s Editable used to captured the augmented matrix
+         */
+        @Override
+        public void afterTextChanged(Editable s) {
+            if (binding) {
+                return;
+            }
+            boolean isValidNumber = Utils.isWritingValidNumber(s.toString(), model.isComplexInput(row, column));
+            if (!isValidNumber) {
+                s.replace(0, s.length(), beforeNumber);
+            }
+            beforeNumber = s.toString();
+            model.setValue(row, column, beforeNumber);
+        }
+
+        /**
+         * Action after focus changed, complete the number when the user leaves the cell (e.g. ".5" as "0.5")
+         * @param v View (EditText where the user capture the augmented matrix)
+         * @param hasFocus True if has focus
+         */
+        @Override
+        public void onFocusChange(View v, boolean hasFocus) {
+            if (hasFocus) {
+                beforeNumber = editText.getText().toString().trim();
+                return;
+            }
+            String number = editText.getText().toString().trim();
+            if (number.length() >= 2 && number.startsWith(".")) {
+                number = "0" + number;
+            } else if (number.length() >= 2 && number.endsWith(".")) {
+                number = number.substring(0, number.length() - 1);
+            }
+            editText.setText(number);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.debranax.linearsystem.adapters;
+
+import android.content.Context;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.debranax.linearsystem.R;
+import com.debranax.linearsystem.math.LinearSystemUtils;
+import com.debranax.linearsystem.storage.HistoryStore;
+import com.debranax.linearsystem.utils.Constants;
+
+import java.text.DateFormat;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Adapter of the entries of the history, every row shows the unknowns, the status and the last use
+ */
+public class HistoryAdapter extends RecyclerView.Adapter<HistoryAdapter.EntryViewHolder> {
+
+    public interface OnEntryClickListener {
+        /**
+         * Called when the user taps an entry
+         * @param entry Entry of the history
+         */
+        void onEntryClick(HistoryStore.Entry entry);
+
+        /**
+         * Called when the user long presses an entry
+         * @param entry Entry of the history
+         */
+        void onEntryLongClick(HistoryStore.Entry entry);
+    }
+
+    private final List<HistoryStore.Entry> entries;
+    private final OnEntryClickListener listener;
+    private final DateFormat dateFormat = DateFormat.getDateTimeInstance(DateFormat.MEDIUM, DateFormat.SHORT);
+
+    public HistoryAdapter(final List<HistoryStore.Entry> entries, final OnEntryClickListener listener) {
+        this.entries = entries;
+        this.listener = listener;
+    }
+
+    @NonNull
+    @Override
+    public EntryViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        TextView textView = new TextView(parent.getContext());
+        textView.setLayoutParams(new RecyclerView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
+                ViewGroup.LayoutParams.WRAP_CONTENT));
+        textView.setBackgroundResource(R.drawable.table_border);
+        textView.setTextSize(Constants.SIZE_TEXT_RESULTS);
+        textView.setMinHeight(Constants.HEIGHT_TEXT_RESULTS);
+        textView.setPadding(Constants.PADDING_35, Constants.PADDING_10, Constants.PADDING_45, Constants.PADDING_10);
+        return new EntryViewHolder(textView);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull EntryViewHolder holder, int position) {
+        final HistoryStore.Entry entry = entries.get(position);
+        Context context = holder.textView.getContext();
+        int status = entry.getStatusCode() == LinearSystemUtils.StatusCode.SOLVED.getStatusCodeVal()
+                ? R.string.solved_history : R.string.not_solved_history;
+        holder.textView.setText(context.getString(R.string.unknowns_history, entry.getUnknowns()) + " - "
+                + context.getString(status) + System.getProperty("line.separator")
+                + dateFormat.format(new Date(entry.getLastUsed())));
+        holder.textView.setOnClickListener(v -> listener.onEntryClick(entry));
+        holder.textView.setOnLongClickListener(v -> {
+            listener.onEntryLongClick(entry);
+            return true;
+        });
+    }
+
+    @Override
+    public int getItemCount() {
+        return entries.size();
+    }
+
+    static class EntryViewHolder extends RecyclerView.ViewHolder {
+        private final TextView textView;
+
+        EntryViewHolder(final TextView textView) {
+            super(textView);
+            this.textView = textView;
+        }
+    }
+}
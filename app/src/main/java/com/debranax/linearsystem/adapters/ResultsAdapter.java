@@ -0,0 +1,86 @@
+package com.debranax.linearsystem.adapters;
+
+import android.content.Context;
+import android.view.ViewGroup;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.debranax.linearsystem.R;
+import com.debranax.linearsystem.math.ResultFormatter;
+import com.debranax.linearsystem.utils.Constants;
+
+/**
+ * Adapter of the solution of the linear system, the values are formatted only when their rows are shown
+ */
+public class ResultsAdapter extends RecyclerView.Adapter<ResultsAdapter.ResultViewHolder> {
+    private final ResultFormatter resultFormatter;
+
+    public ResultsAdapter(final ResultFormatter resultFormatter) {
+        this.resultFormatter = resultFormatter;
+    }
+
+    @NonNull
+    @Override
+    public ResultViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        Context context = parent.getContext();
+        LinearLayout rowLayout = new LinearLayout(context);
+        TextView textViewVar = new TextView(context);
+        TextView textViewSol = new TextView(context);
+        rowLayout.setOrientation(LinearLayout.HORIZONTAL);
+        rowLayout.setLayoutParams(new RecyclerView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
+                ViewGroup.LayoutParams.WRAP_CONTENT));
+        rowLayout.setBackgroundResource(R.drawable.table_border);
+        setCommonTextAttributes(textViewVar);
+        textViewVar.setPadding(Constants.PADDING_35, Constants.PADDING_10,
+                Constants.PADDING_10, Constants.PADDING_10);
+        setCommonTextAttributes(textViewSol);
+        textViewSol.setPadding(Constants.PADDING_10, Constants.PADDING_10,
+                Constants.PADDING_45, Constants.PADDING_10);
+        rowLayout.addView(textViewVar, new LinearLayout.LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT,
+                ViewGroup.LayoutParams.WRAP_CONTENT));
+        rowLayout.addView(textViewSol, new LinearLayout.LayoutParams(0, ViewGroup.LayoutParams.WRAP_CONTENT, 1));
+        return new ResultViewHolder(rowLayout, textViewVar, textViewSol);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ResultViewHolder holder, int position) {
+        holder.textViewVar.setText(getVariable(position));
+        holder.textViewSol.setText(getValue(position));
+    }
+
+    @Override
+    public int getItemCount() {
+        return resultFormatter.size();
+    }
+
+    private String getVariable(final int row) {
+        return " X" + (row + 1) + " ";
+    }
+
+    private String getValue(final int row) {
+        return "= " + resultFormatter.get(row);
+    }
+
+    /**
+     * Set some common properties of the TextView used to show the results
+     * @param textView TextView where properties are applied
+     */
+    private void setCommonTextAttributes(TextView textView) {
+        textView.setTextSize(Constants.SIZE_TEXT_RESULTS);
+        textView.setMinHeight(Constants.HEIGHT_TEXT_RESULTS);
+    }
+
+    static class ResultViewHolder extends RecyclerView.ViewHolder {
+        private final TextView textViewVar;
+        private final TextView textViewSol;
+
+        ResultViewHolder(final LinearLayout rowLayout, final TextView textViewVar, final TextView textViewSol) {
+            super(rowLayout);
+            this.textViewVar = textViewVar;
+            this.textViewSol = textViewSol;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.debranax.linearsystem.service;
+
+import android.os.Build;
+import android.os.SharedMemory;
+import android.system.ErrnoException;
+import android.system.OsConstants;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+
+import com.debranax.linearsystem.math.LinearSystemInfo;
+import com.debranax.linearsystem.math.MatrixCodec;
+
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+
+/**
+ * Transfer the augmented matrix and the result between the app and the :solver process through shared
+ * memory (ashmem), the binder transaction only carries its file descriptor so its size is not limited by
+ * the binder buffer. The size of the encoding is calculated first and the values are encoded directly in
+ * the mapping, there is no copy in the heap. The memory is read-only once it is written, the receiver maps
+ * it and decodes the values directly from the mapping.
+ */
+@RequiresApi(api = Build.VERSION_CODES.O_MR1)
+class SharedMemoryCodec {
+
+    /**
+     * Write the values in the output
+     */
+    private interface Encoder {
+        void encode(DataOutput output) throws IOException;
+    }
+
+    private SharedMemoryCodec() {
+    }
+
+    /**
+     * @param name   Name of the shared memory (for debugging)
+     * @param matrix Augmented matrix to write
+     * @return Read-only shared memory with the encoded matrix
+     * @throws IOException If the shared memory cannot be created
+     */
+    static SharedMemory writeMatrix(final String name, final BigDecimal[][] matrix) throws IOException {
+        return SharedMemoryCodec.write(name, MatrixCodec.getMatrixSize(matrix),
+                output -> MatrixCodec.writeMatrix(output, matrix));
+    }
+
+    /**
+     * @param name             Name of the shared memory (for debugging)
+     * @param linearSystemInfo Result to write
+     * @return Read-only shared memory with the encoded result
+     * @throws IOException If the shared memory cannot be created
+     */
+    static SharedMemory writeLinearSystemInfo(final String name, final LinearSystemInfo linearSystemInfo)
+            throws IOException {
+        return SharedMemoryCodec.write(name, MatrixCodec.getEncodedSize(linearSystemInfo),
+                output -> MatrixCodec.encode(output, linearSystemInfo));
+    }
+
+    /**
+     * Decode the augmented matrix and close the shared memory
+     * @param sharedMemory Shared memory written by {@link #writeMatrix(String, BigDecimal[][])}
+     * @return Augmented matrix
+     * @throws IOException If the memory cannot be mapped or it is not a valid encoding
+     */
+    static BigDecimal[][] readMatrix(final SharedMemory sharedMemory) throws IOException {
+        ByteBuffer buffer = SharedMemoryCodec.map(sharedMemory);
+        try {
+            return MatrixCodec.readMatrix(new DataInputStream(new ByteBufferInputStream(buffer)));
+        } finally {
+            SharedMemory.unmap(buffer);
+            sharedMemory.close();
+        }
+    }
+
+    /**
+     * Decode the result and close the shared memory
+     * @param sharedMemory Shared memory written by {@link #writeLinearSystemInfo(String, LinearSystemInfo)}
+     * @return Result of the solve
+     * @throws IOException If the memory cannot be mapped or it is not a valid encoding
+     */
+    static LinearSystemInfo readLinearSystemInfo(final SharedMemory sharedMemory) throws IOException {
+        ByteBuffer buffer = SharedMemoryCodec.map(sharedMemory);
+        try {
+            return MatrixCodec.decode(new ByteBufferInputStream(buffer));
+        } finally {
+            SharedMemory.unmap(buffer);
+            sharedMemory.close();
+        }
+    }
+
+    /**
+     * @param name    Name of the shared memory (for debugging)
+     * @param size    Bytes written by the encoder
+     * @param encoder Encoder of the values
+     * @return Read-only shared memory with the encoded values
+     * @throws IOException If the shared memory cannot be created
+     */
+    private static SharedMemory write(final String name, final int size, final Encoder encoder) throws IOException {
+        SharedMemory sharedMemory;
+        try {
+            //The size of a shared memory must be positive
+            sharedMemory = SharedMemory.create(name, Math.max(1, size));
+        } catch (ErrnoException e) {
+            throw new IOException(e);
+        }
+        try {
+            ByteBuffer buffer = sharedMemory.mapReadWrite();
+            try {
+                encoder.encode(new DataOutputStream(new ByteBufferOutputStream(buffer)));
+            } finally {
+                SharedMemory.unmap(buffer);
+            }
+            sharedMemory.setProtect(OsConstants.PROT_READ);
+            return sharedMemory;
+        } catch (ErrnoException | IOException | RuntimeException e) {
+            sharedMemory.close();
+            throw e instanceof IOException ? (IOException) e : new IOException(e);
+        }
+    }
+
+    private static ByteBuffer map(final SharedMemory sharedMemory) throws IOException {
+        try {
+            return sharedMemory.mapReadOnly();
+        } catch (ErrnoException e) {
+            sharedMemory.close();
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Output to a mapped buffer, the buffer has the size of the encoding
+     */
+    private static class ByteBufferOutputStream extends OutputStream {
+        private final ByteBuffer buffer;
+
+        private ByteBufferOutputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(int b) {
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(@NonNull byte[] b, int off, int len) {
+            buffer.put(b, off, len);
+        }
+    }
+
+    /**
+     * Input of the bytes of a mapped buffer, the encoding ends where the buffer ends
+     */
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(@NonNull byte[] b, int off, int len) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int length = Math.min(len, buffer.remaining());
+            buffer.get(b, off, length);
+            return length;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
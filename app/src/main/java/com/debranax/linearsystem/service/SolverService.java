@@ -0,0 +1,149 @@
+package com.debranax.linearsystem.service;
+
+import android.app.Service;
+import android.content.Intent;
+import android.os.Build;
+import android.os.Bundle;
+import android.os.IBinder;
+import android.os.RemoteException;
+import android.os.SharedMemory;
+
+import androidx.annotation.RequiresApi;
+
+import com.debranax.linearsystem.math.CancellationToken;
+import com.debranax.linearsystem.math.LinearSystemInfo;
+import com.debranax.linearsystem.math.LinearSystemUtils;
+import com.debranax.linearsystem.math.LinearSystemsSolver;
+import com.debranax.linearsystem.math.MatrixStructure;
+import com.debranax.linearsystem.math.SolverCheckpoint;
+import com.debranax.linearsystem.math.SolverOptions;
+import com.debranax.linearsystem.utils.Constants;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+/**
+ * Bound service that solves the linear systems in its own process (:solver), so a large solve has its
+ * own heap and an out of memory error or a crash only fails the request, not the activities of the app
+ * (see {@link SolverServiceClient}). The matrix and the result are transferred through shared memory
+ * and the progress is sent to the {@link ISolverCallback} of the request. The requests are solved one at
+ * a time in the order they arrive, every request has its own cancellation token identified by its callback.
+ */
+@RequiresApi(api = Build.VERSION_CODES.O_MR1)
+public class SolverService extends Service {
+    private static final Logger LOGGER = Logger.getLogger(SolverService.class.getName());
+    private static final String RESULT_NAME = "solverResult";
+
+    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+    //Tokens of the requests queued or in progress by the binder of their callback
+    private final Map<IBinder, CancellationToken> cancellationTokens = new ConcurrentHashMap<>();
+
+    private final ISolverService.Stub binder = new ISolverService.Stub() {
+        @Override
+        public void solve(final Bundle request, final ISolverCallback callback) {
+            final CancellationToken token = new CancellationToken();
+            cancellationTokens.put(callback.asBinder(), token);
+            executorService.execute(() -> {
+                try {
+                    SolverService.this.solve(request, token, callback);
+                } finally {
+                    cancellationTokens.remove(callback.asBinder());
+                }
+            });
+        }
+
+        @Override
+        public void cancel(final ISolverCallback callback) {
+            //The oneway calls of a client arrive in order, the token of the request is already registered
+            CancellationToken token = cancellationTokens.get(callback.asBinder());
+            if (token != null) {
+                token.cancel();
+            }
+        }
+    };
+
+    @Override
+    public IBinder onBind(final Intent intent) {
+        return binder;
+    }
+
+    @Override
+    public void onDestroy() {
+        //The queued requests are cancelled too, they finish without solving
+        for (CancellationToken token : cancellationTokens.values()) {
+            token.cancel();
+        }
+        executorService.shutdown();
+        super.onDestroy();
+    }
+
+    /**
+     * Solve the matrix of the request and send the result to the callback
+     * @param request Request of {@link SolverServiceClient}
+     * @param token Token cancelled by {@link ISolverService#cancel(ISolverCallback)}
+     * @param callback Callback of the request
+     */
+    private void solve(final Bundle request, final CancellationToken token, final ISolverCallback callback) {
+        LinearSystemInfo linearSystemInfo;
+        try {
+            //The matrix structure is a class of the app
+            request.setClassLoader(MatrixStructure.class.getClassLoader());
+            SharedMemory matrixMemory = request.getParcelable(Constants.SOLVER_REQUEST_MATRIX);
+            BigDecimal[][] matrix = SharedMemoryCodec.readMatrix(matrixMemory);
+            String checkpointPath = request.getString(Constants.SOLVER_REQUEST_CHECKPOINT);
+            SolverOptions options = new SolverOptions();
+            options.setCancellationToken(token);
+            options.setTimeBudgetMillis(request.getLong(Constants.SOLVER_REQUEST_TIME_BUDGET,
+                    SolverOptions.NO_TIME_BUDGET));
+            options.setVerificationEnabled(request.getBoolean(Constants.SOLVER_REQUEST_VERIFICATION));
+            if (checkpointPath != null) {
+                options.setCheckpoint(new SolverCheckpoint(new File(checkpointPath)));
+            }
+            //Analyzed by the app, the matrix is not analyzed again
+            options.setMatrixStructure((MatrixStructure) request.getSerializable(
+                    Constants.SOLVER_REQUEST_STRUCTURE));
+            options.setProgressListener((eliminatedColumns, totalColumns) -> {
+                try {
+                    callback.onProgress(eliminatedColumns, totalColumns);
+                } catch (RemoteException e) {
+                    //The app process died, nobody waits for the result
+                    token.cancel();
+                }
+            });
+            linearSystemInfo = LinearSystemsSolver.solve(matrix, options);
+        } catch (IOException | OutOfMemoryError e) {
+            //Only this request fails, the matrix is released and the service keeps running
+            linearSystemInfo = SolverService.getErrorResponse(LinearSystemUtils.getStackTrace(e));
+        }
+        try {
+            SharedMemory resultMemory = SharedMemoryCodec.writeLinearSystemInfo(RESULT_NAME, linearSystemInfo);
+            Bundle result = new Bundle();
+            result.putParcelable(Constants.SOLVER_RESULT, resultMemory);
+            try {
+                callback.onFinished(result);
+            } finally {
+                //The transaction has its own copy of the file descriptor
+                resultMemory.close();
+            }
+        } catch (IOException | RemoteException e) {
+            SolverService.LOGGER.warning(LinearSystemUtils.getStackTrace(e));
+        }
+    }
+
+    /**
+     * @param message Additional info of the error
+     * @return Response of a request that failed
+     */
+    static LinearSystemInfo getErrorResponse(final String message) {
+        LinearSystemInfo linearSystemInfo = new LinearSystemInfo();
+        linearSystemInfo.setStatusCode(LinearSystemUtils.StatusCode.UNEXPECTED_ERROR.getStatusCodeVal());
+        linearSystemInfo.appendAdditionalInfo(message);
+        return linearSystemInfo;
+    }
+}
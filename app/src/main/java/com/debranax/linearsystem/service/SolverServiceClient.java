@@ -0,0 +1,269 @@
+package com.debranax.linearsystem.service;
+
+import android.content.ComponentName;
+import android.content.Context;
+import android.content.Intent;
+import android.content.ServiceConnection;
+import android.os.Build;
+import android.os.Bundle;
+import android.os.IBinder;
+import android.os.RemoteException;
+import android.os.SharedMemory;
+
+import androidx.annotation.RequiresApi;
+
+import com.debranax.linearsystem.math.AsyncLinearSystemsSolver;
+import com.debranax.linearsystem.math.CancellationToken;
+import com.debranax.linearsystem.math.LinearSystemInfo;
+import com.debranax.linearsystem.math.LinearSystemUtils;
+import com.debranax.linearsystem.math.SolverOptions;
+import com.debranax.linearsystem.math.SolverProgressListener;
+import com.debranax.linearsystem.utils.Constants;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.logging.Logger;
+
+/**
+ * Solve the linear systems in the {@link SolverService} (:solver process), the counterpart of
+ * {@link AsyncLinearSystemsSolver} for the app: the same options and callback are used, the progress is
+ * reported to the progress listener of the options and the callback is called in a binder thread. If the
+ * solver process dies (e.g. out of memory) only the request fails with
+ * {@link LinearSystemUtils.StatusCode#UNEXPECTED_ERROR}, the service is created again by the next request.
+ * The cancellation token of the options is sent to the service as soon as it is cancelled, and the
+ * matrix structure of the options (if any) is sent with the request so the service does not analyze the
+ * matrix again.
+ * Only one request is expected at a time, a new request replaces the previous one, which is cancelled in
+ * the service and its result is not delivered.
+ */
+@RequiresApi(api = Build.VERSION_CODES.O_MR1)
+public class SolverServiceClient implements ServiceConnection, IBinder.DeathRecipient {
+    private static final Logger LOGGER = Logger.getLogger(SolverServiceClient.class.getName());
+    private static final String MATRIX_NAME = "solverMatrix";
+    private static final String PROCESS_DIED_MESSAGE = "The solver process died";
+
+    private final Context context;
+    private ISolverService service;
+    private boolean bound;
+    private PendingRequest pendingRequest;
+
+    /**
+     * @param context Context used to bind the service, the application context is recommended
+     */
+    public SolverServiceClient(final Context context) {
+        this.context = context;
+    }
+
+    /**
+     * Solve the linear system in the solver process
+     * @param augmentedMatrix Augmented matrix
+     * @param options Options of the solver (cancellation token, progress listener, time budget, verification,
+     *                checkpoint and matrix structure), if there is no cancellation token a new one is created
+     * @param callback Callback that receives the result
+     * @return Token to cancel the solve
+     */
+    public synchronized CancellationToken solve(final BigDecimal[][] augmentedMatrix, final SolverOptions options,
+                                                final AsyncLinearSystemsSolver.Callback callback) {
+        final SolverOptions solverOptions = options != null ? options : new SolverOptions();
+        if (solverOptions.getCancellationToken() == null) {
+            solverOptions.setCancellationToken(new CancellationToken());
+        }
+        Bundle request = new Bundle();
+        try {
+            request.putParcelable(Constants.SOLVER_REQUEST_MATRIX,
+                    SharedMemoryCodec.writeMatrix(MATRIX_NAME, augmentedMatrix));
+        } catch (IOException e) {
+            callback.onFinished(SolverService.getErrorResponse(LinearSystemUtils.getStackTrace(e)));
+            return solverOptions.getCancellationToken();
+        }
+        request.putLong(Constants.SOLVER_REQUEST_TIME_BUDGET, solverOptions.getTimeBudgetMillis());
+        request.putBoolean(Constants.SOLVER_REQUEST_VERIFICATION, solverOptions.isVerificationEnabled());
+        if (solverOptions.getCheckpoint() != null) {
+            request.putString(Constants.SOLVER_REQUEST_CHECKPOINT,
+                    solverOptions.getCheckpoint().getFile().getAbsolutePath());
+        }
+        if (solverOptions.getMatrixStructure() != null) {
+            request.putSerializable(Constants.SOLVER_REQUEST_STRUCTURE, solverOptions.getMatrixStructure());
+        }
+        final PendingRequest newRequest = new PendingRequest(request, solverOptions, callback);
+        if (pendingRequest != null) {
+            PendingRequest previousRequest = pendingRequest;
+            previousRequest.options.getCancellationToken().setCancelListener(null);
+            sendCancel(previousRequest);
+            previousRequest.releaseMatrix();
+        }
+        pendingRequest = newRequest;
+        solverOptions.getCancellationToken().setCancelListener(() -> cancel(newRequest));
+        if (service != null) {
+            send(pendingRequest);
+        } else if (!bound) {
+            bound = context.bindService(new Intent(context, SolverService.class), this, Context.BIND_AUTO_CREATE);
+            if (!bound) {
+                finish(pendingRequest, SolverService.getErrorResponse("The solver service cannot be bound"));
+            }
+        }
+        return solverOptions.getCancellationToken();
+    }
+
+    /**
+     * Unbind the service, the result of a solve in progress is not delivered
+     */
+    public synchronized void unbind() {
+        if (pendingRequest != null) {
+            pendingRequest.options.getCancellationToken().setCancelListener(null);
+            pendingRequest.releaseMatrix();
+            pendingRequest = null;
+        }
+        if (service != null) {
+            service.asBinder().unlinkToDeath(this, 0);
+            service = null;
+        }
+        if (bound) {
+            context.unbindService(this);
+            bound = false;
+        }
+    }
+
+    @Override
+    public synchronized void onServiceConnected(final ComponentName name, final IBinder binder) {
+        service = ISolverService.Stub.asInterface(binder);
+        try {
+            binder.linkToDeath(this, 0);
+        } catch (RemoteException e) {
+            //The process already died, binderDied is not called
+            service = null;
+            finish(pendingRequest, SolverService.getErrorResponse(PROCESS_DIED_MESSAGE));
+            return;
+        }
+        if (pendingRequest != null && !pendingRequest.sent) {
+            send(pendingRequest);
+        }
+    }
+
+    @Override
+    public synchronized void onServiceDisconnected(final ComponentName name) {
+        //The service is connected again when the process is restarted
+        service = null;
+    }
+
+    @Override
+    public void binderDied() {
+        PendingRequest request;
+        synchronized (this) {
+            service = null;
+            request = pendingRequest;
+        }
+        finish(request, SolverService.getErrorResponse(PROCESS_DIED_MESSAGE));
+    }
+
+    /**
+     * Send the request to the connected service
+     * @param request Request to send
+     */
+    private void send(final PendingRequest request) {
+        request.sent = true;
+        try {
+            service.solve(request.request, request.solverCallback);
+            if (request.options.getCancellationToken().isCancelled()) {
+                service.cancel(request.solverCallback);
+            }
+        } catch (RemoteException e) {
+            finish(request, SolverService.getErrorResponse(LinearSystemUtils.getStackTrace(e)));
+        } finally {
+            //The transaction has its own copy of the file descriptor
+            request.releaseMatrix();
+        }
+    }
+
+    /**
+     * Deliver the result of the request once
+     * @param request Request finished, ignored if it was replaced or already finished
+     * @param linearSystemInfo Result of the request
+     */
+    private void finish(final PendingRequest request, final LinearSystemInfo linearSystemInfo) {
+        synchronized (this) {
+            if (request == null || request != pendingRequest) {
+                return;
+            }
+            pendingRequest = null;
+        }
+        request.options.getCancellationToken().setCancelListener(null);
+        request.releaseMatrix();
+        //The callback is not called holding the lock, it can save the result
+        request.callback.onFinished(linearSystemInfo);
+    }
+
+    /**
+     * Cancel the solve of the request in the service, a request not sent yet is cancelled when it is sent
+     * @param request Request cancelled, ignored if it was replaced or already finished
+     */
+    private synchronized void cancel(final PendingRequest request) {
+        if (request == pendingRequest) {
+            sendCancel(request);
+        }
+    }
+
+    /**
+     * Cancel the solve of the request in the service if it was sent, called holding the lock
+     * @param request Request cancelled
+     */
+    private void sendCancel(final PendingRequest request) {
+        if (request.sent && service != null) {
+            try {
+                service.cancel(request.solverCallback);
+            } catch (RemoteException e) {
+                SolverServiceClient.LOGGER.warning(LinearSystemUtils.getStackTrace(e));
+            }
+        }
+    }
+
+    /**
+     * Request sent (or waiting for the connection) to the service
+     */
+    private class PendingRequest {
+        private final Bundle request;
+        private final SolverOptions options;
+        private final AsyncLinearSystemsSolver.Callback callback;
+        private boolean sent;
+        private final ISolverCallback.Stub solverCallback = new ISolverCallback.Stub() {
+            @Override
+            public void onProgress(final int eliminatedColumns, final int totalColumns) {
+                SolverProgressListener progressListener = options.getProgressListener();
+                if (progressListener != null) {
+                    progressListener.onProgress(eliminatedColumns, totalColumns);
+                }
+            }
+
+            @Override
+            public void onFinished(final Bundle result) {
+                LinearSystemInfo linearSystemInfo;
+                result.setClassLoader(SharedMemory.class.getClassLoader());
+                SharedMemory sharedMemory = result.getParcelable(Constants.SOLVER_RESULT);
+                try {
+                    linearSystemInfo = SharedMemoryCodec.readLinearSystemInfo(sharedMemory);
+                } catch (IOException e) {
+                    linearSystemInfo = SolverService.getErrorResponse(LinearSystemUtils.getStackTrace(e));
+                }
+                finish(PendingRequest.this, linearSystemInfo);
+            }
+        };
+
+        PendingRequest(final Bundle request, final SolverOptions options,
+                       final AsyncLinearSystemsSolver.Callback callback) {
+            this.request = request;
+            this.options = options;
+            this.callback = callback;
+        }
+
+        /**
+         * Close the shared memory of the matrix, it is only needed until the request is sent
+         */
+        synchronized void releaseMatrix() {
+            SharedMemory sharedMemory = request.getParcelable(Constants.SOLVER_REQUEST_MATRIX);
+            if (sharedMemory != null) {
+                sharedMemory.close();
+                request.remove(Constants.SOLVER_REQUEST_MATRIX);
+            }
+        }
+    }
+}
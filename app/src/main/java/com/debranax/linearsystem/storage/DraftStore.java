@@ -0,0 +1,156 @@
+package com.debranax.linearsystem.storage;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+
+import androidx.annotation.NonNull;
+
+import com.debranax.linearsystem.utils.AugmentedMatrixModel;
+
+/**
+ * Draft of the augmented matrix saved in a small SQLite table, only the cells changed by the user are
+ * written and the rows are read when the grid requests them
+ */
+public class DraftStore extends SQLiteOpenHelper implements AugmentedMatrixModel.RowLoader {
+    private static final String DATABASE_NAME = "draft.db";
+    private static final int DATABASE_VERSION = 1;
+    private static final String TABLE_INFO = "draft_info";
+    private static final String TABLE_CELL = "draft_cell";
+    private static final String COLUMN_ID = "id";
+    private static final String COLUMN_UNKNOWNS = "unknowns";
+    private static final String COLUMN_ROW = "row_index";
+    private static final String COLUMN_COLUMN = "column_index";
+    private static final String COLUMN_VALUE = "value";
+    private static final int INFO_ID = 0;
+
+    private static final Object sLock = new Object();
+    private static DraftStore sInstance;
+
+    private DraftStore(final Context context) {
+        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+    }
+
+    /**
+     * Returns the instance of DraftStore of the application
+     */
+    @NonNull
+    public static DraftStore getInstance(@NonNull final Context context) {
+        synchronized (sLock) {
+            if (sInstance == null) {
+                sInstance = new DraftStore(context.getApplicationContext());
+            }
+            return sInstance;
+        }
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_INFO + " (" + COLUMN_ID + " INTEGER PRIMARY KEY, "
+                + COLUMN_UNKNOWNS + " INTEGER NOT NULL)");
+        db.execSQL("CREATE TABLE " + TABLE_CELL + " (" + COLUMN_ROW + " INTEGER NOT NULL, "
+                + COLUMN_COLUMN + " INTEGER NOT NULL, " + COLUMN_VALUE + " TEXT NOT NULL, "
+                + "PRIMARY KEY (" + COLUMN_ROW + ", " + COLUMN_COLUMN + "))");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        //There is only one version of the database
+    }
+
+    /**
+     * Get the unknowns of the saved draft
+     * @return Unknowns or 0 if there is no draft
+     */
+    public int getUnknowns() {
+        Cursor cursor = getReadableDatabase().query(TABLE_INFO, new String[]{COLUMN_UNKNOWNS},
+                COLUMN_ID + " = " + INFO_ID, null, null, null, null);
+        try {
+            return cursor.moveToFirst() ? cursor.getInt(0) : 0;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Load the values of a row of the draft
+     * @param row Row of the augmented matrix
+     * @param totalColumns Total columns of the augmented matrix
+     * @return Values of the row (null values are empty cells) or null if the row is empty
+     */
+    @Override
+    public String[] loadRow(int row, int totalColumns) {
+        String[] rowCells = null;
+        Cursor cursor = getReadableDatabase().query(TABLE_CELL, new String[]{COLUMN_COLUMN, COLUMN_VALUE},
+                COLUMN_ROW + " = ?", new String[]{String.valueOf(row)}, null, null, null);
+        try {
+            while (cursor.moveToNext()) {
+                int column = cursor.getInt(0);
+                if (column < totalColumns) {
+                    if (rowCells == null) {
+                        rowCells = new String[totalColumns];
+                    }
+                    rowCells[column] = cursor.getString(1);
+                }
+            }
+        } finally {
+            cursor.close();
+        }
+        return rowCells;
+    }
+
+    /**
+     * Write the cells changed in a single transaction, a new draft discards the previous one
+     * @param changes Changes of the augmented matrix
+     */
+    public void write(final AugmentedMatrixModel.Changes changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            if (changes.isNewDraft()) {
+                ContentValues contentValues = new ContentValues();
+                contentValues.put(COLUMN_ID, INFO_ID);
+                contentValues.put(COLUMN_UNKNOWNS, changes.getUnknowns());
+                db.delete(TABLE_CELL, null, null);
+                db.replace(TABLE_INFO, null, contentValues);
+            }
+            writeCells(db, changes);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Insert or replace the changed cells, empty cells are deleted
+     * @param db Database in a transaction
+     * @param changes Changes of the augmented matrix
+     */
+    private void writeCells(final SQLiteDatabase db, final AugmentedMatrixModel.Changes changes) {
+        SQLiteStatement replaceStatement = db.compileStatement("INSERT OR REPLACE INTO " + TABLE_CELL
+                + " (" + COLUMN_ROW + ", " + COLUMN_COLUMN + ", " + COLUMN_VALUE + ") VALUES (?, ?, ?)");
+        SQLiteStatement deleteStatement = db.compileStatement("DELETE FROM " + TABLE_CELL + " WHERE "
+                + COLUMN_ROW + " = ? AND " + COLUMN_COLUMN + " = ?");
+        try {
+            for (int index = 0; index < changes.size(); index++) {
+                String value = changes.getValue(index);
+                SQLiteStatement statement = value.length() == 0 ? deleteStatement : replaceStatement;
+                statement.bindLong(1, changes.getRow(index));
+                statement.bindLong(2, changes.getColumn(index));
+                if (value.length() > 0) {
+                    statement.bindString(3, value);
+                }
+                statement.execute();
+            }
+        } finally {
+            replaceStatement.close();
+            deleteStatement.close();
+        }
+    }
+}
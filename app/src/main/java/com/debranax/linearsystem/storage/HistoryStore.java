@@ -0,0 +1,624 @@
+package com.debranax.linearsystem.storage;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+
+import com.debranax.linearsystem.math.LUDecomposition;
+import com.debranax.linearsystem.math.LinearSystemInfo;
+import com.debranax.linearsystem.math.LinearSystemUtils;
+import com.debranax.linearsystem.math.LinearSystemsSolver;
+import com.debranax.linearsystem.math.MatrixCodec;
+import com.debranax.linearsystem.math.SolverOptions;
+import com.debranax.linearsystem.utils.Constants;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * History of the solved linear systems saved in files of the app. Every system is saved once, the key
+ * of an entry is the SHA-256 of the augmented matrix, and the LU factorization is saved by the key of the
+ * coefficient matrix so a system with new constants is solved without a new elimination. The index is
+ * read the first time the history is used (never when the app starts) and the oldest entries are
+ * removed when the files exceed the size limit. The lock of the store only covers the files and the
+ * index, the factorizations are calculated in a background executor and the substitutions are done by
+ * the caller.
+ */
+public class HistoryStore {
+    private static final String DIRECTORY_NAME = "history";
+    private static final String INDEX_FILE = "index.bin";
+    private static final String ENTRY_EXTENSION = ".bin";
+    private static final String FACTORIZATION_PREFIX = "lu-";
+    private static final String TEMP_EXTENSION = ".tmp";
+    private static final int INDEX_VERSION = 1;
+
+    private static final Object sLock = new Object();
+    private static HistoryStore sInstance;
+
+    /**
+     * Information of a system of the history, the matrix and the solution are read from its file
+     */
+    public static class Entry {
+        private final String key;
+        private final String coefficientKey;
+        private final int unknowns;
+        private final int statusCode;
+        private long lastUsed;
+        private final long size;
+
+        Entry(final String key, final String coefficientKey, final int unknowns, final int statusCode,
+              final long lastUsed, final long size) {
+            this.key = key;
+            this.coefficientKey = coefficientKey;
+            this.unknowns = unknowns;
+            this.statusCode = statusCode;
+            this.lastUsed = lastUsed;
+            this.size = size;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public int getUnknowns() {
+            return unknowns;
+        }
+
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        /**
+         * @return Time in milliseconds when the system was solved or recalled the last time
+         */
+        public long getLastUsed() {
+            return lastUsed;
+        }
+    }
+
+    private final File directory;
+    private final long maxBytes;
+    private final Executor factorizationExecutor;
+    //Ordered from the least to the most recently used
+    private LinkedHashMap<String, Entry> entries;
+    private Map<String, Long> factorizations;
+
+    /**
+     * @param directory Directory of the history files
+     * @param maxBytes Maximum size of the files, the oldest entries are removed to keep this size
+     */
+    public HistoryStore(final File directory, final long maxBytes) {
+        this(directory, maxBytes, Executors.newSingleThreadExecutor());
+    }
+
+    /**
+     * @param directory Directory of the history files
+     * @param maxBytes Maximum size of the files, the oldest entries are removed to keep this size
+     * @param factorizationExecutor Executor where the LU factorizations of the solved systems are calculated
+     */
+    public HistoryStore(final File directory, final long maxBytes, final Executor factorizationExecutor) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.factorizationExecutor = factorizationExecutor;
+    }
+
+    /**
+     * Returns the instance of HistoryStore of the application, no file is read here
+     */
+    @NonNull
+    public static HistoryStore getInstance(@NonNull final Context context) {
+        synchronized (sLock) {
+            if (sInstance == null) {
+                sInstance = new HistoryStore(new File(context.getApplicationContext().getFilesDir(),
+                        DIRECTORY_NAME), Constants.MAX_HISTORY_BYTES);
+            }
+            return sInstance;
+        }
+    }
+
+    /**
+     * Get the entries of the history
+     * @return Entries from the most to the least recently used
+     */
+    @WorkerThread
+    public synchronized List<Entry> getEntries() {
+        List<Entry> result = new ArrayList<>(loadIndex().values());
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * Save the result of a linear system, if the system is already in the history only its last use is
+     * updated. The LU factorization of a solved system is calculated later in the factorization executor
+     * and saved for new constants (up to {@link Constants#MAX_HISTORY_FACTORIZATION_UNKNOWNS} unknowns)
+     * @param augmentedMatrix Augmented matrix captured by the user
+     * @param linearSystemInfo Result of the solver
+     * @return Key of the entry
+     * @throws IOException If the files cannot be written
+     */
+    @WorkerThread
+    public synchronized String add(final BigDecimal[][] augmentedMatrix, final LinearSystemInfo linearSystemInfo)
+            throws IOException {
+        int unknowns = LinearSystemUtils.getTotalRows(augmentedMatrix);
+        String key = HistoryStore.hash(augmentedMatrix, unknowns + 1);
+        Map<String, Entry> index = loadIndex();
+        if (touch(key) != null) {
+            writeIndex();
+            return key;
+        }
+        String coefficientKey = HistoryStore.hash(augmentedMatrix, unknowns);
+        File entryFile = getEntryFile(key);
+        DataOutputStream output = HistoryStore.openOutput(entryFile);
+        try {
+            MatrixCodec.writeDeltaMatrix(output, augmentedMatrix);
+            MatrixCodec.writeVarInt(output, MatrixCodec.zigZag(linearSystemInfo.getStatusCode()));
+            MatrixCodec.writeString(output, linearSystemInfo.getAdditionalInfo().toString());
+            MatrixCodec.writeDeltaVector(output, linearSystemInfo.getSolution());
+        } finally {
+            output.close();
+        }
+        HistoryStore.commit(entryFile);
+        index.put(key, new Entry(key, coefficientKey, unknowns, linearSystemInfo.getStatusCode(),
+                System.currentTimeMillis(), entryFile.length()));
+        evict();
+        writeIndex();
+        if (linearSystemInfo.isSolved() && unknowns <= Constants.MAX_HISTORY_FACTORIZATION_UNKNOWNS
+                && !factorizations.containsKey(coefficientKey)) {
+            factorizationExecutor.execute(() -> addFactorization(coefficientKey, augmentedMatrix));
+        }
+        return key;
+    }
+
+    /**
+     * Calculate the LU factorization without the lock and save it if an entry still uses it
+     * @param coefficientKey Key of the coefficient matrix
+     * @param augmentedMatrix Augmented matrix of the solved system
+     */
+    @WorkerThread
+    private void addFactorization(final String coefficientKey, final BigDecimal[][] augmentedMatrix) {
+        LUDecomposition luDecomposition = LUDecomposition.decompose(augmentedMatrix);
+        synchronized (this) {
+            if (factorizations.containsKey(coefficientKey) || !isCoefficientKeyUsed(coefficientKey)) {
+                return;
+            }
+            try {
+                writeFactorization(coefficientKey, luDecomposition);
+                evict();
+                writeIndex();
+            } catch (IOException e) {
+                //The factorization is optional, the system with new constants is solved again
+            }
+        }
+    }
+
+    /**
+     * Get the result of a system of the history and update its last use
+     * @param key Key of the entry
+     * @return Result saved or null if the entry is not in the history
+     */
+    @WorkerThread
+    public synchronized LinearSystemInfo get(final String key) {
+        loadIndex();
+        if (touch(key) == null) {
+            return null;
+        }
+        try {
+            LinearSystemInfo linearSystemInfo = readEntry(key);
+            writeIndex();
+            return linearSystemInfo;
+        } catch (IOException e) {
+            remove(key);
+            return null;
+        }
+    }
+
+    /**
+     * Get the augmented matrix of a system of the history
+     * @param key Key of the entry
+     * @return Augmented matrix or null if the entry is not in the history
+     */
+    @WorkerThread
+    public synchronized BigDecimal[][] getMatrix(final String key) {
+        if (!loadIndex().containsKey(key)) {
+            return null;
+        }
+        try {
+            DataInputStream input = HistoryStore.openInput(getEntryFile(key));
+            try {
+                return MatrixCodec.readDeltaMatrix(input);
+            } finally {
+                input.close();
+            }
+        } catch (IOException e) {
+            remove(key);
+            return null;
+        }
+    }
+
+    /**
+     * Get the result of the same augmented matrix if it was saved and update its last use
+     * @param augmentedMatrix Augmented matrix captured by the user
+     * @return Result saved or null if the system is not in the history
+     */
+    @WorkerThread
+    public LinearSystemInfo get(final BigDecimal[][] augmentedMatrix) {
+        return get(HistoryStore.hash(augmentedMatrix, LinearSystemUtils.getTotalRows(augmentedMatrix) + 1));
+    }
+
+    /**
+     * Find the result of the linear system without solving it, see {@link #find(BigDecimal[][], SolverOptions)}
+     * @param augmentedMatrix Augmented matrix captured by the user
+     * @return Result or null if the system must be solved
+     */
+    @WorkerThread
+    public LinearSystemInfo find(final BigDecimal[][] augmentedMatrix) {
+        return find(augmentedMatrix, null);
+    }
+
+    /**
+     * Find the result of the linear system without solving it: the same augmented matrix was saved
+     * ({@link #get(BigDecimal[][])}) or the LU factorization of its coefficient matrix was saved
+     * ({@link #solveWithFactorization(BigDecimal[][], SolverOptions)})
+     * @param augmentedMatrix Augmented matrix captured by the user
+     * @param options Options of the solve (e.g. verification) or null
+     * @return Result or null if the system must be solved
+     */
+    @WorkerThread
+    public LinearSystemInfo find(final BigDecimal[][] augmentedMatrix, final SolverOptions options) {
+        LinearSystemInfo linearSystemInfo = get(augmentedMatrix);
+        if (linearSystemInfo != null) {
+            return linearSystemInfo;
+        }
+        return solveWithFactorization(augmentedMatrix, options);
+    }
+
+    /**
+     * Solve the linear system with the saved LU factorization of its coefficient matrix, only the
+     * substitutions are done (outside the lock of the store) and the result is checked as a new solve by
+     * {@link LinearSystemsSolver#solve(BigDecimal[][], LUDecomposition, SolverOptions)}. The result is
+     * a new system, it is not saved here
+     * @param augmentedMatrix Augmented matrix captured by the user
+     * @param options Options of the solve (e.g. verification) or null
+     * @return Result or null if the factorization was not saved
+     */
+    @WorkerThread
+    public LinearSystemInfo solveWithFactorization(final BigDecimal[][] augmentedMatrix, final SolverOptions options) {
+        LUDecomposition luDecomposition = getFactorization(augmentedMatrix);
+        if (luDecomposition == null || luDecomposition.isSingular()) {
+            return null;
+        }
+        return LinearSystemsSolver.solve(augmentedMatrix, luDecomposition, options);
+    }
+
+    /**
+     * Get the saved LU factorization of the coefficient matrix of the system
+     * @param augmentedMatrix Augmented matrix (or coefficient matrix)
+     * @return Factorization or null if it was not saved
+     */
+    @WorkerThread
+    public synchronized LUDecomposition getFactorization(final BigDecimal[][] augmentedMatrix) {
+        String coefficientKey = HistoryStore.hash(augmentedMatrix, LinearSystemUtils.getTotalRows(augmentedMatrix));
+        loadIndex();
+        if (!factorizations.containsKey(coefficientKey)) {
+            return null;
+        }
+        try {
+            DataInputStream input = HistoryStore.openInput(getFactorizationFile(coefficientKey));
+            try {
+                BigDecimal[][] lu = MatrixCodec.readDeltaMatrix(input);
+                int[] permutation = new int[lu.length];
+                for (int index = 0; index < permutation.length; index++) {
+                    permutation[index] = MatrixCodec.readVarInt(input);
+                }
+                return new LUDecomposition(lu, permutation);
+            } finally {
+                input.close();
+            }
+        } catch (IOException e) {
+            factorizations.remove(coefficientKey);
+            return null;
+        }
+    }
+
+    /**
+     * Remove an entry of the history, the factorization is removed if no other entry uses it
+     * @param key Key of the entry
+     */
+    @WorkerThread
+    public synchronized void remove(final String key) {
+        Entry entry = loadIndex().remove(key);
+        if (entry == null) {
+            return;
+        }
+        deleteEntryFiles(entry);
+        writeIndex();
+    }
+
+    /**
+     * Remove all the entries of the history
+     */
+    @WorkerThread
+    public synchronized void clear() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        entries = new LinkedHashMap<>();
+        factorizations = new HashMap<>();
+    }
+
+    /**
+     * @return Size in bytes of the files of the history (the index is not included)
+     */
+    @WorkerThread
+    public synchronized long getSize() {
+        long size = 0;
+        for (Entry entry : loadIndex().values()) {
+            size += entry.size;
+        }
+        for (long factorizationSize : factorizations.values()) {
+            size += factorizationSize;
+        }
+        return size;
+    }
+
+    /**
+     * Calculate the key of a matrix, numbers with the same value have the same key (e.g. 2 and 2.00)
+     * @param matrix Augmented matrix
+     * @param totalColumns Columns included in the key, the coefficient matrix uses n columns
+     * @return SHA-256 of the columns as a hexadecimal string
+     */
+    public static String hash(final BigDecimal[][] matrix, final int totalColumns) {
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            //SHA-256 is available in every Java and Android platform
+            throw new IllegalStateException(e);
+        }
+        DataOutputStream output = new DataOutputStream(new DigestOutputStream(new NullOutputStream(),
+                messageDigest));
+        try {
+            MatrixCodec.writeVarInt(output, matrix.length);
+            MatrixCodec.writeVarInt(output, totalColumns);
+            for (BigDecimal[] row : matrix) {
+                for (int columnIndex = 0; columnIndex < totalColumns; columnIndex++) {
+                    BigDecimal value = row[columnIndex];
+                    MatrixCodec.writeBigDecimal(output, value.signum() == 0 ? BigDecimal.ZERO
+                            : value.stripTrailingZeros());
+                }
+            }
+            output.flush();
+        } catch (IOException e) {
+            //NullOutputStream does not throw IOException
+            throw new IllegalStateException(e);
+        }
+        StringBuilder stringBuilder = new StringBuilder();
+        for (byte value : messageDigest.digest()) {
+            stringBuilder.append(Character.forDigit((value >> 4) & 0xF, 16));
+            stringBuilder.append(Character.forDigit(value & 0xF, 16));
+        }
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Read the index the first time it is requested, an index that cannot be read is discarded with the
+     * files of the history
+     * @return Entries of the history
+     */
+    private Map<String, Entry> loadIndex() {
+        if (entries != null) {
+            return entries;
+        }
+        entries = new LinkedHashMap<>();
+        factorizations = new HashMap<>();
+        File indexFile = new File(directory, INDEX_FILE);
+        if (!indexFile.exists()) {
+            return entries;
+        }
+        try {
+            readIndex(indexFile);
+        } catch (IOException e) {
+            clear();
+        }
+        return entries;
+    }
+
+    private void readIndex(final File indexFile) throws IOException {
+        DataInputStream input = HistoryStore.openInput(indexFile);
+        try {
+            if (MatrixCodec.readVarInt(input) != INDEX_VERSION) {
+                throw new IOException("Unknown version of the history");
+            }
+            int totalEntries = MatrixCodec.readVarInt(input);
+            for (int index = 0; index < totalEntries; index++) {
+                Entry entry = new Entry(MatrixCodec.readString(input), MatrixCodec.readString(input),
+                        MatrixCodec.readVarInt(input), MatrixCodec.unZigZag(MatrixCodec.readVarInt(input)),
+                        MatrixCodec.readVarLong(input), MatrixCodec.readVarLong(input));
+                entries.put(entry.key, entry);
+            }
+            int totalFactorizations = MatrixCodec.readVarInt(input);
+            for (int index = 0; index < totalFactorizations; index++) {
+                factorizations.put(MatrixCodec.readString(input), MatrixCodec.readVarLong(input));
+            }
+        } finally {
+            input.close();
+        }
+    }
+
+    /**
+     * Write the index in a temporary file that replaces the index, a failure keeps the previous index
+     */
+    private void writeIndex() {
+        File indexFile = new File(directory, INDEX_FILE);
+        try {
+            DataOutputStream output = HistoryStore.openOutput(indexFile);
+            try {
+                MatrixCodec.writeVarInt(output, INDEX_VERSION);
+                MatrixCodec.writeVarInt(output, entries.size());
+                for (Entry entry : entries.values()) {
+                    MatrixCodec.writeString(output, entry.key);
+                    MatrixCodec.writeString(output, entry.coefficientKey);
+                    MatrixCodec.writeVarInt(output, entry.unknowns);
+                    MatrixCodec.writeVarInt(output, MatrixCodec.zigZag(entry.statusCode));
+                    MatrixCodec.writeVarLong(output, entry.lastUsed);
+                    MatrixCodec.writeVarLong(output, entry.size);
+                }
+                MatrixCodec.writeVarInt(output, factorizations.size());
+                for (Map.Entry<String, Long> factorization : factorizations.entrySet()) {
+                    MatrixCodec.writeString(output, factorization.getKey());
+                    MatrixCodec.writeVarLong(output, factorization.getValue());
+                }
+            } finally {
+                output.close();
+            }
+            HistoryStore.commit(indexFile);
+        } catch (IOException e) {
+            //The entries are still available until the app is closed
+        }
+    }
+
+    private LinearSystemInfo readEntry(final String key) throws IOException {
+        LinearSystemInfo linearSystemInfo = new LinearSystemInfo();
+        DataInputStream input = HistoryStore.openInput(getEntryFile(key));
+        try {
+            MatrixCodec.readDeltaMatrix(input);
+            linearSystemInfo.setStatusCode(MatrixCodec.unZigZag(MatrixCodec.readVarInt(input)));
+            linearSystemInfo.appendAdditionalInfo(MatrixCodec.readString(input));
+            linearSystemInfo.setSolution(MatrixCodec.readDeltaVector(input));
+        } finally {
+            input.close();
+        }
+        return linearSystemInfo;
+    }
+
+    private boolean isCoefficientKeyUsed(final String coefficientKey) {
+        for (Entry entry : loadIndex().values()) {
+            if (entry.coefficientKey.equals(coefficientKey)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeFactorization(final String coefficientKey, final LUDecomposition luDecomposition)
+            throws IOException {
+        File factorizationFile = getFactorizationFile(coefficientKey);
+        DataOutputStream output = HistoryStore.openOutput(factorizationFile);
+        try {
+            MatrixCodec.writeDeltaMatrix(output, luDecomposition.getLU());
+            for (int originalRow : luDecomposition.getPermutation()) {
+                MatrixCodec.writeVarInt(output, originalRow);
+            }
+        } finally {
+            output.close();
+        }
+        HistoryStore.commit(factorizationFile);
+        factorizations.put(coefficientKey, factorizationFile.length());
+    }
+
+    /**
+     * Move the entry to the end of the index (most recently used)
+     * @param key Key of the entry
+     * @return Entry or null if it is not in the history
+     */
+    private Entry touch(final String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            entry.lastUsed = System.currentTimeMillis();
+            entries.put(key, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Remove the least recently used entries until the files are below the size limit, the last entry
+     * is always kept
+     */
+    private void evict() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > 1 && getSize() > maxBytes && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            iterator.remove();
+            deleteEntryFiles(entry);
+        }
+    }
+
+    private void deleteEntryFiles(final Entry entry) {
+        getEntryFile(entry.key).delete();
+        if (!isCoefficientKeyUsed(entry.coefficientKey) && factorizations.remove(entry.coefficientKey) != null) {
+            getFactorizationFile(entry.coefficientKey).delete();
+        }
+    }
+
+    private File getEntryFile(final String key) {
+        return new File(directory, key + ENTRY_EXTENSION);
+    }
+
+    private File getFactorizationFile(final String coefficientKey) {
+        return new File(directory, FACTORIZATION_PREFIX + coefficientKey + ENTRY_EXTENSION);
+    }
+
+    /**
+     * Open the temporary file of a file, {@link #commit(File)} replaces the file once it is written
+     * @param file File to write
+     * @return Output of the temporary file
+     * @throws IOException If the directory or the file cannot be created
+     */
+    private static DataOutputStream openOutput(final File file) throws IOException {
+        File parent = file.getParentFile();
+        if (!parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("The directory of the history cannot be created");
+        }
+        return new DataOutputStream(new BufferedOutputStream(new FileOutputStream(
+                new File(parent, file.getName() + TEMP_EXTENSION))));
+    }
+
+    private static void commit(final File file) throws IOException {
+        File tempFile = new File(file.getParentFile(), file.getName() + TEMP_EXTENSION);
+        if (!tempFile.renameTo(file)) {
+            tempFile.delete();
+            throw new IOException("The file of the history cannot be written");
+        }
+    }
+
+    private static DataInputStream openInput(final File file) throws IOException {
+        return new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+    }
+
+    /**
+     * Output that discards the bytes, used to calculate the hash without keeping the encoded matrix
+     */
+    private static class NullOutputStream extends OutputStream {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
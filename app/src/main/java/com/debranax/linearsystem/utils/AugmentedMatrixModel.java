@@ -0,0 +1,325 @@
+package com.debranax.linearsystem.utils;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Values captured by the user for the augmented matrix (n x n+1), the views of the grid only show
+ * these values so the matrix does not depend on how many cells are visible. Rows are allocated
+ * when the first value is written (or loaded from the draft when they are requested the first time).
+ * The cells changed since the last {@link #takeChanges()} are tracked so only those are saved.
+ * The values can be read in a background thread (e.g. validated before the solve) while they are written.
+ */
+public class AugmentedMatrixModel {
+
+    public interface RowLoader {
+        /**
+         * Load the values of a row of a saved draft
+         * @param row Row of the augmented matrix
+         * @param totalColumns Total columns of the augmented matrix
+         * @return Values of the row (null values are empty cells) or null if the row is empty
+         */
+        String[] loadRow(int row, int totalColumns);
+    }
+
+    /**
+     * Cells changed since the last call to {@link #takeChanges()}
+     */
+    public static class Changes {
+        private final int unknowns;
+        private final boolean newDraft;
+        private final int[] rows;
+        private final int[] columns;
+        private final String[] values;
+
+        private Changes(final int unknowns, final boolean newDraft, final Map<Long, String> changedCells) {
+            int index = 0;
+            this.unknowns = unknowns;
+            this.newDraft = newDraft;
+            this.rows = new int[changedCells.size()];
+            this.columns = new int[changedCells.size()];
+            this.values = new String[changedCells.size()];
+            for (Map.Entry<Long, String> entry : changedCells.entrySet()) {
+                rows[index] = (int) (entry.getKey() >>> 32);
+                columns[index] = (int) (long) entry.getKey();
+                values[index] = entry.getValue();
+                index++;
+            }
+        }
+
+        public int getUnknowns() {
+            return unknowns;
+        }
+
+        /**
+         * @return True if the previous draft must be discarded before saving the changes
+         */
+        public boolean isNewDraft() {
+            return newDraft;
+        }
+
+        public int size() {
+            return values.length;
+        }
+
+        public int getRow(final int index) {
+            return rows[index];
+        }
+
+        public int getColumn(final int index) {
+            return columns[index];
+        }
+
+        /**
+         * @param index Index of the change
+         * @return Value of the cell, empty string if the cell was cleared
+         */
+        public String getValue(final int index) {
+            return values[index];
+        }
+
+        public boolean isEmpty() {
+            return !newDraft && values.length == 0;
+        }
+    }
+
+    private final int unknowns;
+    private final String[][] cells;
+    private final boolean[] loadedRows;
+    private final RowLoader rowLoader;
+    private final Map<Long, String> changedCells = new LinkedHashMap<>();
+    private boolean newDraft;
+    private volatile BigDecimal[][] parsedMatrix;
+    private boolean complexInput;
+    private int invalidRow = -1;
+    private int invalidColumn = -1;
+
+    /**
+     * Create an empty model, it replaces any saved draft
+     * @param unknowns Unknowns of the linear system
+     */
+    public AugmentedMatrixModel(final int unknowns) {
+        this(unknowns, null);
+        this.newDraft = true;
+    }
+
+    /**
+     * Create the model of a saved draft, the rows are loaded the first time they are requested
+     * @param unknowns Unknowns of the linear system
+     * @param rowLoader Loader of the rows of the draft, null if there is no draft
+     */
+    public AugmentedMatrixModel(final int unknowns, final RowLoader rowLoader) {
+        this.unknowns = unknowns;
+        this.cells = new String[unknowns][];
+        this.loadedRows = new boolean[unknowns];
+        this.rowLoader = rowLoader;
+    }
+
+    /**
+     * Create the model with the values of a matrix (e.g. pasted matrix), it replaces any saved draft
+     * @param savedMatrix Augmented matrix where values are read, null values are empty cells
+     */
+    public AugmentedMatrixModel(final String[][] savedMatrix) {
+        this(savedMatrix.length);
+        for (int row = 0; row < unknowns; row++) {
+            for (int column = 0; column <= unknowns; column++) {
+                setValue(row, column, savedMatrix[row][column]);
+            }
+        }
+    }
+
+    /**
+     * Create the model with the values of a matrix already validated and converted (e.g. pasted matrix),
+     * the converted values are used by {@link #fillAugmentedMatrix(BigDecimal[][])} until a cell changes
+     * @param savedMatrix Augmented matrix where values are read
+     * @param parsedMatrix Values of savedMatrix converted to BigDecimal
+     */
+    public AugmentedMatrixModel(final String[][] savedMatrix, final BigDecimal[][] parsedMatrix) {
+        this(savedMatrix);
+        this.parsedMatrix = parsedMatrix;
+    }
+
+    public int getUnknowns() {
+        return unknowns;
+    }
+
+    public int getTotalColumns() {
+        return unknowns + 1;
+    }
+
+    /**
+     * Get the value of a cell
+     * @param row Row of the augmented matrix
+     * @param column Column of the augmented matrix
+     * @return Value of the cell, empty string if nothing was captured
+     */
+    public String getValue(final int row, final int column) {
+        String[] rowCells = getRow(row);
+        String value = rowCells != null ? rowCells[column] : null;
+        return value != null ? value : "";
+    }
+
+    /**
+     * Set the value of a cell
+     * @param row Row of the augmented matrix
+     * @param column Column of the augmented matrix
+     * @param value Value captured by the user
+     */
+    public synchronized void setValue(final int row, final int column, final String value) {
+        String newValue = value != null ? value : "";
+        if (newValue.equals(getValue(row, column))) {
+            return;
+        }
+        if (cells[row] == null) {
+            cells[row] = new String[unknowns + 1];
+        }
+        cells[row][column] = newValue;
+        parsedMatrix = null;
+        changedCells.put(((long) row << 32) | column, newValue);
+    }
+
+    /**
+     * Get the cells changed since the last call and start tracking again
+     * @return Changed cells
+     */
+    public Changes takeChanges() {
+        Changes changes = new Changes(unknowns, newDraft, changedCells);
+        changedCells.clear();
+        newDraft = false;
+        return changes;
+    }
+
+    /**
+     * Get the values of a row, loading them from the draft if it is the first time the row is requested
+     * @param row Row of the augmented matrix
+     * @return Values of the row or null if the row is empty
+     */
+    private synchronized String[] getRow(final int row) {
+        if (!loadedRows[row]) {
+            loadedRows[row] = true;
+            if (rowLoader != null && cells[row] == null) {
+                cells[row] = rowLoader.loadRow(row, unknowns + 1);
+            }
+        }
+        return cells[row];
+    }
+
+    /**
+     * Copy the values of the model, cells never captured are null
+     * @return Augmented matrix with the values captured by the user
+     */
+    public String[][] toArray() {
+        String[][] matrix = new String[unknowns][unknowns + 1];
+        for (int row = 0; row < unknowns; row++) {
+            String[] rowCells = getRow(row);
+            if (rowCells != null) {
+                System.arraycopy(rowCells, 0, matrix[row], 0, unknowns + 1);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Validate and fill the augmented matrix with the values of the model, if the validation fails
+     * the position of the first invalid cell is available in {@link #getInvalidRow()} and
+     * {@link #getInvalidColumn()}
+     * @param matrix Array where is stored the augmented matrix
+     * @return Return the result of the validation
+     */
+    public Utils.ValidationResult fillAugmentedMatrix(final BigDecimal[][] matrix) {
+        return fillAugmentedMatrix(matrix, null);
+    }
+
+    /**
+     * Validate and fill the augmented matrix with the values of the model, complex values (a+bi) are
+     * accepted if there is a matrix for the imaginary parts
+     * @param matrix Array where is stored the real parts of the augmented matrix
+     * @param imaginaryMatrix Array where is stored the imaginary parts, null if only real values are valid
+     * @return Return the result of the validation
+     */
+    public Utils.ValidationResult fillAugmentedMatrix(final BigDecimal[][] matrix,
+                                                      final BigDecimal[][] imaginaryMatrix) {
+        BigDecimal[][] parsedValues = parsedMatrix;
+        invalidRow = -1;
+        invalidColumn = -1;
+        if (parsedValues != null && imaginaryMatrix == null) {
+            for (int row = 0; row < unknowns; row++) {
+                System.arraycopy(parsedValues[row], 0, matrix[row], 0, unknowns + 1);
+            }
+            return Utils.ValidationResult.OK;
+        }
+        for (int row = 0; row < unknowns; row++) {
+            for (int column = 0; column <= unknowns; column++) {
+                String value = getValue(row, column).trim();
+                Utils.ValidationResult validationResult = null;
+                if (value.length() == 0) {
+                    validationResult = Utils.ValidationResult.Empty;
+                } else if (imaginaryMatrix != null ? !Utils.isValidComplexNumber(value)
+                        : !Utils.isValidNumber(value)) {
+                    validationResult = Utils.ValidationResult.InvalidNumber;
+                }
+                if (validationResult != null) {
+                    invalidRow = row;
+                    invalidColumn = column;
+                    return validationResult;
+                }
+                if (imaginaryMatrix != null) {
+                    BigDecimal[] parts = Utils.toComplex(value);
+                    matrix[row][column] = parts[0];
+                    imaginaryMatrix[row][column] = parts[1];
+                } else {
+                    matrix[row][column] = Utils.toBigDecimal(value);
+                }
+            }
+        }
+        return Utils.ValidationResult.OK;
+    }
+
+    public boolean isComplexInput() {
+        return complexInput;
+    }
+
+    /**
+     * @param complexInput True to capture complex numbers (a+bi) in every cell
+     */
+    public void setComplexInput(final boolean complexInput) {
+        this.complexInput = complexInput;
+    }
+
+    /**
+     * @param row Row of the augmented matrix
+     * @param column Column of the augmented matrix
+     * @return True if the cell captures complex numbers, the complex input is enabled or its value already
+     * has an imaginary part (e.g. pasted)
+     */
+    public boolean isComplexInput(final int row, final int column) {
+        return complexInput || Utils.isImaginary(getValue(row, column));
+    }
+
+    /**
+     * @return True if a value captured has an imaginary part, the system must be solved as complex
+     */
+    public boolean isComplex() {
+        for (int row = 0; row < unknowns; row++) {
+            String[] rowCells = getRow(row);
+            if (rowCells == null) {
+                continue;
+            }
+            for (String value : rowCells) {
+                if (value != null && Utils.isImaginary(value)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public int getInvalidRow() {
+        return invalidRow;
+    }
+
+    public int getInvalidColumn() {
+        return invalidColumn;
+    }
+}
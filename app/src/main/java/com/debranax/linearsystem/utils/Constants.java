@@ -3,16 +3,43 @@ package com.debranax.linearsystem.utils;
 public interface Constants {
     String UNKNOWNS = "unknowns";
     String LINEAR_SYSTEM_INFO = "linearSystemInfo";
+    String LINEAR_SYSTEM_INFO_HANDLE = "linearSystemInfoHandle";
     String FORMAT_RESULTS = "#.#####";
     String CONTACT_EMAIL = "debranax@outlook.com";
     String SUBJECT_EMAIL = "Linear Equation System Solver App";
     String URL_REPO = "https://github.com/debranax/linear-system-solver-app";
     String SAVE_STATE_AUGMENTED_MATRIX = "saveStateAugmentedMatrix";
+    String LOAD_DRAFT = "loadDraft";
+    String SAVE_STATE_EXPORT_DECIMALS = "saveStateExportDecimals";
+    String FILE_PROVIDER_SUFFIX = ".fileprovider";
+    String EXPORT_DIRECTORY = "exports";
+    String EXPORT_FILE_NAME = "solution";
+    String RESULTS_DIRECTORY = "results";
+    String CHECKPOINT_FILE_NAME = "solve.checkpoint";
+    String PREFERENCES_NAME = "preferences";
+    String PREFERENCE_MAX_UNKNOWNS = "maxUnknowns";
+    String SOLVER_REQUEST_MATRIX = "matrix";
+    String SOLVER_REQUEST_TIME_BUDGET = "timeBudgetMillis";
+    String SOLVER_REQUEST_VERIFICATION = "verification";
+    String SOLVER_REQUEST_CHECKPOINT = "checkpoint";
+    String SOLVER_REQUEST_STRUCTURE = "structure";
+    String SOLVER_RESULT = "result";
     int MIN_UNKNOWNS = 2;
     int MAX_TEXT_LENGTH = 17;
-    int MAX_UNKNOWNS_DEFAULT = 20;
+    int MAX_UNKNOWNS_DEFAULT = 500;
+    int MAX_UNKNOWNS_LIMIT = 999;
+    int MIN_CHECKPOINT_UNKNOWNS = 30;
+    long BENCHMARK_TARGET_LATENCY_MILLIS = 2000;
+    long SOLVE_TIME_BUDGET_MILLIS = 30000;
+    int MAX_PARCEL_RESULT_BYTES = 256 * 1024;
+    int MAX_STORED_RESULTS = 4;
+    int MAX_CLIPBOARD_CHARS = 512 * 1024;
+    int EXPORT_DECIMALS_DEFAULT = 5;
+    long MAX_HISTORY_BYTES = 4 * 1024 * 1024;
+    int MAX_HISTORY_FACTORIZATION_UNKNOWNS = 200;
     int SIZE_TEXT_RESULTS = 18;
     int WIDTH_EDIT_TEXT_AUGMENTED = 200;
+    int MAX_RECYCLED_CELLS = 150;
     int HEIGHT_TEXT_RESULTS = 130;
     int PADDING_10 = 10;
     int PADDING_35 = 35;
@@ -9,21 +9,38 @@ import java.util.*;
 
 public class FractionalNumberKeyListener extends NumberKeyListener {
     private final char[] mCharacters;
+    private final boolean mComplex;
 
     private static final Object sLock = new Object();
 
     @GuardedBy("sLock")
     private static final HashMap<Locale, FractionalNumberKeyListener> sInstanceCache = new HashMap<>();
 
+    @GuardedBy("sLock")
+    private static final HashMap<Locale, FractionalNumberKeyListener> sComplexInstanceCache = new HashMap<>();
+
     private static final char[] CHARACTERS = new char[] {
             '0', '1', '2', '3', '4', '5', '6', '7', '8', '9',
             '/', '-', '.', ' '
     };
 
+    private static final char[] COMPLEX_CHARACTERS = new char[] {
+            '0', '1', '2', '3', '4', '5', '6', '7', '8', '9',
+            '/', '-', '.', ' ', '+', 'i'
+    };
+
     public int getInputType() {
+        if (mComplex) {
+            //The keyboard of the dates has no imaginary unit, the accepted characters still filter the text
+            return InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_FLAG_NO_SUGGESTIONS;
+        }
         return InputType.TYPE_CLASS_DATETIME | InputType.TYPE_DATETIME_VARIATION_DATE;
     }
 
+    public boolean isComplex() {
+        return mComplex;
+    }
+
     @Override
     @NonNull
     protected char[] getAcceptedChars() {
@@ -35,8 +52,18 @@ public class FractionalNumberKeyListener extends NumberKeyListener {
     }
 
     public FractionalNumberKeyListener(@Nullable Locale locale) {
+        this(locale, false);
+    }
+
+    /**
+     * @param locale Not used
+     * @param complex True to accept complex numbers (a+bi) with the text keyboard, otherwise the numeric
+     *                keyboard is used
+     */
+    public FractionalNumberKeyListener(@Nullable Locale locale, boolean complex) {
         //TODO Locale for future use, e.g. can be useful for locales that use comma instead period
-        mCharacters = CHARACTERS;
+        mCharacters = complex ? COMPLEX_CHARACTERS : CHARACTERS;
+        mComplex = complex;
     }
 
     @NonNull
@@ -49,12 +76,22 @@ public class FractionalNumberKeyListener extends NumberKeyListener {
      */
     @NonNull
     public static FractionalNumberKeyListener getInstance(@Nullable Locale locale) {
+        return getInstance(locale, false);
+    }
+
+    /**
+     * Returns an instance of FractionalNumberKeyListener for real or complex numbers (locale is not used).
+     */
+    @NonNull
+    public static FractionalNumberKeyListener getInstance(@Nullable Locale locale, boolean complex) {
+        HashMap<Locale, FractionalNumberKeyListener> instanceCache = complex ? sComplexInstanceCache
+                : sInstanceCache;
         FractionalNumberKeyListener instance;
         synchronized (sLock) {
-            instance = sInstanceCache.get(locale);
+            instance = instanceCache.get(locale);
             if (instance == null) {
-                instance = new FractionalNumberKeyListener(locale);
-                sInstanceCache.put(locale, instance);
+                instance = new FractionalNumberKeyListener(locale, complex);
+                instanceCache.put(locale, instance);
             }
         }
         return instance;
@@ -0,0 +1,74 @@
+package com.debranax.linearsystem.utils;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import com.debranax.linearsystem.math.LinearSystemInfo;
+import com.debranax.linearsystem.math.MatrixCodec;
+
+import java.io.IOException;
+
+/**
+ * Parcelable wrapper of LinearSystemInfo, the content is written with the compact binary encoding of
+ * {@link MatrixCodec} instead of Java serialization
+ */
+public class LinearSystemInfoParcel implements Parcelable {
+    private final LinearSystemInfo linearSystemInfo;
+    private final byte[] encoded;
+
+    public LinearSystemInfoParcel(final LinearSystemInfo linearSystemInfo) {
+        this.linearSystemInfo = linearSystemInfo;
+        this.encoded = MatrixCodec.encode(linearSystemInfo);
+    }
+
+    private LinearSystemInfoParcel(final LinearSystemInfo linearSystemInfo, final byte[] encoded) {
+        this.linearSystemInfo = linearSystemInfo;
+        this.encoded = encoded;
+    }
+
+    public LinearSystemInfo getLinearSystemInfo() {
+        return linearSystemInfo;
+    }
+
+    /**
+     * Size in bytes of the encoded LinearSystemInfo written in the Parcel
+     * @return Size in bytes
+     */
+    public int getEncodedSize() {
+        return encoded.length;
+    }
+
+    /**
+     * @return LinearSystemInfo encoded by {@link MatrixCodec#encode(LinearSystemInfo)}
+     */
+    byte[] getEncoded() {
+        return encoded;
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+        dest.writeByteArray(encoded);
+    }
+
+    public static final Creator<LinearSystemInfoParcel> CREATOR = new Creator<LinearSystemInfoParcel>() {
+        @Override
+        public LinearSystemInfoParcel createFromParcel(Parcel source) {
+            byte[] encoded = source.createByteArray();
+            try {
+                return new LinearSystemInfoParcel(MatrixCodec.decode(encoded), encoded);
+            } catch (IOException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+
+        @Override
+        public LinearSystemInfoParcel[] newArray(int size) {
+            return new LinearSystemInfoParcel[size];
+        }
+    };
+}
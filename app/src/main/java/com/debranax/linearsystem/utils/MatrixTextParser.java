@@ -0,0 +1,163 @@
+package com.debranax.linearsystem.utils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+public class MatrixTextParser {
+    private static final String TAB = "\t";
+    private static final String COMMA = ",";
+    private static final String LINE_BREAK = "\\r?\\n|\\r";
+    private static final String WHITE_SPACES = "\\s+";
+    private static final String INTEGER = "^[+-]?\\d+$";
+    private static final String FRACTION = "^\\d+/[1-9]\\d*$";
+
+    /**
+     * Result of parsing a whole augmented matrix, if the validation fails row and column point to
+     * the first invalid cell (1-based)
+     */
+    public static class ParseResult {
+        private Utils.ValidationResult validationResult = Utils.ValidationResult.OK;
+        private int row;
+        private int column;
+        private String[][] cells;
+        private BigDecimal[][] matrix;
+
+        public Utils.ValidationResult getValidationResult() {
+            return validationResult;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public int getColumn() {
+            return column;
+        }
+
+        public String[][] getCells() {
+            return cells;
+        }
+
+        public BigDecimal[][] getMatrix() {
+            return matrix;
+        }
+
+        public int getUnknowns() {
+            return cells == null ? 0 : cells.length;
+        }
+
+        public boolean isValid() {
+            return validationResult == Utils.ValidationResult.OK;
+        }
+
+        private ParseResult fail(Utils.ValidationResult validationResult, int row, int column) {
+            this.validationResult = validationResult;
+            this.row = row;
+            this.column = column;
+            this.cells = null;
+            this.matrix = null;
+            return this;
+        }
+    }
+
+    /**
+     * Parse a text containing an augmented matrix, one row per line and cells separated by tab, comma
+     * or spaces (with spaces an integer followed by a fraction is a mixed fraction). The size of the system is taken from the number of rows, every row must have
+     * unknowns + 1 cells. All the cells are validated and converted in a single pass.
+     * @param text Text to parse (e.g. the content of the clipboard)
+     * @param minUnknowns Minimum unknowns allowed
+     * @param maxUnknowns Maximum unknowns allowed
+     * @return Instance of ParseResult with the cells and the augmented matrix or the first invalid cell
+     */
+    public static ParseResult parse(final String text, final int minUnknowns, final int maxUnknowns) {
+        ParseResult parseResult = new ParseResult();
+        List<String[]> rows = MatrixTextParser.splitRows(text);
+        int unknowns = rows.size();
+        if (unknowns == 0) {
+            return parseResult.fail(Utils.ValidationResult.Empty, 1, 1);
+        }
+        if (unknowns < minUnknowns || unknowns > maxUnknowns) {
+            return parseResult.fail(Utils.ValidationResult.InvalidSize, unknowns, rows.get(0).length);
+        }
+        String[][] cells = new String[unknowns][];
+        BigDecimal[][] matrix = new BigDecimal[unknowns][unknowns + 1];
+        for (int row = 0; row < unknowns; row++) {
+            String[] rowCells = rows.get(row);
+            if (rowCells.length != unknowns + 1) {
+                return parseResult.fail(Utils.ValidationResult.InvalidSize, row + 1,
+                        Math.min(rowCells.length, unknowns + 1) + 1);
+            }
+            for (int column = 0; column <= unknowns; column++) {
+                String value = rowCells[column];
+                if (value.length() == 0) {
+                    return parseResult.fail(Utils.ValidationResult.Empty, row + 1, column + 1);
+                }
+                if (value.length() > Constants.MAX_TEXT_LENGTH || !Utils.isValidNumber(value)) {
+                    return parseResult.fail(Utils.ValidationResult.InvalidNumber, row + 1, column + 1);
+                }
+                matrix[row][column] = Utils.toBigDecimal(value);
+            }
+            cells[row] = rowCells;
+        }
+        parseResult.cells = cells;
+        parseResult.matrix = matrix;
+        return parseResult;
+    }
+
+    /**
+     * Split the text in rows and cells, blank lines are ignored
+     * @param text Text to split
+     * @return List of the rows, every row contains the trimmed cells
+     */
+    private static List<String[]> splitRows(final String text) {
+        List<String[]> rows = new ArrayList<>();
+        if (text == null) {
+            return rows;
+        }
+        for (String line : text.trim().split(LINE_BREAK)) {
+            String trimmedLine = line.trim();
+            if (trimmedLine.length() > 0) {
+                rows.add(MatrixTextParser.splitCells(trimmedLine));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Split a line in cells, the separator is tab, comma or spaces (in that order of precedence)
+     * @param line Line to split
+     * @return Cells of the line
+     */
+    private static String[] splitCells(final String line) {
+        String[] cells;
+        if (line.contains(TAB) || line.contains(COMMA)) {
+            cells = line.split(line.contains(TAB) ? TAB : COMMA, -1);
+            for (int index = 0; index < cells.length; index++) {
+                cells[index] = cells[index].trim();
+            }
+            return cells;
+        }
+        return MatrixTextParser.joinMixedFractions(line.split(WHITE_SPACES));
+    }
+
+    /**
+     * When cells are separated by spaces an integer followed by a fraction is taken as a mixed
+     * fraction (e.g. "2 1/2"), the same way it is captured in the augmented matrix. The rule is greedy,
+     * "1 1/2 3" is the two cells "1 1/2" and "3", to paste 1, 1/2 and 3 as three cells the cells must be
+     * separated by tab or comma
+     * @param tokens Tokens separated by spaces
+     * @return Cells of the line
+     */
+    private static String[] joinMixedFractions(final String[] tokens) {
+        List<String> cells = new ArrayList<>(tokens.length);
+        for (int index = 0; index < tokens.length; index++) {
+            String token = tokens[index];
+            if (index + 1 < tokens.length && token.matches(INTEGER) && tokens[index + 1].matches(FRACTION)) {
+                token = token + " " + tokens[++index];
+            }
+            cells.add(token);
+        }
+        return cells.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,163 @@
+package com.debranax.linearsystem.utils;
+
+import android.content.Context;
+import android.content.Intent;
+import android.os.Bundle;
+
+import com.debranax.linearsystem.math.LinearSystemInfo;
+import com.debranax.linearsystem.math.MatrixCodec;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Store of the results, large results are kept here and only a handle is passed between activities so
+ * the Binder transaction limit is never reached. The last results are kept in memory and every result
+ * is also written to a cache file, so the result is still available if it was discarded from memory or
+ * the process was killed while the results activity was in the background.
+ */
+public class ResultStore {
+    private static final Object LOCK = new Object();
+    private static final Map<String, LinearSystemInfo> RESULTS = new LinkedHashMap<>();
+    private static final ExecutorService FILE_EXECUTOR = Executors.newSingleThreadExecutor();
+    private static long nextHandle = 1;
+
+    /**
+     * Put the LinearSystemInfo in the intent, as a Parcelable if the encoded size is below
+     * {@link Constants#MAX_PARCEL_RESULT_BYTES} otherwise as a handle of this store
+     * @param context Context used to get the cache directory
+     * @param intent Intent where the result is put
+     * @param linearSystemInfo Result to put
+     */
+    public static void putExtra(final Context context, final Intent intent, final LinearSystemInfo linearSystemInfo) {
+        LinearSystemInfoParcel parcel = new LinearSystemInfoParcel(linearSystemInfo);
+        if (parcel.getEncodedSize() <= Constants.MAX_PARCEL_RESULT_BYTES) {
+            intent.putExtra(Constants.LINEAR_SYSTEM_INFO, parcel);
+        } else {
+            intent.putExtra(Constants.LINEAR_SYSTEM_INFO_HANDLE,
+                    ResultStore.put(ResultStore.getDirectory(context), linearSystemInfo, parcel.getEncoded()));
+        }
+    }
+
+    /**
+     * Get the LinearSystemInfo put with {@link #putExtra(Context, Intent, LinearSystemInfo)}, if it is
+     * not in memory it is read from its file
+     * @param context Context used to get the cache directory
+     * @param bundle Extras of the intent
+     * @return LinearSystemInfo or null if it is missing (see {@link #isExpired(Bundle, LinearSystemInfo)})
+     */
+    public static LinearSystemInfo getExtra(final Context context, final Bundle bundle) {
+        if (bundle == null) {
+            return null;
+        }
+        if (bundle.containsKey(Constants.LINEAR_SYSTEM_INFO_HANDLE)) {
+            return ResultStore.get(ResultStore.getDirectory(context),
+                    bundle.getString(Constants.LINEAR_SYSTEM_INFO_HANDLE));
+        }
+        LinearSystemInfoParcel parcel = bundle.getParcelable(Constants.LINEAR_SYSTEM_INFO);
+        return parcel != null ? parcel.getLinearSystemInfo() : null;
+    }
+
+    /**
+     * @param bundle Extras of the intent
+     * @param linearSystemInfo Result returned by {@link #getExtra(Context, Bundle)}
+     * @return True if the result was passed as a handle and it is no longer in the store (e.g. the cache
+     * was cleared), the system must be solved again
+     */
+    public static boolean isExpired(final Bundle bundle, final LinearSystemInfo linearSystemInfo) {
+        return linearSystemInfo == null && bundle != null && bundle.containsKey(Constants.LINEAR_SYSTEM_INFO_HANDLE);
+    }
+
+    /**
+     * Remove the result from the store and its file if it was passed as a handle
+     * @param context Context used to get the cache directory
+     * @param bundle Extras of the intent
+     */
+    public static void removeExtra(final Context context, final Bundle bundle) {
+        if (bundle != null && bundle.containsKey(Constants.LINEAR_SYSTEM_INFO_HANDLE)) {
+            ResultStore.remove(ResultStore.getDirectory(context),
+                    bundle.getString(Constants.LINEAR_SYSTEM_INFO_HANDLE));
+        }
+    }
+
+    /**
+     * Store the result, when the memory is full the oldest result is discarded from memory (its file is
+     * kept). The file is written in a background thread.
+     * @param directory Directory of the result files
+     * @param linearSystemInfo Result to store
+     * @param encoded Result encoded by {@link MatrixCodec#encode(LinearSystemInfo)}
+     * @return Handle of the result
+     */
+    static String put(final File directory, final LinearSystemInfo linearSystemInfo, final byte[] encoded) {
+        final String handle;
+        synchronized (LOCK) {
+            //The time makes the handle unique after the process is restarted
+            handle = System.currentTimeMillis() + "-" + nextHandle++;
+            RESULTS.put(handle, linearSystemInfo);
+            Iterator<String> iterator = RESULTS.keySet().iterator();
+            while (RESULTS.size() > Constants.MAX_STORED_RESULTS && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        FILE_EXECUTOR.execute(() -> {
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                return;
+            }
+            try (OutputStream outputStream = new FileOutputStream(new File(directory, handle))) {
+                outputStream.write(encoded);
+            } catch (IOException e) {
+                //The result is still in memory
+            }
+        });
+        return handle;
+    }
+
+    /**
+     * @param directory Directory of the result files
+     * @param handle Handle of the result
+     * @return Result from memory or from its file, null if it is missing
+     */
+    static LinearSystemInfo get(final File directory, final String handle) {
+        synchronized (LOCK) {
+            LinearSystemInfo linearSystemInfo = RESULTS.get(handle);
+            if (linearSystemInfo != null) {
+                return linearSystemInfo;
+            }
+        }
+        File file = new File(directory, handle);
+        if (handle == null || !file.isFile()) {
+            return null;
+        }
+        byte[] encoded = new byte[(int) file.length()];
+        try (DataInputStream inputStream = new DataInputStream(new FileInputStream(file))) {
+            inputStream.readFully(encoded);
+            return MatrixCodec.decode(encoded);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    static void remove(final File directory, final String handle) {
+        synchronized (LOCK) {
+            RESULTS.remove(handle);
+        }
+        FILE_EXECUTOR.execute(() -> {
+            //Deleted after the pending write of the same result
+            new File(directory, handle).delete();
+        });
+    }
+
+    private static File getDirectory(final Context context) {
+        return new File(context.getCacheDir(), Constants.RESULTS_DIRECTORY);
+    }
+}
@@ -0,0 +1,138 @@
+package com.debranax.linearsystem.utils;
+
+import com.debranax.linearsystem.math.LinearSystemInfo;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Export the solution of the linear system directly from LinearSystemInfo, the values are written one by
+ * one through a buffered writer so the rows never need to be shown and the export is linear in the unknowns
+ */
+public class SolutionExporter {
+    public static final int FULL_PRECISION = -1;
+    private static final String LINE_SEPARATOR = "\n";
+
+    public enum Format {
+        TEXT("txt", "text/plain"),
+        CSV("csv", "text/csv"),
+        JSON("json", "application/json");
+
+        private final String extension;
+        private final String mimeType;
+
+        Format(final String extension, final String mimeType) {
+            this.extension = extension;
+            this.mimeType = mimeType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public String getMimeType() {
+            return mimeType;
+        }
+    }
+
+    /**
+     * Write the solution of the linear system, a system without solution only writes its status (JSON)
+     * or nothing (text and CSV)
+     * @param linearSystemInfo Result of the solver
+     * @param format Format of the output
+     * @param decimals Decimals of the values (half up rounding) or {@link #FULL_PRECISION}
+     * @param writer Writer where the solution is written, it is flushed but not closed
+     * @throws IOException If the writer fails
+     */
+    public static void export(final LinearSystemInfo linearSystemInfo, final Format format, final int decimals,
+                              final Writer writer) throws IOException {
+        BufferedWriter bufferedWriter = writer instanceof BufferedWriter ? (BufferedWriter) writer
+                : new BufferedWriter(writer);
+        BigDecimal[] solution = linearSystemInfo.isSolved() ? linearSystemInfo.getSolution() : null;
+        int unknowns = solution != null ? solution.length : 0;
+        if (format == Format.CSV) {
+            bufferedWriter.write("variable,value");
+            bufferedWriter.write(LINE_SEPARATOR);
+        } else if (format == Format.JSON) {
+            bufferedWriter.write("{\"status\":" + linearSystemInfo.getStatusCode() + ",\"unknowns\":" + unknowns
+                    + ",\"solution\":[");
+        }
+        BigDecimal[] imaginarySolution = linearSystemInfo.getImaginarySolution();
+        for (int index = 0; index < unknowns; index++) {
+            String value = imaginarySolution == null ? SolutionExporter.formatValue(solution[index], decimals)
+                    : SolutionExporter.formatComplexValue(solution[index], imaginarySolution[index], decimals);
+            if (format == Format.JSON && imaginarySolution != null) {
+                //A complex value is not a JSON number
+                value = "\"" + value + "\"";
+            }
+            if (format == Format.TEXT) {
+                bufferedWriter.write("X" + (index + 1) + " = " + value + LINE_SEPARATOR);
+            } else if (format == Format.CSV) {
+                bufferedWriter.write("X" + (index + 1) + "," + value + LINE_SEPARATOR);
+            } else {
+                bufferedWriter.write(index > 0 ? "," + value : value);
+            }
+        }
+        if (format == Format.JSON) {
+            bufferedWriter.write("]}");
+        }
+        bufferedWriter.flush();
+    }
+
+    /**
+     * Export the solution to a String (e.g. for the clipboard)
+     * @param linearSystemInfo Result of the solver
+     * @param format Format of the output
+     * @param decimals Decimals of the values (half up rounding) or {@link #FULL_PRECISION}
+     * @return Exported solution
+     */
+    public static String exportToString(final LinearSystemInfo linearSystemInfo, final Format format,
+                                        final int decimals) {
+        StringWriter stringWriter = new StringWriter();
+        try {
+            SolutionExporter.export(linearSystemInfo, format, decimals, stringWriter);
+        } catch (IOException e) {
+            //StringWriter does not throw IOException
+            throw new IllegalStateException(e);
+        }
+        return stringWriter.toString();
+    }
+
+    /**
+     * Format a value without exponent and without trailing zeros
+     * @param value Value of the solution
+     * @param decimals Decimals of the value (half up rounding) or {@link #FULL_PRECISION}
+     * @return Formatted value, valid as a JSON number
+     */
+    public static String formatValue(final BigDecimal value, final int decimals) {
+        BigDecimal rounded = decimals == FULL_PRECISION ? value : value.setScale(decimals, RoundingMode.HALF_UP);
+        if (rounded.signum() == 0) {
+            return "0";
+        }
+        return rounded.stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * Format a complex value as a+bi, the format accepted by the input of the augmented matrix
+     * @param real Real part of the value
+     * @param imaginary Imaginary part of the value
+     * @param decimals Decimals of the parts (half up rounding) or {@link #FULL_PRECISION}
+     * @return Formatted value, without the part that is zero
+     */
+    public static String formatComplexValue(final BigDecimal real, final BigDecimal imaginary, final int decimals) {
+        String formattedImaginary = SolutionExporter.formatValue(imaginary, decimals);
+        if (formattedImaginary.equals("0")) {
+            return SolutionExporter.formatValue(real, decimals);
+        }
+        String formattedReal = SolutionExporter.formatValue(real, decimals);
+        String imaginaryPart = formattedImaginary + "i";
+        if (formattedReal.equals("0")) {
+            return imaginaryPart;
+        }
+        return formattedReal + (formattedImaginary.startsWith("-") ? "" : "+") + imaginaryPart;
+    }
+}
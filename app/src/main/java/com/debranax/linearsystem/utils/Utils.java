@@ -1,124 +1,81 @@
 package com.debranax.linearsystem.utils;
 
-import android.text.TextUtils;
-import android.view.View;
-import android.widget.TableLayout;
-import android.widget.TableRow;
-import android.widget.TextView;
-
 import androidx.annotation.DrawableRes;
 import androidx.appcompat.app.ActionBar;
 
+import android.content.Context;
+
 import com.debranax.linearsystem.math.LinearSystemUtils;
 
 import java.math.*;
 
 public class Utils {
     private static final String VALID_NUMBER = "^[+-]?\\d+([.]\\d*|(\\s\\d+)?[/][1-9]\\d*)?";
+    private static final String UNSIGNED_NUMBER = "\\d+([.]\\d*|(\\s\\d+)?[/][1-9]\\d*)?";
+    /** a, bi or a+bi, the parts are decimal or fractional numbers and b can be omitted (i, -i, a+i) */
+    private static final String VALID_COMPLEX_NUMBER = "^[+-]?(" + UNSIGNED_NUMBER + "|(" + UNSIGNED_NUMBER
+            + ")?i|" + UNSIGNED_NUMBER + "\\s*[+-]\\s*(" + UNSIGNED_NUMBER + ")?i)";
+    private static final char IMAGINARY_UNIT = 'i';
 
-    public enum ValidationResult {Empty, InvalidNumber, OK}
+    public enum ValidationResult {Empty, InvalidNumber, InvalidSize, OK}
 
     /**
-     * Fill the augmented matrix based on the tableLayout where data is captured by the user
-     * @param matrix Array where is stored the augmented matrix
-     * @param tableLayout TableLayout where data is captured by the user
+     * Convert a valid number (decimal or fractional) to BigDecimal
+     * @param value Valid number, see {@link #isValidNumber(String)}
+     * @return BigDecimal value of the number
      */
-    public static void fillAugmentedMatrix(final String[][] matrix, final TableLayout tableLayout) {
-        for (int row = 0; row < tableLayout.getChildCount(); row++) {
-            View child = tableLayout.getChildAt(row);
-            if (child instanceof TableRow) {
-                TableRow tableRow = (TableRow) child;
-                Utils.fillAugmentedMatrixRow(matrix, row, tableRow);
-            }
+    public static BigDecimal toBigDecimal(final String value) {
+        String trimmedValue = value.trim();
+        if (trimmedValue.contains("/")) {
+            return Utils.getBigDecimalFromFraction(trimmedValue);
         }
+        return new BigDecimal(trimmedValue);
     }
 
     /**
-     * Fill the row of the augmented matrix based on the tableLayout where data is captured by the user
-     * @param matrix Array where is stored the augmented matrix
-     * @param row Row to fill
-     * @param tableRow TableRow where values are aceptured bu the user
+     * Convert a valid complex number to its parts
+     * @param value Valid complex number, see {@link #isValidComplexNumber(String)}
+     * @return Real part and imaginary part of the number
      */
-    private static void fillAugmentedMatrixRow(final String[][] matrix , int row, final TableRow tableRow){
-        for (int column = 0; column < tableRow.getChildCount(); column++) {
-            TextView textView = (TextView) tableRow.getChildAt(column);
-            if (!TextUtils.isEmpty(textView.getText().toString())) {
-                matrix[row][column] = textView.getText().toString();
-            }
-        }
-    }
-    /**
-     * Validate and fill the augmented matrix based on the tableLayout where data is captured by the user
-     * @param matrix Array where is stored the augmented matrix
-     * @param tableLayout TableLayout where data is captured by the user
-     * @return Return the result of the validation
-     */
-    public static ValidationResult fillAugmentedMatrix(BigDecimal[][] matrix, final TableLayout tableLayout) {
-        for (int row = 0; row < tableLayout.getChildCount(); row++) {
-            View child = tableLayout.getChildAt(row);
-            if (child instanceof TableRow) {
-                TableRow tableRow = (TableRow) child;
-                for (int column = 0; column < tableRow.getChildCount(); column++) {
-                    TextView textView = (TextView) tableRow.getChildAt(column);
-                    String value = textView.getText().toString();
-                    ValidationResult validationResult = Utils.validateAugmentedMatrix(value);
-                    if (validationResult!=null){
-                        textView.requestFocus();
-                        return validationResult;
-                    }
-                    Utils.fillAugmentedMatrixValue(matrix, row, column, value);
-                }
-            }
+    public static BigDecimal[] toComplex(final String value) {
+        String trimmedValue = value.trim();
+        if (trimmedValue.charAt(trimmedValue.length() - 1) != IMAGINARY_UNIT) {
+            return new BigDecimal[]{Utils.toBigDecimal(trimmedValue), BigDecimal.ZERO};
         }
-        return ValidationResult.OK;
-    }
-
-    /**
-     * Validate the values in the textView where data is captured by the user
-     * @param value Value of the TextView
-     * @return If an error is found return the enum {@link ValidationResult} value otherwise return null
-     */
-    private static ValidationResult validateAugmentedMatrix(final String value){
-        if (TextUtils.isEmpty(value)) {
-            return ValidationResult.Empty;
+        String withoutUnit = trimmedValue.substring(0, trimmedValue.length() - 1);
+        int signIndex = Math.max(withoutUnit.lastIndexOf('+'), withoutUnit.lastIndexOf('-'));
+        BigDecimal real = BigDecimal.ZERO;
+        if (signIndex > 0) {
+            real = Utils.toBigDecimal(withoutUnit.substring(0, signIndex));
+        } else {
+            signIndex = 0;
         }
-        if (!Utils.isValidNumber(value)) {
-            return ValidationResult.InvalidNumber;
+        String imaginary = withoutUnit.substring(signIndex).trim();
+        boolean negative = imaginary.startsWith("-");
+        if (imaginary.startsWith("-") || imaginary.startsWith("+")) {
+            imaginary = imaginary.substring(1).trim();
         }
-        return  null;
+        BigDecimal imaginaryPart = imaginary.length() == 0 ? BigDecimal.ONE : Utils.toBigDecimal(imaginary);
+        return new BigDecimal[]{real, negative ? imaginaryPart.negate() : imaginaryPart};
     }
 
     /**
-     * Set a value in the augmented matrix based on row and column
-     * @param matrix Augmented matrix
-     * @param row Row where is store the value
-     * @param column Column where is store the value
-     * @param value Value to store
+     * @param context Context of the app
+     * @return Maximum unknowns of a system, the value suggested by the benchmark if it was applied
+     * otherwise {@link Constants#MAX_UNKNOWNS_DEFAULT}
      */
-    private static void fillAugmentedMatrixValue(BigDecimal[][] matrix, int row, int column,
-                                                 String value){
-        if (value.contains("/")) {
-            matrix[row][column] = Utils.getBigDecimalFromFraction(value);
-        } else {
-            matrix[row][column] = new BigDecimal(value);
-        }
+    public static int getMaxUnknowns(final Context context) {
+        return context.getSharedPreferences(Constants.PREFERENCES_NAME, Context.MODE_PRIVATE)
+                .getInt(Constants.PREFERENCE_MAX_UNKNOWNS, Constants.MAX_UNKNOWNS_DEFAULT);
     }
+
     /**
-     * Validate if the augmented matrix is a zero matrix
-     * @param matrix Augmented matrix
-     * @return true if it is a zero matrix
+     * @param context     Context of the app
+     * @param maxUnknowns New maximum unknowns of a system
      */
-    public static boolean isZeroMatrix(BigDecimal[][] matrix) {
-        int zeroCounter = 0;
-        int totalRows = LinearSystemUtils.getTotalRows(matrix);
-        int totalCols = LinearSystemUtils.getLastColumnIndex(matrix) + 1;
-        for (int row = 0; row < totalRows; row++) {
-            for (int column = 0; column < totalCols; column++) {
-                if (matrix[row][column].doubleValue() == 0)
-                    zeroCounter++;
-            }
-        }
-        return zeroCounter == (totalRows * totalCols);
+    public static void setMaxUnknowns(final Context context, final int maxUnknowns) {
+        context.getSharedPreferences(Constants.PREFERENCES_NAME, Context.MODE_PRIVATE).edit()
+                .putInt(Constants.PREFERENCE_MAX_UNKNOWNS, maxUnknowns).apply();
     }
 
     /**
@@ -141,8 +98,17 @@ public class Utils {
      * @return String that represent a possible number
      */
     public static boolean isWritingValidNumber(String number) {
+        return Utils.isWritingValidNumber(number, false);
+    }
+
+    /**
+     * @param number Validate if the parameter it is considered a possible number
+     * @param complexInput True if the cell accepts complex numbers (see {@link AugmentedMatrixModel#isComplexInput(int, int)})
+     * @return String that represent a possible number
+     */
+    public static boolean isWritingValidNumber(String number, boolean complexInput) {
         return number.trim().matches(VALID_NUMBER) && !number.endsWith("  ")
-                || Utils.isWritingNumber(number);
+                || Utils.isWritingNumber(number) || complexInput && Utils.isWritingComplexNumber(number);
     }
 
     /**
@@ -154,6 +120,57 @@ public class Utils {
         return number.trim().matches(VALID_NUMBER);
     }
 
+    /**
+     * Validate if the parameter is a valid complex number (a, bi or a+bi with decimal or fractional parts)
+     * @param number String that represent a possible complex number
+     * @return true if it is valid complex number
+     */
+    public static boolean isValidComplexNumber(String number) {
+        return number.trim().matches(VALID_COMPLEX_NUMBER);
+    }
+
+    /**
+     * @param number String that represent a possible number
+     * @return true if the value has an imaginary part
+     */
+    public static boolean isImaginary(String number) {
+        return number.indexOf(IMAGINARY_UNIT) >= 0;
+    }
+
+    /**
+     * Validate if the parameter it is considered a possible complex number: a valid real part followed
+     * by the imaginary part being written, or an imaginary number. While writing, a minus sign after the
+     * real part needs a space before it (a - bi), "1.8-" is still an invalid real number
+     * @param number String that represent a possible number
+     * @return true if it is valid complex number being written
+     */
+    private static boolean isWritingComplexNumber(String number) {
+        int unitIndex = number.indexOf(IMAGINARY_UNIT);
+        if (unitIndex >= 0 && unitIndex != number.length() - 1) {
+            return false;
+        }
+        String withoutUnit = unitIndex >= 0 ? number.substring(0, unitIndex) : number;
+        int signIndex = Math.max(withoutUnit.lastIndexOf('+'), withoutUnit.lastIndexOf('-'));
+        if (signIndex <= 0) {
+            //Imaginary number (3i, -i) or the sign of a number
+            if (unitIndex < 0) {
+                return withoutUnit.equals("+");
+            }
+            return withoutUnit.equals("") || withoutUnit.equals("-") || withoutUnit.equals("+")
+                    || Utils.isValidNumber(withoutUnit);
+        }
+        String imaginary = withoutUnit.substring(signIndex + 1).trim();
+        if (withoutUnit.charAt(signIndex) == '-' && unitIndex < 0 && withoutUnit.charAt(signIndex - 1) != ' ') {
+            return false;
+        }
+        if (!Utils.isValidNumber(withoutUnit.substring(0, signIndex))
+                || imaginary.startsWith("-") || imaginary.startsWith("+")) {
+            return false;
+        }
+        return unitIndex >= 0 ? imaginary.length() == 0 || Utils.isValidNumber(imaginary)
+                : Utils.isWritingNumber(imaginary) || Utils.isValidNumber(imaginary);
+    }
+
     /**
      * Validate if the parameter is a valid number (decimal or fractional)
      * @param number String that represent a possible number
@@ -201,6 +218,10 @@ public class Utils {
      * @return true if it is valida fractional number
      */
     private static boolean isWritingFraction(String number) {
+        //Only the first character can be a sign (e.g. "3 -4" is not a real number)
+        if (number.indexOf("-") > 0) {
+            return false;
+        }
         int totalSlash = countChar(number, "/");
         int totalSpaces = countChar(number, " ");
         int containSpace = number.indexOf(" ");
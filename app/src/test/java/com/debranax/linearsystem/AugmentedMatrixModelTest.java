@@ -0,0 +1,125 @@
+package com.debranax.linearsystem;
+
+import com.debranax.linearsystem.utils.*;
+
+import org.junit.*;
+
+import java.math.*;
+
+public class AugmentedMatrixModelTest {
+
+    @Test
+    public void fillAugmentedMatrix() {
+        AugmentedMatrixModel model = new AugmentedMatrixModel(new String[][]{{"1", "2", "3"}, {"1/2", null, "-4"}});
+        BigDecimal[][] matrix = new BigDecimal[2][3];
+        Assert.assertEquals("", model.getValue(1, 1));
+        Assert.assertEquals(Utils.ValidationResult.Empty, model.fillAugmentedMatrix(matrix));
+        Assert.assertEquals(1, model.getInvalidRow());
+        Assert.assertEquals(1, model.getInvalidColumn());
+        model.setValue(1, 1, "1.");
+        Assert.assertEquals(Utils.ValidationResult.OK, model.fillAugmentedMatrix(matrix));
+        Assert.assertEquals(0, matrix[1][0].compareTo(new BigDecimal("0.5")));
+        model.setValue(0, 2, "-");
+        Assert.assertEquals(Utils.ValidationResult.InvalidNumber, model.fillAugmentedMatrix(matrix));
+        Assert.assertEquals(0, model.getInvalidRow());
+        Assert.assertEquals(2, model.getInvalidColumn());
+    }
+
+    @Test
+    public void reusePastedMatrix() {
+        MatrixTextParser.ParseResult parseResult = MatrixTextParser.parse("1 2 3\n1/3 5 6", 2, 20);
+        AugmentedMatrixModel model = new AugmentedMatrixModel(parseResult.getCells(), parseResult.getMatrix());
+        BigDecimal[][] matrix = new BigDecimal[2][3];
+        Assert.assertEquals(Utils.ValidationResult.OK, model.fillAugmentedMatrix(matrix));
+        Assert.assertSame(parseResult.getMatrix()[1][0], matrix[1][0]);
+        model.setValue(1, 0, "x");
+        Assert.assertEquals(Utils.ValidationResult.InvalidNumber, model.fillAugmentedMatrix(matrix));
+    }
+
+    @Test
+    public void fillComplexAugmentedMatrix() {
+        AugmentedMatrixModel model = new AugmentedMatrixModel(new String[][]{{"1+2i", "-i", "3"},
+                {"1/2 - 1/4i", "2.5i", "4 +i"}});
+        BigDecimal[][] matrix = new BigDecimal[2][3];
+        BigDecimal[][] imaginaryMatrix = new BigDecimal[2][3];
+        Assert.assertTrue(model.isComplex());
+        Assert.assertEquals(Utils.ValidationResult.InvalidNumber, model.fillAugmentedMatrix(matrix));
+        Assert.assertEquals(Utils.ValidationResult.OK, model.fillAugmentedMatrix(matrix, imaginaryMatrix));
+        Assert.assertEquals(0, matrix[0][0].compareTo(BigDecimal.ONE));
+        Assert.assertEquals(0, imaginaryMatrix[0][0].compareTo(new BigDecimal("2")));
+        Assert.assertEquals(0, imaginaryMatrix[0][1].compareTo(BigDecimal.ONE.negate()));
+        Assert.assertEquals(0, imaginaryMatrix[0][2].signum());
+        Assert.assertEquals(0, matrix[1][0].compareTo(new BigDecimal("0.5")));
+        Assert.assertEquals(0, imaginaryMatrix[1][0].compareTo(new BigDecimal("-0.25")));
+        Assert.assertEquals(0, matrix[1][1].signum());
+        Assert.assertEquals(0, imaginaryMatrix[1][2].compareTo(BigDecimal.ONE));
+        Assert.assertTrue(Utils.isWritingValidNumber("2 -", true));
+        Assert.assertTrue(Utils.isWritingValidNumber("2 - 1/", true));
+        Assert.assertTrue(Utils.isWritingValidNumber("2+1.", true));
+        Assert.assertFalse(Utils.isWritingValidNumber("2-", true));
+        Assert.assertFalse(Utils.isWritingValidNumber("2i+", true));
+        //A real cell only accepts real numbers
+        Assert.assertTrue(Utils.isWritingValidNumber("2i", true));
+        Assert.assertFalse(Utils.isWritingValidNumber("2i"));
+        Assert.assertFalse(Utils.isWritingValidNumber("3 -4"));
+        Assert.assertFalse(Utils.isWritingValidNumber("2 -", false));
+        Assert.assertTrue(Utils.isWritingValidNumber("-2/3", false));
+        model.setValue(1, 2, "4+i2");
+        Assert.assertEquals(Utils.ValidationResult.InvalidNumber, model.fillAugmentedMatrix(matrix, imaginaryMatrix));
+    }
+
+    @Test
+    public void rowsAllocatedOnWrite() {
+        AugmentedMatrixModel model = new AugmentedMatrixModel(500);
+        model.setValue(499, 500, "");
+        Assert.assertNull(model.toArray()[499][500]);
+        model.setValue(499, 500, "7");
+        Assert.assertEquals("7", model.getValue(499, 500));
+        Assert.assertEquals(501, model.getTotalColumns());
+    }
+
+    @Test
+    public void trackChanges() {
+        AugmentedMatrixModel model = new AugmentedMatrixModel(2);
+        AugmentedMatrixModel.Changes changes = model.takeChanges();
+        Assert.assertTrue(changes.isNewDraft());
+        Assert.assertEquals(0, changes.size());
+        Assert.assertTrue(model.takeChanges().isEmpty());
+        model.setValue(1, 2, "3");
+        model.setValue(1, 2, "4");
+        model.setValue(0, 0, "");
+        changes = model.takeChanges();
+        Assert.assertFalse(changes.isNewDraft());
+        Assert.assertEquals(1, changes.size());
+        Assert.assertEquals(1, changes.getRow(0));
+        Assert.assertEquals(2, changes.getColumn(0));
+        Assert.assertEquals("4", changes.getValue(0));
+    }
+
+    @Test
+    public void loadRowsLazily() {
+        int[] loadedRows = new int[1];
+        AugmentedMatrixModel model = new AugmentedMatrixModel(3, (row, totalColumns) -> {
+            loadedRows[0]++;
+            return row == 1 ? new String[]{"1", null, "2", "3"} : null;
+        });
+        Assert.assertEquals(0, loadedRows[0]);
+        Assert.assertEquals("2", model.getValue(1, 2));
+        Assert.assertEquals("", model.getValue(1, 1));
+        Assert.assertEquals(1, loadedRows[0]);
+        Assert.assertTrue(model.takeChanges().isEmpty());
+    }
+
+    @Test
+    public void complexInputOnlyWhereEnabled() {
+        AugmentedMatrixModel model = new AugmentedMatrixModel(2);
+        model.setValue(0, 1, "1+2i");
+        model.setValue(1, 0, "3");
+        Assert.assertTrue(model.isComplexInput(0, 1));
+        Assert.assertFalse(model.isComplexInput(1, 0));
+        Assert.assertFalse(model.isComplexInput(1, 1));
+        model.setComplexInput(true);
+        Assert.assertTrue(model.isComplexInput(1, 0));
+        Assert.assertTrue(model.isComplexInput(1, 1));
+    }
+}
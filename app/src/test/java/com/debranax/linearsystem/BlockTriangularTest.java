@@ -0,0 +1,108 @@
+package com.debranax.linearsystem;
+
+import com.debranax.linearsystem.math.*;
+
+import org.junit.*;
+
+import java.math.*;
+import java.util.*;
+
+public class BlockTriangularTest {
+
+    @Test
+    public void permutedIndependentSubsystems() {
+        //4 subsystems of two 5 x 5 blocks, the second block depends on the first one
+        int components = 4;
+        int blockSize = 5;
+        int size = 2 * components * blockSize;
+        Random random = new Random(11);
+        BigDecimal[][] blocked = new BigDecimal[size][size];
+        for (BigDecimal[] row : blocked) {
+            Arrays.fill(row, BigDecimal.ZERO);
+        }
+        for (int component = 0; component < components; component++) {
+            int first = 2 * component * blockSize;
+            for (int rowIndex = first; rowIndex < first + 2 * blockSize; rowIndex++) {
+                int blockStart = rowIndex < first + blockSize ? first : first + blockSize;
+                for (int columnIndex = first; columnIndex < blockStart + blockSize; columnIndex++) {
+                    blocked[rowIndex][columnIndex] = rowIndex == columnIndex ? BigDecimal.valueOf(20)
+                            : BigDecimal.valueOf(random.nextInt(3) + 1);
+                }
+            }
+        }
+
+        //Random permutation of the rows and the columns
+        List<Integer> rows = new ArrayList<>();
+        List<Integer> columns = new ArrayList<>();
+        for (int index = 0; index < size; index++) {
+            rows.add(index);
+            columns.add(index);
+        }
+        Collections.shuffle(rows, random);
+        Collections.shuffle(columns, random);
+        BigDecimal[] expected = MatrixGenerator.getExpectedSolution(size, 11);
+        BigDecimal[][] matrix = new BigDecimal[size][size + 1];
+        for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+            BigDecimal constant = BigDecimal.ZERO;
+            for (int columnIndex = 0; columnIndex < size; columnIndex++) {
+                matrix[rowIndex][columnIndex] = blocked[rows.get(rowIndex)][columns.get(columnIndex)];
+                constant = constant.add(matrix[rowIndex][columnIndex].multiply(expected[columnIndex]));
+            }
+            matrix[rowIndex][size] = constant;
+        }
+
+        BlockTriangularForm form = BlockTriangularForm.compute(matrix);
+        Assert.assertFalse(form.isStructurallySingular());
+        Assert.assertEquals(2 * components, form.getBlockCount());
+        Assert.assertEquals(components, form.getComponentCount());
+        Assert.assertEquals(2, form.getLevelCount());
+        for (int block = 0; block < form.getBlockCount(); block++) {
+            Assert.assertEquals(blockSize, form.getBlockColumns(block).length);
+        }
+
+        MatrixStructure structure = MatrixAnalyzer.analyze(matrix);
+        Assert.assertEquals(SolverEngine.BLOCK_TRIANGULAR, MatrixAnalyzer.chooseEngine(structure));
+        SolverOptions options = new SolverOptions();
+        options.setMetricsEnabled(true);
+        LinearSystemInfo linearSystemInfo = LinearSystemsSolver.solve(matrix, options);
+        Assert.assertEquals(SolverEngine.BLOCK_TRIANGULAR, linearSystemInfo.getEngine());
+        Assert.assertTrue(linearSystemInfo.isSolved());
+        Assert.assertTrue(linearSystemInfo.getMetrics().getDivisions() > 0);
+        for (int index = 0; index < size; index++) {
+            Assert.assertEquals(expected[index].doubleValue(),
+                    linearSystemInfo.getSolution()[index].doubleValue(), 1e-8);
+            Assert.assertEquals(LinearSystemUtils.SCALE, linearSystemInfo.getSolution()[index].scale());
+        }
+    }
+
+    @Test
+    public void structurallySingular() {
+        //The last two columns only have a non-zero in the last row
+        BigDecimal[][] matrix = {
+                {BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ONE},
+                {BigDecimal.valueOf(2), BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ONE},
+                {BigDecimal.ZERO, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE}};
+        BlockTriangularForm form = BlockTriangularForm.compute(matrix);
+        Assert.assertTrue(form.isStructurallySingular());
+        Assert.assertTrue(form.getUnmatchedColumn() >= 0);
+
+        SolverOptions options = new SolverOptions();
+        options.setEngine(SolverEngine.BLOCK_TRIANGULAR);
+        LinearSystemInfo linearSystemInfo = LinearSystemsSolver.solve(matrix, options);
+        Assert.assertEquals(LinearSystemUtils.StatusCode.ZERO_COLUMN.getStatusCodeVal(),
+                linearSystemInfo.getStatusCode());
+    }
+
+    @Test
+    public void irreducibleFallsBack() {
+        BigDecimal[][] matrix = MatrixGenerator.generate(MatrixGenerator.Family.RANDOM, 6, 2);
+        Assert.assertEquals(1, BlockTriangularForm.compute(matrix).getBlockCount());
+        SolverOptions options = new SolverOptions();
+        options.setEngine(SolverEngine.BLOCK_TRIANGULAR);
+        LinearSystemInfo blockTriangular = LinearSystemsSolver.solve(matrix, options);
+        options.setEngine(SolverEngine.GAUSS_JORDAN);
+        LinearSystemInfo gaussJordan = LinearSystemsSolver.solve(matrix, options);
+        Assert.assertEquals(gaussJordan.getStatusCode(), blockTriangular.getStatusCode());
+        Assert.assertArrayEquals(gaussJordan.getSolution(), blockTriangular.getSolution());
+    }
+}
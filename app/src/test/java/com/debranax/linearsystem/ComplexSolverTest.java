@@ -0,0 +1,88 @@
+package com.debranax.linearsystem;
+
+import com.debranax.linearsystem.math.*;
+
+import org.junit.*;
+
+import java.math.*;
+import java.util.*;
+
+public class ComplexSolverTest {
+
+    @Test
+    public void knownSolution() {
+        //(1+i) x1 + 2 x2 = 4+i, 3 x1 + (4-i) x2 = 6+5.5i with x1 = 1-2i and x2 = 0.5+i
+        ComplexMatrix matrix = new ComplexMatrix(2, 3);
+        matrix.set(0, 0, 1, 1);
+        matrix.set(0, 1, 2, 0);
+        matrix.set(0, 2, 4, 1);
+        matrix.set(1, 0, 3, 0);
+        matrix.set(1, 1, 4, -1);
+        matrix.set(1, 2, 6, -2.5);
+        LinearSystemInfo linearSystemInfo = ComplexSolver.solve(matrix, null);
+        Assert.assertTrue(linearSystemInfo.isSolved());
+        Assert.assertTrue(linearSystemInfo.isComplex());
+        Assert.assertEquals(SolverEngine.COMPLEX, linearSystemInfo.getEngine());
+        Assert.assertEquals(1, linearSystemInfo.getSolution()[0].doubleValue(), 1e-10);
+        Assert.assertEquals(-2, linearSystemInfo.getImaginarySolution()[0].doubleValue(), 1e-10);
+        Assert.assertEquals(0.5, linearSystemInfo.getSolution()[1].doubleValue(), 1e-10);
+        Assert.assertEquals(1, linearSystemInfo.getImaginarySolution()[1].doubleValue(), 1e-10);
+        Assert.assertEquals("1 - 2i", new ResultFormatter(linearSystemInfo.getSolution(),
+                linearSystemInfo.getImaginarySolution(), "#.##").get(0));
+    }
+
+    @Test
+    public void pivotingSmallResidual() {
+        //The first pivot is zero, the elimination needs the row swaps
+        int size = 60;
+        Random random = new Random(9);
+        ComplexMatrix matrix = new ComplexMatrix(size, size + 1);
+        for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+            for (int columnIndex = 0; columnIndex <= size; columnIndex++) {
+                matrix.set(rowIndex, columnIndex, random.nextGaussian(), random.nextGaussian());
+            }
+        }
+        matrix.set(0, 0, 0, 0);
+        LinearSystemInfo linearSystemInfo = ComplexSolver.solve(matrix, null);
+        Assert.assertTrue(linearSystemInfo.isSolved());
+        for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+            double real = -matrix.getReal(rowIndex, size);
+            double imaginary = -matrix.getImaginary(rowIndex, size);
+            for (int columnIndex = 0; columnIndex < size; columnIndex++) {
+                double x = linearSystemInfo.getSolution()[columnIndex].doubleValue();
+                double y = linearSystemInfo.getImaginarySolution()[columnIndex].doubleValue();
+                real += matrix.getReal(rowIndex, columnIndex) * x - matrix.getImaginary(rowIndex, columnIndex) * y;
+                imaginary += matrix.getReal(rowIndex, columnIndex) * y + matrix.getImaginary(rowIndex, columnIndex) * x;
+            }
+            Assert.assertEquals(0, Math.hypot(real, imaginary), 1e-7);
+        }
+    }
+
+    @Test
+    public void singularAndHomogeneous() {
+        //The second row is i times the first one
+        ComplexMatrix matrix = new ComplexMatrix(2, 3);
+        matrix.set(0, 0, 1, 2);
+        matrix.set(0, 1, 3, 0);
+        matrix.set(0, 2, 1, 0);
+        matrix.set(1, 0, -2, 1);
+        matrix.set(1, 1, 0, 3);
+        matrix.set(1, 2, 0, 5);
+        Assert.assertEquals(LinearSystemUtils.StatusCode.ZERO_COLUMN.getStatusCodeVal(),
+                ComplexSolver.solve(matrix, null).getStatusCode());
+        matrix.set(0, 2, 0, 0);
+        matrix.set(1, 2, 0, 0);
+        Assert.assertEquals(LinearSystemUtils.StatusCode.HOMOGENEOUS.getStatusCodeVal(),
+                ComplexSolver.solve(matrix, null).getStatusCode());
+    }
+
+    @Test
+    public void encodeDecode() throws java.io.IOException {
+        LinearSystemInfo linearSystemInfo = new LinearSystemInfo();
+        linearSystemInfo.setStatusCode(LinearSystemUtils.StatusCode.SOLVED.getStatusCodeVal());
+        linearSystemInfo.setSolution(new BigDecimal[]{new BigDecimal("1.5")});
+        linearSystemInfo.setImaginarySolution(new BigDecimal[]{new BigDecimal("-2")});
+        LinearSystemInfo decoded = MatrixCodec.decode(MatrixCodec.encode(linearSystemInfo));
+        Assert.assertArrayEquals(linearSystemInfo.getImaginarySolution(), decoded.getImaginarySolution());
+    }
+}
@@ -0,0 +1,60 @@
+package com.debranax.linearsystem;
+
+import com.debranax.linearsystem.math.*;
+
+import org.junit.*;
+
+import java.math.*;
+
+public class EliminationStepRecorderTest {
+
+    @Test
+    public void replaySteps() {
+        BigDecimal[][] matrix = this.getBDDecimalMatrix(new double[][]{{2, 1, 1, 5}, {1, 3, 2, 13}, {1, 0, 0, 1}});
+        EliminationStepRecorder stepRecorder = new EliminationStepRecorder(64);
+        SolverOptions options = new SolverOptions();
+        options.setStepRecorder(stepRecorder);
+        LinearSystemInfo linearSystemInfo = LinearSystemsSolver.solve(matrix, options);
+        Assert.assertTrue(linearSystemInfo.isSolved());
+        Assert.assertTrue(stepRecorder.getTotalSteps() > 0);
+        Assert.assertEquals(EliminationStepRecorder.Kind.SCALE, stepRecorder.getKind(0));
+        Assert.assertEquals("R1 = R1 / (2)", stepRecorder.describe(0));
+        Assert.assertArrayEquals(matrix, stepRecorder.replay(0));
+        BigDecimal[][] finalMatrix = stepRecorder.replay(stepRecorder.getTotalSteps());
+        for (int row = 0; row < matrix.length; row++) {
+            Assert.assertEquals(linearSystemInfo.getSolution()[row], finalMatrix[row][matrix.length]);
+        }
+    }
+
+    @Test
+    public void replayAfterBufferIsFull() {
+        BigDecimal[][] matrix = this.getBDDecimalMatrix(new double[][]{{2, 1, 1, 5}, {1, 3, 2, 13}, {1, 0, 0, 1}});
+        EliminationStepRecorder fullRecorder = new EliminationStepRecorder(64);
+        EliminationStepRecorder smallRecorder = new EliminationStepRecorder(2);
+        SolverOptions options = new SolverOptions();
+        options.setStepRecorder(fullRecorder);
+        LinearSystemsSolver.solve(matrix, options);
+        options.setStepRecorder(smallRecorder);
+        LinearSystemsSolver.solve(matrix, options);
+        long totalSteps = smallRecorder.getTotalSteps();
+        Assert.assertEquals(fullRecorder.getTotalSteps(), totalSteps);
+        Assert.assertEquals(totalSteps - 2, smallRecorder.getFirstRetainedStep());
+        Assert.assertArrayEquals(fullRecorder.replay(totalSteps - 1), smallRecorder.replay(totalSteps - 1));
+        try {
+            smallRecorder.replay(0);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            //The first steps are not retained
+        }
+    }
+
+    private BigDecimal[][] getBDDecimalMatrix(double[][] matrix) {
+        BigDecimal[][] bgMatrix = new BigDecimal[matrix.length][matrix[0].length];
+        for (int i = 0; i < matrix.length; i++) {
+            for (int j = 0; j < matrix[i].length; j++) {
+                bgMatrix[i][j] = BigDecimal.valueOf(matrix[i][j]);
+            }
+        }
+        return bgMatrix;
+    }
+}
@@ -0,0 +1,130 @@
+package com.debranax.linearsystem;
+
+import com.debranax.linearsystem.math.*;
+
+import org.junit.*;
+
+import java.util.*;
+
+public class FiniteFieldSolverTest {
+    private static final long PRIME = 1000000007L;
+
+    @Test
+    public void binarySystem() {
+        //More columns than rows, the solution is not unique
+        int rows = 150;
+        int unknowns = 200;
+        Random random = new Random(13);
+        boolean[] expected = new boolean[unknowns];
+        for (int index = 0; index < unknowns; index++) {
+            expected[index] = random.nextBoolean();
+        }
+        BitMatrix matrix = new BitMatrix(rows, unknowns + 1);
+        for (int rowIndex = 0; rowIndex < rows; rowIndex++) {
+            boolean constant = false;
+            for (int columnIndex = 0; columnIndex < unknowns; columnIndex++) {
+                boolean value = random.nextBoolean();
+                matrix.set(rowIndex, columnIndex, value);
+                constant ^= value & expected[columnIndex];
+            }
+            matrix.set(rowIndex, unknowns, constant);
+        }
+        FiniteFieldSolution solution = FiniteFieldSolver.solve(matrix, null);
+        Assert.assertTrue(solution.isSolved());
+        Assert.assertEquals(2, solution.getModulus());
+        Assert.assertEquals(rows, solution.getRank());
+        Assert.assertEquals(unknowns - rows, solution.getNullSpaceBasis().length);
+        long[] products = this.multiply(matrix, solution.getParticularSolution());
+        for (int rowIndex = 0; rowIndex < rows; rowIndex++) {
+            Assert.assertEquals(matrix.get(rowIndex, unknowns) ? 1 : 0, products[rowIndex]);
+        }
+        for (long[] vector : solution.getNullSpaceBasis()) {
+            for (long product : this.multiply(matrix, vector)) {
+                Assert.assertEquals(0, product);
+            }
+        }
+    }
+
+    @Test
+    public void inconsistentBinarySystem() {
+        //x1 + x2 = 1 and x1 + x2 = 0
+        BitMatrix matrix = new BitMatrix(2, 3);
+        matrix.set(0, 0, true);
+        matrix.set(0, 1, true);
+        matrix.set(0, 2, true);
+        matrix.set(1, 0, true);
+        matrix.set(1, 1, true);
+        FiniteFieldSolution solution = FiniteFieldSolver.solve(matrix, null);
+        Assert.assertEquals(LinearSystemUtils.StatusCode.INCONSISTENT.getStatusCodeVal(), solution.getStatusCode());
+        Assert.assertEquals(1, solution.getRank());
+        Assert.assertNull(solution.getParticularSolution());
+    }
+
+    @Test
+    public void primeFieldUniqueSolution() {
+        int size = 60;
+        Random random = new Random(17);
+        long[] expected = new long[size];
+        for (int index = 0; index < size; index++) {
+            expected[index] = Math.abs(random.nextLong()) % PRIME;
+        }
+        long[][] matrix = new long[size][size + 1];
+        for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+            long constant = 0;
+            for (int columnIndex = 0; columnIndex < size; columnIndex++) {
+                //Negative values are reduced too
+                matrix[rowIndex][columnIndex] = random.nextInt(2001) - 1000;
+                long value = (matrix[rowIndex][columnIndex] % PRIME + PRIME) % PRIME;
+                constant = (constant + value * expected[columnIndex]) % PRIME;
+            }
+            matrix[rowIndex][size] = constant;
+        }
+        FiniteFieldSolution solution = FiniteFieldSolver.solve(matrix, PRIME, null);
+        Assert.assertTrue(solution.isSolved());
+        Assert.assertEquals(size, solution.getRank());
+        Assert.assertEquals(0, solution.getNullSpaceBasis().length);
+        Assert.assertArrayEquals(expected, solution.getParticularSolution());
+    }
+
+    @Test
+    public void primeFieldNullSpace() {
+        //The third row is the sum of the first two modulo 7
+        long[][] matrix = {{1, 2, 3, 4, 5}, {2, 6, 1, 0, 3}, {3, 1, 4, 4, 1}};
+        FiniteFieldSolution solution = FiniteFieldSolver.solve(matrix, 7, null);
+        Assert.assertTrue(solution.isSolved());
+        Assert.assertEquals(2, solution.getRank());
+        Assert.assertEquals(2, solution.getNullSpaceBasis().length);
+        for (long[] row : matrix) {
+            long constant = 0;
+            for (int columnIndex = 0; columnIndex < 4; columnIndex++) {
+                constant += row[columnIndex] * solution.getParticularSolution()[columnIndex];
+            }
+            Assert.assertEquals(row[4] % 7, constant % 7);
+            for (long[] vector : solution.getNullSpaceBasis()) {
+                long product = 0;
+                for (int columnIndex = 0; columnIndex < 4; columnIndex++) {
+                    product += row[columnIndex] * vector[columnIndex];
+                }
+                Assert.assertEquals(0, product % 7);
+            }
+        }
+        Assert.assertEquals(2, FiniteFieldSolver.solve(matrix, 2, null).getModulus());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void compositeModulus() {
+        FiniteFieldSolver.solve(new long[][]{{1, 1}}, 15, null);
+    }
+
+    private long[] multiply(final BitMatrix matrix, final long[] vector) {
+        long[] products = new long[matrix.getRows()];
+        for (int rowIndex = 0; rowIndex < matrix.getRows(); rowIndex++) {
+            for (int columnIndex = 0; columnIndex < vector.length; columnIndex++) {
+                if (matrix.get(rowIndex, columnIndex)) {
+                    products[rowIndex] ^= vector[columnIndex];
+                }
+            }
+        }
+        return products;
+    }
+}
@@ -0,0 +1,154 @@
+package com.debranax.linearsystem;
+
+import com.debranax.linearsystem.math.*;
+import com.debranax.linearsystem.storage.*;
+
+import org.junit.*;
+import org.junit.rules.*;
+
+import java.io.*;
+import java.math.*;
+import java.util.*;
+
+public class HistoryStoreTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void recallAndDeduplicate() throws IOException {
+        BigDecimal[][] matrix = this.getBDDecimalMatrix(new double[][]{{1, 1, 1, 4}, {1, 2, 4, 12}, {2, -3, -1, 4}});
+        LinearSystemInfo linearSystemInfo = LinearSystemsSolver.solve(matrix);
+        HistoryStore historyStore = new HistoryStore(temporaryFolder.getRoot(), Long.MAX_VALUE);
+        String key = historyStore.add(matrix, linearSystemInfo);
+        Assert.assertEquals(key, historyStore.add(this.getBDDecimalMatrix(
+                new double[][]{{1, 1, 1, 4}, {1, 2, 4, 12}, {2, -3, -1, 4.0}}), linearSystemInfo));
+        //A new instance reads the index written by the first one
+        historyStore = new HistoryStore(temporaryFolder.getRoot(), Long.MAX_VALUE);
+        Assert.assertEquals(1, historyStore.getEntries().size());
+        LinearSystemInfo recalled = historyStore.find(matrix);
+        Assert.assertTrue(recalled.isSolved());
+        Assert.assertArrayEquals(linearSystemInfo.getSolution(), recalled.getSolution());
+        Assert.assertArrayEquals(matrix, historyStore.getMatrix(key));
+    }
+
+    @Test
+    public void newConstantsUseFactorization() throws IOException {
+        BigDecimal[][] matrix = this.getBDDecimalMatrix(new double[][]{{1, 1, 1, 4}, {1, 2, 4, 12}, {2, -3, -1, 4}});
+        BigDecimal[][] newConstants = this.getBDDecimalMatrix(new double[][]{{1, 1, 1, 6}, {1, 2, 4, 17}, {2, -3, -1, -7}});
+        double[] solutionExpected = {1, 2, 3};
+        HistoryStore historyStore = new HistoryStore(temporaryFolder.getRoot(), Long.MAX_VALUE, Runnable::run);
+        historyStore.add(matrix, LinearSystemsSolver.solve(matrix));
+        Assert.assertNotNull(historyStore.getFactorization(newConstants));
+        LinearSystemInfo linearSystemInfo = historyStore.find(newConstants);
+        Assert.assertTrue(linearSystemInfo.isSolved());
+        for (int index = 0; index < solutionExpected.length; index++) {
+            Assert.assertEquals(solutionExpected[index], linearSystemInfo.getSolution()[index].doubleValue(), 1e-9);
+        }
+    }
+
+    @Test
+    public void factorizationChecksAsNewSolve() throws IOException {
+        BigDecimal[][] matrix = this.getBDDecimalMatrix(new double[][]{{1, 1, 1, 4}, {1, 2, 4, 12}, {2, -3, -1, 4}});
+        BigDecimal[][] zeroConstants = this.getBDDecimalMatrix(new double[][]{{1, 1, 1, 0}, {1, 2, 4, 0}, {2, -3, -1, 0}});
+        BigDecimal[][] newConstants = this.getBDDecimalMatrix(new double[][]{{1, 1, 1, 6}, {1, 2, 4, 17}, {2, -3, -1, -7}});
+        SolverOptions options = new SolverOptions();
+        options.setVerificationEnabled(true);
+        HistoryStore historyStore = new HistoryStore(temporaryFolder.getRoot(), Long.MAX_VALUE, Runnable::run);
+        historyStore.add(matrix, LinearSystemsSolver.solve(matrix));
+        Assert.assertEquals(LinearSystemsSolver.solve(zeroConstants).getStatusCode(),
+                historyStore.find(zeroConstants, options).getStatusCode());
+        Assert.assertEquals(LinearSystemUtils.StatusCode.HOMOGENEOUS.getStatusCodeVal(),
+                historyStore.find(zeroConstants).getStatusCode());
+        LinearSystemInfo linearSystemInfo = historyStore.find(newConstants, options);
+        Assert.assertTrue(linearSystemInfo.isSolved());
+        Assert.assertTrue(linearSystemInfo.isVerified());
+        Assert.assertFalse(Double.isNaN(linearSystemInfo.getResidualNorm()));
+        //The scale of the factors is bounded
+        for (BigDecimal[] row : historyStore.getFactorization(newConstants).getLU()) {
+            for (BigDecimal value : row) {
+                Assert.assertTrue(value.scale() <= LinearSystemUtils.WORKING_SCALE);
+            }
+        }
+        Assert.assertEquals(LinearSystemUtils.SCALE, linearSystemInfo.getSolution()[0].scale());
+    }
+
+    @Test
+    public void factorizationOutsideAdd() throws IOException {
+        BigDecimal[][] matrix = this.getBDDecimalMatrix(new double[][]{{1, 1, 1, 4}, {1, 2, 4, 12}, {2, -3, -1, 4}});
+        BigDecimal[][] newConstants = this.getBDDecimalMatrix(new double[][]{{1, 1, 1, 6}, {1, 2, 4, 17}, {2, -3, -1, -7}});
+        List<Runnable> tasks = new ArrayList<>();
+        HistoryStore historyStore = new HistoryStore(temporaryFolder.getRoot(), Long.MAX_VALUE, tasks::add);
+        String key = historyStore.add(matrix, LinearSystemsSolver.solve(matrix));
+        //The factorization is not calculated by add
+        Assert.assertEquals(1, tasks.size());
+        Assert.assertNull(historyStore.getFactorization(newConstants));
+        Assert.assertNull(historyStore.solveWithFactorization(newConstants, null));
+        Assert.assertTrue(historyStore.get(matrix).isSolved());
+        tasks.remove(0).run();
+        Assert.assertNotNull(historyStore.getFactorization(newConstants));
+        Assert.assertTrue(historyStore.solveWithFactorization(newConstants, null).isSolved());
+        //An exact hit does not queue a new factorization
+        historyStore.add(matrix, historyStore.get(matrix));
+        Assert.assertTrue(tasks.isEmpty());
+        //A factorization finished after its entry was removed is not saved
+        historyStore.remove(key);
+        historyStore.add(matrix, LinearSystemsSolver.solve(matrix));
+        historyStore.remove(key);
+        tasks.remove(0).run();
+        Assert.assertNull(historyStore.getFactorization(newConstants));
+        Assert.assertEquals(0, historyStore.getSize());
+    }
+
+    @Test
+    public void evictOldestEntries() throws IOException {
+        HistoryStore historyStore = new HistoryStore(temporaryFolder.getRoot(), 300, Runnable::run);
+        for (int index = 0; index < 10; index++) {
+            BigDecimal[][] matrix = this.getBDDecimalMatrix(new double[][]{{index + 1, 1, 3}, {1, 2, 4}});
+            historyStore.add(matrix, LinearSystemsSolver.solve(matrix));
+        }
+        Assert.assertTrue(historyStore.getSize() <= 300);
+        Assert.assertTrue(historyStore.getEntries().size() < 10);
+        Assert.assertEquals(2, historyStore.getEntries().get(0).getUnknowns());
+        BigDecimal[][] lastMatrix = this.getBDDecimalMatrix(new double[][]{{10, 1, 3}, {1, 2, 4}});
+        Assert.assertEquals(HistoryStore.hash(lastMatrix, 3), historyStore.getEntries().get(0).getKey());
+    }
+
+    @Test
+    public void factorizationKeepsWorkingScale() {
+        //Hilbert matrix, without rounding the digits of the factors grow at every column
+        int size = 6;
+        BigDecimal[][] matrix = new BigDecimal[size][size + 1];
+        for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+            for (int columnIndex = 0; columnIndex < size; columnIndex++) {
+                matrix[rowIndex][columnIndex] = BigDecimal.ONE.divide(BigDecimal.valueOf(rowIndex + columnIndex + 1),
+                        LinearSystemUtils.SCALE, RoundingMode.HALF_UP);
+            }
+            matrix[rowIndex][size] = BigDecimal.ONE;
+        }
+        LUDecomposition luDecomposition = LUDecomposition.decompose(matrix);
+        for (BigDecimal[] row : luDecomposition.getLU()) {
+            for (BigDecimal value : row) {
+                Assert.assertTrue(value.scale() <= LinearSystemUtils.WORKING_SCALE);
+            }
+        }
+        BigDecimal[] constants = new BigDecimal[size];
+        java.util.Arrays.fill(constants, BigDecimal.ONE);
+        BigDecimal[] solution = luDecomposition.solve(constants);
+        BigDecimal[] expected = LinearSystemsSolver.solve(matrix).getSolution();
+        for (int index = 0; index < size; index++) {
+            Assert.assertEquals(LinearSystemUtils.SCALE, solution[index].scale());
+            Assert.assertEquals(expected[index].doubleValue(), solution[index].doubleValue(),
+                    1e-4 * Math.abs(expected[index].doubleValue()));
+        }
+    }
+
+    private BigDecimal[][] getBDDecimalMatrix(double[][] matrix) {
+        BigDecimal[][] bgMatrix = new BigDecimal[matrix.length][matrix[0].length];
+        for (int i = 0; i < matrix.length; i++) {
+            for (int j = 0; j < matrix[i].length; j++) {
+                bgMatrix[i][j] = BigDecimal.valueOf(matrix[i][j]);
+            }
+        }
+        return bgMatrix;
+    }
+}
@@ -61,6 +61,105 @@ public class LinearSystemsSolverTest {
 
     }
 
+    @Test
+    public void cancelledSystem() {
+        double[][] matrix = {{1, 1, 1, 4}, {1, 2, 4, 12}, {2, -3, -1, 4}};
+        BigDecimal[][] bgMatrix = this.getBDDecimalMatrix(matrix);
+        SolverOptions options = new SolverOptions();
+        CancellationToken cancellationToken = new CancellationToken();
+        options.setCancellationToken(cancellationToken);
+        options.setProgressListener((eliminatedColumns, totalColumns) -> {
+            if (eliminatedColumns == 2) {
+                cancellationToken.cancel();
+            }
+        });
+        LinearSystemInfo linearSystemInfo = LinearSystemsSolver.solve(bgMatrix, options);
+        Assert.assertEquals(LinearSystemUtils.StatusCode.CANCELLED.getStatusCodeVal(), linearSystemInfo.getStatusCode());
+        Assert.assertNotNull(linearSystemInfo.getMatrix());
+        //The original matrix is not modified by the solver
+        Assert.assertEquals(0, bgMatrix[0][3].compareTo(BigDecimal.valueOf(4.0)));
+    }
+
+    @Test
+    public void cancelListener() {
+        final int[] calls = new int[1];
+        CancellationToken cancellationToken = new CancellationToken();
+        cancellationToken.setCancelListener(() -> calls[0]++);
+        cancellationToken.cancel();
+        cancellationToken.cancel();
+        Assert.assertEquals(1, calls[0]);
+        //Already cancelled, the listener is called at once
+        cancellationToken.setCancelListener(() -> calls[0]++);
+        Assert.assertEquals(2, calls[0]);
+
+        cancellationToken = new CancellationToken();
+        cancellationToken.setCancelListener(() -> calls[0]++);
+        cancellationToken.setCancelListener(null);
+        cancellationToken.cancel();
+        Assert.assertEquals(2, calls[0]);
+    }
+
+    @Test
+    public void progressSystem() {
+        double[][] matrix = {{1, 1, 1, 4}, {1, 2, 4, 12}, {2, -3, -1, 4}};
+        BigDecimal[][] bgMatrix = this.getBDDecimalMatrix(matrix);
+        SolverOptions options = new SolverOptions();
+        int[] progress = new int[2];
+        options.setTimeBudgetMillis(60000);
+        options.setProgressListener((eliminatedColumns, totalColumns) -> {
+            progress[0] = eliminatedColumns;
+            progress[1] = totalColumns;
+        });
+        LinearSystemInfo linearSystemInfo = LinearSystemsSolver.solve(bgMatrix, options);
+        Assert.assertTrue(linearSystemInfo.isSolved());
+        Assert.assertEquals(5, progress[0]);
+        Assert.assertEquals(5, progress[1]);
+    }
+
+    @Test
+    public void timeBudgetExceeded() {
+        BigDecimal[][] matrix = MatrixGenerator.generate(MatrixGenerator.Family.RANDOM, 200, 7);
+        SolverOptions options = new SolverOptions();
+        options.setEngine(SolverEngine.GAUSS_JORDAN);
+        options.setTimeBudgetMillis(1);
+        LinearSystemInfo linearSystemInfo = LinearSystemsSolver.solve(matrix, options);
+        Assert.assertEquals(LinearSystemUtils.StatusCode.TIME_BUDGET_EXCEEDED.getStatusCodeVal(),
+                linearSystemInfo.getStatusCode());
+        Assert.assertFalse(linearSystemInfo.isSolved());
+    }
+
+    @Test
+    public void metricsSystem() {
+        double[][] matrix = {{1, 1, 1, 4}, {1, 2, 4, 12}, {2, -3, -1, 4}};
+        BigDecimal[][] bgMatrix = this.getBDDecimalMatrix(matrix);
+        SolverOptions options = new SolverOptions();
+        Assert.assertNull(LinearSystemsSolver.solve(bgMatrix).getMetrics());
+        options.setMetricsEnabled(true);
+        LinearSystemInfo linearSystemInfo = LinearSystemsSolver.solve(bgMatrix, options);
+        SolverMetrics metrics = linearSystemInfo.getMetrics();
+        Assert.assertTrue(linearSystemInfo.isSolved());
+        Assert.assertNotNull(metrics);
+        Assert.assertTrue(metrics.getPhaseNanos(SolverMetrics.Phase.FORWARD_ELIMINATION) > 0);
+        Assert.assertTrue(metrics.getPhaseNanos(SolverMetrics.Phase.BACK_ELIMINATION) > 0);
+        Assert.assertEquals(0, metrics.getRowSwaps());
+        Assert.assertTrue(metrics.getDivisions() > 0);
+        Assert.assertEquals(metrics.getMultiplications(), metrics.getSubtractions());
+        Assert.assertTrue(metrics.getMaxPrecision() > 0);
+        Assert.assertTrue(metrics.getAllocatedBytes() >= SolverMetrics.UNAVAILABLE);
+    }
+
+    @Test
+    public void formatResults() {
+        BigDecimal[] solution = {new BigDecimal("2.0000000000"), new BigDecimal("-0.0000001"),
+                new BigDecimal("0.123456"), new BigDecimal("-1.5")};
+        ResultFormatter resultFormatter = new ResultFormatter(solution, Constants.FORMAT_RESULTS);
+        Assert.assertEquals("2", resultFormatter.get(0));
+        Assert.assertEquals("0", resultFormatter.get(1));
+        Assert.assertEquals("0.12346", resultFormatter.get(2));
+        Assert.assertEquals("-1.5", resultFormatter.get(3));
+        Assert.assertEquals("0", LinearSystemUtils.format(solution[1], Constants.FORMAT_RESULTS));
+    }
+
     @Test
     public void isWritingValidNumbers() {
         String number = " 0.1";
@@ -254,6 +353,27 @@ public class LinearSystemsSolverTest {
      * @param matrix Array of double
      * @return Array of BigDecimal
      */
+    @Test
+    public void zeroOfPivotRowKeepsElement() {
+        BigDecimal[][] matrix = {{new BigDecimal("2"), BigDecimal.ZERO, new BigDecimal("4")},
+                {BigDecimal.ONE, new BigDecimal("3"), new BigDecimal("5")}};
+        final SolverOptions options = new SolverOptions();
+        options.setEngine(SolverEngine.GAUSS_JORDAN);
+        options.setCancellationToken(new CancellationToken());
+        options.setProgressListener((eliminatedColumns, totalColumns) -> options.getCancellationToken().cancel());
+        LinearSystemInfo linearSystemInfo = LinearSystemsSolver.solve(matrix, options);
+        Assert.assertEquals(LinearSystemUtils.StatusCode.CANCELLED.getStatusCodeVal(), linearSystemInfo.getStatusCode());
+        //The element below the zero of the pivot row is not rewritten with the scale of the product
+        Assert.assertEquals(new BigDecimal("3"), linearSystemInfo.getMatrix()[1][1]);
+        Assert.assertEquals(0, new BigDecimal("3").compareTo(linearSystemInfo.getMatrix()[1][2]));
+
+        options.setCancellationToken(null);
+        options.setProgressListener(null);
+        linearSystemInfo = LinearSystemsSolver.solve(matrix, options);
+        Assert.assertArrayEquals(new BigDecimal[]{new BigDecimal("2.0000000000"), new BigDecimal("1.0000000000")},
+                linearSystemInfo.getSolution());
+    }
+
     private BigDecimal[][] getBDDecimalMatrix(double[][] matrix) {
         BigDecimal[][] retVal = new BigDecimal[matrix.length][matrix[0].length];
         for (int row = 0; row < matrix.length; row++) {
@@ -0,0 +1,104 @@
+package com.debranax.linearsystem;
+
+import com.debranax.linearsystem.math.*;
+
+import org.junit.*;
+
+import java.math.*;
+
+public class MatrixAnalyzerTest {
+
+    @Test
+    public void structure() {
+        MatrixStructure structure = MatrixAnalyzer.analyze(this.getBDDecimalMatrix(new double[][]{
+                {4, 1, 0, 1}, {1, 4, 0, 2}, {0, 0, 3, 3}}));
+        Assert.assertFalse(structure.isHomogeneous());
+        Assert.assertEquals(5, structure.getNonZeros());
+        Assert.assertEquals(1, structure.getLowerBandwidth());
+        Assert.assertEquals(1, structure.getUpperBandwidth());
+        Assert.assertTrue(structure.isSymmetric());
+        Assert.assertTrue(structure.isDiagonallyDominant());
+        Assert.assertTrue(structure.isIntegerOnly());
+        Assert.assertEquals(2, structure.getBlockCount());
+        Assert.assertEquals(2, structure.getBlockStart(1));
+        Assert.assertEquals(SolverEngine.BLOCK_DIAGONAL, MatrixAnalyzer.chooseEngine(structure));
+
+        Assert.assertTrue(MatrixAnalyzer.analyze(this.getBDDecimalMatrix(new double[][]{
+                {0, 0, 0}, {0, 0, 0}})).isZero());
+        Assert.assertEquals(SolverEngine.DIAGONAL, MatrixAnalyzer.chooseEngine(MatrixAnalyzer.analyze(
+                this.getBDDecimalMatrix(new double[][]{{2, 0, 1}, {0, 4, 1}}))));
+        Assert.assertEquals(SolverEngine.TRIANGULAR, MatrixAnalyzer.chooseEngine(MatrixAnalyzer.analyze(
+                this.getBDDecimalMatrix(new double[][]{{2, 0, 1}, {3, 4, 1}}))));
+        Assert.assertEquals(SolverEngine.GAUSS_JORDAN, MatrixAnalyzer.chooseEngine(MatrixAnalyzer.analyze(
+                this.getBDDecimalMatrix(new double[][]{{1, 1, 1, 4}, {1, 2, 4, 12}, {2, -3, -1, 4}}))));
+    }
+
+    @Test
+    public void enginesMatchGaussJordan() {
+        int unknowns = 12;
+        double[][] tridiagonal = new double[unknowns][unknowns + 1];
+        double[][] upper = new double[unknowns][unknowns + 1];
+        double[][] blocks = new double[unknowns][unknowns + 1];
+        for (int row = 0; row < unknowns; row++) {
+            tridiagonal[row][row] = 4;
+            if (row > 0) {
+                tridiagonal[row][row - 1] = -1;
+            }
+            if (row + 1 < unknowns) {
+                tridiagonal[row][row + 1] = -1;
+            }
+            tridiagonal[row][unknowns] = row + 1;
+            for (int column = row; column < unknowns; column++) {
+                upper[row][column] = column - row + 1;
+            }
+            upper[row][unknowns] = 2 * row - 5;
+            int blockStart = row - row % 3;
+            for (int column = blockStart; column < blockStart + 3; column++) {
+                blocks[row][column] = column == row ? 1 : column + row + 2;
+            }
+            blocks[row][unknowns] = row % 5 + 1;
+        }
+        this.assertEngine(tridiagonal, SolverEngine.BANDED);
+        this.assertEngine(upper, SolverEngine.TRIANGULAR);
+        this.assertEngine(blocks, SolverEngine.BLOCK_DIAGONAL);
+    }
+
+    @Test
+    public void unsupportedEngine() {
+        SolverOptions options = new SolverOptions();
+        options.setEngine(SolverEngine.DIAGONAL);
+        LinearSystemInfo linearSystemInfo = LinearSystemsSolver.solve(this.getBDDecimalMatrix(new double[][]{
+                {1, 1, 1, 4}, {1, 2, 4, 12}, {2, -3, -1, 4}}), options);
+        Assert.assertTrue(linearSystemInfo.isSolved());
+        Assert.assertEquals(SolverEngine.GAUSS_JORDAN, linearSystemInfo.getEngine());
+
+        linearSystemInfo = LinearSystemsSolver.solve(this.getBDDecimalMatrix(new double[][]{
+                {2, 0, 0, 1}, {0, 0, 0, 1}, {0, 0, 5, 1}}));
+        Assert.assertEquals(LinearSystemUtils.StatusCode.ZERO_COLUMN.getStatusCodeVal(),
+                linearSystemInfo.getStatusCode());
+    }
+
+    private void assertEngine(final double[][] matrix, final SolverEngine engine) {
+        SolverOptions options = new SolverOptions();
+        LinearSystemInfo structured = LinearSystemsSolver.solve(this.getBDDecimalMatrix(matrix), options);
+        Assert.assertTrue(structured.isSolved());
+        Assert.assertEquals(engine, structured.getEngine());
+        options.setEngine(SolverEngine.GAUSS_JORDAN);
+        LinearSystemInfo gaussJordan = LinearSystemsSolver.solve(this.getBDDecimalMatrix(matrix), options);
+        Assert.assertEquals(SolverEngine.GAUSS_JORDAN, gaussJordan.getEngine());
+        for (int index = 0; index < matrix.length; index++) {
+            Assert.assertEquals(gaussJordan.getSolution()[index].doubleValue(),
+                    structured.getSolution()[index].doubleValue(), 0.000001d);
+        }
+    }
+
+    private BigDecimal[][] getBDDecimalMatrix(final double[][] matrix) {
+        BigDecimal[][] bdMatrix = new BigDecimal[matrix.length][matrix[0].length];
+        for (int row = 0; row < matrix.length; row++) {
+            for (int column = 0; column < matrix[0].length; column++) {
+                bdMatrix[row][column] = BigDecimal.valueOf(matrix[row][column]);
+            }
+        }
+        return bdMatrix;
+    }
+}
@@ -0,0 +1,115 @@
+package com.debranax.linearsystem;
+
+import com.debranax.linearsystem.math.*;
+
+import org.junit.*;
+
+import java.io.*;
+import java.math.*;
+
+public class MatrixCodecTest {
+
+    @Test
+    public void encodeDecode() throws IOException {
+        LinearSystemInfo linearSystemInfo = new LinearSystemInfo();
+        linearSystemInfo.setStatusCode(LinearSystemUtils.StatusCode.UNEXPECTED_ERROR.getStatusCodeVal());
+        linearSystemInfo.setSolution(new BigDecimal[]{new BigDecimal("-1.5"), new BigDecimal("1E+30"),
+                new BigDecimal("12345678901234567890.0123456789")});
+        linearSystemInfo.setMatrix(new BigDecimal[][]{{BigDecimal.ONE, BigDecimal.ZERO}, {new BigDecimal("-0.001")}});
+        linearSystemInfo.appendAdditionalInfo("info");
+        LinearSystemInfo decoded = MatrixCodec.decode(MatrixCodec.encode(linearSystemInfo));
+        Assert.assertEquals(linearSystemInfo.getStatusCode(), decoded.getStatusCode());
+        Assert.assertArrayEquals(linearSystemInfo.getSolution(), decoded.getSolution());
+        Assert.assertArrayEquals(linearSystemInfo.getMatrix(), decoded.getMatrix());
+        Assert.assertEquals("info", decoded.getAdditionalInfo().toString());
+    }
+
+    @Test
+    public void encodeAllFields() throws IOException {
+        BigDecimal[][] matrix = MatrixGenerator.generate(MatrixGenerator.Family.DIAGONALLY_DOMINANT, 6, 3);
+        SolverOptions options = new SolverOptions();
+        options.setEngine(SolverEngine.VERIFIED);
+        options.setMetricsEnabled(true);
+        options.setVerificationEnabled(true);
+        LinearSystemInfo linearSystemInfo = LinearSystemsSolver.solve(matrix, options);
+        linearSystemInfo.setResidualReductions(new double[]{0.1, 0.01});
+        Assert.assertNotNull(linearSystemInfo.getLowerBounds());
+
+        LinearSystemInfo decoded = MatrixCodec.decode(MatrixCodec.encode(linearSystemInfo));
+        Assert.assertEquals(SolverEngine.VERIFIED, decoded.getEngine());
+        Assert.assertEquals(linearSystemInfo.isVerified(), decoded.isVerified());
+        Assert.assertEquals(linearSystemInfo.getResidualNorm(), decoded.getResidualNorm(), 0);
+        Assert.assertArrayEquals(linearSystemInfo.getLowerBounds(), decoded.getLowerBounds(), 0);
+        Assert.assertArrayEquals(linearSystemInfo.getUpperBounds(), decoded.getUpperBounds(), 0);
+        Assert.assertArrayEquals(linearSystemInfo.getResidualReductions(), decoded.getResidualReductions(), 0);
+        Assert.assertEquals(linearSystemInfo.getMetrics().toString(), decoded.getMetrics().toString());
+    }
+
+    @Test
+    public void encodedSize() throws IOException {
+        BigDecimal[][] matrix = {{new BigDecimal("3"), new BigDecimal("-2.5"), new BigDecimal("0.3333333333")},
+                {new BigDecimal("123456789012345678901234567890.5"), BigDecimal.ZERO, new BigDecimal("-7E+3")},
+                {new BigDecimal("-128"), new BigDecimal("127"), new BigDecimal("-129"), new BigDecimal("1E-200")}};
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        MatrixCodec.writeMatrix(new DataOutputStream(byteArrayOutputStream), matrix);
+        Assert.assertEquals(byteArrayOutputStream.size(), MatrixCodec.getMatrixSize(matrix));
+        Assert.assertEquals(1, MatrixCodec.getMatrixSize(null));
+        Assert.assertEquals(5, MatrixCodec.getVarIntSize(-1));
+        Assert.assertEquals(10, MatrixCodec.getVarLongSize(Long.MIN_VALUE));
+
+        SolverOptions options = new SolverOptions();
+        options.setEngine(SolverEngine.VERIFIED);
+        options.setMetricsEnabled(true);
+        LinearSystemInfo linearSystemInfo = LinearSystemsSolver.solve(
+                MatrixGenerator.generate(MatrixGenerator.Family.DIAGONALLY_DOMINANT, 6, 3), options);
+        linearSystemInfo.setMatrix(matrix);
+        linearSystemInfo.appendAdditionalInfo("ñ");
+        Assert.assertEquals(MatrixCodec.encode(linearSystemInfo).length, MatrixCodec.getEncodedSize(linearSystemInfo));
+        LinearSystemInfo empty = new LinearSystemInfo();
+        Assert.assertEquals(MatrixCodec.encode(empty).length, MatrixCodec.getEncodedSize(empty));
+    }
+
+    @Test(expected = IOException.class)
+    public void unsupportedVersion() throws IOException {
+        byte[] encoded = MatrixCodec.encode(new LinearSystemInfo());
+        encoded[0] = (byte) (MatrixCodec.ENCODING_VERSION + 1);
+        MatrixCodec.decode(encoded);
+    }
+
+    @Test
+    public void encodeNull() throws IOException {
+        LinearSystemInfo decoded = MatrixCodec.decode(MatrixCodec.encode(new LinearSystemInfo()));
+        Assert.assertNull(decoded.getSolution());
+        Assert.assertNull(decoded.getMatrix());
+        Assert.assertFalse(decoded.isSolved());
+        Assert.assertNull(decoded.getEngine());
+        Assert.assertNull(decoded.getMetrics());
+        Assert.assertNull(decoded.getLowerBounds());
+        Assert.assertNull(decoded.getResidualReductions());
+    }
+
+    @Test
+    public void deltaMatrix() throws IOException {
+        BigDecimal[][] matrix = {{new BigDecimal("3"), new BigDecimal("-2.5"), new BigDecimal("0.3333333333")},
+                {new BigDecimal("123456789012345678901234567890.5"), BigDecimal.ZERO, new BigDecimal("-7E+3")}};
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(byteArrayOutputStream);
+        MatrixCodec.writeDeltaMatrix(output, matrix);
+        MatrixCodec.writeDeltaVector(output, matrix[1]);
+        MatrixCodec.writeDeltaMatrix(output, null);
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(byteArrayOutputStream.toByteArray()));
+        Assert.assertArrayEquals(matrix, MatrixCodec.readDeltaMatrix(input));
+        Assert.assertArrayEquals(matrix[1], MatrixCodec.readDeltaVector(input));
+        Assert.assertNull(MatrixCodec.readDeltaMatrix(input));
+    }
+
+    @Test
+    public void deltaMatrixSmallValues() throws IOException {
+        BigDecimal[][] matrix = {{new BigDecimal("1"), new BigDecimal("2"), new BigDecimal("3")},
+                {new BigDecimal("4"), new BigDecimal("-5"), new BigDecimal("6")}};
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        MatrixCodec.writeDeltaMatrix(new DataOutputStream(byteArrayOutputStream), matrix);
+        //Rows, columns and two bytes per value
+        Assert.assertEquals(2 + 2 * 6, byteArrayOutputStream.size());
+    }
+}
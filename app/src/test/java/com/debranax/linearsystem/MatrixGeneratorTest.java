@@ -0,0 +1,46 @@
+package com.debranax.linearsystem;
+
+import com.debranax.linearsystem.math.*;
+
+import org.junit.*;
+
+import java.math.*;
+
+public class MatrixGeneratorTest {
+
+    @Test
+    public void reproducible() {
+        for (MatrixGenerator.Family family : MatrixGenerator.Family.values()) {
+            BigDecimal[][] matrix = MatrixGenerator.generate(family, 6, 42);
+            Assert.assertArrayEquals(family.toString(), matrix, MatrixGenerator.generate(family, 6, 42));
+        }
+    }
+
+    @Test
+    public void families() {
+        Assert.assertTrue(MatrixAnalyzer.analyze(MatrixGenerator.generate(MatrixGenerator.Family.SPD, 10, 1))
+                .isSymmetric());
+        Assert.assertTrue(MatrixAnalyzer.analyze(MatrixGenerator.generate(
+                MatrixGenerator.Family.DIAGONALLY_DOMINANT, 10, 1)).isDiagonallyDominant());
+        MatrixStructure banded = MatrixAnalyzer.analyze(MatrixGenerator.generate(MatrixGenerator.Family.BANDED,
+                30, 1));
+        Assert.assertTrue(banded.isDiagonallyDominant());
+        Assert.assertTrue(banded.getLowerBandwidth() <= 3);
+        Assert.assertEquals(SolverEngine.BANDED, MatrixAnalyzer.chooseEngine(banded));
+        MatrixStructure toeplitz = MatrixAnalyzer.analyze(MatrixGenerator.generate(MatrixGenerator.Family.TOEPLITZ,
+                10, 1));
+        Assert.assertTrue(toeplitz.isToeplitz());
+        Assert.assertEquals(SolverEngine.TOEPLITZ, MatrixAnalyzer.chooseEngine(toeplitz));
+        BigDecimal[][] hilbert = MatrixGenerator.generate(MatrixGenerator.Family.HILBERT, 3, 1);
+        Assert.assertEquals(0, new BigDecimal("0.2").compareTo(hilbert[2][2]));
+
+        //The constants are the product with the expected solution
+        BigDecimal[][] matrix = MatrixGenerator.generate(MatrixGenerator.Family.RANDOM, 5, 3);
+        BigDecimal[] solution = MatrixGenerator.getExpectedSolution(5, 3);
+        BigDecimal constant = BigDecimal.ZERO;
+        for (int column = 0; column < 5; column++) {
+            constant = constant.add(matrix[4][column].multiply(solution[column]));
+        }
+        Assert.assertEquals(0, constant.compareTo(matrix[4][5]));
+    }
+}
@@ -0,0 +1,65 @@
+package com.debranax.linearsystem;
+
+import com.debranax.linearsystem.utils.*;
+
+import org.junit.*;
+
+import java.math.*;
+
+public class MatrixTextParserTest {
+
+    @Test
+    public void parseSeparators() {
+        String[] texts = {"1\t2\t3\n4\t5\t6\n", "1, 2, 3\r\n4, 5, 6", "1 2 3\n\n4  5 6\n"};
+        for (String text : texts) {
+            MatrixTextParser.ParseResult parseResult = MatrixTextParser.parse(text, 2, 20);
+            Assert.assertTrue(parseResult.isValid());
+            Assert.assertEquals(2, parseResult.getUnknowns());
+            Assert.assertEquals(0, parseResult.getMatrix()[1][2].compareTo(new BigDecimal("6")));
+        }
+    }
+
+    @Test
+    public void parseMixedFractions() {
+        MatrixTextParser.ParseResult parseResult = MatrixTextParser.parse("2 1/2 -1 0.5\n1/2 3 4", 2, 20);
+        Assert.assertTrue(parseResult.isValid());
+        Assert.assertEquals("2 1/2", parseResult.getCells()[0][0]);
+        Assert.assertEquals(0, parseResult.getMatrix()[0][0].compareTo(new BigDecimal("2.5")));
+        Assert.assertEquals(0, parseResult.getMatrix()[1][0].compareTo(new BigDecimal("0.5")));
+    }
+
+    @Test
+    public void parseAmbiguousMixedFraction() {
+        //With spaces an integer followed by a fraction is always a mixed fraction
+        MatrixTextParser.ParseResult parseResult = MatrixTextParser.parse("1 1/2 3 4\n5 6 7", 2, 20);
+        Assert.assertTrue(parseResult.isValid());
+        Assert.assertEquals("1 1/2", parseResult.getCells()[0][0]);
+        Assert.assertEquals(0, parseResult.getMatrix()[0][0].compareTo(new BigDecimal("1.5")));
+        Assert.assertEquals(0, parseResult.getMatrix()[0][1].compareTo(new BigDecimal("3")));
+        //With tab or comma every token is a cell
+        parseResult = MatrixTextParser.parse("1, 1/2, 3\n4, 5, 6", 2, 20);
+        Assert.assertTrue(parseResult.isValid());
+        Assert.assertEquals(0, parseResult.getMatrix()[0][0].compareTo(new BigDecimal("1")));
+        Assert.assertEquals(0, parseResult.getMatrix()[0][1].compareTo(new BigDecimal("0.5")));
+    }
+
+    @Test
+    public void firstInvalidCell() {
+        MatrixTextParser.ParseResult parseResult = MatrixTextParser.parse("1,2,3\n4,x,6\n7,8,", 2, 20);
+        Assert.assertEquals(Utils.ValidationResult.InvalidSize, parseResult.getValidationResult());
+        parseResult = MatrixTextParser.parse("1,2,3\n4,x,6", 2, 20);
+        Assert.assertEquals(Utils.ValidationResult.InvalidNumber, parseResult.getValidationResult());
+        Assert.assertEquals(2, parseResult.getRow());
+        Assert.assertEquals(2, parseResult.getColumn());
+        parseResult = MatrixTextParser.parse("1,,3\n4,5,6", 2, 20);
+        Assert.assertEquals(Utils.ValidationResult.Empty, parseResult.getValidationResult());
+        Assert.assertEquals(1, parseResult.getRow());
+        Assert.assertEquals(2, parseResult.getColumn());
+        parseResult = MatrixTextParser.parse("1,2,3\n4,5", 2, 20);
+        Assert.assertEquals(Utils.ValidationResult.InvalidSize, parseResult.getValidationResult());
+        Assert.assertEquals(2, parseResult.getRow());
+        Assert.assertEquals(3, parseResult.getColumn());
+        parseResult = MatrixTextParser.parse("1 2", 2, 20);
+        Assert.assertEquals(Utils.ValidationResult.InvalidSize, parseResult.getValidationResult());
+    }
+}
@@ -0,0 +1,82 @@
+package com.debranax.linearsystem;
+
+import com.debranax.linearsystem.math.*;
+
+import org.junit.*;
+
+import java.math.*;
+import java.util.*;
+
+public class MultigridSolverTest {
+
+    @Test
+    public void sameSolutionAsElimination() {
+        GridStencil stencil = GridStencil.poisson(7, 7);
+        BigDecimal[] constants = new BigDecimal[stencil.getUnknowns()];
+        Random random = new Random(3);
+        for (int index = 0; index < constants.length; index++) {
+            constants[index] = BigDecimal.valueOf(random.nextInt(19) - 9);
+        }
+        LinearSystemInfo dense = LinearSystemsSolver.solve(stencil.toAugmentedMatrix(constants), null);
+        Assert.assertTrue(dense.isSolved());
+        for (MultigridSolver.Cycle cycle : MultigridSolver.Cycle.values()) {
+            LinearSystemInfo multigrid = MultigridSolver.solve(stencil, constants, cycle, null);
+            Assert.assertEquals(SolverEngine.MULTIGRID, multigrid.getEngine());
+            Assert.assertTrue(multigrid.isSolved());
+            for (int index = 0; index < constants.length; index++) {
+                Assert.assertEquals(dense.getSolution()[index].doubleValue(),
+                        multigrid.getSolution()[index].doubleValue(), 1e-8);
+            }
+        }
+    }
+
+    @Test
+    public void gridIndependentConvergence() {
+        //The reduction per cycle does not depend on the size of the grid, odd and even sizes and 3-D
+        int[][] grids = {{127, 127}, {255, 255}, {100, 60}, {31, 31, 31}};
+        for (int[] points : grids) {
+            GridStencil stencil = GridStencil.poisson(points);
+            BigDecimal[] constants = new BigDecimal[stencil.getUnknowns()];
+            Arrays.fill(constants, BigDecimal.ONE);
+            LinearSystemInfo linearSystemInfo = MultigridSolver.solve(stencil, constants, MultigridSolver.Cycle.V,
+                    null);
+            String grid = Arrays.toString(points);
+            Assert.assertTrue(grid, linearSystemInfo.isSolved());
+            double[] reductions = linearSystemInfo.getResidualReductions();
+            Assert.assertTrue(grid + " " + reductions.length, reductions.length <= 20);
+            for (double reduction : reductions) {
+                Assert.assertTrue(grid + " " + reduction, reduction < 0.5);
+            }
+        }
+    }
+
+    @Test
+    public void anisotropicStencilW() {
+        GridStencil stencil = new GridStencil(new int[]{63, 63}, new double[]{1d / 64, 1d / 64},
+                new double[]{1d, 4d}, 10d);
+        BigDecimal[] constants = new BigDecimal[stencil.getUnknowns()];
+        Arrays.fill(constants, BigDecimal.ONE);
+        LinearSystemInfo v = MultigridSolver.solve(stencil, constants, MultigridSolver.Cycle.V, null);
+        LinearSystemInfo w = MultigridSolver.solve(stencil, constants, MultigridSolver.Cycle.W, null);
+        Assert.assertTrue(v.isSolved());
+        Assert.assertTrue(w.isSolved());
+        Assert.assertTrue(w.getResidualReductions().length <= v.getResidualReductions().length);
+        for (int index = 0; index < constants.length; index++) {
+            Assert.assertEquals(v.getSolution()[index].doubleValue(), w.getSolution()[index].doubleValue(), 1e-8);
+        }
+    }
+
+    @Test
+    public void divergentStencil() {
+        //A negative reaction larger than the smallest eigenvalue makes the operator indefinite
+        GridStencil stencil = new GridStencil(new int[]{15}, new double[]{1d / 16}, new double[]{1d}, -100d);
+        BigDecimal[] constants = new BigDecimal[15];
+        Arrays.fill(constants, BigDecimal.ONE);
+        LinearSystemInfo linearSystemInfo = MultigridSolver.solve(stencil, constants, MultigridSolver.Cycle.V,
+                null);
+        Assert.assertEquals(LinearSystemUtils.StatusCode.NOT_CONVERGED.getStatusCodeVal(),
+                linearSystemInfo.getStatusCode());
+        Assert.assertNull(linearSystemInfo.getSolution());
+        Assert.assertNotNull(linearSystemInfo.getResidualReductions());
+    }
+}
@@ -0,0 +1,183 @@
+package com.debranax.linearsystem;
+
+import com.debranax.linearsystem.math.*;
+
+import org.junit.*;
+
+import java.io.*;
+import java.math.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Solve the generated corpus with every engine that supports each matrix and compare the time and the
+ * allocated bytes with the baseline in performance-baseline.properties. The time is divided by the time
+ * of a reference solve on the same machine, so the baseline does not depend on the speed of the host,
+ * and a case slower than the baseline is measured again with the reference before it is reported.
+ * The solutions of every engine are checked by the default unit tests, the wall-clock comparison depends
+ * on the host so it only runs with ./gradlew performanceRegression (or -Dperformance.regression=true).
+ * To record a new baseline run the tests with -Dperformance.recordBaseline=path/of/the/file, the maximum
+ * slowdown (2 by default) is set with -Dperformance.maxSlowdown
+ */
+public class PerformanceRegressionTest {
+    private static final String BASELINE_RESOURCE = "/performance-baseline.properties";
+    private static final int[] SIZES = {8, 24};
+    private static final long SEED = 2021;
+    private static final int WARM_UP_RUNS = 20;
+    private static final int MEASURED_RUNS = 7;
+    private static final double DEFAULT_MAX_SLOWDOWN = 2d;
+
+    @Test
+    public void corpusSolutions() {
+        for (MatrixGenerator.Family family : MatrixGenerator.Family.values()) {
+            for (int size : SIZES) {
+                BigDecimal[][] matrix = MatrixGenerator.generate(family, size, SEED);
+                MatrixStructure structure = MatrixAnalyzer.analyze(matrix);
+                for (SolverEngine engine : SolverEngine.values()) {
+                    if (engine.supports(structure)) {
+                        this.assertSolution(family, size, matrix, engine);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void corpus() throws IOException {
+        String recordBaseline = System.getProperty("performance.recordBaseline");
+        Assume.assumeTrue("Run with -Dperformance.regression=true",
+                Boolean.getBoolean("performance.regression") || recordBaseline != null);
+        double maxSlowdown = Double.parseDouble(System.getProperty("performance.maxSlowdown",
+                String.valueOf(DEFAULT_MAX_SLOWDOWN)));
+        Properties baseline = this.loadBaseline();
+        SortedMap<String, String> measured = new TreeMap<>();
+        StringBuilder regressions = new StringBuilder();
+        StringBuilder missing = new StringBuilder();
+        BigDecimal[][] reference = MatrixGenerator.generate(MatrixGenerator.Family.RANDOM, 16, 1);
+        List<String> keys = new ArrayList<>();
+        List<BigDecimal[][]> matrices = new ArrayList<>();
+        List<SolverEngine> engines = new ArrayList<>();
+
+        for (MatrixGenerator.Family family : MatrixGenerator.Family.values()) {
+            for (int size : SIZES) {
+                BigDecimal[][] matrix = MatrixGenerator.generate(family, size, SEED);
+                MatrixStructure structure = MatrixAnalyzer.analyze(matrix);
+                for (SolverEngine engine : SolverEngine.values()) {
+                    if (engine.supports(structure)) {
+                        keys.add(family + "." + size + "." + engine);
+                        matrices.add(matrix);
+                        engines.add(engine);
+                    }
+                }
+            }
+        }
+        //The whole corpus is solved once before measuring so every case runs with the same JIT state
+        for (int index = 0; index < keys.size(); index++) {
+            this.measure(matrices.get(index), engines.get(index), WARM_UP_RUNS);
+        }
+        double referenceNanos = this.measure(reference, SolverEngine.GAUSS_JORDAN, MEASURED_RUNS).getTotalNanos();
+        for (int index = 0; index < keys.size(); index++) {
+            String key = keys.get(index);
+            if (baseline.getProperty(key + ".time") == null) {
+                //Every case of the corpus (e.g. the cases of a new engine) must be in the baseline
+                missing.append("\n").append(key);
+            }
+            SolverMetrics metrics = this.measure(matrices.get(index), engines.get(index), MEASURED_RUNS);
+            double relativeTime = metrics.getTotalNanos() / referenceNanos;
+            if (this.isSlower(key + ".time", relativeTime, baseline, maxSlowdown)) {
+                //The host may have been busy, the case and the reference are measured again
+                double retryNanos = this.measure(matrices.get(index), engines.get(index), MEASURED_RUNS)
+                        .getTotalNanos();
+                relativeTime = Math.min(relativeTime, retryNanos
+                        / this.measure(reference, SolverEngine.GAUSS_JORDAN, MEASURED_RUNS).getTotalNanos());
+            }
+            measured.put(key + ".time", String.format(Locale.ROOT, "%.4f", relativeTime));
+            measured.put(key + ".bytes", String.valueOf(metrics.getAllocatedBytes()));
+            this.compare(regressions, key + ".time", relativeTime, baseline, maxSlowdown);
+            if (metrics.getAllocatedBytes() != SolverMetrics.UNAVAILABLE) {
+                this.compare(regressions, key + ".bytes", metrics.getAllocatedBytes(), baseline, maxSlowdown);
+            }
+        }
+
+        if (recordBaseline != null) {
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(recordBaseline),
+                    StandardCharsets.UTF_8)) {
+                writer.write("# Generated by PerformanceRegressionTest, time relative to the reference solve\n");
+                for (Map.Entry<String, String> entry : measured.entrySet()) {
+                    writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+                }
+            }
+            return;
+        }
+        if (missing.length() > 0) {
+            Assert.fail("No baseline, record it with -Dperformance.recordBaseline:" + missing);
+        }
+        if (regressions.length() > 0) {
+            Assert.fail("Slower than the baseline (max slowdown " + maxSlowdown + "):" + regressions);
+        }
+    }
+
+    private void assertSolution(final MatrixGenerator.Family family, final int size, final BigDecimal[][] matrix,
+                                final SolverEngine engine) {
+        SolverOptions options = new SolverOptions();
+        options.setEngine(engine);
+        LinearSystemInfo linearSystemInfo = LinearSystemsSolver.solve(matrix, options);
+        if (family == MatrixGenerator.Family.HILBERT || family == MatrixGenerator.Family.VANDERMONDE
+                || family == MatrixGenerator.Family.NEAR_SINGULAR) {
+            //Ill-conditioned, only the time is compared
+            return;
+        }
+        Assert.assertTrue(family + " " + size + " " + engine, linearSystemInfo.isSolved());
+        BigDecimal[] expected = MatrixGenerator.getExpectedSolution(size, SEED);
+        for (int index = 0; index < size; index++) {
+            Assert.assertEquals(family + " " + size + " " + engine, expected[index].doubleValue(),
+                    linearSystemInfo.getSolution()[index].doubleValue(), 0.000001d);
+        }
+    }
+
+    /**
+     * @return Metrics of the fastest run
+     */
+    private SolverMetrics measure(final BigDecimal[][] matrix, final SolverEngine engine, final int runs) {
+        SolverOptions options = new SolverOptions();
+        options.setEngine(engine);
+        options.setMetricsEnabled(true);
+        SolverMetrics fastest = null;
+        for (int run = 0; run < runs; run++) {
+            SolverMetrics metrics = LinearSystemsSolver.solve(matrix, options).getMetrics();
+            if (fastest == null || metrics.getTotalNanos() < fastest.getTotalNanos()) {
+                fastest = metrics;
+            }
+        }
+        return fastest;
+    }
+
+    private void compare(final StringBuilder regressions, final String key, final double value,
+                         final Properties baseline, final double maxSlowdown) {
+        if (this.isSlower(key, value, baseline, maxSlowdown)) {
+            regressions.append("\n").append(key).append(": ").append(value).append(" (baseline ")
+                    .append(baseline.getProperty(key)).append(")");
+        }
+    }
+
+    private boolean isSlower(final String key, final double value, final Properties baseline,
+                             final double maxSlowdown) {
+        String baselineValue = baseline.getProperty(key);
+        //The cases without baseline are reported as missing
+        if (baselineValue == null) {
+            return false;
+        }
+        double expected = Double.parseDouble(baselineValue);
+        return expected > 0 && value > expected * maxSlowdown;
+    }
+
+    private Properties loadBaseline() throws IOException {
+        Properties baseline = new Properties();
+        try (InputStream inputStream = PerformanceRegressionTest.class.getResourceAsStream(BASELINE_RESOURCE)) {
+            if (inputStream != null) {
+                baseline.load(inputStream);
+            }
+        }
+        return baseline;
+    }
+}
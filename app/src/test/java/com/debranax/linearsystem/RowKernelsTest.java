@@ -0,0 +1,35 @@
+package com.debranax.linearsystem;
+
+import com.debranax.linearsystem.math.*;
+
+import org.junit.*;
+
+public class RowKernelsTest {
+
+    @Test
+    public void kernels() {
+        RowKernels kernels = RowKernelsSelector.getRowKernels();
+        double[] x = new double[37];
+        double[] y = new double[37];
+        for (int index = 0; index < x.length; index++) {
+            x[index] = index;
+            y[index] = 1;
+        }
+        kernels.axpy(2, x, 1, y, 0, 36);
+        Assert.assertEquals(73, y[35], 0);
+        Assert.assertEquals(1, y[36], 0);
+        Assert.assertEquals(16206, kernels.dot(x, 0, x, 0, 37), 0);
+
+        double[][] matrix = {{1, 2, 3}, {4, 5, 6}, {7, 8, 9}};
+        kernels.rank1Update(matrix, 1, 3, 0, 3, new double[]{0, 4, 7}, matrix[0]);
+        Assert.assertArrayEquals(new double[]{0, -3, -6}, matrix[1], 0);
+        Assert.assertArrayEquals(new double[]{0, -6, -12}, matrix[2], 0);
+    }
+
+    @Test
+    public void scalarWithoutVectorModule() {
+        //The app does not include the :vector module, the scalar kernels are used without a trial
+        Assert.assertEquals(1, RowKernelsSelector.getAvailableKernels().size());
+        Assert.assertEquals("scalar", RowKernelsSelector.getRowKernels().getName());
+    }
+}
@@ -0,0 +1,54 @@
+package com.debranax.linearsystem;
+
+import com.debranax.linearsystem.math.*;
+import com.debranax.linearsystem.utils.*;
+
+import org.junit.*;
+
+import java.io.*;
+import java.math.*;
+
+public class SolutionExporterTest {
+
+    @Test
+    public void exportFormats() {
+        LinearSystemInfo linearSystemInfo = this.getSolvedSystem(new BigDecimal("2.0000000000"),
+                new BigDecimal("-0.3333333333"), new BigDecimal("1E+3"));
+        Assert.assertEquals("X1 = 2\nX2 = -0.33333\nX3 = 1000\n",
+                SolutionExporter.exportToString(linearSystemInfo, SolutionExporter.Format.TEXT, 5));
+        Assert.assertEquals("variable,value\nX1,2\nX2,-0.33\nX3,1000\n",
+                SolutionExporter.exportToString(linearSystemInfo, SolutionExporter.Format.CSV, 2));
+        Assert.assertEquals("{\"status\":3,\"unknowns\":3,\"solution\":[2,-0.3333333333,1000]}",
+                SolutionExporter.exportToString(linearSystemInfo, SolutionExporter.Format.JSON,
+                        SolutionExporter.FULL_PRECISION));
+    }
+
+    @Test
+    public void exportNotSolved() {
+        LinearSystemInfo linearSystemInfo = new LinearSystemInfo();
+        linearSystemInfo.setStatusCode(LinearSystemUtils.StatusCode.HOMOGENEOUS.getStatusCodeVal());
+        Assert.assertEquals("", SolutionExporter.exportToString(linearSystemInfo, SolutionExporter.Format.TEXT, 5));
+        Assert.assertEquals("{\"status\":1,\"unknowns\":0,\"solution\":[]}",
+                SolutionExporter.exportToString(linearSystemInfo, SolutionExporter.Format.JSON, 5));
+    }
+
+    @Test
+    public void exportLargeSolution() throws IOException {
+        BigDecimal[] solution = new BigDecimal[5000];
+        for (int index = 0; index < solution.length; index++) {
+            solution[index] = BigDecimal.valueOf(index, 2);
+        }
+        StringWriter stringWriter = new StringWriter();
+        SolutionExporter.export(this.getSolvedSystem(solution), SolutionExporter.Format.CSV, 1, stringWriter);
+        String[] lines = stringWriter.toString().split("\n");
+        Assert.assertEquals(solution.length + 1, lines.length);
+        Assert.assertEquals("X5000,50", lines[lines.length - 1]);
+    }
+
+    private LinearSystemInfo getSolvedSystem(BigDecimal... solution) {
+        LinearSystemInfo linearSystemInfo = new LinearSystemInfo();
+        linearSystemInfo.setSolution(solution);
+        linearSystemInfo.setStatusCode(LinearSystemUtils.StatusCode.SOLVED.getStatusCodeVal());
+        return linearSystemInfo;
+    }
+}
@@ -0,0 +1,81 @@
+package com.debranax.linearsystem;
+
+import com.debranax.linearsystem.math.*;
+
+import org.junit.*;
+
+import java.math.*;
+import java.util.*;
+
+public class SolutionVerifierTest {
+
+    @Test
+    public void solutionIsVerified() {
+        //Enough rows to calculate the residual in parallel
+        BigDecimal[][] matrix = MatrixGenerator.generate(MatrixGenerator.Family.DIAGONALLY_DOMINANT, 80, 3);
+        SolverOptions options = new SolverOptions();
+        options.setVerificationEnabled(true);
+        LinearSystemInfo linearSystemInfo = LinearSystemsSolver.solve(matrix, options);
+        Assert.assertTrue(linearSystemInfo.isSolved());
+        Assert.assertTrue(linearSystemInfo.isVerified());
+        Assert.assertFalse(Double.isNaN(linearSystemInfo.getResidualNorm()));
+
+        LinearSystemInfo unchecked = LinearSystemsSolver.solve(matrix);
+        Assert.assertFalse(unchecked.isVerified());
+        Assert.assertTrue(Double.isNaN(unchecked.getResidualNorm()));
+    }
+
+    @Test
+    public void perturbedSolutionIsRejected() {
+        BigDecimal[][] matrix = MatrixGenerator.generate(MatrixGenerator.Family.DIAGONALLY_DOMINANT, 20, 4);
+        LinearSystemInfo linearSystemInfo = LinearSystemsSolver.solve(matrix);
+        Assert.assertTrue(SolutionVerifier.verify(linearSystemInfo, matrix));
+
+        BigDecimal[] solution = linearSystemInfo.getSolution();
+        solution[7] = solution[7].add(new BigDecimal("0.000001"));
+        Assert.assertFalse(SolutionVerifier.verify(linearSystemInfo, matrix));
+        Assert.assertFalse(linearSystemInfo.isVerified());
+        Assert.assertTrue(linearSystemInfo.getResidualNorm() > 1e-7);
+    }
+
+    @Test
+    public void freivaldsProduct() {
+        int size = 30;
+        Random random = new Random(5);
+        BigDecimal[][] matrixA = new BigDecimal[size][size];
+        BigDecimal[][] matrixX = new BigDecimal[size][size];
+        for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+            for (int columnIndex = 0; columnIndex < size; columnIndex++) {
+                matrixA[rowIndex][columnIndex] = BigDecimal.valueOf(random.nextInt(21) - 10);
+                matrixX[rowIndex][columnIndex] = BigDecimal.valueOf(random.nextInt(2001) - 1000, 2);
+            }
+        }
+        BigDecimal[][] matrixB = new BigDecimal[size][size];
+        for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+            for (int columnIndex = 0; columnIndex < size; columnIndex++) {
+                BigDecimal value = BigDecimal.ZERO;
+                for (int index = 0; index < size; index++) {
+                    value = value.add(matrixA[rowIndex][index].multiply(matrixX[index][columnIndex]));
+                }
+                matrixB[rowIndex][columnIndex] = value;
+            }
+        }
+        Assert.assertTrue(SolutionVerifier.verifyProduct(matrixA, matrixX, matrixB,
+                SolutionVerifier.DEFAULT_TRIALS, random));
+
+        matrixB[12][21] = matrixB[12][21].add(BigDecimal.ONE);
+        Assert.assertFalse(SolutionVerifier.verifyProduct(matrixA, matrixX, matrixB,
+                SolutionVerifier.DEFAULT_TRIALS, random));
+    }
+
+    @Test
+    public void freivaldsInverse() {
+        BigDecimal[][] matrix = {{new BigDecimal("4"), new BigDecimal("7")}, {new BigDecimal("2"), new BigDecimal("6")}};
+        BigDecimal[][] inverse = {{new BigDecimal("0.6"), new BigDecimal("-0.7")},
+                {new BigDecimal("-0.2"), new BigDecimal("0.4")}};
+        Random random = new Random(7);
+        Assert.assertTrue(SolutionVerifier.verifyInverse(matrix, inverse, SolutionVerifier.DEFAULT_TRIALS, random));
+        inverse[1][1] = new BigDecimal("0.41");
+        Assert.assertFalse(SolutionVerifier.verifyInverse(matrix, inverse, SolutionVerifier.DEFAULT_TRIALS, random));
+    }
+}
@@ -0,0 +1,55 @@
+package com.debranax.linearsystem;
+
+import com.debranax.linearsystem.math.*;
+
+import org.junit.*;
+
+import java.util.*;
+
+public class SolverBenchmarkTest {
+    private static final long MILLI = 1000000L;
+
+    @Test
+    public void run() {
+        SolverBenchmark benchmark = new SolverBenchmark(new int[]{4, 8},
+                new MatrixGenerator.Family[]{MatrixGenerator.Family.RANDOM, MatrixGenerator.Family.BANDED}, 3);
+        List<SolverBenchmark.Result> results = benchmark.run(null, null);
+        Assert.assertNotNull(results);
+        boolean banded = false;
+        for (SolverBenchmark.Result result : results) {
+            Assert.assertTrue(result.getP95Nanos() >= result.getMedianNanos());
+            Assert.assertTrue(result.getMemoryBytes() >= 0);
+            banded |= result.getEngine() == SolverEngine.BANDED;
+        }
+        Assert.assertTrue(banded);
+    }
+
+    @Test
+    public void cancelled() {
+        CancellationToken cancellationToken = new CancellationToken();
+        cancellationToken.cancel();
+        Assert.assertNull(SolverBenchmark.standard().run(cancellationToken, null));
+    }
+
+    @Test
+    public void suggestMaxUnknowns() {
+        List<SolverBenchmark.Result> results = new ArrayList<>();
+        results.add(this.result(10, MILLI));
+        results.add(this.result(20, 8 * MILLI));
+        //Cubic growth: 1001 ms is reached at 20 * (1001 / 8)^(1/3) = 100.03 unknowns
+        Assert.assertEquals(100, SolverBenchmark.suggestMaxUnknowns(results, 1001 * MILLI,
+                Long.MAX_VALUE, 2, 999));
+        //The memory of 3 copies of a 50 x 50 matrix
+        Assert.assertEquals(50, SolverBenchmark.suggestMaxUnknowns(results, 1000 * MILLI,
+                3 * 96 * 50 * 50, 2, 999));
+        Assert.assertEquals(80, SolverBenchmark.suggestMaxUnknowns(results, 1000 * MILLI,
+                Long.MAX_VALUE, 2, 80));
+        Assert.assertEquals(500, SolverBenchmark.suggestMaxUnknowns(results.subList(0, 1), 1000 * MILLI,
+                Long.MAX_VALUE, 2, 500));
+    }
+
+    private SolverBenchmark.Result result(final int size, final long p95Nanos) {
+        return new SolverBenchmark.Result(MatrixGenerator.Family.RANDOM, size, SolverEngine.GAUSS_JORDAN,
+                p95Nanos, p95Nanos, 0);
+    }
+}
@@ -0,0 +1,118 @@
+package com.debranax.linearsystem;
+
+import com.debranax.linearsystem.math.*;
+
+import org.junit.*;
+import org.junit.rules.*;
+
+import java.io.*;
+import java.math.*;
+import java.util.concurrent.*;
+
+public class SolverCheckpointTest {
+    private static final int SIZE = 30;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void resumeAfterCancel() {
+        BigDecimal[][] matrix = MatrixGenerator.generate(MatrixGenerator.Family.DIAGONALLY_DOMINANT, SIZE, 4);
+        LinearSystemInfo expected = this.solve(matrix, null, -1);
+        SolverCheckpoint checkpoint = new SolverCheckpoint(new File(temporaryFolder.getRoot(), "solve.checkpoint"));
+
+        //Cancelled in the forward elimination and in the back elimination
+        for (int cancelColumn : new int[]{12, SIZE + 9}) {
+            LinearSystemInfo cancelled = this.solve(matrix, checkpoint, cancelColumn);
+            Assert.assertEquals(LinearSystemUtils.StatusCode.CANCELLED.getStatusCodeVal(), cancelled.getStatusCode());
+            Assert.assertTrue(checkpoint.exists(matrix));
+            Assert.assertTrue(checkpoint.getCheckpointCount() > 0);
+        }
+        final int[] firstProgress = {-1};
+        SolverOptions options = this.getOptions(checkpoint);
+        options.setProgressListener((eliminatedColumns, totalColumns) -> {
+            if (firstProgress[0] < 0) {
+                firstProgress[0] = eliminatedColumns;
+            }
+        });
+        LinearSystemInfo resumed = LinearSystemsSolver.solve(matrix, options);
+        Assert.assertEquals(SIZE + 9, firstProgress[0]);
+        Assert.assertTrue(resumed.isSolved());
+        Assert.assertArrayEquals(expected.getSolution(), resumed.getSolution());
+        Assert.assertFalse(checkpoint.getFile().exists());
+    }
+
+    @Test
+    public void damagedOrForeignCheckpointIsIgnored() throws IOException {
+        BigDecimal[][] matrix = MatrixGenerator.generate(MatrixGenerator.Family.DIAGONALLY_DOMINANT, SIZE, 5);
+        SolverCheckpoint checkpoint = new SolverCheckpoint(new File(temporaryFolder.getRoot(), "solve.checkpoint"));
+        this.solve(matrix, checkpoint, 10);
+        Assert.assertTrue(checkpoint.exists(matrix));
+        Assert.assertFalse(checkpoint.exists(MatrixGenerator.generate(MatrixGenerator.Family.DIAGONALLY_DOMINANT,
+                SIZE, 6)));
+
+        RandomAccessFile file = new RandomAccessFile(checkpoint.getFile(), "rw");
+        try {
+            file.seek(file.length() / 2);
+            int value = file.read();
+            file.seek(file.length() / 2);
+            file.write(value ^ 1);
+        } finally {
+            file.close();
+        }
+        Assert.assertFalse(checkpoint.exists(matrix));
+        LinearSystemInfo linearSystemInfo = LinearSystemsSolver.solve(matrix, this.getOptions(checkpoint));
+        Assert.assertArrayEquals(this.solve(matrix, null, -1).getSolution(), linearSystemInfo.getSolution());
+    }
+
+    @Test
+    public void intervalAdaptsToOverhead() {
+        BigDecimal[][] matrix = MatrixGenerator.generate(MatrixGenerator.Family.DIAGONALLY_DOMINANT, SIZE, 7);
+        SolverCheckpoint checkpoint = new SolverCheckpoint(new File(temporaryFolder.getRoot(), "solve.checkpoint"));
+        //Writes much slower than the elimination of a column are written rarely
+        checkpoint.setFirstWriteMillis(0);
+        checkpoint.setTargetOverhead(1e-9);
+        LinearSystemsSolver.solve(matrix, this.getOptions(checkpoint));
+        Assert.assertEquals(1, checkpoint.getCheckpointCount());
+        Assert.assertTrue(checkpoint.getInterval() > 2 * SIZE);
+
+        checkpoint.setTargetOverhead(1e9);
+        LinearSystemsSolver.solve(matrix, this.getOptions(checkpoint));
+        Assert.assertEquals(2 * SIZE - 1, checkpoint.getCheckpointCount());
+        Assert.assertEquals(1, checkpoint.getInterval());
+    }
+
+    @Test
+    public void shortSolveDoesNotWrite() {
+        BigDecimal[][] matrix = MatrixGenerator.generate(MatrixGenerator.Family.DIAGONALLY_DOMINANT, SIZE, 8);
+        SolverCheckpoint checkpoint = new SolverCheckpoint(new File(temporaryFolder.getRoot(), "solve.checkpoint"));
+        //The elimination never takes the time that would pay for the first write
+        checkpoint.setFirstWriteMillis(TimeUnit.HOURS.toMillis(1));
+        LinearSystemInfo linearSystemInfo = LinearSystemsSolver.solve(matrix, this.getOptions(checkpoint));
+        Assert.assertTrue(linearSystemInfo.isSolved());
+        Assert.assertEquals(0, checkpoint.getCheckpointCount());
+        Assert.assertFalse(checkpoint.getFile().exists());
+    }
+
+    /**
+     * @param cancelColumn Column eliminated when the solve is cancelled, -1 to solve the whole system
+     */
+    private LinearSystemInfo solve(final BigDecimal[][] matrix, final SolverCheckpoint checkpoint,
+                                   final int cancelColumn) {
+        final SolverOptions options = this.getOptions(checkpoint);
+        options.setCancellationToken(new CancellationToken());
+        options.setProgressListener((eliminatedColumns, totalColumns) -> {
+            if (eliminatedColumns == cancelColumn) {
+                options.getCancellationToken().cancel();
+            }
+        });
+        return LinearSystemsSolver.solve(matrix, options);
+    }
+
+    private SolverOptions getOptions(final SolverCheckpoint checkpoint) {
+        SolverOptions options = new SolverOptions();
+        options.setEngine(SolverEngine.GAUSS_JORDAN);
+        options.setCheckpoint(checkpoint);
+        return options;
+    }
+}
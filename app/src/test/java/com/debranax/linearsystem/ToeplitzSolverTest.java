@@ -0,0 +1,88 @@
+package com.debranax.linearsystem;
+
+import com.debranax.linearsystem.math.*;
+
+import org.junit.*;
+
+import java.math.*;
+import java.util.*;
+
+public class ToeplitzSolverTest {
+
+    @Test
+    public void symmetricAndNonSymmetric() {
+        for (boolean symmetric : new boolean[]{true, false}) {
+            int size = 15;
+            Random random = new Random(7);
+            BigDecimal[] column = new BigDecimal[size];
+            BigDecimal[] row = new BigDecimal[size];
+            //Diagonally dominant, the sum of the other coefficients of a row is at most 42
+            column[0] = BigDecimal.valueOf(43);
+            row[0] = column[0];
+            for (int index = 1; index < size; index++) {
+                column[index] = BigDecimal.valueOf(random.nextInt(7) - 3);
+                row[index] = symmetric ? column[index] : BigDecimal.valueOf(random.nextInt(7) - 3);
+            }
+            ToeplitzMatrix toeplitzMatrix = new ToeplitzMatrix(column, row);
+            BigDecimal[] expected = MatrixGenerator.getExpectedSolution(size, 7);
+            BigDecimal[] constants = new BigDecimal[size];
+            for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+                constants[rowIndex] = BigDecimal.ZERO;
+                for (int columnIndex = 0; columnIndex < size; columnIndex++) {
+                    constants[rowIndex] = constants[rowIndex].add(
+                            toeplitzMatrix.get(rowIndex, columnIndex).multiply(expected[columnIndex]));
+                }
+            }
+
+            BigDecimal[][] augmentedMatrix = toeplitzMatrix.toAugmentedMatrix(constants);
+            MatrixStructure structure = MatrixAnalyzer.analyze(augmentedMatrix);
+            Assert.assertTrue(structure.isToeplitz());
+            Assert.assertEquals(SolverEngine.TOEPLITZ, MatrixAnalyzer.chooseEngine(structure));
+            Assert.assertEquals(symmetric, toeplitzMatrix.isSymmetric());
+            LinearSystemInfo dense = LinearSystemsSolver.solve(augmentedMatrix, null);
+            LinearSystemInfo compact = ToeplitzSolver.solve(toeplitzMatrix, constants, null);
+            Assert.assertEquals(SolverEngine.TOEPLITZ, dense.getEngine());
+            Assert.assertEquals(SolverEngine.TOEPLITZ, compact.getEngine());
+            for (int index = 0; index < size; index++) {
+                Assert.assertEquals(expected[index].doubleValue(), dense.getSolution()[index].doubleValue(), 1e-8);
+                Assert.assertEquals(0, dense.getSolution()[index].compareTo(compact.getSolution()[index]));
+            }
+        }
+    }
+
+    @Test
+    public void zeroLeadingMinor() {
+        //The second leading minor is zero, the system is solved by the Gauss-Jordan elimination
+        ToeplitzMatrix toeplitzMatrix = new ToeplitzMatrix(
+                new BigDecimal[]{BigDecimal.ONE, BigDecimal.ONE, BigDecimal.valueOf(2)},
+                new BigDecimal[]{BigDecimal.ONE, BigDecimal.ONE, BigDecimal.valueOf(3)});
+        BigDecimal[] constants = {BigDecimal.valueOf(6), BigDecimal.valueOf(3), BigDecimal.valueOf(5)};
+        LinearSystemInfo linearSystemInfo = ToeplitzSolver.solve(toeplitzMatrix, constants, null);
+        SolverOptions options = new SolverOptions();
+        options.setEngine(SolverEngine.GAUSS_JORDAN);
+        LinearSystemInfo gaussJordan = LinearSystemsSolver.solve(toeplitzMatrix.toAugmentedMatrix(constants),
+                options);
+        Assert.assertEquals(gaussJordan.getStatusCode(), linearSystemInfo.getStatusCode());
+        Assert.assertArrayEquals(gaussJordan.getSolution(), linearSystemInfo.getSolution());
+
+        Assert.assertFalse(MatrixAnalyzer.analyze(new BigDecimal[][]{
+                {BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE},
+                {BigDecimal.ONE, BigDecimal.valueOf(2), BigDecimal.ONE}}).isToeplitz());
+    }
+
+    @Test
+    public void onlyDominantToeplitzIsChosen() {
+        //Every 2x2 matrix with equal diagonal is Toeplitz, the leading minor 1e-9 would be a pivot of Levinson
+        MatrixStructure structure = MatrixAnalyzer.analyze(new BigDecimal[][]{
+                {new BigDecimal("1e-9"), BigDecimal.ONE, BigDecimal.ONE},
+                {BigDecimal.valueOf(2), new BigDecimal("1e-9"), BigDecimal.valueOf(2)}});
+        Assert.assertTrue(structure.isToeplitz());
+        Assert.assertEquals(SolverEngine.GAUSS_JORDAN, MatrixAnalyzer.chooseEngine(structure));
+        Assert.assertTrue(SolverEngine.TOEPLITZ.supports(structure));
+
+        structure = MatrixAnalyzer.analyze(new BigDecimal[][]{
+                {BigDecimal.valueOf(4), BigDecimal.ONE, BigDecimal.ONE},
+                {BigDecimal.valueOf(2), BigDecimal.valueOf(4), BigDecimal.valueOf(2)}});
+        Assert.assertEquals(SolverEngine.TOEPLITZ, MatrixAnalyzer.chooseEngine(structure));
+    }
+}
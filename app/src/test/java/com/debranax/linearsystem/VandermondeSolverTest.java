@@ -0,0 +1,60 @@
+package com.debranax.linearsystem;
+
+import com.debranax.linearsystem.math.*;
+
+import org.junit.*;
+
+import java.math.*;
+
+public class VandermondeSolverTest {
+
+    @Test
+    public void interpolation() {
+        int size = 12;
+        BigDecimal[][] matrix = MatrixGenerator.generate(MatrixGenerator.Family.VANDERMONDE, size, 5);
+        BigDecimal[] expected = MatrixGenerator.getExpectedSolution(size, 5);
+        MatrixStructure structure = MatrixAnalyzer.analyze(matrix);
+        Assert.assertTrue(structure.isVandermonde());
+        Assert.assertEquals(SolverEngine.VANDERMONDE, MatrixAnalyzer.chooseEngine(structure));
+
+        LinearSystemInfo vandermonde = LinearSystemsSolver.solve(matrix, null);
+        SolverOptions options = new SolverOptions();
+        options.setEngine(SolverEngine.GAUSS_JORDAN);
+        LinearSystemInfo gaussJordan = LinearSystemsSolver.solve(matrix, options);
+        Assert.assertEquals(SolverEngine.VANDERMONDE, vandermonde.getEngine());
+        Assert.assertTrue(vandermonde.isSolved());
+        //The solution is exact at the scale of the result, the elimination loses digits
+        double vandermondeError = this.getMaxError(expected, vandermonde.getSolution());
+        Assert.assertTrue(vandermondeError < 1e-9);
+        Assert.assertTrue(vandermondeError <= this.getMaxError(expected, gaussJordan.getSolution()));
+
+        BigDecimal[] nodes = new BigDecimal[size];
+        BigDecimal[] constants = new BigDecimal[size];
+        for (int index = 0; index < size; index++) {
+            nodes[index] = matrix[index][1];
+            constants[index] = matrix[index][size];
+        }
+        Assert.assertArrayEquals(vandermonde.getSolution(),
+                VandermondeSolver.solve(nodes, constants, null).getSolution());
+    }
+
+    @Test
+    public void repeatedNodes() {
+        BigDecimal[] nodes = {BigDecimal.ONE, BigDecimal.valueOf(2), BigDecimal.ONE};
+        BigDecimal[] constants = {BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE};
+        BigDecimal[][] matrix = VandermondeSolver.toAugmentedMatrix(nodes, constants);
+        Assert.assertTrue(MatrixAnalyzer.analyze(matrix).isVandermonde());
+        Assert.assertFalse(VandermondeSolver.solve(nodes, constants, null).isSolved());
+
+        matrix[2][2] = BigDecimal.valueOf(2);
+        Assert.assertFalse(MatrixAnalyzer.analyze(matrix).isVandermonde());
+    }
+
+    private double getMaxError(final BigDecimal[] expected, final BigDecimal[] solution) {
+        double maxError = 0;
+        for (int index = 0; index < expected.length; index++) {
+            maxError = Math.max(maxError, expected[index].subtract(solution[index]).abs().doubleValue());
+        }
+        return maxError;
+    }
+}
@@ -0,0 +1,66 @@
+package com.debranax.linearsystem;
+
+import com.debranax.linearsystem.math.*;
+
+import org.junit.*;
+
+import java.math.*;
+
+public class VerifiedEngineTest {
+
+    @Test
+    public void enclosureContainsSolution() {
+        for (MatrixGenerator.Family family : new MatrixGenerator.Family[]{MatrixGenerator.Family.RANDOM,
+                MatrixGenerator.Family.SPD, MatrixGenerator.Family.HILBERT, MatrixGenerator.Family.SPARSE}) {
+            BigDecimal[][] matrix = MatrixGenerator.generate(family, 8, 3);
+            LinearSystemInfo linearSystemInfo = this.solve(matrix);
+            Assert.assertTrue(family.toString(), linearSystemInfo.isSolved());
+            Assert.assertNotNull(family.toString(), linearSystemInfo.getEnclosureWidths());
+            if (family != MatrixGenerator.Family.HILBERT) {
+                //The Hilbert coefficients are rounded, its exact solution is not the generated one
+                this.assertContains(MatrixGenerator.getExpectedSolution(8, 3), linearSystemInfo);
+            }
+            for (double width : linearSystemInfo.getEnclosureWidths()) {
+                Assert.assertTrue(family + " " + width, width < (family == MatrixGenerator.Family.HILBERT ? 1e-3 : 1e-8));
+            }
+        }
+    }
+
+    @Test
+    public void inexactDecimals() {
+        //0.1 and 0.3 are not doubles, the exact solution is (1, 2)
+        BigDecimal[][] matrix = {
+                {new BigDecimal("0.1"), new BigDecimal("0.2"), new BigDecimal("0.5")},
+                {new BigDecimal("0.3"), new BigDecimal("-0.1"), new BigDecimal("0.1")}};
+        LinearSystemInfo linearSystemInfo = this.solve(matrix);
+        Assert.assertTrue(linearSystemInfo.isSolved());
+        this.assertContains(new BigDecimal[]{BigDecimal.ONE, BigDecimal.valueOf(2)}, linearSystemInfo);
+        Assert.assertEquals(0, BigDecimal.valueOf(2).compareTo(linearSystemInfo.getSolution()[1]));
+    }
+
+    @Test
+    public void singularFallsBack() {
+        BigDecimal[][] matrix = {
+                {BigDecimal.ONE, BigDecimal.valueOf(2), BigDecimal.ONE},
+                {BigDecimal.valueOf(2), BigDecimal.valueOf(4), BigDecimal.ONE}};
+        LinearSystemInfo linearSystemInfo = this.solve(matrix);
+        Assert.assertEquals(LinearSystemUtils.StatusCode.ZERO_COLUMN.getStatusCodeVal(),
+                linearSystemInfo.getStatusCode());
+        Assert.assertNull(linearSystemInfo.getEnclosureWidths());
+    }
+
+    private LinearSystemInfo solve(final BigDecimal[][] matrix) {
+        SolverOptions options = new SolverOptions();
+        options.setEngine(SolverEngine.VERIFIED);
+        LinearSystemInfo linearSystemInfo = LinearSystemsSolver.solve(matrix, options);
+        Assert.assertEquals(SolverEngine.VERIFIED, linearSystemInfo.getEngine());
+        return linearSystemInfo;
+    }
+
+    private void assertContains(final BigDecimal[] expected, final LinearSystemInfo linearSystemInfo) {
+        for (int index = 0; index < expected.length; index++) {
+            Assert.assertTrue(new BigDecimal(linearSystemInfo.getLowerBounds()[index]).compareTo(expected[index]) <= 0);
+            Assert.assertTrue(new BigDecimal(linearSystemInfo.getUpperBounds()[index]).compareTo(expected[index]) >= 0);
+        }
+    }
+}
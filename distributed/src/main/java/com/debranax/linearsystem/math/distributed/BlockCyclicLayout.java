@@ -0,0 +1,85 @@
+package com.debranax.linearsystem.math.distributed;
+
+/**
+ * 2-D block-cyclic layout of an n x n matrix: the matrix is split in square blocks and the block (I, J)
+ * belongs to the worker in the process row I mod processRows and the process column J mod processColumns
+ * (workers are numbered by process row, then by process column)
+ */
+class BlockCyclicLayout {
+    private final int size;
+    private final int blockSize;
+    private final int processRows;
+    private final int processColumns;
+    private final int blocks;
+
+    BlockCyclicLayout(final int size, final int blockSize, final int processRows, final int processColumns) {
+        this.size = size;
+        this.blockSize = blockSize;
+        this.processRows = processRows;
+        this.processColumns = processColumns;
+        this.blocks = (size + blockSize - 1) / blockSize;
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    int getBlockSize() {
+        return blockSize;
+    }
+
+    int getProcessRows() {
+        return processRows;
+    }
+
+    int getProcessColumns() {
+        return processColumns;
+    }
+
+    int getWorkers() {
+        return processRows * processColumns;
+    }
+
+    /**
+     * @return Number of blocks per row (and per column)
+     */
+    int getBlocks() {
+        return blocks;
+    }
+
+    /**
+     * @param block Index of the block row or block column
+     * @return Rows (or columns) of the block, the last one can be smaller
+     */
+    int getBlockLength(final int block) {
+        return Math.min(blockSize, size - block * blockSize);
+    }
+
+    int getOwner(final int blockRow, final int blockColumn) {
+        return (blockRow % processRows) * processColumns + blockColumn % processColumns;
+    }
+
+    int getProcessRow(final int worker) {
+        return worker / processColumns;
+    }
+
+    int getProcessColumn(final int worker) {
+        return worker % processColumns;
+    }
+
+    /**
+     * @param processRow Process row of the worker
+     * @return Block rows stored by a worker of the process row
+     */
+    int getLocalBlockRows(final int processRow) {
+        return processRow < blocks ? (blocks - processRow + processRows - 1) / processRows : 0;
+    }
+
+    /**
+     * @param processColumn Process column of the worker
+     * @return Block columns stored by a worker of the process column
+     */
+    int getLocalBlockColumns(final int processColumn) {
+        return processColumn < blocks ? (blocks - processColumn + processColumns - 1) / processColumns : 0;
+    }
+}
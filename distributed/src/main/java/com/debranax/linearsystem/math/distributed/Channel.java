@@ -0,0 +1,139 @@
+package com.debranax.linearsystem.math.distributed;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+
+/**
+ * Socket between the coordinator and a worker. The doubles are sent in bulk and the time spent reading
+ * and writing is accumulated as communication time (the wait for the next command is not counted)
+ */
+class Channel implements Closeable {
+    static final int PUT_BLOCK = 1;
+    static final int GET_BLOCK = 2;
+    static final int GET_ROWS = 3;
+    static final int PUT_ROWS = 4;
+    static final int TRIANGULAR_SOLVE = 5;
+    static final int UPDATE = 6;
+    static final int MULTIPLY = 7;
+    static final int STATS = 8;
+    static final int SHUTDOWN = 9;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Socket socket;
+    private final DataInputStream input;
+    private final DataOutputStream output;
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private long communicationNanos;
+    private long bytesSent;
+    private long bytesReceived;
+
+    Channel(final Socket socket) throws IOException {
+        this.socket = socket;
+        this.socket.setTcpNoDelay(true);
+        this.input = new DataInputStream(new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE));
+        this.output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE));
+    }
+
+    /**
+     * Wait for the next command, the wait is idle time
+     * @return Command
+     * @throws IOException If the socket fails or is closed
+     */
+    int readCommand() throws IOException {
+        int command = input.readByte();
+        bytesReceived++;
+        return command;
+    }
+
+    void writeCommand(final int command) throws IOException {
+        long startNanos = System.nanoTime();
+        output.writeByte(command);
+        bytesSent++;
+        communicationNanos += System.nanoTime() - startNanos;
+    }
+
+    int readInt() throws IOException {
+        long startNanos = System.nanoTime();
+        int value = input.readInt();
+        bytesReceived += Integer.BYTES;
+        communicationNanos += System.nanoTime() - startNanos;
+        return value;
+    }
+
+    void writeInt(final int value) throws IOException {
+        long startNanos = System.nanoTime();
+        output.writeInt(value);
+        bytesSent += Integer.BYTES;
+        communicationNanos += System.nanoTime() - startNanos;
+    }
+
+    long readLong() throws IOException {
+        long startNanos = System.nanoTime();
+        long value = input.readLong();
+        bytesReceived += Long.BYTES;
+        communicationNanos += System.nanoTime() - startNanos;
+        return value;
+    }
+
+    void writeLong(final long value) throws IOException {
+        long startNanos = System.nanoTime();
+        output.writeLong(value);
+        bytesSent += Long.BYTES;
+        communicationNanos += System.nanoTime() - startNanos;
+    }
+
+    void readDoubles(final double[] target, final int offset, final int length) throws IOException {
+        long startNanos = System.nanoTime();
+        int bytes = length * Double.BYTES;
+        input.readFully(getBuffer(bytes), 0, bytes);
+        ByteBuffer.wrap(buffer, 0, bytes).asDoubleBuffer().get(target, offset, length);
+        bytesReceived += bytes;
+        communicationNanos += System.nanoTime() - startNanos;
+    }
+
+    void writeDoubles(final double[] source, final int offset, final int length) throws IOException {
+        long startNanos = System.nanoTime();
+        int bytes = length * Double.BYTES;
+        ByteBuffer.wrap(getBuffer(bytes), 0, bytes).asDoubleBuffer().put(source, offset, length);
+        output.write(buffer, 0, bytes);
+        bytesSent += bytes;
+        communicationNanos += System.nanoTime() - startNanos;
+    }
+
+    void flush() throws IOException {
+        long startNanos = System.nanoTime();
+        output.flush();
+        communicationNanos += System.nanoTime() - startNanos;
+    }
+
+    long getCommunicationNanos() {
+        return communicationNanos;
+    }
+
+    long getBytesSent() {
+        return bytesSent;
+    }
+
+    long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+
+    private byte[] getBuffer(final int bytes) {
+        if (buffer.length < bytes) {
+            buffer = new byte[bytes];
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,558 @@
+package com.debranax.linearsystem.math.distributed;
+
+import com.debranax.linearsystem.math.LinearSystemInfo;
+import com.debranax.linearsystem.math.LinearSystemUtils;
+import com.debranax.linearsystem.math.RowKernels;
+import com.debranax.linearsystem.math.RowKernelsSelector;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Right-looking LU with partial pivoting (double precision) of a dense system distributed in a 2-D
+ * block-cyclic layout across worker processes started on localhost ({@link DistributedWorker}) that
+ * talk with this coordinator over sockets. For every block column K the coordinator factorizes the
+ * panel, applies the row interchanges, the workers of the block row K compute U(K, J) and every worker
+ * updates its trailing blocks with the broadcast L(I, K) and U(K, J). The workers of the next block column
+ * update and send it first, so the next panel is factorized while the rest of the update runs.
+ * Only for the headless JVM (this module is not part of the app), Android cannot start the worker processes.
+ */
+public class DistributedLUSolver {
+    private static final int CONNECT_TIMEOUT_MILLIS = 30000;
+    private static final int SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private final int processRows;
+    private final int processColumns;
+    private final int blockSize;
+    private final RowKernels kernels = RowKernelsSelector.getRowKernels();
+    private BlockCyclicLayout layout;
+    private Channel[] channels;
+    private long computeNanos;
+
+    /**
+     * @param processRows    Rows of the grid of workers
+     * @param processColumns Columns of the grid of workers
+     * @param blockSize      Rows and columns of the square blocks
+     */
+    public DistributedLUSolver(final int processRows, final int processColumns, final int blockSize) {
+        if (processRows <= 0 || processColumns <= 0 || blockSize <= 0) {
+            throw new IllegalArgumentException("The grid and the block size must be greater than zero");
+        }
+        this.processRows = processRows;
+        this.processColumns = processColumns;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Solve the augmented matrix in double precision, the solution is rounded to
+     * {@link LinearSystemUtils#SCALE}
+     *
+     * @param augmentedMatrix Augmented matrix (n x n+1)
+     * @return Result and reports of the processes
+     * @throws IOException If a worker cannot be started or the connection fails
+     */
+    public DistributedSolveResult solve(final BigDecimal[][] augmentedMatrix) throws IOException {
+        int totalRows = LinearSystemUtils.getTotalRows(augmentedMatrix);
+        double[][] matrix = new double[totalRows][totalRows];
+        double[] constants = new double[totalRows];
+        for (int rowIndex = 0; rowIndex < totalRows; rowIndex++) {
+            for (int columnIndex = 0; columnIndex < totalRows; columnIndex++) {
+                matrix[rowIndex][columnIndex] = augmentedMatrix[rowIndex][columnIndex].doubleValue();
+            }
+            constants[rowIndex] = augmentedMatrix[rowIndex][totalRows].doubleValue();
+        }
+        return solve(matrix, constants);
+    }
+
+    /**
+     * Solve A x = b, one worker process is started per element of the grid and stopped at the end
+     *
+     * @param matrix    Coefficient matrix A (n x n), it is not modified
+     * @param constants Constants b
+     * @return Result and reports of the processes
+     * @throws IOException If a worker cannot be started or the connection fails
+     */
+    public synchronized DistributedSolveResult solve(final double[][] matrix, final double[] constants)
+            throws IOException {
+        layout = new BlockCyclicLayout(matrix.length, blockSize, processRows, processColumns);
+        channels = new Channel[layout.getWorkers()];
+        computeNanos = 0;
+        List<Process> processes = new ArrayList<>();
+        try (ServerSocket serverSocket = new ServerSocket(0, layout.getWorkers(), InetAddress.getLoopbackAddress())) {
+            serverSocket.setSoTimeout(CONNECT_TIMEOUT_MILLIS);
+            for (int worker = 0; worker < layout.getWorkers(); worker++) {
+                processes.add(DistributedLUSolver.startWorker(serverSocket.getLocalPort(), worker));
+            }
+            for (int index = 0; index < layout.getWorkers(); index++) {
+                Channel channel = new Channel(serverSocket.accept());
+                int worker = channel.readInt();
+                channels[worker] = channel;
+                channel.writeInt(layout.getSize());
+                channel.writeInt(blockSize);
+                channel.writeInt(processRows);
+                channel.writeInt(processColumns);
+                channel.flush();
+            }
+            LinearSystemInfo linearSystemInfo = factorizeAndSolve(matrix, constants);
+            return new DistributedSolveResult(linearSystemInfo, getCoordinatorReport(), shutdownWorkers());
+        } finally {
+            for (Channel channel : channels) {
+                if (channel != null) {
+                    channel.close();
+                }
+            }
+            DistributedLUSolver.stopWorkers(processes);
+        }
+    }
+
+    private static Process startWorker(final int port, final int worker) throws IOException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        return new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                DistributedWorker.class.getName(), InetAddress.getLoopbackAddress().getHostAddress(),
+                String.valueOf(port), String.valueOf(worker)).inheritIO().start();
+    }
+
+    private static void stopWorkers(final List<Process> processes) {
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private LinearSystemInfo factorizeAndSolve(final double[][] matrix, final double[] constants)
+            throws IOException {
+        int blocks = layout.getBlocks();
+        double[][] diagonals = new double[blocks][];
+        double[] vector = constants.clone();
+        scatter(matrix);
+        double[][] panel = gatherPanel();
+        for (int step = 0; step < blocks; step++) {
+            int firstRow = step * blockSize;
+            int[] pivots = new int[layout.getBlockLength(step)];
+            int zeroColumn = factorizePanel(panel, firstRow, pivots);
+            if (zeroColumn >= 0) {
+                return DistributedLUSolver.getLinearSystemInfo(LinearSystemUtils.ZERO_COLUMN_MESSAGE
+                        + "(column index " + zeroColumn + ")", LinearSystemUtils.StatusCode.ZERO_COLUMN);
+            }
+            for (int index = 0; index < pivots.length; index++) {
+                double value = vector[firstRow + index];
+                vector[firstRow + index] = vector[pivots[index]];
+                vector[pivots[index]] = value;
+            }
+            swapRows(firstRow, pivots);
+            diagonals[step] = putPanel(step, panel);
+            if (step + 1 < blocks) {
+                double[][] upper = triangularSolve(step, diagonals[step]);
+                panel = update(step, panel, upper);
+            }
+        }
+        double[] solution = substitute(diagonals, vector);
+
+        LinearSystemInfo linearSystemInfo = DistributedLUSolver.getLinearSystemInfo(
+                LinearSystemUtils.SYSTEM_WAS_SOLVED_MESSAGE, LinearSystemUtils.StatusCode.SOLVED);
+        BigDecimal[] result = new BigDecimal[solution.length];
+        for (int rowIndex = 0; rowIndex < solution.length; rowIndex++) {
+            if (Double.isNaN(solution[rowIndex]) || Double.isInfinite(solution[rowIndex])) {
+                return DistributedLUSolver.getLinearSystemInfo("The solution overflows the double precision",
+                        LinearSystemUtils.StatusCode.UNEXPECTED_ERROR);
+            }
+            result[rowIndex] = BigDecimal.valueOf(solution[rowIndex]).setScale(LinearSystemUtils.SCALE,
+                    RoundingMode.HALF_UP);
+        }
+        linearSystemInfo.setSolution(result);
+        return linearSystemInfo;
+    }
+
+    private static LinearSystemInfo getLinearSystemInfo(final String message,
+                                                        final LinearSystemUtils.StatusCode statusCode) {
+        LinearSystemInfo linearSystemInfo = new LinearSystemInfo();
+        linearSystemInfo.setStatusCode(statusCode.getStatusCodeVal());
+        linearSystemInfo.appendAdditionalInfo(message);
+        return linearSystemInfo;
+    }
+
+    private void scatter(final double[][] matrix) throws IOException {
+        for (int blockRow = 0; blockRow < layout.getBlocks(); blockRow++) {
+            for (int blockColumn = 0; blockColumn < layout.getBlocks(); blockColumn++) {
+                int rows = layout.getBlockLength(blockRow);
+                int columns = layout.getBlockLength(blockColumn);
+                double[] block = new double[rows * columns];
+                for (int row = 0; row < rows; row++) {
+                    System.arraycopy(matrix[blockRow * blockSize + row], blockColumn * blockSize, block,
+                            row * columns, columns);
+                }
+                Channel channel = channels[layout.getOwner(blockRow, blockColumn)];
+                channel.writeCommand(Channel.PUT_BLOCK);
+                channel.writeInt(blockRow);
+                channel.writeInt(blockColumn);
+                channel.writeDoubles(block, 0, block.length);
+            }
+        }
+        for (Channel channel : channels) {
+            channel.flush();
+        }
+    }
+
+    /**
+     * @return First block column, the only panel that is not sent by an update
+     */
+    private double[][] gatherPanel() throws IOException {
+        double[][] panel = new double[layout.getSize()][layout.getBlockLength(0)];
+        for (int blockRow = 0; blockRow < layout.getBlocks(); blockRow++) {
+            Channel channel = channels[layout.getOwner(blockRow, 0)];
+            channel.writeCommand(Channel.GET_BLOCK);
+            channel.writeInt(blockRow);
+            channel.writeInt(0);
+            channel.flush();
+            readPanelBlock(channel, panel, blockRow, 0);
+        }
+        return panel;
+    }
+
+    private void readPanelBlock(final Channel channel, final double[][] panel, final int blockRow,
+                                final int firstRow) throws IOException {
+        for (int row = 0; row < layout.getBlockLength(blockRow); row++) {
+            channel.readDoubles(panel[blockRow * blockSize + row - firstRow], 0, panel[0].length);
+        }
+    }
+
+    /**
+     * LU with partial pivoting of the panel (rows firstRow..n-1 of the block column)
+     *
+     * @param panel    Panel, the rows are interchanged and it is overwritten with L and U
+     * @param firstRow First row of the panel in the matrix
+     * @param pivots   Row of the matrix interchanged with every row of the diagonal block
+     * @return Column of the matrix without pivot or -1
+     */
+    private int factorizePanel(final double[][] panel, final int firstRow, final int[] pivots) {
+        long startNanos = System.nanoTime();
+        int columns = pivots.length;
+        try {
+            for (int column = 0; column < columns; column++) {
+                int pivotRow = column;
+                for (int row = column + 1; row < panel.length; row++) {
+                    if (Math.abs(panel[row][column]) > Math.abs(panel[pivotRow][column])) {
+                        pivotRow = row;
+                    }
+                }
+                if (panel[pivotRow][column] == 0) {
+                    return firstRow + column;
+                }
+                pivots[column] = firstRow + pivotRow;
+                double[] swappedRow = panel[column];
+                panel[column] = panel[pivotRow];
+                panel[pivotRow] = swappedRow;
+                double pivot = panel[column][column];
+                for (int row = column + 1; row < panel.length; row++) {
+                    double factor = panel[row][column] / pivot;
+                    panel[row][column] = factor;
+                    kernels.axpy(-factor, panel[column], column + 1, panel[row], column + 1, columns - column - 1);
+                }
+            }
+            return -1;
+        } finally {
+            computeNanos += System.nanoTime() - startNanos;
+        }
+    }
+
+    /**
+     * Apply the interchanges of the panel to the rows stored by the workers (all the block columns, the
+     * panel is written after with {@link #putPanel(int, double[][])})
+     *
+     * @param firstRow First row of the panel in the matrix
+     * @param pivots   Row interchanged with every row of the diagonal block
+     */
+    private void swapRows(final int firstRow, final int[] pivots) throws IOException {
+        //Row of the matrix moved to every position
+        Map<Integer, Integer> sources = new LinkedHashMap<>();
+        for (int index = 0; index < pivots.length; index++) {
+            int row = firstRow + index;
+            if (pivots[index] != row) {
+                Integer rowSource = sources.get(row);
+                Integer pivotSource = sources.get(pivots[index]);
+                sources.put(row, pivotSource != null ? pivotSource : pivots[index]);
+                sources.put(pivots[index], rowSource != null ? rowSource : row);
+            }
+        }
+        if (sources.isEmpty()) {
+            return;
+        }
+        List<List<Integer>> rowsByProcessRow = new ArrayList<>();
+        for (int processRow = 0; processRow < processRows; processRow++) {
+            rowsByProcessRow.add(new ArrayList<Integer>());
+        }
+        for (int row : sources.keySet()) {
+            rowsByProcessRow.get((row / blockSize) % processRows).add(row);
+        }
+        Map<Integer, double[]> rows = new LinkedHashMap<>();
+        for (int processRow = 0; processRow < processRows; processRow++) {
+            List<Integer> processRowRows = rowsByProcessRow.get(processRow);
+            if (processRowRows.isEmpty()) {
+                continue;
+            }
+            for (int processColumn = 0; processColumn < processColumns; processColumn++) {
+                Channel channel = channels[processRow * processColumns + processColumn];
+                channel.writeCommand(Channel.GET_ROWS);
+                writeRowNumbers(channel, processRowRows);
+                channel.flush();
+            }
+            for (int row : processRowRows) {
+                rows.put(row, new double[layout.getSize()]);
+            }
+            for (int processColumn = 0; processColumn < processColumns; processColumn++) {
+                Channel channel = channels[processRow * processColumns + processColumn];
+                for (int row : processRowRows) {
+                    transferRowSegments(channel, rows.get(row), processColumn, false);
+                }
+            }
+        }
+        for (int processRow = 0; processRow < processRows; processRow++) {
+            List<Integer> processRowRows = rowsByProcessRow.get(processRow);
+            if (processRowRows.isEmpty()) {
+                continue;
+            }
+            for (int processColumn = 0; processColumn < processColumns; processColumn++) {
+                Channel channel = channels[processRow * processColumns + processColumn];
+                channel.writeCommand(Channel.PUT_ROWS);
+                channel.writeInt(processRowRows.size());
+                for (int row : processRowRows) {
+                    channel.writeInt(row);
+                    transferRowSegments(channel, rows.get(sources.get(row)), processColumn, true);
+                }
+                channel.flush();
+            }
+        }
+    }
+
+    private static void writeRowNumbers(final Channel channel, final List<Integer> rows) throws IOException {
+        channel.writeInt(rows.size());
+        for (int row : rows) {
+            channel.writeInt(row);
+        }
+    }
+
+    /**
+     * Read (or write if write is true) the segments of a row stored by a worker of the process column
+     */
+    private void transferRowSegments(final Channel channel, final double[] row, final int processColumn,
+                                 final boolean write) throws IOException {
+        for (int blockColumn = processColumn; blockColumn < layout.getBlocks(); blockColumn += processColumns) {
+            if (write) {
+                channel.writeDoubles(row, blockColumn * blockSize, layout.getBlockLength(blockColumn));
+            } else {
+                channel.readDoubles(row, blockColumn * blockSize, layout.getBlockLength(blockColumn));
+            }
+        }
+    }
+
+    /**
+     * Send the factorized panel to the workers of its block column
+     *
+     * @return Diagonal block (L and U) row-major
+     */
+    private double[] putPanel(final int step, final double[][] panel) throws IOException {
+        int columns = layout.getBlockLength(step);
+        double[] diagonal = null;
+        for (int blockRow = step; blockRow < layout.getBlocks(); blockRow++) {
+            double[] block = toBlock(panel, (blockRow - step) * blockSize, layout.getBlockLength(blockRow));
+            if (blockRow == step) {
+                diagonal = block;
+            }
+            Channel channel = channels[layout.getOwner(blockRow, step)];
+            channel.writeCommand(Channel.PUT_BLOCK);
+            channel.writeInt(blockRow);
+            channel.writeInt(step);
+            channel.writeDoubles(block, 0, columns * layout.getBlockLength(blockRow));
+        }
+        for (Channel channel : channels) {
+            channel.flush();
+        }
+        return diagonal;
+    }
+
+    private static double[] toBlock(final double[][] panel, final int firstRow, final int rows) {
+        int columns = panel[0].length;
+        double[] block = new double[rows * columns];
+        for (int row = 0; row < rows; row++) {
+            System.arraycopy(panel[firstRow + row], 0, block, row * columns, columns);
+        }
+        return block;
+    }
+
+    /**
+     * The workers of the block row compute U(K, J) = L(K, K)^-1 A(K, J)
+     *
+     * @return Blocks U(K, J) indexed by J
+     */
+    private double[][] triangularSolve(final int step, final double[] diagonal) throws IOException {
+        double[][] upper = new double[layout.getBlocks()][];
+        int processRow = step % processRows;
+        for (int processColumn = 0; processColumn < processColumns; processColumn++) {
+            Channel channel = channels[processRow * processColumns + processColumn];
+            channel.writeCommand(Channel.TRIANGULAR_SOLVE);
+            channel.writeInt(step);
+            channel.writeDoubles(diagonal, 0, diagonal.length);
+            channel.flush();
+        }
+        for (int processColumn = 0; processColumn < processColumns; processColumn++) {
+            Channel channel = channels[processRow * processColumns + processColumn];
+            for (int blockColumn = DistributedLUSolver.getFirst(step + 1, processColumn, processColumns);
+                 blockColumn < layout.getBlocks(); blockColumn += processColumns) {
+                upper[blockColumn] = new double[layout.getBlockLength(step) * layout.getBlockLength(blockColumn)];
+                channel.readDoubles(upper[blockColumn], 0, upper[blockColumn].length);
+            }
+        }
+        return upper;
+    }
+
+    /**
+     * Broadcast L(I, K) and U(K, J) for the trailing update and receive the next panel, updated first
+     *
+     * @return Next panel
+     */
+    private double[][] update(final int step, final double[][] panel, final double[][] upper) throws IOException {
+        int next = step + 1;
+        for (int worker = 0; worker < layout.getWorkers(); worker++) {
+            Channel channel = channels[worker];
+            channel.writeCommand(Channel.UPDATE);
+            channel.writeInt(step);
+            for (int blockRow = DistributedLUSolver.getFirst(next, layout.getProcessRow(worker), processRows);
+                 blockRow < layout.getBlocks(); blockRow += processRows) {
+                double[] lower = toBlock(panel, (blockRow - step) * blockSize, layout.getBlockLength(blockRow));
+                channel.writeDoubles(lower, 0, lower.length);
+            }
+            for (int blockColumn = DistributedLUSolver.getFirst(next, layout.getProcessColumn(worker),
+                    processColumns); blockColumn < layout.getBlocks(); blockColumn += processColumns) {
+                channel.writeDoubles(upper[blockColumn], 0, upper[blockColumn].length);
+            }
+            channel.flush();
+        }
+        double[][] nextPanel = new double[layout.getSize() - next * blockSize][layout.getBlockLength(next)];
+        int processColumn = next % processColumns;
+        for (int processRow = 0; processRow < processRows; processRow++) {
+            Channel channel = channels[processRow * processColumns + processColumn];
+            for (int blockRow = DistributedLUSolver.getFirst(next, processRow, processRows);
+                 blockRow < layout.getBlocks(); blockRow += processRows) {
+                readPanelBlock(channel, nextPanel, blockRow, next * blockSize);
+            }
+        }
+        return nextPanel;
+    }
+
+    /**
+     * Forward substitution with L and back substitution with U, the diagonal blocks are solved by the
+     * coordinator and the workers of every block column return the products of their blocks
+     *
+     * @param diagonals Diagonal blocks
+     * @param vector    Constants with the row interchanges, it is overwritten
+     * @return Solution
+     */
+    private double[] substitute(final double[][] diagonals, final double[] vector) throws IOException {
+        int blocks = layout.getBlocks();
+        for (int step = 0; step < blocks; step++) {
+            int firstRow = step * blockSize;
+            int length = layout.getBlockLength(step);
+            long startNanos = System.nanoTime();
+            for (int row = 1; row < length; row++) {
+                vector[firstRow + row] -= kernels.dot(diagonals[step], row * length, vector, firstRow, row);
+            }
+            computeNanos += System.nanoTime() - startNanos;
+            if (step + 1 < blocks) {
+                multiply(step, vector, true);
+            }
+        }
+        for (int step = blocks - 1; step >= 0; step--) {
+            int firstRow = step * blockSize;
+            int length = layout.getBlockLength(step);
+            long startNanos = System.nanoTime();
+            for (int row = length - 1; row >= 0; row--) {
+                double value = vector[firstRow + row] - kernels.dot(diagonals[step], row * length + row + 1,
+                        vector, firstRow + row + 1, length - row - 1);
+                vector[firstRow + row] = value / diagonals[step][row * length + row];
+            }
+            computeNanos += System.nanoTime() - startNanos;
+            if (step > 0) {
+                multiply(step, vector, false);
+            }
+        }
+        return vector;
+    }
+
+    /**
+     * Subtract from the vector the products of the block column with its block of the vector
+     *
+     * @param lower True for the blocks below the diagonal, false for the ones above
+     */
+    private void multiply(final int step, final double[] vector, final boolean lower) throws IOException {
+        int processColumn = step % processColumns;
+        int length = layout.getBlockLength(step);
+        for (int processRow = 0; processRow < processRows; processRow++) {
+            Channel channel = channels[processRow * processColumns + processColumn];
+            channel.writeCommand(Channel.MULTIPLY);
+            channel.writeInt(step);
+            channel.writeInt(lower ? 1 : 0);
+            channel.writeDoubles(vector, step * blockSize, length);
+            channel.flush();
+        }
+        for (int processRow = 0; processRow < processRows; processRow++) {
+            Channel channel = channels[processRow * processColumns + processColumn];
+            int firstBlockRow = lower ? DistributedLUSolver.getFirst(step + 1, processRow, processRows) : processRow;
+            int lastBlockRow = lower ? layout.getBlocks() : step;
+            for (int blockRow = firstBlockRow; blockRow < lastBlockRow; blockRow += processRows) {
+                double[] product = new double[layout.getBlockLength(blockRow)];
+                channel.readDoubles(product, 0, product.length);
+                for (int row = 0; row < product.length; row++) {
+                    vector[blockRow * blockSize + row] -= product[row];
+                }
+            }
+        }
+    }
+
+    private WorkerReport getCoordinatorReport() {
+        long communicationNanos = 0;
+        long bytesSent = 0;
+        long bytesReceived = 0;
+        for (Channel channel : channels) {
+            communicationNanos += channel.getCommunicationNanos();
+            bytesSent += channel.getBytesSent();
+            bytesReceived += channel.getBytesReceived();
+        }
+        return new WorkerReport(WorkerReport.COORDINATOR, computeNanos, communicationNanos, bytesSent, bytesReceived);
+    }
+
+    private List<WorkerReport> shutdownWorkers() throws IOException {
+        List<WorkerReport> reports = new ArrayList<>();
+        for (int worker = 0; worker < channels.length; worker++) {
+            Channel channel = channels[worker];
+            channel.writeCommand(Channel.STATS);
+            channel.flush();
+            reports.add(new WorkerReport(worker, channel.readLong(), channel.readLong(), channel.readLong(),
+                    channel.readLong()));
+            channel.writeCommand(Channel.SHUTDOWN);
+            channel.flush();
+        }
+        return reports;
+    }
+
+    /**
+     * @return First block not before the block stored by the process row (or column)
+     */
+    private static int getFirst(final int block, final int process, final int processes) {
+        return block + DistributedWorker.mod(process - block, processes);
+    }
+}
@@ -0,0 +1,36 @@
+package com.debranax.linearsystem.math.distributed;
+
+import com.debranax.linearsystem.math.LinearSystemInfo;
+
+import java.util.List;
+
+/**
+ * Result of the {@link DistributedLUSolver} and the time spent by every process
+ */
+public class DistributedSolveResult {
+    private final LinearSystemInfo linearSystemInfo;
+    private final WorkerReport coordinatorReport;
+    private final List<WorkerReport> workerReports;
+
+    DistributedSolveResult(final LinearSystemInfo linearSystemInfo, final WorkerReport coordinatorReport,
+                           final List<WorkerReport> workerReports) {
+        this.linearSystemInfo = linearSystemInfo;
+        this.coordinatorReport = coordinatorReport;
+        this.workerReports = workerReports;
+    }
+
+    public LinearSystemInfo getLinearSystemInfo() {
+        return linearSystemInfo;
+    }
+
+    public WorkerReport getCoordinatorReport() {
+        return coordinatorReport;
+    }
+
+    /**
+     * @return Report of every worker, ordered by worker
+     */
+    public List<WorkerReport> getWorkerReports() {
+        return workerReports;
+    }
+}
@@ -0,0 +1,288 @@
+package com.debranax.linearsystem.math.distributed;
+
+import com.debranax.linearsystem.math.RowKernels;
+import com.debranax.linearsystem.math.RowKernelsSelector;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+
+/**
+ * Worker process of the {@link DistributedLUSolver}: it stores its blocks of the 2-D block-cyclic layout
+ * (row-major, one array per block) and runs the commands of the coordinator until the shutdown
+ */
+public class DistributedWorker {
+    private final int worker;
+    private final Channel channel;
+    private final RowKernels kernels = RowKernelsSelector.getRowKernels();
+    private BlockCyclicLayout layout;
+    private int processRow;
+    private int processColumn;
+    private int localBlockColumns;
+    private double[][] blocks;
+    private long computeNanos;
+
+    DistributedWorker(final int worker, final Channel channel) {
+        this.worker = worker;
+        this.channel = channel;
+    }
+
+    /**
+     * Start a worker that connects to the coordinator
+     * @param args Host and port of the coordinator and number of the worker
+     * @throws IOException If the connection fails
+     */
+    public static void main(final String[] args) throws IOException {
+        InetAddress host = InetAddress.getByName(args[0]);
+        int port = Integer.parseInt(args[1]);
+        int worker = Integer.parseInt(args[2]);
+        try (Channel channel = new Channel(new Socket(host, port))) {
+            new DistributedWorker(worker, channel).run();
+        }
+    }
+
+    /**
+     * Introduce the worker, receive the layout and run the commands until the shutdown
+     * @throws IOException If the connection fails
+     */
+    void run() throws IOException {
+        channel.writeInt(worker);
+        channel.flush();
+        int size = channel.readInt();
+        int blockSize = channel.readInt();
+        int processRows = channel.readInt();
+        int processColumns = channel.readInt();
+        layout = new BlockCyclicLayout(size, blockSize, processRows, processColumns);
+        processRow = layout.getProcessRow(worker);
+        processColumn = layout.getProcessColumn(worker);
+        localBlockColumns = layout.getLocalBlockColumns(processColumn);
+        blocks = new double[layout.getLocalBlockRows(processRow) * localBlockColumns][];
+
+        while (true) {
+            int command = channel.readCommand();
+            switch (command) {
+                case Channel.PUT_BLOCK:
+                    putBlock();
+                    break;
+                case Channel.GET_BLOCK:
+                    getBlock();
+                    break;
+                case Channel.GET_ROWS:
+                    getRows();
+                    break;
+                case Channel.PUT_ROWS:
+                    putRows();
+                    break;
+                case Channel.TRIANGULAR_SOLVE:
+                    triangularSolve();
+                    break;
+                case Channel.UPDATE:
+                    update();
+                    break;
+                case Channel.MULTIPLY:
+                    multiply();
+                    break;
+                case Channel.STATS:
+                    channel.writeLong(computeNanos);
+                    channel.writeLong(channel.getCommunicationNanos());
+                    channel.writeLong(channel.getBytesSent());
+                    channel.writeLong(channel.getBytesReceived());
+                    channel.flush();
+                    break;
+                case Channel.SHUTDOWN:
+                    return;
+                default:
+                    throw new IOException("Unknown command " + command);
+            }
+        }
+    }
+
+    private void putBlock() throws IOException {
+        int blockRow = channel.readInt();
+        int blockColumn = channel.readInt();
+        double[] block = getOrCreateBlock(blockRow, blockColumn);
+        channel.readDoubles(block, 0, block.length);
+    }
+
+    private void getBlock() throws IOException {
+        double[] block = getOrCreateBlock(channel.readInt(), channel.readInt());
+        channel.writeDoubles(block, 0, block.length);
+        channel.flush();
+    }
+
+    /**
+     * Send the requested rows (all owned by this process row), every row as the segments of the local
+     * block columns in ascending order
+     */
+    private void getRows() throws IOException {
+        int totalRows = channel.readInt();
+        int[] rows = new int[totalRows];
+        for (int index = 0; index < totalRows; index++) {
+            rows[index] = channel.readInt();
+        }
+        for (int row : rows) {
+            int blockRow = row / layout.getBlockSize();
+            int offset = row - blockRow * layout.getBlockSize();
+            for (int localColumn = 0; localColumn < localBlockColumns; localColumn++) {
+                int blockColumn = localColumn * layout.getProcessColumns() + processColumn;
+                int columns = layout.getBlockLength(blockColumn);
+                channel.writeDoubles(getOrCreateBlock(blockRow, blockColumn), offset * columns, columns);
+            }
+        }
+        channel.flush();
+    }
+
+    private void putRows() throws IOException {
+        int totalRows = channel.readInt();
+        for (int index = 0; index < totalRows; index++) {
+            int row = channel.readInt();
+            int blockRow = row / layout.getBlockSize();
+            int offset = row - blockRow * layout.getBlockSize();
+            for (int localColumn = 0; localColumn < localBlockColumns; localColumn++) {
+                int blockColumn = localColumn * layout.getProcessColumns() + processColumn;
+                int columns = layout.getBlockLength(blockColumn);
+                channel.readDoubles(getOrCreateBlock(blockRow, blockColumn), offset * columns, columns);
+            }
+        }
+    }
+
+    /**
+     * U(K, J) = L(K, K)^-1 A(K, J) for the local block columns J &gt; K of the block row K, the blocks of U
+     * are sent back in ascending order
+     */
+    private void triangularSolve() throws IOException {
+        int step = channel.readInt();
+        int length = layout.getBlockLength(step);
+        double[] diagonal = new double[length * length];
+        channel.readDoubles(diagonal, 0, length * length);
+        long startNanos = System.nanoTime();
+        for (int blockColumn = getFirstLocalBlockColumn(step + 1); blockColumn < layout.getBlocks();
+             blockColumn += layout.getProcessColumns()) {
+            double[] block = getOrCreateBlock(step, blockColumn);
+            int columns = layout.getBlockLength(blockColumn);
+            //Forward substitution with the unit lower triangle, one row of the block at a time
+            for (int row = 1; row < length; row++) {
+                for (int previous = 0; previous < row; previous++) {
+                    kernels.axpy(-diagonal[row * length + previous], block, previous * columns, block,
+                            row * columns, columns);
+                }
+            }
+        }
+        computeNanos += System.nanoTime() - startNanos;
+        for (int blockColumn = getFirstLocalBlockColumn(step + 1); blockColumn < layout.getBlocks();
+             blockColumn += layout.getProcessColumns()) {
+            double[] block = getOrCreateBlock(step, blockColumn);
+            channel.writeDoubles(block, 0, block.length);
+        }
+        channel.flush();
+    }
+
+    /**
+     * Trailing update A(I, J) = A(I, J) - L(I, K) U(K, J) of the local blocks I, J &gt; K. The block column
+     * K + 1 is updated first and sent back (the next panel) so the coordinator factorizes it while the
+     * rest of the update runs
+     */
+    private void update() throws IOException {
+        int step = channel.readInt();
+        int length = layout.getBlockLength(step);
+        int firstBlockRow = getFirstLocalBlockRow(step + 1);
+        int firstBlockColumn = getFirstLocalBlockColumn(step + 1);
+        double[][] lower = new double[layout.getBlocks()][];
+        double[][] upper = new double[layout.getBlocks()][];
+        for (int blockRow = firstBlockRow; blockRow < layout.getBlocks(); blockRow += layout.getProcessRows()) {
+            lower[blockRow] = new double[layout.getBlockLength(blockRow) * length];
+            channel.readDoubles(lower[blockRow], 0, lower[blockRow].length);
+        }
+        for (int blockColumn = firstBlockColumn; blockColumn < layout.getBlocks();
+             blockColumn += layout.getProcessColumns()) {
+            upper[blockColumn] = new double[length * layout.getBlockLength(blockColumn)];
+            channel.readDoubles(upper[blockColumn], 0, upper[blockColumn].length);
+        }
+        for (int blockColumn = firstBlockColumn; blockColumn < layout.getBlocks();
+             blockColumn += layout.getProcessColumns()) {
+            long startNanos = System.nanoTime();
+            for (int blockRow = firstBlockRow; blockRow < layout.getBlocks(); blockRow += layout.getProcessRows()) {
+                updateBlock(blockRow, blockColumn, lower[blockRow], upper[blockColumn], length);
+            }
+            computeNanos += System.nanoTime() - startNanos;
+            if (blockColumn == step + 1) {
+                for (int blockRow = firstBlockRow; blockRow < layout.getBlocks();
+                     blockRow += layout.getProcessRows()) {
+                    double[] block = getOrCreateBlock(blockRow, blockColumn);
+                    channel.writeDoubles(block, 0, block.length);
+                }
+                channel.flush();
+            }
+        }
+    }
+
+    private void updateBlock(final int blockRow, final int blockColumn, final double[] lower, final double[] upper,
+                             final int length) {
+        double[] block = getOrCreateBlock(blockRow, blockColumn);
+        int rows = layout.getBlockLength(blockRow);
+        int columns = layout.getBlockLength(blockColumn);
+        for (int row = 0; row < rows; row++) {
+            for (int inner = 0; inner < length; inner++) {
+                kernels.axpy(-lower[row * length + inner], upper, inner * columns, block, row * columns, columns);
+            }
+        }
+    }
+
+    /**
+     * Products A(I, K) x of the local blocks of the block column K below (lower) or above the diagonal,
+     * used by the forward and back substitutions
+     */
+    private void multiply() throws IOException {
+        int step = channel.readInt();
+        boolean lower = channel.readInt() != 0;
+        int length = layout.getBlockLength(step);
+        double[] vector = new double[length];
+        channel.readDoubles(vector, 0, length);
+        int firstBlockRow = lower ? getFirstLocalBlockRow(step + 1) : processRow;
+        int lastBlockRow = lower ? layout.getBlocks() : step;
+        for (int blockRow = firstBlockRow; blockRow < lastBlockRow; blockRow += layout.getProcessRows()) {
+            double[] block = getOrCreateBlock(blockRow, step);
+            int rows = layout.getBlockLength(blockRow);
+            double[] product = new double[rows];
+            long startNanos = System.nanoTime();
+            for (int row = 0; row < rows; row++) {
+                product[row] = kernels.dot(block, row * length, vector, 0, length);
+            }
+            computeNanos += System.nanoTime() - startNanos;
+            channel.writeDoubles(product, 0, rows);
+        }
+        channel.flush();
+    }
+
+    /**
+     * @param blockRow First block row wanted
+     * @return First block row of this worker not before blockRow
+     */
+    private int getFirstLocalBlockRow(final int blockRow) {
+        return blockRow + DistributedWorker.mod(processRow - blockRow, layout.getProcessRows());
+    }
+
+    /**
+     * @param blockColumn First block column wanted
+     * @return First block column of this worker not before blockColumn
+     */
+    private int getFirstLocalBlockColumn(final int blockColumn) {
+        return blockColumn + DistributedWorker.mod(processColumn - blockColumn, layout.getProcessColumns());
+    }
+
+    /**
+     * @return Non-negative remainder of value / divisor
+     */
+    static int mod(final int value, final int divisor) {
+        int remainder = value % divisor;
+        return remainder < 0 ? remainder + divisor : remainder;
+    }
+
+    private double[] getOrCreateBlock(final int blockRow, final int blockColumn) {
+        int index = (blockRow / layout.getProcessRows()) * localBlockColumns + blockColumn / layout.getProcessColumns();
+        if (blocks[index] == null) {
+            blocks[index] = new double[layout.getBlockLength(blockRow) * layout.getBlockLength(blockColumn)];
+        }
+        return blocks[index];
+    }
+}
@@ -0,0 +1,59 @@
+package com.debranax.linearsystem.math.distributed;
+
+/**
+ * Time and traffic of a process of the {@link DistributedLUSolver}
+ */
+public class WorkerReport {
+    public static final int COORDINATOR = -1;
+
+    private final int worker;
+    private final long computeNanos;
+    private final long communicationNanos;
+    private final long bytesSent;
+    private final long bytesReceived;
+
+    WorkerReport(final int worker, final long computeNanos, final long communicationNanos, final long bytesSent,
+                 final long bytesReceived) {
+        this.worker = worker;
+        this.computeNanos = computeNanos;
+        this.communicationNanos = communicationNanos;
+        this.bytesSent = bytesSent;
+        this.bytesReceived = bytesReceived;
+    }
+
+    /**
+     * @return Number of the worker or {@link #COORDINATOR}
+     */
+    public int getWorker() {
+        return worker;
+    }
+
+    /**
+     * @return Time of the arithmetic (factorizations, updates and products) in nanoseconds
+     */
+    public long getComputeNanos() {
+        return computeNanos;
+    }
+
+    /**
+     * @return Time reading and writing the sockets in nanoseconds (the wait for a command is not included)
+     */
+    public long getCommunicationNanos() {
+        return communicationNanos;
+    }
+
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    @Override
+    public String toString() {
+        return (worker == COORDINATOR ? "coordinator" : "worker " + worker) + ": computeNanos=" + computeNanos
+                + ", communicationNanos=" + communicationNanos + ", bytesSent=" + bytesSent
+                + ", bytesReceived=" + bytesReceived;
+    }
+}
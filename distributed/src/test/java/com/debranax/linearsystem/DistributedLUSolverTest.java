@@ -0,0 +1,52 @@
+package com.debranax.linearsystem;
+
+import com.debranax.linearsystem.math.*;
+import com.debranax.linearsystem.math.distributed.*;
+
+import org.junit.*;
+
+import java.io.IOException;
+import java.util.Random;
+
+public class DistributedLUSolverTest {
+
+    @Test
+    public void solveOnLocalWorkers() throws IOException {
+        int unknowns = 45;
+        Random random = new Random(7);
+        double[][] matrix = new double[unknowns][unknowns];
+        double[] expected = new double[unknowns];
+        double[] constants = new double[unknowns];
+        for (int row = 0; row < unknowns; row++) {
+            expected[row] = row - 20;
+            for (int column = 0; column < unknowns; column++) {
+                matrix[row][column] = random.nextInt(21) - 10;
+            }
+        }
+        for (int row = 0; row < unknowns; row++) {
+            for (int column = 0; column < unknowns; column++) {
+                constants[row] += matrix[row][column] * expected[column];
+            }
+        }
+        //The last block is smaller than the others and the grid is not square
+        DistributedSolveResult result = new DistributedLUSolver(2, 3, 8).solve(matrix, constants);
+        LinearSystemInfo linearSystemInfo = result.getLinearSystemInfo();
+        Assert.assertTrue(linearSystemInfo.isSolved());
+        for (int row = 0; row < unknowns; row++) {
+            Assert.assertEquals(expected[row], linearSystemInfo.getSolution()[row].doubleValue(), 0.000001d);
+        }
+        Assert.assertEquals(6, result.getWorkerReports().size());
+        for (WorkerReport report : result.getWorkerReports()) {
+            Assert.assertTrue(report.getBytesReceived() > 0);
+            Assert.assertTrue(report.getComputeNanos() > 0);
+        }
+    }
+
+    @Test
+    public void singularSystem() throws IOException {
+        double[][] matrix = {{1, 2, 3}, {2, 4, 6}, {1, 0, 1}};
+        DistributedSolveResult result = new DistributedLUSolver(1, 2, 2).solve(matrix, new double[]{1, 2, 3});
+        Assert.assertEquals(LinearSystemUtils.StatusCode.ZERO_COLUMN.getStatusCodeVal(),
+                result.getLinearSystemInfo().getStatusCode());
+    }
+}
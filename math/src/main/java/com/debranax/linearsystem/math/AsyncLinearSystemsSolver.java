@@ -0,0 +1,67 @@
+package com.debranax.linearsystem.math;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class AsyncLinearSystemsSolver {
+
+    public interface Callback {
+        /**
+         * Called in the background thread when the solver finishes (solved, interrupted or error)
+         * @param linearSystemInfo Result of the solver
+         */
+        void onFinished(LinearSystemInfo linearSystemInfo);
+    }
+
+    private final ExecutorService executorService;
+
+    public AsyncLinearSystemsSolver() {
+        this(Executors.newSingleThreadExecutor());
+    }
+
+    public AsyncLinearSystemsSolver(final ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    /**
+     * Solve the linear system in the background executor
+     * @param augmentedMatrix Augmented matrix
+     * @param options Options of the solver, if there is no cancellation token a new one is created
+     * @param callback Callback that receives the result
+     * @return Token to cancel the solve
+     */
+    public CancellationToken solve(final BigDecimal[][] augmentedMatrix, final SolverOptions options,
+                                   final Callback callback) {
+        final SolverOptions solverOptions = options != null ? options : new SolverOptions();
+        if (solverOptions.getCancellationToken() == null) {
+            solverOptions.setCancellationToken(new CancellationToken());
+        }
+        executorService.execute(() -> callback.onFinished(LinearSystemsSolver.solve(augmentedMatrix, solverOptions)));
+        return solverOptions.getCancellationToken();
+    }
+
+    /**
+     * Solve the complex linear system in the background executor (see {@link ComplexSolver})
+     * @param augmentedMatrix Complex augmented matrix
+     * @param options Options of the solver, if there is no cancellation token a new one is created
+     * @param callback Callback that receives the result
+     * @return Token to cancel the solve
+     */
+    public CancellationToken solve(final ComplexMatrix augmentedMatrix, final SolverOptions options,
+                                   final Callback callback) {
+        final SolverOptions solverOptions = options != null ? options : new SolverOptions();
+        if (solverOptions.getCancellationToken() == null) {
+            solverOptions.setCancellationToken(new CancellationToken());
+        }
+        executorService.execute(() -> callback.onFinished(ComplexSolver.solve(augmentedMatrix, solverOptions)));
+        return solverOptions.getCancellationToken();
+    }
+
+    /**
+     * Stop the executor, solves in progress are not cancelled by this method
+     */
+    public void shutdown() {
+        executorService.shutdown();
+    }
+}
@@ -0,0 +1,70 @@
+package com.debranax.linearsystem.math;
+
+/**
+ * Matrix over GF(2), every row is packed in 64 bit words (column c is the bit c % 64 of the word c / 64)
+ * so the elimination adds two rows 64 columns at a time with a XOR (see {@link FiniteFieldSolver}).
+ */
+public class BitMatrix {
+    private static final int WORD_BITS = 64;
+
+    private final int rows;
+    private final int columns;
+    private final int wordsPerRow;
+    private final long[] words;
+
+    /**
+     * @param rows    Rows of the matrix
+     * @param columns Columns of the matrix (the constants are the last one of an augmented matrix)
+     */
+    public BitMatrix(final int rows, final int columns) {
+        if (rows <= 0 || columns <= 0) {
+            throw new IllegalArgumentException("The matrix must have at least one row and one column");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.wordsPerRow = (columns + WORD_BITS - 1) / WORD_BITS;
+        this.words = new long[rows * wordsPerRow];
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public boolean get(final int row, final int column) {
+        return (words[row * wordsPerRow + column / WORD_BITS] & (1L << column)) != 0;
+    }
+
+    public void set(final int row, final int column, final boolean value) {
+        int index = row * wordsPerRow + column / WORD_BITS;
+        //The shift of a long only uses the 6 lower bits of the column
+        if (value) {
+            words[index] |= 1L << column;
+        } else {
+            words[index] &= ~(1L << column);
+        }
+    }
+
+    /**
+     * @return Copy of the matrix
+     */
+    public BitMatrix copy() {
+        BitMatrix bitMatrix = new BitMatrix(rows, columns);
+        System.arraycopy(words, 0, bitMatrix.words, 0, words.length);
+        return bitMatrix;
+    }
+
+    int getWordsPerRow() {
+        return wordsPerRow;
+    }
+
+    /**
+     * @return Words of the rows, the row r starts at r * {@link #getWordsPerRow()}
+     */
+    long[] getWords() {
+        return words;
+    }
+}
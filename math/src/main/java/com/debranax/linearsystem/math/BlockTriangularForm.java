@@ -0,0 +1,349 @@
+package com.debranax.linearsystem.math;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Block triangular form (coarse and fine Dulmage-Mendelsohn decomposition) of the sparsity pattern of a
+ * square matrix. A maximum matching of rows and columns puts a non-zero on the diagonal, then the
+ * strongly connected components of the graph column j -&gt; column k (the row matched to j has a non-zero
+ * in k) are the diagonal blocks. Tarjan's algorithm returns them in dependency order: the unknowns of a
+ * block only depend on the unknowns of its own block and of the previous blocks. The blocks that do not
+ * depend on each other are grouped in levels, and the blocks without any path between them in connected
+ * components (the independent subsystems).
+ * <p>
+ * The matching uses augmenting paths (O(n * non-zeros)) and the graph algorithms are iterative, so
+ * large matrices do not overflow the stack.
+ */
+public class BlockTriangularForm {
+    private final int[] rowOfColumn;
+    private final int unmatchedColumn;
+    private final int[][] blocks;
+    private final int[] levels;
+    private final int[] components;
+    private final int totalLevels;
+    private final int totalComponents;
+
+    private BlockTriangularForm(final int[] rowOfColumn, final int unmatchedColumn, final int[][] blocks,
+                                final int[] levels, final int[] components, final int totalLevels,
+                                final int totalComponents) {
+        this.rowOfColumn = rowOfColumn;
+        this.unmatchedColumn = unmatchedColumn;
+        this.blocks = blocks;
+        this.levels = levels;
+        this.components = components;
+        this.totalLevels = totalLevels;
+        this.totalComponents = totalComponents;
+    }
+
+    /**
+     * @param augmentedMatrix Augmented matrix (n x n+1), the constants are ignored
+     * @return Block triangular form of the coefficient matrix
+     */
+    public static BlockTriangularForm compute(final BigDecimal[][] augmentedMatrix) {
+        int size = LinearSystemUtils.getTotalRows(augmentedMatrix);
+        int[][] rowColumns = new int[size][];
+        int[][] columnRows = BlockTriangularForm.getPattern(augmentedMatrix, size, rowColumns);
+        int[] rowOfColumn = new int[size];
+        int unmatchedColumn = BlockTriangularForm.match(augmentedMatrix, rowColumns, columnRows, size, rowOfColumn);
+        if (unmatchedColumn >= 0) {
+            return new BlockTriangularForm(rowOfColumn, unmatchedColumn, new int[0][], new int[0], new int[0], 0, 0);
+        }
+
+        int[] blockOfColumn = new int[size];
+        int[][] blocks = BlockTriangularForm.getStronglyConnectedComponents(rowColumns, rowOfColumn, size,
+                blockOfColumn);
+        int[] levels = new int[blocks.length];
+        int[] parents = new int[blocks.length];
+        int totalLevels = 0;
+        for (int block = 0; block < blocks.length; block++) {
+            parents[block] = block;
+        }
+        for (int block = 0; block < blocks.length; block++) {
+            for (int column : blocks[block]) {
+                for (int dependency : rowColumns[rowOfColumn[column]]) {
+                    int dependencyBlock = blockOfColumn[dependency];
+                    if (dependencyBlock != block) {
+                        //Tarjan's order: the dependency is a previous block
+                        levels[block] = Math.max(levels[block], levels[dependencyBlock] + 1);
+                        BlockTriangularForm.union(parents, block, dependencyBlock);
+                    }
+                }
+            }
+            totalLevels = Math.max(totalLevels, levels[block] + 1);
+        }
+        int[] components = new int[blocks.length];
+        int[] componentOfRoot = new int[blocks.length];
+        Arrays.fill(componentOfRoot, -1);
+        int totalComponents = 0;
+        for (int block = 0; block < blocks.length; block++) {
+            int root = BlockTriangularForm.find(parents, block);
+            if (componentOfRoot[root] < 0) {
+                componentOfRoot[root] = totalComponents++;
+            }
+            components[block] = componentOfRoot[root];
+        }
+        return new BlockTriangularForm(rowOfColumn, -1, blocks, levels, components, totalLevels, totalComponents);
+    }
+
+    /**
+     * @return True if no matching covers all the columns, the matrix is singular for any value of its
+     * non-zeros
+     */
+    public boolean isStructurallySingular() {
+        return unmatchedColumn >= 0;
+    }
+
+    /**
+     * @return A column without a row in the maximum matching or -1 if the matching is perfect
+     */
+    public int getUnmatchedColumn() {
+        return unmatchedColumn;
+    }
+
+    /**
+     * @param column Column of the matrix
+     * @return Row matched to the column (non-zero in the permuted diagonal)
+     */
+    public int getRowOfColumn(final int column) {
+        return rowOfColumn[column];
+    }
+
+    public int getBlockCount() {
+        return blocks.length;
+    }
+
+    /**
+     * @param block Index of the block (dependency order)
+     * @return Columns of the block in ascending order
+     */
+    public int[] getBlockColumns(final int block) {
+        return blocks[block].clone();
+    }
+
+    /**
+     * @param block Index of the block
+     * @return Level of the block, it only depends on blocks of lower levels
+     */
+    public int getLevel(final int block) {
+        return levels[block];
+    }
+
+    public int getLevelCount() {
+        return totalLevels;
+    }
+
+    /**
+     * @param block Index of the block
+     * @return Connected component (independent subsystem) of the block
+     */
+    public int getComponent(final int block) {
+        return components[block];
+    }
+
+    public int getComponentCount() {
+        return totalComponents;
+    }
+
+    /**
+     * @return Non-zero columns of every row (in rowColumns) and non-zero rows of every column
+     */
+    private static int[][] getPattern(final BigDecimal[][] augmentedMatrix, final int size,
+                                      final int[][] rowColumns) {
+        int[] columnCounts = new int[size];
+        int[] buffer = new int[size];
+        for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+            int count = 0;
+            for (int columnIndex = 0; columnIndex < size; columnIndex++) {
+                if (augmentedMatrix[rowIndex][columnIndex].signum() != 0) {
+                    buffer[count++] = columnIndex;
+                    columnCounts[columnIndex]++;
+                }
+            }
+            rowColumns[rowIndex] = Arrays.copyOf(buffer, count);
+        }
+        int[][] columnRows = new int[size][];
+        for (int columnIndex = 0; columnIndex < size; columnIndex++) {
+            columnRows[columnIndex] = new int[columnCounts[columnIndex]];
+            columnCounts[columnIndex] = 0;
+        }
+        for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+            for (int columnIndex : rowColumns[rowIndex]) {
+                columnRows[columnIndex][columnCounts[columnIndex]++] = rowIndex;
+            }
+        }
+        return columnRows;
+    }
+
+    /**
+     * Maximum matching with augmenting paths (depth-first search with an explicit stack). Every row is
+     * first matched to its largest free element, so most matrices need no search and the blocks are
+     * eliminated with large pivots (the blocks do not depend on the matching, only their row order)
+     *
+     * @return -1 if every column was matched, otherwise an unmatched column
+     */
+    private static int match(final BigDecimal[][] augmentedMatrix, final int[][] rowColumns,
+                             final int[][] columnRows, final int size, final int[] rowOfColumn) {
+        int[] columnOfRow = new int[size];
+        Arrays.fill(rowOfColumn, -1);
+        Arrays.fill(columnOfRow, -1);
+        for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+            int bestColumn = -1;
+            for (int columnIndex : rowColumns[rowIndex]) {
+                if (rowOfColumn[columnIndex] < 0 && (bestColumn < 0 || augmentedMatrix[rowIndex][columnIndex].abs()
+                        .compareTo(augmentedMatrix[rowIndex][bestColumn].abs()) > 0)) {
+                    bestColumn = columnIndex;
+                }
+            }
+            if (bestColumn >= 0) {
+                rowOfColumn[bestColumn] = rowIndex;
+                columnOfRow[rowIndex] = bestColumn;
+            }
+        }
+        int[] visited = new int[size];
+        Arrays.fill(visited, -1);
+        int[] stack = new int[size];
+        int[] edges = new int[size];
+        int[] enteredBy = new int[size];
+        for (int column = 0; column < size; column++) {
+            if (rowOfColumn[column] >= 0) {
+                continue;
+            }
+            int top = 0;
+            stack[0] = column;
+            edges[0] = 0;
+            boolean augmented = false;
+            while (top >= 0 && !augmented) {
+                int current = stack[top];
+                if (edges[top] == columnRows[current].length) {
+                    top--;
+                    continue;
+                }
+                int row = columnRows[current][edges[top]++];
+                if (visited[row] == column) {
+                    continue;
+                }
+                visited[row] = column;
+                if (columnOfRow[row] < 0) {
+                    //Flip the path: every column of the stack takes the row that reached the next one
+                    for (int level = top; level >= 0; level--) {
+                        rowOfColumn[stack[level]] = row;
+                        columnOfRow[row] = stack[level];
+                        row = enteredBy[level];
+                    }
+                    augmented = true;
+                } else {
+                    top++;
+                    stack[top] = columnOfRow[row];
+                    edges[top] = 0;
+                    enteredBy[top] = row;
+                }
+            }
+            if (!augmented) {
+                return column;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Tarjan's algorithm with an explicit stack
+     *
+     * @return Columns of every strongly connected component, in reverse topological order (a component
+     * only reaches previous ones)
+     */
+    private static int[][] getStronglyConnectedComponents(final int[][] rowColumns, final int[] rowOfColumn,
+                                                          final int size, final int[] blockOfColumn) {
+        int[] index = new int[size];
+        int[] low = new int[size];
+        Arrays.fill(index, -1);
+        boolean[] onStack = new boolean[size];
+        int[] componentStack = new int[size];
+        int componentTop = 0;
+        int[] callStack = new int[size];
+        int[] edges = new int[size];
+        int[] componentSizes = new int[size];
+        int totalComponents = 0;
+        int counter = 0;
+
+        for (int start = 0; start < size; start++) {
+            if (index[start] >= 0) {
+                continue;
+            }
+            int callTop = 0;
+            callStack[0] = start;
+            edges[0] = 0;
+            index[start] = counter;
+            low[start] = counter++;
+            componentStack[componentTop++] = start;
+            onStack[start] = true;
+            while (callTop >= 0) {
+                int node = callStack[callTop];
+                int[] successors = rowColumns[rowOfColumn[node]];
+                if (edges[callTop] < successors.length) {
+                    int successor = successors[edges[callTop]++];
+                    if (index[successor] < 0) {
+                        callTop++;
+                        callStack[callTop] = successor;
+                        edges[callTop] = 0;
+                        index[successor] = counter;
+                        low[successor] = counter++;
+                        componentStack[componentTop++] = successor;
+                        onStack[successor] = true;
+                    } else if (onStack[successor]) {
+                        low[node] = Math.min(low[node], index[successor]);
+                    }
+                    continue;
+                }
+                if (low[node] == index[node]) {
+                    int member;
+                    do {
+                        member = componentStack[--componentTop];
+                        onStack[member] = false;
+                        blockOfColumn[member] = totalComponents;
+                        componentSizes[totalComponents]++;
+                    } while (member != node);
+                    totalComponents++;
+                }
+                callTop--;
+                if (callTop >= 0) {
+                    int parent = callStack[callTop];
+                    low[parent] = Math.min(low[parent], low[node]);
+                }
+            }
+        }
+
+        int[][] blocks = new int[totalComponents][];
+        for (int block = 0; block < totalComponents; block++) {
+            blocks[block] = new int[componentSizes[block]];
+            componentSizes[block] = 0;
+        }
+        for (int column = 0; column < size; column++) {
+            int block = blockOfColumn[column];
+            blocks[block][componentSizes[block]++] = column;
+        }
+        return blocks;
+    }
+
+    private static int find(final int[] parents, final int element) {
+        int root = element;
+        while (parents[root] != root) {
+            root = parents[root];
+        }
+        int current = element;
+        while (parents[current] != root) {
+            int next = parents[current];
+            parents[current] = root;
+            current = next;
+        }
+        return root;
+    }
+
+    private static void union(final int[] parents, final int first, final int second) {
+        int firstRoot = BlockTriangularForm.find(parents, first);
+        int secondRoot = BlockTriangularForm.find(parents, second);
+        if (firstRoot != secondRoot) {
+            parents[firstRoot] = secondRoot;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.debranax.linearsystem.math;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Solve a matrix permuted to its block triangular form ({@link BlockTriangularForm}): the diagonal
+ * blocks are solved by the Gauss-Jordan elimination in dependency order, after subtracting from their
+ * constants the unknowns of the blocks already solved. The blocks of the same level do not depend on
+ * each other, so they are solved in parallel, every block with its own {@link SolverContext} that is
+ * merged once the level finished.
+ */
+class BlockTriangularSolver {
+    /** A level is solved in parallel only if its blocks have at least this many unknowns in total */
+    private static final int MIN_PARALLEL_UNKNOWNS = 16;
+
+    private BlockTriangularSolver() {
+    }
+
+    /**
+     * @param augmentedMatrix Augmented matrix (n x n+1), it is not modified
+     * @param totalRows       Total rows of the matrix
+     * @param context         State of the solve
+     * @return An instance of LinearSystemInfo containing the result, null if the matrix is irreducible
+     * (a single block)
+     */
+    static LinearSystemInfo solve(final BigDecimal[][] augmentedMatrix, final int totalRows,
+                                  final SolverContext context) {
+        //The permutation is part of the elimination
+        context.startPhase();
+        BlockTriangularForm form = BlockTriangularForm.compute(augmentedMatrix);
+        context.endPhase(SolverMetrics.Phase.FORWARD_ELIMINATION);
+        if (form.isStructurallySingular()) {
+            return LinearSystemsSolver.getZeroColumnResponse(form.getUnmatchedColumn(), null);
+        }
+        if (form.getBlockCount() <= 1) {
+            return null;
+        }
+
+        BigDecimal[] solution = new BigDecimal[totalRows];
+        List<List<Integer>> levels = new ArrayList<>();
+        for (int level = 0; level < form.getLevelCount(); level++) {
+            levels.add(new ArrayList<Integer>());
+        }
+        for (int block = 0; block < form.getBlockCount(); block++) {
+            levels.get(form.getLevel(block)).add(block);
+        }
+        for (List<Integer> level : levels) {
+            context.checkInterrupted();
+            int totalBlocks = level.size();
+            int[] columnIndexErrors = new int[totalBlocks];
+            SolverContext[] blockContexts = new SolverContext[totalBlocks];
+            int levelUnknowns = 0;
+            for (int index = 0; index < totalBlocks; index++) {
+                levelUnknowns += form.getBlockColumns(level.get(index)).length;
+            }
+            if (totalBlocks > 1 && levelUnknowns >= MIN_PARALLEL_UNKNOWNS) {
+                BlockTriangularSolver.solveParallel(augmentedMatrix, totalRows, form, level, solution,
+                        blockContexts, columnIndexErrors, context);
+            } else {
+                for (int index = 0; index < totalBlocks; index++) {
+                    blockContexts[index] = context.createChild();
+                    columnIndexErrors[index] = BlockTriangularSolver.solveBlock(augmentedMatrix, totalRows,
+                            form.getBlockColumns(level.get(index)), form, solution, blockContexts[index]);
+                }
+            }
+            for (int index = 0; index < totalBlocks; index++) {
+                context.merge(blockContexts[index]);
+            }
+            for (int index = 0; index < totalBlocks; index++) {
+                if (columnIndexErrors[index] >= 0) {
+                    return LinearSystemsSolver.getZeroColumnResponse(columnIndexErrors[index], null);
+                }
+            }
+        }
+        //The blocks use the unrounded unknowns of the previous levels, only the result is rounded
+        for (int rowIndex = 0; rowIndex < totalRows; rowIndex++) {
+            solution[rowIndex] = solution[rowIndex].setScale(LinearSystemUtils.SCALE, RoundingMode.HALF_UP);
+        }
+        return LinearSystemsSolver.getSolvedResponse(solution);
+    }
+
+    private static void solveParallel(final BigDecimal[][] augmentedMatrix, final int totalRows,
+                                      final BlockTriangularForm form, final List<Integer> level,
+                                      final BigDecimal[] solution, final SolverContext[] blockContexts,
+                                      final int[] columnIndexErrors, final SolverContext context) {
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int index = 0; index < level.size(); index++) {
+            final int[] blockColumns = form.getBlockColumns(level.get(index));
+            final SolverContext blockContext = context.createChild();
+            blockContexts[index] = blockContext;
+            tasks.add(new Callable<Integer>() {
+                @Override
+                public Integer call() {
+                    return BlockTriangularSolver.solveBlock(augmentedMatrix, totalRows, blockColumns, form,
+                            solution, blockContext);
+                }
+            });
+        }
+        List<Integer> results = SolverExecutor.invokeAll(tasks);
+        for (int index = 0; index < results.size(); index++) {
+            columnIndexErrors[index] = results.get(index);
+        }
+    }
+
+    /**
+     * Solve a diagonal block, the unknowns of its columns are written in the solution. Every block writes
+     * different elements and only reads the ones of previous levels.
+     *
+     * @return -1 if the block was solved otherwise the column of the matrix where the elimination cannot
+     * continue
+     */
+    private static int solveBlock(final BigDecimal[][] augmentedMatrix, final int totalRows,
+                                  final int[] blockColumns, final BlockTriangularForm form,
+                                  final BigDecimal[] solution, final SolverContext context) {
+        int blockRows = blockColumns.length;
+        BigDecimal[][] blockMatrix = new BigDecimal[blockRows][blockRows + 1];
+        SolverMetrics metrics = context.getMetrics();
+        context.startPhase();
+        for (int rowIndex = 0; rowIndex < blockRows; rowIndex++) {
+            BigDecimal[] row = augmentedMatrix[form.getRowOfColumn(blockColumns[rowIndex])];
+            for (int columnIndex = 0; columnIndex < blockRows; columnIndex++) {
+                blockMatrix[rowIndex][columnIndex] = row[blockColumns[columnIndex]];
+            }
+            //The columns of the previous blocks are already solved
+            BigDecimal constant = row[totalRows];
+            int products = 0;
+            for (int columnIndex = 0; columnIndex < totalRows; columnIndex++) {
+                if (row[columnIndex].signum() != 0 && solution[columnIndex] != null) {
+                    constant = constant.subtract(row[columnIndex].multiply(solution[columnIndex]));
+                    products++;
+                }
+            }
+            blockMatrix[rowIndex][blockRows] = constant.setScale(LinearSystemUtils.WORKING_SCALE,
+                    RoundingMode.HALF_UP);
+            if (metrics != null) {
+                metrics.addMultiplySubtract(products);
+            }
+        }
+        context.endPhase(SolverMetrics.Phase.FORWARD_ELIMINATION);
+
+        int columnIndexError = LinearSystemsSolver.solveBlock(blockMatrix, blockRows, context);
+        if (columnIndexError >= 0) {
+            return blockColumns[columnIndexError];
+        }
+        for (int rowIndex = 0; rowIndex < blockRows; rowIndex++) {
+            solution[blockColumns[rowIndex]] = blockMatrix[rowIndex][blockRows];
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,44 @@
+package com.debranax.linearsystem.math;
+
+public class CancellationToken {
+    private volatile boolean cancelled;
+    private Runnable cancelListener;
+
+    /**
+     * Request the cancellation, the solver stops before processing the next column
+     */
+    public void cancel() {
+        Runnable listener;
+        synchronized (this) {
+            this.cancelled = true;
+            listener = this.cancelListener;
+            this.cancelListener = null;
+        }
+        //The listener is not called holding the lock, it can take its own locks
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Listen to the cancellation, e.g. to forward it at once to a solve in other process instead of
+     * waiting for its next progress
+     * @param cancelListener Called once in the thread that cancels, at once if it was already cancelled.
+     *                       Null to remove the listener
+     */
+    public void setCancelListener(final Runnable cancelListener) {
+        synchronized (this) {
+            if (!this.cancelled) {
+                this.cancelListener = cancelListener;
+                return;
+            }
+        }
+        if (cancelListener != null) {
+            cancelListener.run();
+        }
+    }
+
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+}
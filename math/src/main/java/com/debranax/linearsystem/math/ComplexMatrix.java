@@ -0,0 +1,86 @@
+package com.debranax.linearsystem.math;
+
+import java.math.BigDecimal;
+
+/**
+ * Matrix of complex values in double precision, the real and imaginary parts of every element are
+ * stored together in a single array (real, imaginary, real, imaginary...) by rows, so the elimination
+ * reads both parts of an element from the same cache line and no value is boxed.
+ */
+public class ComplexMatrix {
+    private final int rows;
+    private final int columns;
+    private final double[] values;
+
+    /**
+     * @param rows    Rows of the matrix
+     * @param columns Columns of the matrix
+     */
+    public ComplexMatrix(final int rows, final int columns) {
+        if (rows <= 0 || columns <= 0) {
+            throw new IllegalArgumentException("The matrix must have at least one row and one column");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.values = new double[2 * rows * columns];
+    }
+
+    /**
+     * @param realMatrix      Real parts of the values
+     * @param imaginaryMatrix Imaginary parts of the values, null if every value is real
+     * @return Matrix with the values of the parts
+     */
+    public static ComplexMatrix fromParts(final BigDecimal[][] realMatrix, final BigDecimal[][] imaginaryMatrix) {
+        ComplexMatrix complexMatrix = new ComplexMatrix(realMatrix.length, realMatrix[0].length);
+        for (int rowIndex = 0; rowIndex < complexMatrix.rows; rowIndex++) {
+            for (int columnIndex = 0; columnIndex < complexMatrix.columns; columnIndex++) {
+                complexMatrix.set(rowIndex, columnIndex, realMatrix[rowIndex][columnIndex].doubleValue(),
+                        imaginaryMatrix != null ? imaginaryMatrix[rowIndex][columnIndex].doubleValue() : 0d);
+            }
+        }
+        return complexMatrix;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public double getReal(final int row, final int column) {
+        return values[index(row, column)];
+    }
+
+    public double getImaginary(final int row, final int column) {
+        return values[index(row, column) + 1];
+    }
+
+    public void set(final int row, final int column, final double real, final double imaginary) {
+        int index = index(row, column);
+        values[index] = real;
+        values[index + 1] = imaginary;
+    }
+
+    /**
+     * @return Copy of the matrix
+     */
+    public ComplexMatrix copy() {
+        ComplexMatrix complexMatrix = new ComplexMatrix(rows, columns);
+        System.arraycopy(values, 0, complexMatrix.values, 0, values.length);
+        return complexMatrix;
+    }
+
+    /**
+     * @return Interleaved parts of the values, the real part of (row, column) is at
+     * 2 * (row * columns + column)
+     */
+    double[] getValues() {
+        return values;
+    }
+
+    private int index(final int row, final int column) {
+        return 2 * (row * columns + column);
+    }
+}
@@ -0,0 +1,194 @@
+package com.debranax.linearsystem.math;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.logging.Level;
+
+/**
+ * Solve a system with complex coefficients (e.g. the phasors of an AC circuit) by the LU decomposition
+ * with partial pivoting in double precision. The augmented matrix is a {@link ComplexMatrix}, its parts
+ * are interleaved in a single array and every operation is done on the primitive values, the constants
+ * are eliminated together with the columns so L is never stored. The real parts of the solution are in
+ * {@link LinearSystemInfo#getSolution()} and the imaginary parts in
+ * {@link LinearSystemInfo#getImaginarySolution()}.
+ */
+public class ComplexSolver {
+
+    private ComplexSolver() {
+    }
+
+    /**
+     * Solve the complex augmented matrix
+     *
+     * @param augmentedMatrix Augmented matrix (n x n+1), it is not modified
+     * @param options         Options of the solver (cancellation token, progress listener, time budget and
+     *                        metrics) or null, the progress is reported per eliminated column
+     * @return An instance of LinearSystemInfo containing the result, the status
+     * {@link LinearSystemUtils.StatusCode#ZERO_COLUMN} if a column has no pivot (singular matrix)
+     */
+    public static LinearSystemInfo solve(final ComplexMatrix augmentedMatrix, final SolverOptions options) {
+        int totalRows = augmentedMatrix.getRows();
+        if (augmentedMatrix.getColumns() != totalRows + 1) {
+            throw new IllegalArgumentException("The augmented matrix must be n x n+1");
+        }
+        SolverContext context = new SolverContext(options, totalRows);
+        LinearSystemInfo linearSystemInfo;
+        try {
+            linearSystemInfo = ComplexSolver.solve(augmentedMatrix.copy().getValues(), totalRows, context);
+        } catch (SolverInterruptedException e) {
+            linearSystemInfo = LinearSystemsSolver.getLinearSystemInfoResponse(e.getMessage()
+                            + "(eliminated columns " + context.getEliminatedColumns() + ")", e.getStatusCode(), null,
+                    Level.INFO);
+        }
+        linearSystemInfo.setEngine(SolverEngine.COMPLEX);
+        linearSystemInfo.setMetrics(context.finishMetrics());
+        return linearSystemInfo;
+    }
+
+    /**
+     * @param values    Interleaved values of the copy of the augmented matrix, they are modified
+     * @param totalRows Total rows of the augmented matrix
+     * @param context   State of the solve
+     * @return An instance of LinearSystemInfo containing the result
+     */
+    private static LinearSystemInfo solve(final double[] values, final int totalRows, final SolverContext context) {
+        int rowLength = 2 * (totalRows + 1);
+        double maxModulus = 0;
+        boolean homogeneous = true;
+
+        context.startPhase();
+        for (int rowIndex = 0; rowIndex < totalRows; rowIndex++) {
+            int rowStart = rowIndex * rowLength;
+            for (int index = rowStart; index < rowStart + rowLength - 2; index += 2) {
+                maxModulus = Math.max(maxModulus, Math.hypot(values[index], values[index + 1]));
+            }
+            homogeneous &= values[rowStart + rowLength - 2] == 0 && values[rowStart + rowLength - 1] == 0;
+        }
+        context.endPhase(SolverMetrics.Phase.HOMOGENEITY_CHECK);
+        if (homogeneous) {
+            return LinearSystemsSolver.getLinearSystemInfoResponse(LinearSystemUtils.HOMOGENEOUS_MESSAGE,
+                    LinearSystemUtils.StatusCode.HOMOGENEOUS, null, Level.INFO);
+        }
+        //A pivot within the rounding of the largest element is zero
+        double zeroModulus = totalRows * Math.ulp(maxModulus);
+
+        context.startPhase();
+        double[] swapRow = new double[rowLength];
+        for (int columnIndex = 0; columnIndex < totalRows; columnIndex++) {
+            context.checkInterrupted();
+            int pivotRow = ComplexSolver.getPivotRow(values, totalRows, rowLength, columnIndex);
+            int pivotIndex = pivotRow * rowLength + 2 * columnIndex;
+            if (Math.hypot(values[pivotIndex], values[pivotIndex + 1]) <= zeroModulus) {
+                return LinearSystemsSolver.getZeroColumnResponse(columnIndex, null);
+            }
+            if (pivotRow != columnIndex) {
+                System.arraycopy(values, pivotRow * rowLength, swapRow, 0, rowLength);
+                System.arraycopy(values, columnIndex * rowLength, values, pivotRow * rowLength, rowLength);
+                System.arraycopy(swapRow, 0, values, columnIndex * rowLength, rowLength);
+            }
+            ComplexSolver.eliminateBelow(values, totalRows, rowLength, columnIndex);
+            context.columnEliminated();
+        }
+        context.endPhase(SolverMetrics.Phase.FORWARD_ELIMINATION);
+
+        context.startPhase();
+        double[] solution = ComplexSolver.backSubstitution(values, totalRows, rowLength);
+        context.endPhase(SolverMetrics.Phase.BACK_ELIMINATION);
+
+        context.startPhase();
+        BigDecimal[] realSolution = new BigDecimal[totalRows];
+        BigDecimal[] imaginarySolution = new BigDecimal[totalRows];
+        for (int rowIndex = 0; rowIndex < totalRows; rowIndex++) {
+            if (Double.isNaN(solution[2 * rowIndex]) || Double.isInfinite(solution[2 * rowIndex])
+                    || Double.isNaN(solution[2 * rowIndex + 1]) || Double.isInfinite(solution[2 * rowIndex + 1])) {
+                return LinearSystemsSolver.getZeroColumnResponse(rowIndex, null);
+            }
+            realSolution[rowIndex] = new BigDecimal(solution[2 * rowIndex])
+                    .setScale(LinearSystemUtils.SCALE, RoundingMode.HALF_UP);
+            imaginarySolution[rowIndex] = new BigDecimal(solution[2 * rowIndex + 1])
+                    .setScale(LinearSystemUtils.SCALE, RoundingMode.HALF_UP);
+        }
+        LinearSystemInfo linearSystemInfo = LinearSystemsSolver.getSolvedResponse(realSolution);
+        linearSystemInfo.setImaginarySolution(imaginarySolution);
+        context.endPhase(SolverMetrics.Phase.RESULT_BUILDING);
+        return linearSystemInfo;
+    }
+
+    /**
+     * @return Row with the largest modulus in the column from the diagonal down
+     */
+    private static int getPivotRow(final double[] values, final int totalRows, final int rowLength,
+                                   final int columnIndex) {
+        int pivotRow = columnIndex;
+        double pivotModulus = -1;
+        for (int rowIndex = columnIndex; rowIndex < totalRows; rowIndex++) {
+            int index = rowIndex * rowLength + 2 * columnIndex;
+            //The squared modulus orders the rows the same as the modulus
+            double modulus = values[index] * values[index] + values[index + 1] * values[index + 1];
+            if (modulus > pivotModulus) {
+                pivotModulus = modulus;
+                pivotRow = rowIndex;
+            }
+        }
+        return pivotRow;
+    }
+
+    /**
+     * Subtract the pivot row from the rows below it (constants included), so the column becomes zero
+     * below the diagonal
+     */
+    private static void eliminateBelow(final double[] values, final int totalRows, final int rowLength,
+                                       final int columnIndex) {
+        int pivotStart = columnIndex * rowLength;
+        int pivotIndex = pivotStart + 2 * columnIndex;
+        double pivotReal = values[pivotIndex];
+        double pivotImaginary = values[pivotIndex + 1];
+        double pivotModulus = pivotReal * pivotReal + pivotImaginary * pivotImaginary;
+        //1 / pivot = conjugate(pivot) / |pivot|^2
+        double inverseReal = pivotReal / pivotModulus;
+        double inverseImaginary = -pivotImaginary / pivotModulus;
+        for (int rowIndex = columnIndex + 1; rowIndex < totalRows; rowIndex++) {
+            int rowStart = rowIndex * rowLength;
+            int index = rowStart + 2 * columnIndex;
+            double real = values[index];
+            double imaginary = values[index + 1];
+            if (real == 0 && imaginary == 0) {
+                continue;
+            }
+            double factorReal = real * inverseReal - imaginary * inverseImaginary;
+            double factorImaginary = real * inverseImaginary + imaginary * inverseReal;
+            values[index] = 0;
+            values[index + 1] = 0;
+            for (int offset = 2 * (columnIndex + 1); offset < rowLength; offset += 2) {
+                double pivotRowReal = values[pivotStart + offset];
+                double pivotRowImaginary = values[pivotStart + offset + 1];
+                values[rowStart + offset] -= factorReal * pivotRowReal - factorImaginary * pivotRowImaginary;
+                values[rowStart + offset + 1] -= factorReal * pivotRowImaginary + factorImaginary * pivotRowReal;
+            }
+        }
+    }
+
+    /**
+     * @return Interleaved solution of the upper triangular system
+     */
+    private static double[] backSubstitution(final double[] values, final int totalRows, final int rowLength) {
+        double[] solution = new double[2 * totalRows];
+        for (int rowIndex = totalRows - 1; rowIndex >= 0; rowIndex--) {
+            int rowStart = rowIndex * rowLength;
+            double real = values[rowStart + rowLength - 2];
+            double imaginary = values[rowStart + rowLength - 1];
+            for (int columnIndex = rowIndex + 1; columnIndex < totalRows; columnIndex++) {
+                double valueReal = values[rowStart + 2 * columnIndex];
+                double valueImaginary = values[rowStart + 2 * columnIndex + 1];
+                real -= valueReal * solution[2 * columnIndex] - valueImaginary * solution[2 * columnIndex + 1];
+                imaginary -= valueReal * solution[2 * columnIndex + 1] + valueImaginary * solution[2 * columnIndex];
+            }
+            double diagonalReal = values[rowStart + 2 * rowIndex];
+            double diagonalImaginary = values[rowStart + 2 * rowIndex + 1];
+            double diagonalModulus = diagonalReal * diagonalReal + diagonalImaginary * diagonalImaginary;
+            solution[2 * rowIndex] = (real * diagonalReal + imaginary * diagonalImaginary) / diagonalModulus;
+            solution[2 * rowIndex + 1] = (imaginary * diagonalReal - real * diagonalImaginary) / diagonalModulus;
+        }
+        return solution;
+    }
+}
@@ -0,0 +1,205 @@
+package com.debranax.linearsystem.math;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Record of the elementary row operations of the Gauss-Jordan elimination. Every operation is stored
+ * as its kind, rows, first column and scalar in preallocated arrays used as a ring buffer, so the
+ * memory does not depend on the size of the matrix. Any intermediate matrix is rebuilt on demand
+ * replaying the operations; when the buffer is full the oldest operation is applied to a base matrix
+ * (the input at the beginning) before it is overwritten, so the retained operations can always be replayed.
+ */
+public class EliminationStepRecorder {
+
+    public enum Kind {
+        /** Row divided by the scalar (the pivot), from the first column */
+        SCALE,
+        /** Row and other row interchanged */
+        SWAP,
+        /** Row minus the scalar multiplied by the other row, from the first column */
+        SUBTRACT_MULTIPLE
+    }
+
+    private static final Kind[] KINDS = Kind.values();
+
+    private final byte[] kinds;
+    private final int[] rows;
+    private final int[] otherRows;
+    private final int[] firstColumns;
+    private final BigDecimal[] scalars;
+    private BigDecimal[][] baseMatrix;
+    private long baseStep;
+    private long totalSteps;
+
+    /**
+     * @param capacity Maximum number of operations retained
+     */
+    public EliminationStepRecorder(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity must be greater than zero");
+        }
+        this.kinds = new byte[capacity];
+        this.rows = new int[capacity];
+        this.otherRows = new int[capacity];
+        this.firstColumns = new int[capacity];
+        this.scalars = new BigDecimal[capacity];
+    }
+
+    /**
+     * Discard the previous record and start a new one, called by the solver before the elimination
+     * @param matrix Augmented matrix before the first operation, it is copied
+     */
+    void start(final BigDecimal[][] matrix) {
+        baseMatrix = LinearSystemUtils.copyMatrix(matrix);
+        baseStep = 0;
+        totalSteps = 0;
+    }
+
+    void recordScale(final int row, final int firstColumn, final BigDecimal divisor) {
+        record(Kind.SCALE, row, row, firstColumn, divisor);
+    }
+
+    void recordSwap(final int row, final int otherRow) {
+        record(Kind.SWAP, row, otherRow, 0, null);
+    }
+
+    void recordSubtractMultiple(final int row, final int otherRow, final int firstColumn, final BigDecimal factor) {
+        record(Kind.SUBTRACT_MULTIPLE, row, otherRow, firstColumn, factor);
+    }
+
+    /**
+     * @return Number of operations recorded since the solve started
+     */
+    public long getTotalSteps() {
+        return totalSteps;
+    }
+
+    /**
+     * @return Number of the oldest operation retained (0 until the buffer is full)
+     */
+    public long getFirstRetainedStep() {
+        return baseStep;
+    }
+
+    public Kind getKind(final long step) {
+        return KINDS[kinds[index(step)]];
+    }
+
+    public int getRow(final long step) {
+        return rows[index(step)];
+    }
+
+    /**
+     * @param step Number of the operation
+     * @return Other row of a swap or the row multiplied by the scalar (the same row in a scale)
+     */
+    public int getOtherRow(final long step) {
+        return otherRows[index(step)];
+    }
+
+    public int getFirstColumn(final long step) {
+        return firstColumns[index(step)];
+    }
+
+    /**
+     * @param step Number of the operation
+     * @return Divisor of a scale, factor of a subtraction or null for a swap
+     */
+    public BigDecimal getScalar(final long step) {
+        return scalars[index(step)];
+    }
+
+    /**
+     * Description of an operation with 1-based rows (e.g. "R3 = R3 - (2) R1")
+     * @param step Number of the operation
+     * @return Description of the operation
+     */
+    public String describe(final long step) {
+        int position = index(step);
+        String row = "R" + (rows[position] + 1);
+        String otherRow = "R" + (otherRows[position] + 1);
+        switch (KINDS[kinds[position]]) {
+            case SCALE:
+                return row + " = " + row + " / (" + EliminationStepRecorder.toText(scalars[position]) + ")";
+            case SWAP:
+                return row + " <-> " + otherRow;
+            default:
+                return row + " = " + row + " - (" + EliminationStepRecorder.toText(scalars[position]) + ") "
+                        + otherRow;
+        }
+    }
+
+    /**
+     * Rebuild the augmented matrix after a number of operations
+     * @param steps Number of operations applied, between {@link #getFirstRetainedStep()} and
+     *              {@link #getTotalSteps()}
+     * @return New matrix after the operations
+     */
+    public BigDecimal[][] replay(final long steps) {
+        if (baseMatrix == null || steps < baseStep || steps > totalSteps) {
+            throw new IllegalArgumentException("The step " + steps + " is not retained");
+        }
+        BigDecimal[][] matrix = LinearSystemUtils.copyMatrix(baseMatrix);
+        for (long step = baseStep; step < steps; step++) {
+            apply(matrix, index(step));
+        }
+        return matrix;
+    }
+
+    private void record(final Kind kind, final int row, final int otherRow, final int firstColumn,
+                        final BigDecimal scalar) {
+        int position = (int) (totalSteps % kinds.length);
+        if (totalSteps - baseStep == kinds.length) {
+            //The oldest operation is overwritten, the base matrix advances one operation
+            apply(baseMatrix, position);
+            baseStep++;
+        }
+        kinds[position] = (byte) kind.ordinal();
+        rows[position] = row;
+        otherRows[position] = otherRow;
+        firstColumns[position] = firstColumn;
+        scalars[position] = scalar;
+        totalSteps++;
+    }
+
+    /**
+     * Apply an operation with the same arithmetic used by the solver
+     * @param matrix Matrix where the operation is applied
+     * @param position Position of the operation in the buffer
+     */
+    private void apply(final BigDecimal[][] matrix, final int position) {
+        int row = rows[position];
+        int lastColumnIndex = LinearSystemUtils.getLastColumnIndex(matrix);
+        switch (KINDS[kinds[position]]) {
+            case SCALE:
+                for (int columnIndex = firstColumns[position]; columnIndex <= lastColumnIndex; columnIndex++) {
+                    matrix[row][columnIndex] = matrix[row][columnIndex].divide(scalars[position],
+                            LinearSystemUtils.SCALE, RoundingMode.HALF_UP);
+                }
+                break;
+            case SWAP:
+                BigDecimal[] swappedRow = matrix[row];
+                matrix[row] = matrix[otherRows[position]];
+                matrix[otherRows[position]] = swappedRow;
+                break;
+            default:
+                for (int columnIndex = firstColumns[position]; columnIndex <= lastColumnIndex; columnIndex++) {
+                    matrix[row][columnIndex] = matrix[row][columnIndex]
+                            .subtract(scalars[position].multiply(matrix[otherRows[position]][columnIndex]));
+                }
+                break;
+        }
+    }
+
+    private static String toText(final BigDecimal scalar) {
+        return scalar.signum() == 0 ? "0" : scalar.stripTrailingZeros().toPlainString();
+    }
+
+    private int index(final long step) {
+        if (step < baseStep || step >= totalSteps) {
+            throw new IllegalArgumentException("The step " + step + " is not retained");
+        }
+        return (int) (step % kinds.length);
+    }
+}
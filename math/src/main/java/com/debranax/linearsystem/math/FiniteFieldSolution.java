@@ -0,0 +1,87 @@
+package com.debranax.linearsystem.math;
+
+/**
+ * Result of a system over a finite field GF(p) (see {@link FiniteFieldSolver}): the rank of the
+ * coefficients, a particular solution and a basis of the null space, every solution is the particular
+ * solution plus a combination of the basis. The values are between 0 and p - 1.
+ */
+public class FiniteFieldSolution {
+    private final long modulus;
+    private int statusCode = LinearSystemUtils.StatusCode.NO_INFO.getStatusCodeVal();
+    private int rank;
+    private long[] particularSolution;
+    private long[][] nullSpaceBasis;
+    private SolverMetrics metrics;
+
+    /**
+     * @param modulus Prime of the field
+     */
+    FiniteFieldSolution(final long modulus) {
+        this.modulus = modulus;
+    }
+
+    public long getModulus() {
+        return modulus;
+    }
+
+    /**
+     * @return {@link LinearSystemUtils.StatusCode#SOLVED} if the system has solution,
+     * {@link LinearSystemUtils.StatusCode#INCONSISTENT} if it does not, or the status of an interrupted solve
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    void setStatusCode(final int statusCode) {
+        this.statusCode = statusCode;
+    }
+
+    public boolean isSolved() {
+        return statusCode == LinearSystemUtils.StatusCode.SOLVED.getStatusCodeVal();
+    }
+
+    /**
+     * @return Rank of the coefficients, 0 if the solve was interrupted
+     */
+    public int getRank() {
+        return rank;
+    }
+
+    void setRank(final int rank) {
+        this.rank = rank;
+    }
+
+    /**
+     * @return A solution of the system (the free unknowns are zero), null if there is no solution
+     */
+    public long[] getParticularSolution() {
+        return particularSolution;
+    }
+
+    void setParticularSolution(final long[] particularSolution) {
+        this.particularSolution = particularSolution;
+    }
+
+    /**
+     * @return Basis of the null space of the coefficients, one vector per free unknown (empty if the
+     * solution is unique), null if the solve was interrupted
+     */
+    public long[][] getNullSpaceBasis() {
+        return nullSpaceBasis;
+    }
+
+    void setNullSpaceBasis(final long[][] nullSpaceBasis) {
+        this.nullSpaceBasis = nullSpaceBasis;
+    }
+
+    /**
+     * @return Metrics of the solve or null if they were not enabled in the SolverOptions
+     */
+    public SolverMetrics getMetrics() {
+        return metrics;
+    }
+
+    void setMetrics(final SolverMetrics metrics) {
+        this.metrics = metrics;
+    }
+}
@@ -0,0 +1,329 @@
+package com.debranax.linearsystem.math;
+
+import java.math.BigInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Solve systems over a finite field (e.g. parity checks of codes, puzzles) by the Gauss-Jordan
+ * elimination to the reduced row echelon form, the matrix can be rectangular and singular. The values
+ * are exact integers, so there is no rounding and no pivoting for accuracy.
+ * <p>
+ * GF(2) uses a {@link BitMatrix}: the sum of two rows is a XOR of 64 columns at a time. GF(p) keeps
+ * the values in Montgomery form (x 2^32 mod p), a product is reduced with shifts and masks instead of a
+ * division. The products of two values must fit in a long, so p must be below 2^31.
+ */
+public class FiniteFieldSolver {
+    /** Largest prime of the GF(p) engine */
+    public static final long MAX_PRIME = Integer.MAX_VALUE;
+
+    private static final Logger LOGGER = Logger.getLogger(FiniteFieldSolver.class.getName());
+    private static final int WORD_BITS = 64;
+    private static final int PRIME_CERTAINTY = 50;
+
+    private FiniteFieldSolver() {
+    }
+
+    /**
+     * Solve an augmented matrix over GF(2)
+     *
+     * @param augmentedMatrix Augmented matrix (rows x unknowns + 1), it is not modified
+     * @param options         Options of the solver (cancellation token, progress listener, time budget and
+     *                        metrics) or null, the progress is reported per column
+     * @return Rank, particular solution and null space basis of the system
+     */
+    public static FiniteFieldSolution solve(final BitMatrix augmentedMatrix, final SolverOptions options) {
+        int unknowns = augmentedMatrix.getColumns() - 1;
+        SolverContext context = new SolverContext(options, unknowns);
+        FiniteFieldSolution solution = new FiniteFieldSolution(2);
+        try {
+            FiniteFieldSolver.solve(augmentedMatrix.copy(), solution, context);
+        } catch (SolverInterruptedException e) {
+            FiniteFieldSolver.LOGGER.info(e.getMessage() + "(eliminated columns " + context.getEliminatedColumns()
+                    + ")");
+            solution.setStatusCode(e.getStatusCode().getStatusCodeVal());
+        }
+        solution.setMetrics(context.finishMetrics());
+        return solution;
+    }
+
+    /**
+     * Solve an augmented matrix over GF(p)
+     *
+     * @param augmentedMatrix Augmented matrix (rows x unknowns + 1), the values are reduced modulo p, it is
+     *                        not modified
+     * @param prime           Prime of the field, from 2 to {@link #MAX_PRIME}
+     * @param options         Options of the solver or null, the progress is reported per column
+     * @return Rank, particular solution and null space basis of the system
+     */
+    public static FiniteFieldSolution solve(final long[][] augmentedMatrix, final long prime,
+                                            final SolverOptions options) {
+        if (prime < 2 || prime > MAX_PRIME || !BigInteger.valueOf(prime).isProbablePrime(PRIME_CERTAINTY)) {
+            throw new IllegalArgumentException("The modulus must be a prime from 2 to " + MAX_PRIME);
+        }
+        int rows = augmentedMatrix.length;
+        int columns = augmentedMatrix[0].length;
+        if (prime == 2) {
+            //Montgomery needs an odd modulus, GF(2) is faster anyway
+            BitMatrix bitMatrix = new BitMatrix(rows, columns);
+            for (int rowIndex = 0; rowIndex < rows; rowIndex++) {
+                for (int columnIndex = 0; columnIndex < columns; columnIndex++) {
+                    bitMatrix.set(rowIndex, columnIndex, (augmentedMatrix[rowIndex][columnIndex] & 1) != 0);
+                }
+            }
+            return FiniteFieldSolver.solve(bitMatrix, options);
+        }
+        SolverContext context = new SolverContext(options, columns - 1);
+        FiniteFieldSolution solution = new FiniteFieldSolution(prime);
+        Montgomery montgomery = new Montgomery(prime);
+        long[][] matrix = new long[rows][];
+        for (int rowIndex = 0; rowIndex < rows; rowIndex++) {
+            matrix[rowIndex] = new long[columns];
+            for (int columnIndex = 0; columnIndex < columns; columnIndex++) {
+                long value = augmentedMatrix[rowIndex][columnIndex] % prime;
+                matrix[rowIndex][columnIndex] = montgomery.toMontgomery(value < 0 ? value + prime : value);
+            }
+        }
+        try {
+            FiniteFieldSolver.solve(matrix, montgomery, solution, context);
+        } catch (SolverInterruptedException e) {
+            FiniteFieldSolver.LOGGER.info(e.getMessage() + "(eliminated columns " + context.getEliminatedColumns()
+                    + ")");
+            solution.setStatusCode(e.getStatusCode().getStatusCodeVal());
+        }
+        solution.setMetrics(context.finishMetrics());
+        return solution;
+    }
+
+    private static void solve(final BitMatrix matrix, final FiniteFieldSolution solution,
+                              final SolverContext context) {
+        int rows = matrix.getRows();
+        int unknowns = matrix.getColumns() - 1;
+        int wordsPerRow = matrix.getWordsPerRow();
+        long[] words = matrix.getWords();
+        long[] swapRow = new long[wordsPerRow];
+        int[] pivotColumns = new int[Math.min(rows, unknowns)];
+        int rank = 0;
+
+        context.startPhase();
+        for (int columnIndex = 0; columnIndex < unknowns && rank < rows; columnIndex++) {
+            context.checkInterrupted();
+            int word = columnIndex / WORD_BITS;
+            long bit = 1L << columnIndex;
+            int pivotRow = rank;
+            while (pivotRow < rows && (words[pivotRow * wordsPerRow + word] & bit) == 0) {
+                pivotRow++;
+            }
+            if (pivotRow < rows) {
+                int pivotStart = rank * wordsPerRow;
+                if (pivotRow != rank) {
+                    System.arraycopy(words, pivotRow * wordsPerRow, swapRow, 0, wordsPerRow);
+                    System.arraycopy(words, pivotStart, words, pivotRow * wordsPerRow, wordsPerRow);
+                    System.arraycopy(swapRow, 0, words, pivotStart, wordsPerRow);
+                }
+                //The pivot row is zero before this column, the words before it do not change
+                for (int rowIndex = 0; rowIndex < rows; rowIndex++) {
+                    int rowStart = rowIndex * wordsPerRow;
+                    if (rowIndex != rank && (words[rowStart + word] & bit) != 0) {
+                        for (int index = word; index < wordsPerRow; index++) {
+                            words[rowStart + index] ^= words[pivotStart + index];
+                        }
+                    }
+                }
+                pivotColumns[rank++] = columnIndex;
+            }
+            context.columnEliminated();
+        }
+        context.endPhase(SolverMetrics.Phase.FORWARD_ELIMINATION);
+
+        context.startPhase();
+        for (int rowIndex = rank; rowIndex < rows; rowIndex++) {
+            if (matrix.get(rowIndex, unknowns)) {
+                FiniteFieldSolver.setInconsistent(solution, rank);
+                context.endPhase(SolverMetrics.Phase.RESULT_BUILDING);
+                return;
+            }
+        }
+        long[] particularSolution = new long[unknowns];
+        for (int pivot = 0; pivot < rank; pivot++) {
+            particularSolution[pivotColumns[pivot]] = matrix.get(pivot, unknowns) ? 1 : 0;
+        }
+        boolean[] pivotColumn = FiniteFieldSolver.getPivotColumns(pivotColumns, rank, unknowns);
+        long[][] nullSpaceBasis = new long[unknowns - rank][];
+        int basisIndex = 0;
+        for (int freeColumn = 0; freeColumn < unknowns; freeColumn++) {
+            if (pivotColumn[freeColumn]) {
+                continue;
+            }
+            long[] vector = new long[unknowns];
+            vector[freeColumn] = 1;
+            //-1 is 1 in GF(2)
+            for (int pivot = 0; pivot < rank; pivot++) {
+                vector[pivotColumns[pivot]] = matrix.get(pivot, freeColumn) ? 1 : 0;
+            }
+            nullSpaceBasis[basisIndex++] = vector;
+        }
+        FiniteFieldSolver.setSolved(solution, rank, particularSolution, nullSpaceBasis);
+        context.endPhase(SolverMetrics.Phase.RESULT_BUILDING);
+    }
+
+    private static void solve(final long[][] matrix, final Montgomery montgomery, final FiniteFieldSolution solution,
+                              final SolverContext context) {
+        int rows = matrix.length;
+        int unknowns = matrix[0].length - 1;
+        int[] pivotColumns = new int[Math.min(rows, unknowns)];
+        int rank = 0;
+
+        context.startPhase();
+        for (int columnIndex = 0; columnIndex < unknowns && rank < rows; columnIndex++) {
+            context.checkInterrupted();
+            int pivotRow = rank;
+            while (pivotRow < rows && matrix[pivotRow][columnIndex] == 0) {
+                pivotRow++;
+            }
+            if (pivotRow < rows) {
+                long[] pivotValues = matrix[pivotRow];
+                matrix[pivotRow] = matrix[rank];
+                matrix[rank] = pivotValues;
+                //The pivot row becomes 1 in the pivot column, it is zero before it
+                long inverse = montgomery.inverse(pivotValues[columnIndex]);
+                for (int index = columnIndex; index <= unknowns; index++) {
+                    pivotValues[index] = montgomery.multiply(pivotValues[index], inverse);
+                }
+                for (int rowIndex = 0; rowIndex < rows; rowIndex++) {
+                    long[] rowValues = matrix[rowIndex];
+                    long factor = rowValues[columnIndex];
+                    if (rowIndex == rank || factor == 0) {
+                        continue;
+                    }
+                    for (int index = columnIndex; index <= unknowns; index++) {
+                        if (pivotValues[index] != 0) {
+                            rowValues[index] = montgomery.subtract(rowValues[index],
+                                    montgomery.multiply(factor, pivotValues[index]));
+                        }
+                    }
+                }
+                pivotColumns[rank++] = columnIndex;
+            }
+            context.columnEliminated();
+        }
+        context.endPhase(SolverMetrics.Phase.FORWARD_ELIMINATION);
+
+        context.startPhase();
+        for (int rowIndex = rank; rowIndex < rows; rowIndex++) {
+            if (matrix[rowIndex][unknowns] != 0) {
+                FiniteFieldSolver.setInconsistent(solution, rank);
+                context.endPhase(SolverMetrics.Phase.RESULT_BUILDING);
+                return;
+            }
+        }
+        long[] particularSolution = new long[unknowns];
+        for (int pivot = 0; pivot < rank; pivot++) {
+            particularSolution[pivotColumns[pivot]] = montgomery.fromMontgomery(matrix[pivot][unknowns]);
+        }
+        boolean[] pivotColumn = FiniteFieldSolver.getPivotColumns(pivotColumns, rank, unknowns);
+        long[][] nullSpaceBasis = new long[unknowns - rank][];
+        int basisIndex = 0;
+        for (int freeColumn = 0; freeColumn < unknowns; freeColumn++) {
+            if (pivotColumn[freeColumn]) {
+                continue;
+            }
+            long[] vector = new long[unknowns];
+            vector[freeColumn] = 1;
+            for (int pivot = 0; pivot < rank; pivot++) {
+                long value = montgomery.fromMontgomery(matrix[pivot][freeColumn]);
+                vector[pivotColumns[pivot]] = value == 0 ? 0 : montgomery.getPrime() - value;
+            }
+            nullSpaceBasis[basisIndex++] = vector;
+        }
+        FiniteFieldSolver.setSolved(solution, rank, particularSolution, nullSpaceBasis);
+        context.endPhase(SolverMetrics.Phase.RESULT_BUILDING);
+    }
+
+    private static boolean[] getPivotColumns(final int[] pivotColumns, final int rank, final int unknowns) {
+        boolean[] pivotColumn = new boolean[unknowns];
+        for (int pivot = 0; pivot < rank; pivot++) {
+            pivotColumn[pivotColumns[pivot]] = true;
+        }
+        return pivotColumn;
+    }
+
+    private static void setInconsistent(final FiniteFieldSolution solution, final int rank) {
+        FiniteFieldSolver.LOGGER.log(Level.INFO, LinearSystemUtils.INCONSISTENT_MESSAGE);
+        solution.setStatusCode(LinearSystemUtils.StatusCode.INCONSISTENT.getStatusCodeVal());
+        solution.setRank(rank);
+    }
+
+    private static void setSolved(final FiniteFieldSolution solution, final int rank,
+                                  final long[] particularSolution, final long[][] nullSpaceBasis) {
+        FiniteFieldSolver.LOGGER.log(Level.INFO, LinearSystemUtils.SYSTEM_WAS_SOLVED_MESSAGE);
+        solution.setStatusCode(LinearSystemUtils.StatusCode.SOLVED.getStatusCodeVal());
+        solution.setRank(rank);
+        solution.setParticularSolution(particularSolution);
+        solution.setNullSpaceBasis(nullSpaceBasis);
+    }
+
+    /**
+     * Arithmetic modulo an odd prime p < 2^31 in Montgomery form with R = 2^32: x is stored as x R mod p,
+     * the product a R * b R is reduced to a b R by REDC without dividing by p
+     */
+    private static class Montgomery {
+        private static final long MASK = 0xFFFFFFFFL;
+        private static final int R_BITS = 32;
+
+        private final long prime;
+        /** -p^-1 mod 2^32 */
+        private final long negativeInverse;
+
+        private Montgomery(final long prime) {
+            this.prime = prime;
+            //Newton iteration, every step doubles the correct bits of p^-1 mod 2^32
+            long inverse = prime;
+            for (int step = 0; step < 5; step++) {
+                inverse = (inverse * (2 - prime * inverse)) & MASK;
+            }
+            this.negativeInverse = (-inverse) & MASK;
+        }
+
+        long getPrime() {
+            return prime;
+        }
+
+        long toMontgomery(final long value) {
+            return (value << R_BITS) % prime;
+        }
+
+        long fromMontgomery(final long value) {
+            return reduce(value);
+        }
+
+        long multiply(final long a, final long b) {
+            return reduce(a * b);
+        }
+
+        long subtract(final long a, final long b) {
+            long difference = a - b;
+            return difference < 0 ? difference + prime : difference;
+        }
+
+        /**
+         * @param value Nonzero value in Montgomery form
+         * @return Inverse in Montgomery form
+         */
+        long inverse(final long value) {
+            return toMontgomery(BigInteger.valueOf(fromMontgomery(value)).modInverse(BigInteger.valueOf(prime))
+                    .longValue());
+        }
+
+        /**
+         * @param value Value below p^2 < 2^62
+         * @return value / 2^32 mod p
+         */
+        private long reduce(final long value) {
+            long factor = ((value & MASK) * negativeInverse) & MASK;
+            //value + factor * p < 2^62 + 2^63 fits in 64 bits without sign, the shift is unsigned
+            long result = (value + factor * prime) >>> R_BITS;
+            return result >= prime ? result - prime : result;
+        }
+    }
+}
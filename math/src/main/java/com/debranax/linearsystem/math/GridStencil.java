@@ -0,0 +1,148 @@
+package com.debranax.linearsystem.math;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Constant coefficient 5-point (2-D) or 7-point (3-D) stencil of the diffusion-reaction operator
+ * -sum(k(d) u''(d)) + s u discretized by finite differences on the interior points of a regular grid
+ * with zero (Dirichlet) boundary values. The unknown of the point (x, y, z) is x + nx (y + ny z), so the
+ * matrix never has to be built (see {@link MultigridSolver}).
+ */
+public class GridStencil {
+    private final int[] points;
+    private final double[] spacings;
+    private final double[] diffusions;
+    private final double reaction;
+
+    /**
+     * @param points     Interior points of every axis (1 to 3 axes)
+     * @param spacings   Distance between the points of every axis
+     * @param diffusions Diffusion coefficient k of every axis
+     * @param reaction   Reaction coefficient s
+     */
+    public GridStencil(final int[] points, final double[] spacings, final double[] diffusions,
+                       final double reaction) {
+        if (points.length < 1 || points.length > 3 || spacings.length != points.length
+                || diffusions.length != points.length) {
+            throw new IllegalArgumentException("The grid must have 1 to 3 axes with a spacing and a diffusion each");
+        }
+        for (int axis = 0; axis < points.length; axis++) {
+            if (points[axis] <= 0 || spacings[axis] <= 0) {
+                throw new IllegalArgumentException("The points and the spacings must be greater than zero");
+            }
+        }
+        this.points = points.clone();
+        this.spacings = spacings.clone();
+        this.diffusions = diffusions.clone();
+        this.reaction = reaction;
+    }
+
+    /**
+     * @param points Interior points of every axis
+     * @return Stencil of the Poisson equation -laplacian(u) = f on the unit square or cube
+     */
+    public static GridStencil poisson(final int... points) {
+        double[] spacings = new double[points.length];
+        double[] diffusions = new double[points.length];
+        for (int axis = 0; axis < points.length; axis++) {
+            spacings[axis] = 1d / (points[axis] + 1);
+            diffusions[axis] = 1d;
+        }
+        return new GridStencil(points, spacings, diffusions, 0d);
+    }
+
+    public int getAxes() {
+        return points.length;
+    }
+
+    /**
+     * @param axis Axis of the grid
+     * @return Interior points of the axis
+     */
+    public int getPoints(final int axis) {
+        return points[axis];
+    }
+
+    /**
+     * @return Total unknowns (interior points of the grid)
+     */
+    public int getUnknowns() {
+        int unknowns = 1;
+        for (int axisPoints : points) {
+            unknowns *= axisPoints;
+        }
+        return unknowns;
+    }
+
+    /**
+     * @return Coefficient of the unknown of the point
+     */
+    public double getCenter() {
+        double center = reaction;
+        for (int axis = 0; axis < points.length; axis++) {
+            center += 2 * diffusions[axis] / (spacings[axis] * spacings[axis]);
+        }
+        return center;
+    }
+
+    /**
+     * @param axis Axis of the grid
+     * @return Coefficient of the two neighbors of the point along the axis
+     */
+    public double getNeighbor(final int axis) {
+        return -diffusions[axis] / (spacings[axis] * spacings[axis]);
+    }
+
+    /**
+     * The operator discretized again on the grid of every second point (the point i of the coarse grid is
+     * the point 2i + 1 of this one), the axes with a single point are not coarsened
+     *
+     * @return Coarser stencil or null if no axis can be coarsened
+     */
+    GridStencil coarsen() {
+        int[] coarsePoints = points.clone();
+        double[] coarseSpacings = spacings.clone();
+        boolean coarsened = false;
+        for (int axis = 0; axis < points.length; axis++) {
+            if (points[axis] >= 2) {
+                coarsePoints[axis] = points[axis] / 2;
+                coarseSpacings[axis] = 2 * spacings[axis];
+                coarsened = true;
+            }
+        }
+        return coarsened ? new GridStencil(coarsePoints, coarseSpacings, diffusions, reaction) : null;
+    }
+
+    /**
+     * Dense augmented matrix of the stencil, only for small grids
+     *
+     * @param constants Constants of the system
+     * @return Augmented matrix (n x n+1) of the system
+     */
+    public BigDecimal[][] toAugmentedMatrix(final BigDecimal[] constants) {
+        int unknowns = getUnknowns();
+        BigDecimal[][] augmentedMatrix = new BigDecimal[unknowns][unknowns + 1];
+        BigDecimal center = BigDecimal.valueOf(getCenter());
+        for (int rowIndex = 0; rowIndex < unknowns; rowIndex++) {
+            Arrays.fill(augmentedMatrix[rowIndex], BigDecimal.ZERO);
+            augmentedMatrix[rowIndex][rowIndex] = center;
+            augmentedMatrix[rowIndex][unknowns] = constants[rowIndex];
+        }
+        int stride = 1;
+        for (int axis = 0; axis < points.length; axis++) {
+            BigDecimal neighbor = BigDecimal.valueOf(getNeighbor(axis));
+            for (int rowIndex = 0; rowIndex < unknowns; rowIndex++) {
+                int coordinate = rowIndex / stride % points[axis];
+                if (coordinate > 0) {
+                    augmentedMatrix[rowIndex][rowIndex - stride] = neighbor;
+                }
+                if (coordinate < points[axis] - 1) {
+                    augmentedMatrix[rowIndex][rowIndex + stride] = neighbor;
+                }
+            }
+            stride *= points[axis];
+        }
+        return augmentedMatrix;
+    }
+}
@@ -0,0 +1,282 @@
+package com.debranax.linearsystem.math;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Verified engine: the system is solved in double precision and the solution is enclosed in intervals
+ * proven by the Krawczyk operator (Rump's method). Java has no directed rounding, so every interval
+ * operation rounds outward with one ulp ({@link Math#nextUp(double)}), the bounds are wider than the
+ * ones of the directed rounding but they are still guaranteed.
+ * <p>
+ * With R an approximate inverse of A and x~ an approximate solution, if z = R (b - A x~) and
+ * C = I - R A satisfy z + C Y in the interior of Y for an interval vector Y, then A is not singular
+ * and the solution is in x~ + Y
+ */
+class IntervalEngine {
+    /** Iterations of the Krawczyk operator before the verification fails */
+    private static final int MAX_ITERATIONS = 10;
+    /** Iterative refinements of the approximate solution */
+    private static final int REFINEMENTS = 2;
+    /** Relative epsilon-inflation of the candidate enclosure in every iteration */
+    private static final double INFLATION = 0.1d;
+
+    private IntervalEngine() {
+    }
+
+    /**
+     * Solve the augmented matrix and verify an enclosure of the solution, the bounds are recorded with
+     * {@link LinearSystemInfo#setEnclosure(double[], double[])}
+     *
+     * @param augmentedMatrix Augmented matrix, it is not modified
+     * @param totalRows       Total rows of augmented matrix
+     * @param context         State of the solve
+     * @return An instance of LinearSystemInfo containing the result, null if the matrix is singular or
+     * too ill-conditioned to verify the solution in double precision
+     */
+    static LinearSystemInfo solve(final BigDecimal[][] augmentedMatrix, final int totalRows,
+                                  final SolverContext context) {
+        RowKernels kernels = RowKernelsSelector.getRowKernels();
+        double[][] lowerMatrix = new double[totalRows][totalRows + 1];
+        double[][] upperMatrix = new double[totalRows][totalRows + 1];
+        double[][] midMatrix = new double[totalRows][totalRows + 1];
+        for (int rowIndex = 0; rowIndex < totalRows; rowIndex++) {
+            for (int columnIndex = 0; columnIndex <= totalRows; columnIndex++) {
+                BigDecimal value = augmentedMatrix[rowIndex][columnIndex];
+                double mid = value.doubleValue();
+                if (Double.isInfinite(mid)) {
+                    return null;
+                }
+                //The conversion is inexact for most decimals, the interval contains the exact value
+                int comparison = new BigDecimal(mid).compareTo(value);
+                midMatrix[rowIndex][columnIndex] = mid;
+                lowerMatrix[rowIndex][columnIndex] = comparison > 0 ? IntervalEngine.down(mid) : mid;
+                upperMatrix[rowIndex][columnIndex] = comparison < 0 ? IntervalEngine.up(mid) : mid;
+            }
+        }
+
+        context.startPhase();
+        double[][] inverse = IntervalEngine.invert(midMatrix, totalRows, kernels, context);
+        if (inverse == null) {
+            return null;
+        }
+        double[] solution = IntervalEngine.approximateSolution(midMatrix, inverse, totalRows, kernels);
+        context.endPhase(SolverMetrics.Phase.FORWARD_ELIMINATION);
+
+        context.startPhase();
+        double[] lower = new double[totalRows];
+        double[] upper = new double[totalRows];
+        boolean verified = IntervalEngine.verify(lowerMatrix, upperMatrix, inverse, solution, totalRows, lower,
+                upper, context);
+        context.endPhase(SolverMetrics.Phase.VERIFICATION);
+        if (!verified) {
+            return null;
+        }
+
+        context.startPhase();
+        BigDecimal[] midpoints = new BigDecimal[totalRows];
+        for (int index = 0; index < totalRows; index++) {
+            midpoints[index] = new BigDecimal(lower[index] / 2 + upper[index] / 2)
+                    .setScale(LinearSystemUtils.SCALE, RoundingMode.HALF_UP);
+        }
+        LinearSystemInfo linearSystemInfo = LinearSystemsSolver.getSolvedResponse(midpoints);
+        linearSystemInfo.setEnclosure(lower, upper);
+        context.endPhase(SolverMetrics.Phase.RESULT_BUILDING);
+        return linearSystemInfo;
+    }
+
+    /**
+     * Approximate inverse with the Gauss-Jordan elimination of [A | I] with partial pivoting
+     *
+     * @return Inverse (row-major) or null if a pivot is zero
+     */
+    private static double[][] invert(final double[][] matrix, final int totalRows, final RowKernels kernels,
+                                     final SolverContext context) {
+        double[][] rows = new double[totalRows][2 * totalRows];
+        for (int rowIndex = 0; rowIndex < totalRows; rowIndex++) {
+            System.arraycopy(matrix[rowIndex], 0, rows[rowIndex], 0, totalRows);
+            rows[rowIndex][totalRows + rowIndex] = 1;
+        }
+        for (int columnIndex = 0; columnIndex < totalRows; columnIndex++) {
+            context.checkInterrupted();
+            int pivotRow = columnIndex;
+            for (int rowIndex = columnIndex + 1; rowIndex < totalRows; rowIndex++) {
+                if (Math.abs(rows[rowIndex][columnIndex]) > Math.abs(rows[pivotRow][columnIndex])) {
+                    pivotRow = rowIndex;
+                }
+            }
+            double pivot = rows[pivotRow][columnIndex];
+            if (pivot == 0 || Double.isNaN(pivot)) {
+                return null;
+            }
+            double[] pivotValues = rows[pivotRow];
+            rows[pivotRow] = rows[columnIndex];
+            rows[columnIndex] = pivotValues;
+            for (int index = columnIndex; index < 2 * totalRows; index++) {
+                pivotValues[index] /= pivot;
+            }
+            for (int rowIndex = 0; rowIndex < totalRows; rowIndex++) {
+                double factor = rows[rowIndex][columnIndex];
+                if (rowIndex != columnIndex && factor != 0) {
+                    kernels.axpy(-factor, pivotValues, columnIndex, rows[rowIndex], columnIndex,
+                            2 * totalRows - columnIndex);
+                }
+            }
+            context.columnEliminated();
+        }
+        double[][] inverse = new double[totalRows][];
+        for (int rowIndex = 0; rowIndex < totalRows; rowIndex++) {
+            inverse[rowIndex] = new double[totalRows];
+            System.arraycopy(rows[rowIndex], totalRows, inverse[rowIndex], 0, totalRows);
+        }
+        return inverse;
+    }
+
+    /**
+     * x = R b improved with iterative refinement x = x + R (b - A x)
+     */
+    private static double[] approximateSolution(final double[][] matrix, final double[][] inverse,
+                                                final int totalRows, final RowKernels kernels) {
+        double[] residual = new double[totalRows];
+        double[] solution = new double[totalRows];
+        for (int rowIndex = 0; rowIndex < totalRows; rowIndex++) {
+            residual[rowIndex] = matrix[rowIndex][totalRows];
+        }
+        for (int refinement = 0; refinement <= REFINEMENTS; refinement++) {
+            for (int rowIndex = 0; rowIndex < totalRows; rowIndex++) {
+                solution[rowIndex] += kernels.dot(inverse[rowIndex], 0, residual, 0, totalRows);
+            }
+            for (int rowIndex = 0; rowIndex < totalRows; rowIndex++) {
+                residual[rowIndex] = matrix[rowIndex][totalRows]
+                        - kernels.dot(matrix[rowIndex], 0, solution, 0, totalRows);
+            }
+        }
+        return solution;
+    }
+
+    /**
+     * Krawczyk iteration with epsilon-inflation, lower and upper receive the enclosure x~ + X
+     *
+     * @return True if the enclosure was verified
+     */
+    private static boolean verify(final double[][] lowerMatrix, final double[][] upperMatrix,
+                                  final double[][] inverse, final double[] solution, final int totalRows,
+                                  final double[] lower, final double[] upper, final SolverContext context) {
+        //Residual d = b - A x~
+        double[] residualLower = new double[totalRows];
+        double[] residualUpper = new double[totalRows];
+        for (int rowIndex = 0; rowIndex < totalRows; rowIndex++) {
+            double sumLower = lowerMatrix[rowIndex][totalRows];
+            double sumUpper = upperMatrix[rowIndex][totalRows];
+            for (int columnIndex = 0; columnIndex < totalRows; columnIndex++) {
+                double value = solution[columnIndex];
+                double productLower = value >= 0 ? lowerMatrix[rowIndex][columnIndex] * value
+                        : upperMatrix[rowIndex][columnIndex] * value;
+                double productUpper = value >= 0 ? upperMatrix[rowIndex][columnIndex] * value
+                        : lowerMatrix[rowIndex][columnIndex] * value;
+                sumLower = IntervalEngine.down(sumLower - IntervalEngine.up(productUpper));
+                sumUpper = IntervalEngine.up(sumUpper - IntervalEngine.down(productLower));
+            }
+            residualLower[rowIndex] = sumLower;
+            residualUpper[rowIndex] = sumUpper;
+        }
+
+        //z = R d and C = I - R A
+        double[] zLower = new double[totalRows];
+        double[] zUpper = new double[totalRows];
+        double[][] cLower = new double[totalRows][totalRows];
+        double[][] cUpper = new double[totalRows][totalRows];
+        for (int rowIndex = 0; rowIndex < totalRows; rowIndex++) {
+            context.checkInterrupted();
+            double[] inverseRow = inverse[rowIndex];
+            double[] sumLower = cLower[rowIndex];
+            double[] sumUpper = cUpper[rowIndex];
+            double rowLower = 0;
+            double rowUpper = 0;
+            for (int inner = 0; inner < totalRows; inner++) {
+                double factor = inverseRow[inner];
+                if (factor == 0) {
+                    continue;
+                }
+                double[] lowerValues = factor > 0 ? lowerMatrix[inner] : upperMatrix[inner];
+                double[] upperValues = factor > 0 ? upperMatrix[inner] : lowerMatrix[inner];
+                for (int columnIndex = 0; columnIndex < totalRows; columnIndex++) {
+                    sumLower[columnIndex] = IntervalEngine.down(sumLower[columnIndex]
+                            + IntervalEngine.down(factor * lowerValues[columnIndex]));
+                    sumUpper[columnIndex] = IntervalEngine.up(sumUpper[columnIndex]
+                            + IntervalEngine.up(factor * upperValues[columnIndex]));
+                }
+                rowLower = IntervalEngine.down(rowLower + IntervalEngine.down(factor
+                        * (factor > 0 ? residualLower[inner] : residualUpper[inner])));
+                rowUpper = IntervalEngine.up(rowUpper + IntervalEngine.up(factor
+                        * (factor > 0 ? residualUpper[inner] : residualLower[inner])));
+            }
+            zLower[rowIndex] = rowLower;
+            zUpper[rowIndex] = rowUpper;
+            for (int columnIndex = 0; columnIndex < totalRows; columnIndex++) {
+                double identity = rowIndex == columnIndex ? 1 : 0;
+                double productLower = sumLower[columnIndex];
+                sumLower[columnIndex] = IntervalEngine.down(identity - sumUpper[columnIndex]);
+                sumUpper[columnIndex] = IntervalEngine.up(identity - productLower);
+            }
+            //The progress has 2n - 1 steps: the n columns of the inverse and n - 1 rows of C
+            if (rowIndex < totalRows - 1) {
+                context.columnEliminated();
+            }
+        }
+
+        double[] yLower = zLower.clone();
+        double[] yUpper = zUpper.clone();
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            context.checkInterrupted();
+            for (int index = 0; index < totalRows; index++) {
+                double inflation = IntervalEngine.up(INFLATION * (yUpper[index] - yLower[index]) + Double.MIN_NORMAL);
+                yLower[index] = IntervalEngine.down(yLower[index] - inflation);
+                yUpper[index] = IntervalEngine.up(yUpper[index] + inflation);
+            }
+            boolean inside = true;
+            for (int rowIndex = 0; rowIndex < totalRows; rowIndex++) {
+                double sumLower = zLower[rowIndex];
+                double sumUpper = zUpper[rowIndex];
+                for (int columnIndex = 0; columnIndex < totalRows; columnIndex++) {
+                    double a = cLower[rowIndex][columnIndex];
+                    double b = cUpper[rowIndex][columnIndex];
+                    double c = yLower[columnIndex];
+                    double d = yUpper[columnIndex];
+                    sumLower = IntervalEngine.down(sumLower
+                            + IntervalEngine.down(Math.min(Math.min(a * c, a * d), Math.min(b * c, b * d))));
+                    sumUpper = IntervalEngine.up(sumUpper
+                            + IntervalEngine.up(Math.max(Math.max(a * c, a * d), Math.max(b * c, b * d))));
+                }
+                lower[rowIndex] = sumLower;
+                upper[rowIndex] = sumUpper;
+                inside &= sumLower > yLower[rowIndex] && sumUpper < yUpper[rowIndex];
+            }
+            if (inside) {
+                for (int index = 0; index < totalRows; index++) {
+                    lower[index] = IntervalEngine.down(solution[index] + lower[index]);
+                    upper[index] = IntervalEngine.up(solution[index] + upper[index]);
+                }
+                return true;
+            }
+            System.arraycopy(lower, 0, yLower, 0, totalRows);
+            System.arraycopy(upper, 0, yUpper, 0, totalRows);
+        }
+        return false;
+    }
+
+    /**
+     * @return Value rounded to nearest moved one ulp up, so it is not less than the exact value
+     */
+    static double up(final double value) {
+        return Math.nextUp(value);
+    }
+
+    /**
+     * @return Value rounded to nearest moved one ulp down, so it is not greater than the exact value
+     */
+    static double down(final double value) {
+        //Math.nextDown requires API level 24
+        return -Math.nextUp(-value);
+    }
+}
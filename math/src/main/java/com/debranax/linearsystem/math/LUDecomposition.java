@@ -0,0 +1,149 @@
+package com.debranax.linearsystem.math;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * LU decomposition with partial pivoting (PA = LU) of the coefficient matrix, once the factorization
+ * is computed every new right-hand side is solved in O(n^2). The factors and the intermediate values are
+ * rounded to {@link LinearSystemUtils#WORKING_SCALE} so the scale of the BigDecimal values does not grow
+ * with every elimination step, the solution is rounded to {@link LinearSystemUtils#SCALE}.
+ */
+public class LUDecomposition {
+    private final BigDecimal[][] lu;
+    private final int[] permutation;
+    private final boolean singular;
+
+    /**
+     * Create a decomposition already computed (e.g. read from the history)
+     * @param lu L (below the diagonal, unit diagonal not stored) and U (diagonal and above) in one matrix
+     * @param permutation Row permutation, permutation[i] is the original row of the row i
+     */
+    public LUDecomposition(final BigDecimal[][] lu, final int[] permutation) {
+        this.lu = lu;
+        this.permutation = permutation;
+        this.singular = LUDecomposition.hasZeroDiagonal(lu);
+    }
+
+    /**
+     * Factorize the coefficient matrix of the augmented matrix (the last column is ignored)
+     * @param augmentedMatrix Augmented matrix (n x n+1) or coefficient matrix (n x n)
+     * @return Decomposition, see {@link #isSingular()}
+     */
+    public static LUDecomposition decompose(final BigDecimal[][] augmentedMatrix) {
+        int totalRows = LinearSystemUtils.getTotalRows(augmentedMatrix);
+        BigDecimal[][] lu = new BigDecimal[totalRows][totalRows];
+        int[] permutation = new int[totalRows];
+        for (int rowIndex = 0; rowIndex < totalRows; rowIndex++) {
+            System.arraycopy(augmentedMatrix[rowIndex], 0, lu[rowIndex], 0, totalRows);
+            permutation[rowIndex] = rowIndex;
+        }
+        for (int columnIndex = 0; columnIndex < totalRows; columnIndex++) {
+            int pivotRow = LUDecomposition.findPivotRow(lu, columnIndex);
+            if (lu[pivotRow][columnIndex].signum() == 0) {
+                continue;
+            }
+            LUDecomposition.swap(lu, permutation, columnIndex, pivotRow);
+            BigDecimal pivot = lu[columnIndex][columnIndex];
+            for (int rowIndex = columnIndex + 1; rowIndex < totalRows; rowIndex++) {
+                if (lu[rowIndex][columnIndex].signum() == 0) {
+                    continue;
+                }
+                BigDecimal factor = lu[rowIndex][columnIndex].divide(pivot, LinearSystemUtils.WORKING_SCALE,
+                        RoundingMode.HALF_UP);
+                lu[rowIndex][columnIndex] = factor;
+                for (int index = columnIndex + 1; index < totalRows; index++) {
+                    lu[rowIndex][index] = lu[rowIndex][index].subtract(factor.multiply(lu[columnIndex][index]))
+                            .setScale(LinearSystemUtils.WORKING_SCALE, RoundingMode.HALF_UP);
+                }
+            }
+        }
+        return new LUDecomposition(lu, permutation);
+    }
+
+    /**
+     * Solve Ax = b using the factorization
+     * @param rightHandSide Vector b
+     * @return Solution x
+     * @throws ArithmeticException If the matrix is singular
+     */
+    public BigDecimal[] solve(final BigDecimal[] rightHandSide) {
+        int totalRows = lu.length;
+        BigDecimal[] solution = new BigDecimal[totalRows];
+        if (singular) {
+            throw new ArithmeticException("The matrix is singular");
+        }
+        for (int rowIndex = 0; rowIndex < totalRows; rowIndex++) {
+            BigDecimal value = rightHandSide[permutation[rowIndex]];
+            for (int index = 0; index < rowIndex; index++) {
+                value = value.subtract(lu[rowIndex][index].multiply(solution[index]));
+            }
+            solution[rowIndex] = value.setScale(LinearSystemUtils.WORKING_SCALE, RoundingMode.HALF_UP);
+        }
+        for (int rowIndex = totalRows - 1; rowIndex >= 0; rowIndex--) {
+            BigDecimal value = solution[rowIndex];
+            for (int index = rowIndex + 1; index < totalRows; index++) {
+                value = value.subtract(lu[rowIndex][index].multiply(solution[index]));
+            }
+            solution[rowIndex] = value.divide(lu[rowIndex][rowIndex], LinearSystemUtils.WORKING_SCALE,
+                    RoundingMode.HALF_UP);
+        }
+        for (int rowIndex = 0; rowIndex < totalRows; rowIndex++) {
+            solution[rowIndex] = solution[rowIndex].setScale(LinearSystemUtils.SCALE, RoundingMode.HALF_UP);
+        }
+        return solution;
+    }
+
+    public BigDecimal[][] getLU() {
+        return lu;
+    }
+
+    public int[] getPermutation() {
+        return permutation;
+    }
+
+    /**
+     * @return True if one element of the diagonal of U is zero (the system has no unique solution)
+     */
+    public boolean isSingular() {
+        return singular;
+    }
+
+    /**
+     * Find the row with the greatest absolute value in the column, on or below the diagonal
+     * @param lu Matrix being factorized
+     * @param columnIndex Column index of the element in the diagonal
+     * @return Row index of the pivot
+     */
+    private static int findPivotRow(final BigDecimal[][] lu, final int columnIndex) {
+        int pivotRow = columnIndex;
+        for (int rowIndex = columnIndex + 1; rowIndex < lu.length; rowIndex++) {
+            if (lu[rowIndex][columnIndex].abs().compareTo(lu[pivotRow][columnIndex].abs()) > 0) {
+                pivotRow = rowIndex;
+            }
+        }
+        return pivotRow;
+    }
+
+    private static void swap(final BigDecimal[][] lu, final int[] permutation, final int rowIndexFrom,
+                             final int rowIndexTo) {
+        if (rowIndexFrom == rowIndexTo) {
+            return;
+        }
+        BigDecimal[] row = lu[rowIndexFrom];
+        int originalRow = permutation[rowIndexFrom];
+        lu[rowIndexFrom] = lu[rowIndexTo];
+        lu[rowIndexTo] = row;
+        permutation[rowIndexFrom] = permutation[rowIndexTo];
+        permutation[rowIndexTo] = originalRow;
+    }
+
+    private static boolean hasZeroDiagonal(final BigDecimal[][] lu) {
+        for (int index = 0; index < lu.length; index++) {
+            if (lu[index][index].signum() == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,169 @@
+package com.debranax.linearsystem.math;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+public class LinearSystemInfo implements Serializable {
+
+
+    private BigDecimal[] solution;
+    private BigDecimal[] imaginarySolution;
+    private BigDecimal[][] matrix;
+    private int statusCode = LinearSystemUtils.StatusCode.NO_INFO.getStatusCodeVal();
+    private final StringBuilder additionalInfo = new StringBuilder();
+    private SolverMetrics metrics;
+    private SolverEngine engine;
+    private double[] lowerBounds;
+    private double[] upperBounds;
+    private double[] residualReductions;
+    private boolean verified;
+    private double residualNorm = Double.NaN;
+
+    public BigDecimal[] getSolution() {
+        return solution;
+    }
+
+    public void setSolution(BigDecimal[] solution) {
+        this.solution = solution;
+    }
+
+    /**
+     * @return Imaginary parts of the solution of a complex system (see {@link ComplexSolver}), null if the
+     * system is real
+     */
+    public BigDecimal[] getImaginarySolution() {
+        return imaginarySolution;
+    }
+
+    public void setImaginarySolution(BigDecimal[] imaginarySolution) {
+        this.imaginarySolution = imaginarySolution;
+    }
+
+    public boolean isComplex() {
+        return imaginarySolution != null;
+    }
+
+    public int getStatusCode() {
+        return this.statusCode;
+    }
+
+    public void setStatusCode(int statusCode) {
+        this.statusCode = statusCode;
+    }
+
+    //TODO For future use
+    public StringBuilder getAdditionalInfo() {
+        return this.additionalInfo;
+    }
+    //TODO For future use
+    public void appendAdditionalInfo(final String info) {
+        this.additionalInfo.append(info);
+    }
+
+    public boolean isSolved() {
+        return (this.statusCode == LinearSystemUtils.StatusCode.SOLVED.getStatusCodeVal());
+    }
+
+    public BigDecimal[][] getMatrix() {
+        return matrix;
+    }
+
+    public void setMatrix(BigDecimal[][] matrix) {
+        this.matrix = matrix;
+    }
+
+    /**
+     * @return Metrics of the solve or null if they were not enabled in the SolverOptions
+     */
+    public SolverMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(SolverMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+
+    /**
+     * @return Engine that solved the system or null if it was not needed (e.g. homogeneous system)
+     */
+    public SolverEngine getEngine() {
+        return engine;
+    }
+
+    public void setEngine(SolverEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * @return Lower bounds of the verified enclosure of the solution or null if there is no enclosure
+     */
+    public double[] getLowerBounds() {
+        return lowerBounds;
+    }
+
+    /**
+     * @return Upper bounds of the verified enclosure of the solution or null if there is no enclosure
+     */
+    public double[] getUpperBounds() {
+        return upperBounds;
+    }
+
+    /**
+     * @param lowerBounds Lower bound of every unknown
+     * @param upperBounds Upper bound of every unknown
+     */
+    public void setEnclosure(double[] lowerBounds, double[] upperBounds) {
+        this.lowerBounds = lowerBounds;
+        this.upperBounds = upperBounds;
+    }
+
+    /**
+     * @return Width of the interval that contains every unknown (rounded up), null if the solution was
+     * not verified (see {@link SolverEngine#VERIFIED})
+     */
+    public double[] getEnclosureWidths() {
+        if (lowerBounds == null) {
+            return null;
+        }
+        double[] widths = new double[lowerBounds.length];
+        for (int index = 0; index < widths.length; index++) {
+            widths[index] = Math.nextUp(upperBounds[index] - lowerBounds[index]);
+        }
+        return widths;
+    }
+
+    /**
+     * @return Norm of the residual after every cycle divided by the one before it, null if the solver is
+     * not iterative (see {@link SolverEngine#MULTIGRID})
+     */
+    public double[] getResidualReductions() {
+        return residualReductions;
+    }
+
+    public void setResidualReductions(double[] residualReductions) {
+        this.residualReductions = residualReductions;
+    }
+
+    /**
+     * @return True if the residual of the solution was checked and it is small (see {@link SolutionVerifier})
+     */
+    public boolean isVerified() {
+        return verified;
+    }
+
+    public void setVerified(boolean verified) {
+        this.verified = verified;
+    }
+
+    /**
+     * @return Infinity norm of the residual b - A x, NaN if the solution was not checked
+     */
+    public double getResidualNorm() {
+        return residualNorm;
+    }
+
+    public void setResidualNorm(double residualNorm) {
+        this.residualNorm = residualNorm;
+    }
+}
@@ -3,21 +3,33 @@ package com.debranax.linearsystem.math;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.text.DecimalFormat;
 
 public class LinearSystemUtils {
     public static final int SCALE = 10;
+    /** Scale of the intermediate values of the substitutions and factorizations, so their digits do not grow */
+    public static final int WORKING_SCALE = 2 * SCALE;
     public static final String HOMOGENEOUS_MESSAGE = "The system has a trivial or non-trivial solution";
     public static final String ZERO_COLUMN_MESSAGE = "All elements below the diagonal  " +
             "are zero, this program can not solve this linear system";
     public static final String SYSTEM_WAS_SOLVED_MESSAGE = "The system was solved!";
+    public static final String CANCELLED_MESSAGE = "The solve was cancelled";
+    public static final String TIME_BUDGET_EXCEEDED_MESSAGE = "The time budget of the solve ran out";
+    public static final String NOT_CONVERGED_MESSAGE = "The iterative solver stopped reducing the residual";
+    public static final String INCONSISTENT_MESSAGE = "The system has no solution, its constants are not "
+            + "a combination of its columns";
 
     public enum StatusCode {
         UNEXPECTED_ERROR(-1),
         NO_INFO(0),
         HOMOGENEOUS(1),
         ZERO_COLUMN(2),
-        SOLVED(3);
+        SOLVED(3),
+        CANCELLED(4),
+        TIME_BUDGET_EXCEEDED(5),
+        NOT_CONVERGED(6),
+        INCONSISTENT(7);
 
         private final int code;
 
@@ -59,13 +71,12 @@ public class LinearSystemUtils {
      * @return String formatted
      */
     public static String format(BigDecimal bg, String pattern) {
-        //When is applied the format to very small numbers could be return -0.0
-        String formattedNumber  = new DecimalFormat(pattern).format(bg);
-        double parseDouble =  Double.parseDouble(new DecimalFormat(pattern).format(bg));
-        if (Math.abs(parseDouble) == 0){
+        DecimalFormat decimalFormat = new DecimalFormat(pattern);
+        //When is applied the format to very small numbers could be return -0
+        if (bg.setScale(decimalFormat.getMaximumFractionDigits(), RoundingMode.HALF_EVEN).signum() == 0) {
             return "0";
         }
-        return formattedNumber;
+        return decimalFormat.format(bg);
     }
 
     /**
@@ -77,6 +88,19 @@ public class LinearSystemUtils {
         return matrix[0].length - 1;
     }
 
+    /**
+     * Copy the matrix, rows are copied as well so the original matrix is never modified
+     * @param matrix Array to copy
+     * @return Copy of the matrix
+     */
+    public static BigDecimal[][] copyMatrix(final BigDecimal[][] matrix) {
+        BigDecimal[][] copy = new BigDecimal[matrix.length][];
+        for (int rowIndex = 0; rowIndex < matrix.length; rowIndex++) {
+            copy[rowIndex] = matrix[rowIndex].clone();
+        }
+        return copy;
+    }
+
     /**
      * Get total rows of the matrix
      * @param matrix Array where the total rows is obtained
@@ -0,0 +1,687 @@
+package com.debranax.linearsystem.math;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class LinearSystemsSolver {
+
+    private final static Logger LOGGER = Logger.getLogger(LinearSystemsSolver.class.getName());
+
+    /**
+     * Try to solve the linear system provided in the matrix parameter
+     *
+     * @param augmentedMatrix Augmented matrix
+     * @return An instance of LinearSystemInfo containing the result (solution if
+     * found, status code, etc)
+     */
+    public static LinearSystemInfo solve(final BigDecimal[][] augmentedMatrix) {
+        return LinearSystemsSolver.solve(augmentedMatrix, null);
+    }
+
+    /**
+     * Try to solve the linear system provided in the matrix parameter. The matrix is analyzed in a single
+     * pass and solved by the cheapest engine for its structure (see {@link MatrixAnalyzer}), the engine
+     * used is recorded in the LinearSystemInfo. The solve can be cancelled or stopped by a time budget
+     * (the Gauss-Jordan engine returns a partial result with the matrix reached so far)
+     *
+     * @param augmentedMatrix Augmented matrix, it is not modified
+     * @param options         Options of the solver (cancellation token, progress listener, time
+     *                        budget, metrics, step recorder, engine and verification), null to use the
+     *                        default options
+     * @return An instance of LinearSystemInfo containing the result (solution if
+     * found, status code, etc)
+     */
+    public static LinearSystemInfo solve(final BigDecimal[][] augmentedMatrix, final SolverOptions options) {
+        int totalRows = LinearSystemUtils.getTotalRows(augmentedMatrix);
+        SolverContext context = new SolverContext(options, 2 * totalRows - 1);
+        SolverEngine engine = null;
+        MatrixStructure structure;
+        LinearSystemInfo linearSystemInfo;
+
+        try {
+            context.startPhase();
+            structure = options != null && options.getMatrixStructure() != null ? options.getMatrixStructure()
+                    : MatrixAnalyzer.analyze(augmentedMatrix);
+            context.endPhase(SolverMetrics.Phase.HOMOGENEITY_CHECK);
+            if (structure.isHomogeneous()) {
+                linearSystemInfo = LinearSystemsSolver.getLinearSystemInfoResponse(
+                        LinearSystemUtils.HOMOGENEOUS_MESSAGE, LinearSystemUtils.StatusCode.HOMOGENEOUS, null,
+                        Level.INFO);
+            } else {
+                engine = LinearSystemsSolver.getEngine(structure, options, context);
+                linearSystemInfo = LinearSystemsSolver.solve(augmentedMatrix, totalRows, structure, engine, context);
+                if (options != null && options.isVerificationEnabled() && linearSystemInfo.isSolved()) {
+                    linearSystemInfo = LinearSystemsSolver.verify(augmentedMatrix, totalRows, linearSystemInfo,
+                            engine, context);
+                    engine = linearSystemInfo.getEngine() != null ? linearSystemInfo.getEngine() : engine;
+                }
+            }
+        } catch (SolverInterruptedException e) {
+            linearSystemInfo = LinearSystemsSolver.getLinearSystemInfoResponse(e.getMessage()
+                            + "(eliminated columns " + context.getEliminatedColumns() + ")",
+                    e.getStatusCode(), null, Level.INFO);
+        } catch (Exception e) {
+            //TODO Implement a custom exception and throw it and use a better logger
+            String exceptionTrace = LinearSystemUtils.getStackTrace(e);
+            LinearSystemsSolver.LOGGER.severe(exceptionTrace);
+            linearSystemInfo = LinearSystemsSolver.getLinearSystemInfoResponse(exceptionTrace,
+                    LinearSystemUtils.StatusCode.UNEXPECTED_ERROR, null, Level.SEVERE);
+        }
+        linearSystemInfo.setEngine(engine);
+        linearSystemInfo.setMetrics(context.finishMetrics());
+        return linearSystemInfo;
+    }
+
+    /**
+     * Solve the linear system with the LU factorization of its coefficient matrix (e.g. saved in the
+     * history), only the substitutions are done. The result goes through the same homogeneous check and
+     * verification as {@link #solve(BigDecimal[][], SolverOptions)}
+     *
+     * @param augmentedMatrix Augmented matrix, it is not modified
+     * @param luDecomposition Factorization of the coefficient matrix, it must not be singular
+     * @param options         Options of the solver (cancellation token, time budget and verification),
+     *                        null to use the default options
+     * @return An instance of LinearSystemInfo containing the result
+     */
+    public static LinearSystemInfo solve(final BigDecimal[][] augmentedMatrix, final LUDecomposition luDecomposition,
+                                         final SolverOptions options) {
+        int totalRows = LinearSystemUtils.getTotalRows(augmentedMatrix);
+        LinearSystemInfo linearSystemInfo;
+        if (LinearSystemsSolver.isHomogeneous(augmentedMatrix)) {
+            return LinearSystemsSolver.getLinearSystemInfoResponse(LinearSystemUtils.HOMOGENEOUS_MESSAGE,
+                    LinearSystemUtils.StatusCode.HOMOGENEOUS, null, Level.INFO);
+        }
+        linearSystemInfo = LinearSystemsSolver.getSolvedResponse(
+                luDecomposition.solve(LinearSystemsSolver.getConstants(augmentedMatrix, totalRows)));
+        if (options != null && options.isVerificationEnabled()) {
+            SolverContext context = new SolverContext(options, 2 * totalRows - 1);
+            try {
+                linearSystemInfo = LinearSystemsSolver.verify(augmentedMatrix, totalRows, linearSystemInfo, null,
+                        context);
+            } catch (SolverInterruptedException e) {
+                linearSystemInfo = LinearSystemsSolver.getLinearSystemInfoResponse(e.getMessage(),
+                        e.getStatusCode(), null, Level.INFO);
+            }
+        }
+        return linearSystemInfo;
+    }
+
+    /**
+     * Check the residual of the solution. If it is too large and other engine solved the system, it is
+     * solved again by the Gauss-Jordan elimination and the result with the smaller residual is returned
+     *
+     * @param augmentedMatrix  Augmented matrix, it is not modified
+     * @param totalRows        Total rows of augmented matrix
+     * @param linearSystemInfo Solved result of the engine
+     * @param engine           Engine that solved the system, null if it was solved with a saved factorization
+     * @param context          State of the solve
+     * @return Result of the solve, its engine is Gauss-Jordan if the elimination replaced the result
+     */
+    private static LinearSystemInfo verify(final BigDecimal[][] augmentedMatrix, final int totalRows,
+                                           final LinearSystemInfo linearSystemInfo, final SolverEngine engine,
+                                           final SolverContext context) {
+        context.startPhase();
+        boolean verified = SolutionVerifier.verify(linearSystemInfo, augmentedMatrix);
+        context.endPhase(SolverMetrics.Phase.VERIFICATION);
+        if (verified || engine == SolverEngine.GAUSS_JORDAN) {
+            return linearSystemInfo;
+        }
+        LinearSystemsSolver.LOGGER.info("The solution of " + engine + " was not verified (residual "
+                + linearSystemInfo.getResidualNorm() + "), solving it again by " + SolverEngine.GAUSS_JORDAN);
+        context.resume(0);
+        LinearSystemInfo gaussJordanInfo = LinearSystemsSolver.solveGaussJordan(
+                LinearSystemUtils.copyMatrix(augmentedMatrix), totalRows, context);
+        if (!gaussJordanInfo.isSolved()) {
+            return linearSystemInfo;
+        }
+        context.startPhase();
+        SolutionVerifier.verify(gaussJordanInfo, augmentedMatrix);
+        context.endPhase(SolverMetrics.Phase.VERIFICATION);
+        if (gaussJordanInfo.getResidualNorm() > linearSystemInfo.getResidualNorm()) {
+            return linearSystemInfo;
+        }
+        gaussJordanInfo.setEngine(SolverEngine.GAUSS_JORDAN);
+        return gaussJordanInfo;
+    }
+
+    /**
+     * Get the engine of the solve: the one chosen by the caller if it supports the structure, otherwise
+     * the cheapest one. The row operations are only recorded by the Gauss-Jordan engine so it is always
+     * used when there is a step recorder
+     *
+     * @param structure Structure of the augmented matrix
+     * @param options   Options of the solver or null
+     * @param context   State of the solve
+     * @return Engine of the solve
+     */
+    private static SolverEngine getEngine(final MatrixStructure structure, final SolverOptions options,
+                                          final SolverContext context) {
+        SolverEngine engine = options != null ? options.getEngine() : null;
+        if (context.getStepRecorder() != null) {
+            return SolverEngine.GAUSS_JORDAN;
+        }
+        if (engine != null && engine.supports(structure)) {
+            return engine;
+        }
+        return MatrixAnalyzer.chooseEngine(structure);
+    }
+
+    /**
+     * Solve the augmented matrix with the engine
+     *
+     * @param augmentedMatrix Augmented matrix, it is not modified
+     * @param totalRows       Total rows of augmented matrix
+     * @param structure       Structure of the augmented matrix
+     * @param engine          Engine of the solve
+     * @param context         State of the solve
+     * @return An instance of LinearSystemInfo containing the result
+     */
+    private static LinearSystemInfo solve(final BigDecimal[][] augmentedMatrix, final int totalRows,
+                                          final MatrixStructure structure, final SolverEngine engine,
+                                          final SolverContext context) {
+        LinearSystemInfo linearSystemInfo;
+        switch (engine) {
+            case DIAGONAL:
+                return StructuredEngines.solveDiagonal(augmentedMatrix, totalRows, context);
+            case TRIANGULAR:
+                return StructuredEngines.solveTriangular(augmentedMatrix, totalRows, structure, context);
+            case BANDED:
+                return StructuredEngines.solveBanded(LinearSystemUtils.copyMatrix(augmentedMatrix), totalRows,
+                        structure, context);
+            case BLOCK_DIAGONAL:
+                return LinearSystemsSolver.solveBlockDiagonal(augmentedMatrix, totalRows, structure, context);
+            case TOEPLITZ:
+                linearSystemInfo = ToeplitzSolver.solve(ToeplitzMatrix.fromAugmentedMatrix(augmentedMatrix),
+                        LinearSystemsSolver.getConstants(augmentedMatrix, totalRows), context);
+                break;
+            case VANDERMONDE:
+                linearSystemInfo = VandermondeSolver.solve(VandermondeSolver.getNodes(augmentedMatrix),
+                        LinearSystemsSolver.getConstants(augmentedMatrix, totalRows), context);
+                break;
+            case BLOCK_TRIANGULAR:
+                linearSystemInfo = BlockTriangularSolver.solve(augmentedMatrix, totalRows, context);
+                break;
+            case VERIFIED:
+                linearSystemInfo = IntervalEngine.solve(augmentedMatrix, totalRows, context);
+                break;
+            default:
+                linearSystemInfo = null;
+                break;
+        }
+        //The engines that can break down return null, then the Gauss-Jordan elimination solves the system
+        if (linearSystemInfo != null) {
+            return linearSystemInfo;
+        }
+        return LinearSystemsSolver.solveGaussJordan(LinearSystemUtils.copyMatrix(augmentedMatrix), totalRows,
+                context);
+    }
+
+    private static BigDecimal[] getConstants(final BigDecimal[][] augmentedMatrix, final int totalRows) {
+        BigDecimal[] constants = new BigDecimal[totalRows];
+        for (int rowIndex = 0; rowIndex < totalRows; rowIndex++) {
+            constants[rowIndex] = augmentedMatrix[rowIndex][totalRows];
+        }
+        return constants;
+    }
+
+    /**
+     * Solve the copy of the augmented matrix with the Gauss-Jordan elimination. If the solve has a
+     * checkpoint of this matrix the elimination continues from it
+     *
+     * @param matrix    Copy of the augmented matrix, it is modified
+     * @param totalRows Total rows of augmented matrix
+     * @param context   State of the solve
+     * @return An instance of LinearSystemInfo containing the result
+     */
+    private static LinearSystemInfo solveGaussJordan(final BigDecimal[][] matrix, final int totalRows,
+                                                     final SolverContext context) {
+        LinearSystemInfo linearSystemInfo;
+        int columnIndexError;
+        SolverCheckpoint checkpoint = context.getStepRecorder() == null ? context.getCheckpoint() : null;
+        SolverCheckpoint.State state = checkpoint != null ? checkpoint.start(matrix) : null;
+        int forwardStartRow = 0;
+        int backStartRow = 0;
+
+        if (context.getStepRecorder() != null) {
+            context.getStepRecorder().start(matrix);
+        }
+        if (state != null) {
+            System.arraycopy(state.getMatrix(), 0, matrix, 0, totalRows);
+            forwardStartRow = state.isBackElimination() ? totalRows : state.getNextRow();
+            backStartRow = state.isBackElimination() ? state.getNextRow() : 0;
+            context.resume(state.getEliminatedColumns());
+        }
+        try {
+            context.startPhase();
+            columnIndexError = LinearSystemsSolver.processEntriesBelowDiagonal(matrix, totalRows, forwardStartRow,
+                    checkpoint, context);
+            context.endPhase(SolverMetrics.Phase.FORWARD_ELIMINATION);
+            if (columnIndexError >= 0) {
+                if (checkpoint != null) {
+                    checkpoint.finish();
+                }
+                return LinearSystemsSolver.getZeroColumnResponse(columnIndexError, matrix);
+            }
+            context.startPhase();
+            LinearSystemsSolver.processEntriesAboveDiagonal(matrix, totalRows, backStartRow, checkpoint, context);
+            context.endPhase(SolverMetrics.Phase.BACK_ELIMINATION);
+            if (checkpoint != null) {
+                checkpoint.finish();
+            }
+            context.startPhase();
+            linearSystemInfo = LinearSystemsSolver.processFinalResults(matrix);
+            context.endPhase(SolverMetrics.Phase.RESULT_BUILDING);
+        } catch (SolverInterruptedException e) {
+            if (checkpoint != null) {
+                checkpoint.interrupted();
+            }
+            linearSystemInfo = LinearSystemsSolver.getLinearSystemInfoResponse(e.getMessage()
+                            + "(eliminated columns " + context.getEliminatedColumns() + ")",
+                    e.getStatusCode(), matrix, Level.INFO);
+        }
+
+        return linearSystemInfo;
+    }
+
+    /**
+     * Solve every independent block along the diagonal with the Gauss-Jordan elimination, only the
+     * elements of the blocks are copied
+     *
+     * @param augmentedMatrix Augmented matrix, it is not modified
+     * @param totalRows       Total rows of augmented matrix
+     * @param structure       Structure of the augmented matrix with more than one block
+     * @param context         State of the solve
+     * @return An instance of LinearSystemInfo containing the result
+     */
+    private static LinearSystemInfo solveBlockDiagonal(final BigDecimal[][] augmentedMatrix, final int totalRows,
+                                                       final MatrixStructure structure,
+                                                       final SolverContext context) {
+        BigDecimal[] solution = new BigDecimal[totalRows];
+        for (int block = 0; block < structure.getBlockCount(); block++) {
+            int blockStart = structure.getBlockStart(block);
+            int blockRows = structure.getBlockEnd(block) - blockStart;
+            BigDecimal[][] blockMatrix = new BigDecimal[blockRows][blockRows + 1];
+            for (int rowIndex = 0; rowIndex < blockRows; rowIndex++) {
+                System.arraycopy(augmentedMatrix[blockStart + rowIndex], blockStart, blockMatrix[rowIndex], 0,
+                        blockRows);
+                blockMatrix[rowIndex][blockRows] = augmentedMatrix[blockStart + rowIndex][totalRows];
+            }
+            int columnIndexError = LinearSystemsSolver.solveBlock(blockMatrix, blockRows, context);
+            if (columnIndexError >= 0) {
+                return LinearSystemsSolver.getZeroColumnResponse(blockStart + columnIndexError, null);
+            }
+            for (int rowIndex = 0; rowIndex < blockRows; rowIndex++) {
+                solution[blockStart + rowIndex] = blockMatrix[rowIndex][blockRows];
+            }
+        }
+        return LinearSystemsSolver.getSolvedResponse(solution);
+    }
+
+    /**
+     * Gauss-Jordan elimination of a block of the matrix, the solution is left in its last column
+     *
+     * @param blockMatrix Augmented matrix of the block, it is modified
+     * @param blockRows   Total rows of the block
+     * @param context     State of the solve
+     * @return -1 if the block was solved otherwise the column index (of the block) where the elimination
+     * cannot continue
+     */
+    static int solveBlock(final BigDecimal[][] blockMatrix, final int blockRows, final SolverContext context) {
+        context.startPhase();
+        int columnIndexError = LinearSystemsSolver.processEntriesBelowDiagonal(blockMatrix, blockRows, 0, null,
+                context);
+        context.endPhase(SolverMetrics.Phase.FORWARD_ELIMINATION);
+        if (columnIndexError >= 0) {
+            return columnIndexError;
+        }
+        context.startPhase();
+        LinearSystemsSolver.processEntriesAboveDiagonal(blockMatrix, blockRows, 0, null, context);
+        context.endPhase(SolverMetrics.Phase.BACK_ELIMINATION);
+        return -1;
+    }
+
+    /**
+     * Process all the elements below the diagonal
+     *
+     * @param matrix     Augmented matrix
+     * @param totalRows  Total rows of augmented matrix
+     * @param startRow   First row to process, greater than zero if the solve continues from a checkpoint
+     * @param checkpoint Checkpoint of the solve or null
+     * @param context    State of the solve
+     * @return Return -1 if the process finish OK otherwise return the column index where the process cannot continue
+     */
+    private static int processEntriesBelowDiagonal(BigDecimal[][] matrix, int totalRows, final int startRow,
+                                                   final SolverCheckpoint checkpoint, final SolverContext context) {
+        int columnIndexError = -1;
+        int columnIndex = startRow;
+        boolean ifRowSwapped;
+        for (int rowIndex = startRow; rowIndex < totalRows; rowIndex++) {
+            context.checkInterrupted();
+            ifRowSwapped = LinearSystemsSolver.swapRowsIfNeeded(matrix, rowIndex, columnIndex, context);
+            if (!ifRowSwapped) {
+                columnIndexError = columnIndex;
+                break;
+            }
+            LinearSystemsSolver.makeOneZeroBelowRow(matrix, totalRows, rowIndex, columnIndex, context);
+            context.columnEliminated();
+            if (checkpoint != null) {
+                checkpoint.columnEliminated(matrix, false, rowIndex + 1, context.getEliminatedColumns());
+            }
+            columnIndex++;
+        }
+        return columnIndexError;
+    }
+
+    /**
+     * If the element in the diagonal is zero tries to swap the rows
+     *
+     * @param matrix      Augmented matrix
+     * @param rowIndex    Row index of the element in the diagonal
+     * @param columnIndex Column index of the element in the diagonal
+     * @param context     State of the solve
+     * @return True if swapped succeed or there was not needed to swap rows
+     */
+    private static boolean swapRowsIfNeeded(BigDecimal[][] matrix, int rowIndex, int columnIndex,
+                                            final SolverContext context) {
+        BigDecimal diagonalEntry;
+        boolean ifRowSwapped = true;
+        diagonalEntry = matrix[rowIndex][columnIndex];
+        if (diagonalEntry.doubleValue() == 0) {
+            ifRowSwapped = LinearSystemsSolver.swapRows(matrix, rowIndex, rowIndex, context);
+        }
+        return ifRowSwapped;
+    }
+
+    /**
+     * Process all the elements above the diagonal
+     *
+     * @param matrix     Augmented matrix
+     * @param totalRows  Total rows of augmented matrix
+     * @param startRow   First row to process, greater than zero if the solve continues from a checkpoint
+     * @param checkpoint Checkpoint of the solve or null
+     * @param context    State of the solve
+     */
+    private static void processEntriesAboveDiagonal(BigDecimal[][] matrix, int totalRows, final int startRow,
+                                                    final SolverCheckpoint checkpoint, final SolverContext context) {
+        int columnIndex = startRow + 1;
+        for (int rowIndex = startRow; rowIndex < totalRows - 1; rowIndex++) {
+            context.checkInterrupted();
+            LinearSystemsSolver.makeZeroAboveRow(matrix, rowIndex, columnIndex, context);
+            context.columnEliminated();
+            if (checkpoint != null) {
+                checkpoint.columnEliminated(matrix, true, rowIndex + 1, context.getEliminatedColumns());
+            }
+            columnIndex++;
+        }
+    }
+
+    /**
+     * Create a new instance if LinearSystemInfo containing the information provided in the parameters
+     *
+     * @param message    Message to log
+     * @param statusCode Status Code
+     * @param matrix     Augmented matrix (if not required send null)
+     * @return Instance  of LinearSystemInfo
+     */
+    static LinearSystemInfo getLinearSystemInfoResponse(
+            final String message,
+            final LinearSystemUtils.StatusCode statusCode, final BigDecimal[][] matrix,
+            final Level level) {
+        LinearSystemInfo linearSystemInfo = new LinearSystemInfo();
+        LinearSystemsSolver.logMessage(message, level);
+        linearSystemInfo.setStatusCode(statusCode.getStatusCodeVal());
+        // To see partial row echelon form
+        if (matrix != null) {
+            linearSystemInfo.setMatrix(matrix);
+        }
+        return linearSystemInfo;
+    }
+
+    /**
+     * Create the response of a system that cannot be solved because the column has no pivot
+     *
+     * @param columnIndex Column index where the process cannot continue
+     * @param matrix      Augmented matrix reached (if not required send null)
+     * @return Instance  of LinearSystemInfo
+     */
+    static LinearSystemInfo getZeroColumnResponse(final int columnIndex, final BigDecimal[][] matrix) {
+        return LinearSystemsSolver.getLinearSystemInfoResponse(LinearSystemUtils.ZERO_COLUMN_MESSAGE
+                        + "(column index " + columnIndex + ")",
+                LinearSystemUtils.StatusCode.ZERO_COLUMN, matrix, Level.INFO);
+    }
+
+    /**
+     * Create the response of a solved system
+     *
+     * @param solution Solution of the system
+     * @return Instance  of LinearSystemInfo
+     */
+    static LinearSystemInfo getSolvedResponse(final BigDecimal[] solution) {
+        LinearSystemInfo linearSystemInfo = LinearSystemsSolver.getLinearSystemInfoResponse(
+                LinearSystemUtils.SYSTEM_WAS_SOLVED_MESSAGE, LinearSystemUtils.StatusCode.SOLVED, null, Level.INFO);
+        linearSystemInfo.setSolution(solution);
+        return linearSystemInfo;
+    }
+
+    /**
+     * Set the final result of the solve method
+     *
+     * @param matrix Augmented matrix
+     */
+    private static LinearSystemInfo processFinalResults(final BigDecimal[][] matrix) {
+        int lastColumnIndex = LinearSystemUtils.getLastColumnIndex(matrix);
+        int totalRows = LinearSystemUtils.getTotalRows(matrix);
+        BigDecimal[] solution = new BigDecimal[totalRows];
+        for (int rowIndex = 0; rowIndex < totalRows; rowIndex++) {
+            solution[rowIndex] = matrix[rowIndex][lastColumnIndex];
+        }
+        return LinearSystemsSolver.getSolvedResponse(solution);
+    }
+
+    /**
+     * Make "one" on the diagonal element and make "zeros" below the diagonal
+     * element
+     *
+     * @param matrix      Augmented matrix
+     * @param totalRows   Total rows in the matrix
+     * @param rowIndex    Row index of the element in the diagonal
+     * @param columnIndex Column index of the element in the diagonal
+     * @param context     State of the solve
+     */
+    private static void makeOneZeroBelowRow(final BigDecimal[][] matrix, final int totalRows,
+                                            final int rowIndex,
+                                            final int columnIndex, final SolverContext context) {
+        BigDecimal diagonalEntry = matrix[rowIndex][columnIndex];
+        if (diagonalEntry.doubleValue() != 1) {
+            LinearSystemsSolver.makeOneInRow(matrix, rowIndex, columnIndex, context);
+        }
+        if (rowIndex < totalRows) {
+            LinearSystemsSolver.makeZeroBelowRow(matrix, rowIndex, columnIndex, context);
+        }
+    }
+
+    /**
+     * Verify it the matrix is homogeneous
+     *
+     * @param matrix Augmented matrix
+     * @return true is it is homogeneous
+     */
+    public static boolean isHomogeneous(final BigDecimal[][] matrix) {
+        int totalRows = LinearSystemUtils.getTotalRows(matrix);
+        int lastColumnIndex = LinearSystemUtils.getLastColumnIndex(matrix);
+        int zeroCounter = 0;
+
+        for (int rowIndex = 0; rowIndex < totalRows; rowIndex++) {
+            if (matrix[rowIndex][lastColumnIndex].doubleValue() == 0)
+                zeroCounter++;
+        }
+        return zeroCounter == totalRows;
+    }
+
+    /**
+     * Swap rows if the element in the diagonal is zero
+     *
+     * @param matrix       Augmented matrix
+     * @param rowIndexFrom Row index where change should happen
+     * @param colIndex     Column index where leading entry verification must be
+     *                     done
+     * @param context      State of the solve
+     * @return true if the interchange was applied
+     */
+    private static boolean swapRows(BigDecimal[][] matrix, final int rowIndexFrom, final int colIndex,
+                                    final SolverContext context) {
+        int rowIndexTo = rowIndexFrom + 1;
+        int totalRowsIndex = LinearSystemUtils.getTotalRows(matrix) - 1;
+        BigDecimal diagonalEntry;
+
+        while (rowIndexTo <= totalRowsIndex && (diagonalEntry = matrix[rowIndexTo][colIndex]).doubleValue() == 0) {
+            if (diagonalEntry.doubleValue() > 0) {
+                LinearSystemsSolver.swapRowsTo(matrix, rowIndexFrom, rowIndexTo, context);
+                return true;
+            }
+            rowIndexTo++;
+        }
+        return false;
+    }
+
+    /**
+     * Swap rows from @rowIndexFrom to @rowIndexTo
+     *
+     * @param matrix       Augmented matrix
+     * @param rowIndexFrom Row index from
+     * @param rowIndexTo   Row index to
+     * @param context      State of the solve
+     */
+    private static void swapRowsTo(BigDecimal[][] matrix, final int rowIndexFrom, final int rowIndexTo,
+                                   final SolverContext context) {
+        int lastColumnIndexTo = LinearSystemUtils.getLastColumnIndex(matrix) + 1;
+        BigDecimal[] rowToReplace = Arrays.copyOfRange(matrix[rowIndexFrom], 0, lastColumnIndexTo);
+        BigDecimal[] newRow = Arrays.copyOfRange(matrix[rowIndexTo], 0, lastColumnIndexTo);
+
+        matrix[rowIndexFrom] = newRow;
+        matrix[rowIndexTo] = rowToReplace;
+        if (context.getMetrics() != null) {
+            context.getMetrics().rowSwapped();
+        }
+        if (context.getStepRecorder() != null) {
+            context.getStepRecorder().recordSwap(rowIndexFrom, rowIndexTo);
+        }
+    }
+
+    /**
+     * Make "one" on the diagonal element
+     *
+     * @param matrix           Augmented matrix
+     * @param rowIndex         Row index of the element in the diagonal
+     * @param startIndexColumn Column index of the element in the diagonal
+     * @param context          State of the solve
+     */
+    private static void makeOneInRow(BigDecimal[][] matrix, final int rowIndex, final int startIndexColumn,
+                                     final SolverContext context) {
+        int lastColumnIndex = LinearSystemUtils.getLastColumnIndex(matrix);
+        BigDecimal pivot = matrix[rowIndex][startIndexColumn];
+        SolverMetrics metrics = context.getMetrics();
+
+        for (int columnIndex = startIndexColumn; columnIndex <= lastColumnIndex; columnIndex++) {
+            matrix[rowIndex][columnIndex] = matrix[rowIndex][columnIndex].divide(pivot, LinearSystemUtils.SCALE,
+                    RoundingMode.HALF_UP);
+            if (metrics != null) {
+                metrics.recordPrecision(matrix[rowIndex][columnIndex]);
+            }
+        }
+        if (metrics != null) {
+            metrics.addDivisions(lastColumnIndex - startIndexColumn + 1);
+        }
+        if (context.getStepRecorder() != null) {
+            context.getStepRecorder().recordScale(rowIndex, startIndexColumn, pivot);
+        }
+    }
+
+    /**
+     * Make "zeros" below the diagonal element
+     *
+     * @param matrix           Augmented matrix
+     * @param rowIndex         Row index of the element in the diagonal
+     * @param startIndexColumn Column index of the element in the diagonal
+     * @param context          State of the solve
+     */
+    private static void makeZeroBelowRow(BigDecimal[][] matrix, final int rowIndex, final int startIndexColumn,
+                                         final SolverContext context) {
+        int totalRowsIndex = LinearSystemUtils.getTotalRows(matrix) - 1;
+        int nextRowIndexStart = rowIndex + 1;
+
+        LinearSystemsSolver.makeZeroAboveBelowRow(matrix, rowIndex, startIndexColumn, nextRowIndexStart,
+                totalRowsIndex, false, context);
+    }
+
+    /**
+     * Make "zeros" above the diagonal element
+     *
+     * @param matrix           Augmented matrix
+     * @param rowIndex         Row index of the element in the diagonal
+     * @param startIndexColumn Column index of the element in the diagonal
+     * @param context          State of the solve
+     */
+    private static void makeZeroAboveRow(BigDecimal[][] matrix, final int rowIndex, final int startIndexColumn,
+                                         final SolverContext context) {
+        int nextRowIndexStart = 0;
+        LinearSystemsSolver.makeZeroAboveBelowRow(matrix, rowIndex, startIndexColumn, nextRowIndexStart, rowIndex,
+                true, context);
+    }
+
+    /**
+     * Make "zeros" below/above the diagonal element
+     *
+     * @param matrix            Augmented matrix
+     * @param rowIndex          Row index of the element in the diagonal
+     * @param startIndexColumn  Column index of the element in the diagonal
+     * @param nextRowIndexStart Row index where iteration start
+     * @param maxRowIndex       Maximum index row to iterate
+     * @param makeZeroAbove     true if comes from makeZeroAboveRow(...) method
+     * @param context           State of the solve
+     */
+    private static void makeZeroAboveBelowRow(BigDecimal[][] matrix, final int rowIndex,
+                                              final int startIndexColumn, final int nextRowIndexStart,
+                                              final int maxRowIndex, final boolean makeZeroAbove,
+                                              final SolverContext context) {
+        int lastColumnIndex = LinearSystemUtils.getLastColumnIndex(matrix);
+        int additionalIndexValue = makeZeroAbove ? 1 : 0;
+        BigDecimal pivot;
+        SolverMetrics metrics = context.getMetrics();
+        EliminationStepRecorder stepRecorder = context.getStepRecorder();
+
+        BigDecimal[] pivotRow = matrix[rowIndex + additionalIndexValue];
+        BigDecimal[] row;
+
+        for (int nextRowIndex = nextRowIndexStart; nextRowIndex <= maxRowIndex; nextRowIndex++) {
+            row = matrix[nextRowIndex];
+            pivot = row[startIndexColumn];
+            if (pivot.signum() != 0) {
+                for (int columnIndex = startIndexColumn; columnIndex <= lastColumnIndex; columnIndex++) {
+                    //A zero of the pivot row leaves the element as it is, no BigDecimal is allocated
+                    if (pivotRow[columnIndex].signum() == 0) {
+                        continue;
+                    }
+                    row[columnIndex] = row[columnIndex].subtract(pivot.multiply(pivotRow[columnIndex]));
+                    if (metrics != null) {
+                        metrics.recordPrecision(row[columnIndex]);
+                    }
+                }
+                if (metrics != null) {
+                    metrics.addMultiplySubtract(lastColumnIndex - startIndexColumn + 1);
+                }
+                if (stepRecorder != null) {
+                    stepRecorder.recordSubtractMultiple(nextRowIndex, rowIndex + additionalIndexValue,
+                            startIndexColumn, pivot);
+                }
+            }
+        }
+    }
+
+    private static void logMessage(final String message, final Level level) {
+        LinearSystemsSolver.LOGGER.log(level, message);
+    }
+}
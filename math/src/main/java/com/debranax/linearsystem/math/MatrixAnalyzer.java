@@ -0,0 +1,139 @@
+package com.debranax.linearsystem.math;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Single pass over the augmented matrix that finds the properties used to choose the cheapest engine
+ * of the solver. Only the non-zero elements do more work than a sign test.
+ */
+public class MatrixAnalyzer {
+    /** The banded engine is chosen only when the band is at most this fraction of the unknowns */
+    private static final int BAND_RATIO = 4;
+    /** The block triangular engine is chosen only when the density of the matrix is at most this value */
+    private static final double BLOCK_TRIANGULAR_DENSITY = 0.25d;
+
+    /**
+     * Analyze the augmented matrix (n x n+1)
+     * @param augmentedMatrix Augmented matrix
+     * @return Structure of the matrix
+     */
+    public static MatrixStructure analyze(final BigDecimal[][] augmentedMatrix) {
+        int unknowns = LinearSystemUtils.getTotalRows(augmentedMatrix);
+        boolean homogeneous = true;
+        boolean symmetric = true;
+        boolean diagonallyDominant = true;
+        boolean integerOnly = true;
+        boolean toeplitz = true;
+        boolean vandermonde = true;
+        long nonZeros = 0;
+        int lowerBandwidth = 0;
+        int upperBandwidth = 0;
+        //Last column with a non-zero of every row and last row with a non-zero of every column
+        int[] lastColumns = new int[unknowns];
+        int[] lastRows = new int[unknowns];
+        Arrays.fill(lastRows, -1);
+
+        for (int rowIndex = 0; rowIndex < unknowns; rowIndex++) {
+            BigDecimal[] row = augmentedMatrix[rowIndex];
+            BigDecimal offDiagonalSum = BigDecimal.ZERO;
+            lastColumns[rowIndex] = -1;
+            vandermonde = vandermonde && row[0].compareTo(BigDecimal.ONE) == 0;
+            if (row[unknowns].signum() != 0) {
+                homogeneous = false;
+                integerOnly = integerOnly && MatrixAnalyzer.isInteger(row[unknowns]);
+            }
+            for (int columnIndex = 0; columnIndex < unknowns; columnIndex++) {
+                BigDecimal value = row[columnIndex];
+                if (symmetric && columnIndex < rowIndex
+                        && value.compareTo(augmentedMatrix[columnIndex][rowIndex]) != 0) {
+                    symmetric = false;
+                }
+                if (toeplitz && rowIndex > 0 && columnIndex > 0
+                        && value.compareTo(augmentedMatrix[rowIndex - 1][columnIndex - 1]) != 0) {
+                    toeplitz = false;
+                }
+                //The powers are only multiplied while the rows match, the first mismatch ends the test
+                if (vandermonde && columnIndex > 1
+                        && value.compareTo(row[columnIndex - 1].multiply(row[1])) != 0) {
+                    vandermonde = false;
+                }
+                if (value.signum() == 0) {
+                    continue;
+                }
+                nonZeros++;
+                lastColumns[rowIndex] = columnIndex;
+                lastRows[columnIndex] = rowIndex;
+                if (columnIndex < rowIndex) {
+                    lowerBandwidth = Math.max(lowerBandwidth, rowIndex - columnIndex);
+                } else if (columnIndex > rowIndex) {
+                    upperBandwidth = Math.max(upperBandwidth, columnIndex - rowIndex);
+                }
+                if (diagonallyDominant && columnIndex != rowIndex) {
+                    offDiagonalSum = offDiagonalSum.add(value.abs());
+                }
+                integerOnly = integerOnly && MatrixAnalyzer.isInteger(value);
+            }
+            diagonallyDominant = diagonallyDominant && row[rowIndex].abs().compareTo(offDiagonalSum) > 0;
+        }
+        return new MatrixStructure(unknowns, homogeneous && nonZeros == 0, homogeneous, nonZeros,
+                lowerBandwidth, upperBandwidth, symmetric, diagonallyDominant, integerOnly, toeplitz,
+                vandermonde, MatrixAnalyzer.getBlockStarts(lastColumns, lastRows));
+    }
+
+    /**
+     * Choose the cheapest engine that solves a matrix with the structure
+     * @param structure Structure of the augmented matrix
+     * @return Engine of the solver
+     */
+    public static SolverEngine chooseEngine(final MatrixStructure structure) {
+        if (structure.isDiagonal()) {
+            return SolverEngine.DIAGONAL;
+        }
+        if (structure.isUpperTriangular() || structure.isLowerTriangular()) {
+            return SolverEngine.TRIANGULAR;
+        }
+        if (structure.getBlockCount() > 1) {
+            return SolverEngine.BLOCK_DIAGONAL;
+        }
+        if (structure.isDiagonallyDominant() && (structure.getLowerBandwidth() + structure.getUpperBandwidth() + 1)
+                * BAND_RATIO <= structure.getUnknowns()) {
+            return SolverEngine.BANDED;
+        }
+        //The Levinson recursion does not pivot, a diagonally dominant matrix keeps every leading minor away from zero
+        if (structure.isToeplitz() && structure.isDiagonallyDominant()) {
+            return SolverEngine.TOEPLITZ;
+        }
+        if (structure.isVandermonde()) {
+            return SolverEngine.VANDERMONDE;
+        }
+        if (structure.getUnknowns() > 1 && structure.getDensity() <= BLOCK_TRIANGULAR_DENSITY) {
+            return SolverEngine.BLOCK_TRIANGULAR;
+        }
+        return SolverEngine.GAUSS_JORDAN;
+    }
+
+    /**
+     * A block ends in the row k when no row up to k has a non-zero after the column k and no column up
+     * to k has a non-zero after the row k
+     * @param lastColumns Last column with a non-zero of every row
+     * @param lastRows Last row with a non-zero of every column
+     * @return First row of every block
+     */
+    private static int[] getBlockStarts(final int[] lastColumns, final int[] lastRows) {
+        int[] blockStarts = new int[lastColumns.length];
+        int totalBlocks = 0;
+        int reach = 0;
+        for (int index = 0; index < lastColumns.length; index++) {
+            if (index == 0 || reach < index) {
+                blockStarts[totalBlocks++] = index;
+            }
+            reach = Math.max(reach, Math.max(lastColumns[index], lastRows[index]));
+        }
+        return Arrays.copyOf(blockStarts, totalBlocks);
+    }
+
+    private static boolean isInteger(final BigDecimal value) {
+        return value.scale() <= 0 || value.stripTrailingZeros().scale() <= 0;
+    }
+}
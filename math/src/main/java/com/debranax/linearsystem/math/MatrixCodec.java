@@ -0,0 +1,677 @@
+package com.debranax.linearsystem.math;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+
+/**
+ * Compact binary encoding of BigDecimal vectors and matrices: every number is written as its scale
+ * (zigzag varint) followed by the bytes of the unscaled value (varint length + two's complement bytes).
+ * The delta encoding writes every number as the difference with the previous one (scale and unscaled
+ * value) so the values captured by the user (small integers and short decimals) use one or two bytes.
+ */
+public class MatrixCodec {
+    /**
+     * Version of {@link #encode(LinearSystemInfo)}, it changes whenever a field is added or removed
+     */
+    public static final int ENCODING_VERSION = 2;
+    private static final int NULL_LENGTH = -1;
+    private static final int MAX_DELTA_BITS = 62;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final int DOUBLE_BYTES = 8;
+
+    /**
+     * Encode all the fields of the LinearSystemInfo, the first byte is the version of the encoding
+     * ({@link #ENCODING_VERSION})
+     * @param linearSystemInfo Instance to encode
+     * @return Encoded bytes
+     */
+    public static byte[] encode(final LinearSystemInfo linearSystemInfo) {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(
+                MatrixCodec.getEncodedSize(linearSystemInfo));
+        DataOutputStream dataOutputStream = new DataOutputStream(byteArrayOutputStream);
+        try {
+            MatrixCodec.encode(dataOutputStream, linearSystemInfo);
+            dataOutputStream.flush();
+        } catch (IOException e) {
+            //ByteArrayOutputStream does not throw IOException
+            throw new IllegalStateException(e);
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    /**
+     * Encode all the fields of the LinearSystemInfo in the output, see {@link #encode(LinearSystemInfo)}
+     * @param output Output where the fields are written, {@link #getEncodedSize(LinearSystemInfo)} bytes
+     * @param linearSystemInfo Instance to encode
+     * @throws IOException If the output fails
+     */
+    public static void encode(final DataOutput output, final LinearSystemInfo linearSystemInfo) throws IOException {
+        output.writeByte(ENCODING_VERSION);
+        MatrixCodec.writeVarInt(output, MatrixCodec.zigZag(linearSystemInfo.getStatusCode()));
+        MatrixCodec.writeString(output, linearSystemInfo.getAdditionalInfo().toString());
+        MatrixCodec.writeVector(output, linearSystemInfo.getSolution());
+        MatrixCodec.writeMatrix(output, linearSystemInfo.getMatrix());
+        output.writeBoolean(linearSystemInfo.isVerified());
+        output.writeDouble(linearSystemInfo.getResidualNorm());
+        MatrixCodec.writeVector(output, linearSystemInfo.getImaginarySolution());
+        MatrixCodec.writeString(output, MatrixCodec.getEngineName(linearSystemInfo));
+        MatrixCodec.writeMetrics(output, linearSystemInfo.getMetrics());
+        MatrixCodec.writeDoubles(output, linearSystemInfo.getLowerBounds());
+        MatrixCodec.writeDoubles(output, linearSystemInfo.getUpperBounds());
+        MatrixCodec.writeDoubles(output, linearSystemInfo.getResidualReductions());
+    }
+
+    /**
+     * Size of the encoding without encoding it, so the output (e.g. shared memory) is allocated once
+     * @param linearSystemInfo Instance to encode
+     * @return Bytes written by {@link #encode(DataOutput, LinearSystemInfo)}
+     */
+    public static int getEncodedSize(final LinearSystemInfo linearSystemInfo) {
+        return 1 + MatrixCodec.getVarIntSize(MatrixCodec.zigZag(linearSystemInfo.getStatusCode()))
+                + MatrixCodec.getStringSize(linearSystemInfo.getAdditionalInfo().toString())
+                + MatrixCodec.getVectorSize(linearSystemInfo.getSolution())
+                + MatrixCodec.getMatrixSize(linearSystemInfo.getMatrix())
+                + 1 + DOUBLE_BYTES
+                + MatrixCodec.getVectorSize(linearSystemInfo.getImaginarySolution())
+                + MatrixCodec.getStringSize(MatrixCodec.getEngineName(linearSystemInfo))
+                + MatrixCodec.getMetricsSize(linearSystemInfo.getMetrics())
+                + MatrixCodec.getDoublesSize(linearSystemInfo.getLowerBounds())
+                + MatrixCodec.getDoublesSize(linearSystemInfo.getUpperBounds())
+                + MatrixCodec.getDoublesSize(linearSystemInfo.getResidualReductions());
+    }
+
+    private static String getEngineName(final LinearSystemInfo linearSystemInfo) {
+        SolverEngine engine = linearSystemInfo.getEngine();
+        return engine != null ? engine.name() : "";
+    }
+
+    /**
+     * Decode an instance of LinearSystemInfo encoded with {@link #encode(LinearSystemInfo)}
+     * @param bytes Encoded bytes
+     * @return Decoded instance
+     * @throws IOException If the bytes are not a valid encoding
+     */
+    public static LinearSystemInfo decode(final byte[] bytes) throws IOException {
+        return MatrixCodec.decode(new ByteArrayInputStream(bytes));
+    }
+
+    /**
+     * Decode an instance of LinearSystemInfo encoded with {@link #encode(LinearSystemInfo)}
+     * @param inputStream Input with the encoded bytes
+     * @return Decoded instance
+     * @throws IOException If the bytes are not a valid encoding or their version is not supported
+     */
+    public static LinearSystemInfo decode(final InputStream inputStream) throws IOException {
+        DataInputStream dataInputStream = new DataInputStream(inputStream);
+        int version = dataInputStream.readUnsignedByte();
+        if (version != ENCODING_VERSION) {
+            throw new IOException("Unsupported encoding version " + version);
+        }
+        LinearSystemInfo linearSystemInfo = new LinearSystemInfo();
+        linearSystemInfo.setStatusCode(MatrixCodec.unZigZag(MatrixCodec.readVarInt(dataInputStream)));
+        linearSystemInfo.appendAdditionalInfo(MatrixCodec.readString(dataInputStream));
+        linearSystemInfo.setSolution(MatrixCodec.readVector(dataInputStream));
+        linearSystemInfo.setMatrix(MatrixCodec.readMatrix(dataInputStream));
+        linearSystemInfo.setVerified(dataInputStream.readBoolean());
+        linearSystemInfo.setResidualNorm(dataInputStream.readDouble());
+        linearSystemInfo.setImaginarySolution(MatrixCodec.readVector(dataInputStream));
+        String engine = MatrixCodec.readString(dataInputStream);
+        if (!engine.isEmpty()) {
+            try {
+                linearSystemInfo.setEngine(SolverEngine.valueOf(engine));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Unknown engine " + engine, e);
+            }
+        }
+        linearSystemInfo.setMetrics(MatrixCodec.readMetrics(dataInputStream));
+        double[] lowerBounds = MatrixCodec.readDoubles(dataInputStream);
+        linearSystemInfo.setEnclosure(lowerBounds, MatrixCodec.readDoubles(dataInputStream));
+        linearSystemInfo.setResidualReductions(MatrixCodec.readDoubles(dataInputStream));
+        return linearSystemInfo;
+    }
+
+    /**
+     * Write the metrics of a solve, null is allowed
+     * @param output Output where the metrics are written
+     * @param metrics Metrics to write
+     * @throws IOException If the output fails
+     */
+    private static void writeMetrics(final DataOutput output, final SolverMetrics metrics) throws IOException {
+        output.writeBoolean(metrics != null);
+        if (metrics == null) {
+            return;
+        }
+        SolverMetrics.Phase[] phases = SolverMetrics.Phase.values();
+        MatrixCodec.writeVarInt(output, phases.length);
+        for (SolverMetrics.Phase phase : phases) {
+            MatrixCodec.writeVarLong(output, metrics.getPhaseNanos(phase));
+        }
+        MatrixCodec.writeVarLong(output, metrics.getRowSwaps());
+        MatrixCodec.writeVarLong(output, metrics.getDivisions());
+        MatrixCodec.writeVarLong(output, metrics.getMultiplications());
+        MatrixCodec.writeVarLong(output, metrics.getSubtractions());
+        MatrixCodec.writeVarInt(output, metrics.getMaxPrecision());
+        MatrixCodec.writeVarLong(output, MatrixCodec.zigZag(metrics.getAllocatedBytes()));
+    }
+
+    private static int getMetricsSize(final SolverMetrics metrics) {
+        if (metrics == null) {
+            return 1;
+        }
+        SolverMetrics.Phase[] phases = SolverMetrics.Phase.values();
+        int size = 1 + MatrixCodec.getVarIntSize(phases.length);
+        for (SolverMetrics.Phase phase : phases) {
+            size += MatrixCodec.getVarLongSize(metrics.getPhaseNanos(phase));
+        }
+        return size + MatrixCodec.getVarLongSize(metrics.getRowSwaps())
+                + MatrixCodec.getVarLongSize(metrics.getDivisions())
+                + MatrixCodec.getVarLongSize(metrics.getMultiplications())
+                + MatrixCodec.getVarLongSize(metrics.getSubtractions())
+                + MatrixCodec.getVarIntSize(metrics.getMaxPrecision())
+                + MatrixCodec.getVarLongSize(MatrixCodec.zigZag(metrics.getAllocatedBytes()));
+    }
+
+    /**
+     * Read the metrics written with {@link #writeMetrics(DataOutput, SolverMetrics)}
+     * @param input Input where the metrics are read
+     * @return Metrics read or null
+     * @throws IOException If the input fails or the phases do not match
+     */
+    private static SolverMetrics readMetrics(final DataInput input) throws IOException {
+        if (!input.readBoolean()) {
+            return null;
+        }
+        SolverMetrics.Phase[] phases = SolverMetrics.Phase.values();
+        if (MatrixCodec.readVarInt(input) != phases.length) {
+            throw new IOException("The phases of the metrics do not match");
+        }
+        SolverMetrics metrics = new SolverMetrics();
+        for (SolverMetrics.Phase phase : phases) {
+            metrics.addPhaseNanos(phase, MatrixCodec.readVarLong(input));
+        }
+        metrics.setOperations(MatrixCodec.readVarLong(input), MatrixCodec.readVarLong(input),
+                MatrixCodec.readVarLong(input), MatrixCodec.readVarLong(input), MatrixCodec.readVarInt(input));
+        metrics.setAllocatedBytes(MatrixCodec.unZigZag(MatrixCodec.readVarLong(input)));
+        return metrics;
+    }
+
+    /**
+     * Write an array of doubles, null is allowed
+     * @param output Output where the array is written
+     * @param values Array to write
+     * @throws IOException If the output fails
+     */
+    private static void writeDoubles(final DataOutput output, final double[] values) throws IOException {
+        if (values == null) {
+            MatrixCodec.writeVarInt(output, MatrixCodec.zigZag(NULL_LENGTH));
+            return;
+        }
+        MatrixCodec.writeVarInt(output, MatrixCodec.zigZag(values.length));
+        for (double value : values) {
+            output.writeDouble(value);
+        }
+    }
+
+    private static int getDoublesSize(final double[] values) {
+        if (values == null) {
+            return MatrixCodec.getVarIntSize(MatrixCodec.zigZag(NULL_LENGTH));
+        }
+        return MatrixCodec.getVarIntSize(MatrixCodec.zigZag(values.length)) + values.length * DOUBLE_BYTES;
+    }
+
+    /**
+     * Read an array written with {@link #writeDoubles(DataOutput, double[])}
+     * @param input Input where the array is read
+     * @return Array read or null
+     * @throws IOException If the input fails
+     */
+    private static double[] readDoubles(final DataInput input) throws IOException {
+        int length = MatrixCodec.unZigZag(MatrixCodec.readVarInt(input));
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        double[] values = new double[length];
+        for (int index = 0; index < length; index++) {
+            values[index] = input.readDouble();
+        }
+        return values;
+    }
+
+    /**
+     * Write a matrix (rows can have different length), null is allowed
+     * @param output Output where the matrix is written
+     * @param matrix Matrix to write
+     * @throws IOException If the output fails
+     */
+    public static void writeMatrix(final DataOutput output, final BigDecimal[][] matrix) throws IOException {
+        if (matrix == null) {
+            MatrixCodec.writeVarInt(output, MatrixCodec.zigZag(NULL_LENGTH));
+            return;
+        }
+        MatrixCodec.writeVarInt(output, MatrixCodec.zigZag(matrix.length));
+        for (BigDecimal[] row : matrix) {
+            MatrixCodec.writeVector(output, row);
+        }
+    }
+
+    /**
+     * @param matrix Matrix to write, null is allowed
+     * @return Bytes written by {@link #writeMatrix(DataOutput, BigDecimal[][])}
+     */
+    public static int getMatrixSize(final BigDecimal[][] matrix) {
+        if (matrix == null) {
+            return MatrixCodec.getVarIntSize(MatrixCodec.zigZag(NULL_LENGTH));
+        }
+        int size = MatrixCodec.getVarIntSize(MatrixCodec.zigZag(matrix.length));
+        for (BigDecimal[] row : matrix) {
+            size += MatrixCodec.getVectorSize(row);
+        }
+        return size;
+    }
+
+    /**
+     * Read a matrix written with {@link #writeMatrix(DataOutput, BigDecimal[][])}
+     * @param input Input where the matrix is read
+     * @return Matrix read or null
+     * @throws IOException If the input fails
+     */
+    public static BigDecimal[][] readMatrix(final DataInput input) throws IOException {
+        int totalRows = MatrixCodec.unZigZag(MatrixCodec.readVarInt(input));
+        if (totalRows == NULL_LENGTH) {
+            return null;
+        }
+        BigDecimal[][] matrix = new BigDecimal[totalRows][];
+        for (int rowIndex = 0; rowIndex < totalRows; rowIndex++) {
+            matrix[rowIndex] = MatrixCodec.readVector(input);
+        }
+        return matrix;
+    }
+
+    /**
+     * Write a vector, null is allowed
+     * @param output Output where the vector is written
+     * @param vector Vector to write
+     * @throws IOException If the output fails
+     */
+    public static void writeVector(final DataOutput output, final BigDecimal[] vector) throws IOException {
+        if (vector == null) {
+            MatrixCodec.writeVarInt(output, MatrixCodec.zigZag(NULL_LENGTH));
+            return;
+        }
+        MatrixCodec.writeVarInt(output, MatrixCodec.zigZag(vector.length));
+        for (BigDecimal value : vector) {
+            MatrixCodec.writeBigDecimal(output, value);
+        }
+    }
+
+    /**
+     * @param vector Vector to write, null is allowed
+     * @return Bytes written by {@link #writeVector(DataOutput, BigDecimal[])}
+     */
+    public static int getVectorSize(final BigDecimal[] vector) {
+        if (vector == null) {
+            return MatrixCodec.getVarIntSize(MatrixCodec.zigZag(NULL_LENGTH));
+        }
+        int size = MatrixCodec.getVarIntSize(MatrixCodec.zigZag(vector.length));
+        for (BigDecimal value : vector) {
+            size += MatrixCodec.getBigDecimalSize(value);
+        }
+        return size;
+    }
+
+    /**
+     * Read a vector written with {@link #writeVector(DataOutput, BigDecimal[])}
+     * @param input Input where the vector is read
+     * @return Vector read or null
+     * @throws IOException If the input fails
+     */
+    public static BigDecimal[] readVector(final DataInput input) throws IOException {
+        int length = MatrixCodec.unZigZag(MatrixCodec.readVarInt(input));
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        BigDecimal[] vector = new BigDecimal[length];
+        for (int index = 0; index < length; index++) {
+            vector[index] = MatrixCodec.readBigDecimal(input);
+        }
+        return vector;
+    }
+
+    /**
+     * Write the scale and the unscaled value of a BigDecimal
+     * @param output Output where the number is written
+     * @param value Number to write
+     * @throws IOException If the output fails
+     */
+    public static void writeBigDecimal(final DataOutput output, final BigDecimal value) throws IOException {
+        byte[] unscaledValue = value.unscaledValue().toByteArray();
+        MatrixCodec.writeVarInt(output, MatrixCodec.zigZag(value.scale()));
+        MatrixCodec.writeVarInt(output, unscaledValue.length);
+        output.write(unscaledValue);
+    }
+
+    /**
+     * @param value Number to write
+     * @return Bytes written by {@link #writeBigDecimal(DataOutput, BigDecimal)}, the unscaled value is not
+     * converted to bytes
+     */
+    public static int getBigDecimalSize(final BigDecimal value) {
+        //Length of BigInteger.toByteArray, the two's complement bits and the sign bit
+        int unscaledLength = value.unscaledValue().bitLength() / 8 + 1;
+        return MatrixCodec.getVarIntSize(MatrixCodec.zigZag(value.scale()))
+                + MatrixCodec.getVarIntSize(unscaledLength) + unscaledLength;
+    }
+
+    /**
+     * Read a BigDecimal written with {@link #writeBigDecimal(DataOutput, BigDecimal)}
+     * @param input Input where the number is read
+     * @return Number read
+     * @throws IOException If the input fails
+     */
+    public static BigDecimal readBigDecimal(final DataInput input) throws IOException {
+        int scale = MatrixCodec.unZigZag(MatrixCodec.readVarInt(input));
+        byte[] unscaledValue = new byte[MatrixCodec.readVarInt(input)];
+        input.readFully(unscaledValue);
+        return new BigDecimal(new BigInteger(unscaledValue), scale);
+    }
+
+    /**
+     * Write a rectangular matrix with the delta encoding, null is allowed
+     * @param output Output where the matrix is written
+     * @param matrix Matrix to write
+     * @throws IOException If the output fails
+     */
+    public static void writeDeltaMatrix(final DataOutput output, final BigDecimal[][] matrix) throws IOException {
+        if (matrix == null) {
+            MatrixCodec.writeVarInt(output, MatrixCodec.zigZag(NULL_LENGTH));
+            return;
+        }
+        int totalColumns = matrix.length > 0 ? matrix[0].length : 0;
+        DeltaState deltaState = new DeltaState();
+        MatrixCodec.writeVarInt(output, MatrixCodec.zigZag(matrix.length));
+        MatrixCodec.writeVarInt(output, totalColumns);
+        for (BigDecimal[] row : matrix) {
+            for (int columnIndex = 0; columnIndex < totalColumns; columnIndex++) {
+                MatrixCodec.writeDeltaBigDecimal(output, row[columnIndex], deltaState);
+            }
+        }
+    }
+
+    /**
+     * Read a matrix written with {@link #writeDeltaMatrix(DataOutput, BigDecimal[][])}
+     * @param input Input where the matrix is read
+     * @return Matrix read or null
+     * @throws IOException If the input fails
+     */
+    public static BigDecimal[][] readDeltaMatrix(final DataInput input) throws IOException {
+        int totalRows = MatrixCodec.unZigZag(MatrixCodec.readVarInt(input));
+        if (totalRows == NULL_LENGTH) {
+            return null;
+        }
+        int totalColumns = MatrixCodec.readVarInt(input);
+        DeltaState deltaState = new DeltaState();
+        BigDecimal[][] matrix = new BigDecimal[totalRows][totalColumns];
+        for (BigDecimal[] row : matrix) {
+            for (int columnIndex = 0; columnIndex < totalColumns; columnIndex++) {
+                row[columnIndex] = MatrixCodec.readDeltaBigDecimal(input, deltaState);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Write a vector with the delta encoding, null is allowed
+     * @param output Output where the vector is written
+     * @param vector Vector to write
+     * @throws IOException If the output fails
+     */
+    public static void writeDeltaVector(final DataOutput output, final BigDecimal[] vector) throws IOException {
+        if (vector == null) {
+            MatrixCodec.writeVarInt(output, MatrixCodec.zigZag(NULL_LENGTH));
+            return;
+        }
+        DeltaState deltaState = new DeltaState();
+        MatrixCodec.writeVarInt(output, MatrixCodec.zigZag(vector.length));
+        for (BigDecimal value : vector) {
+            MatrixCodec.writeDeltaBigDecimal(output, value, deltaState);
+        }
+    }
+
+    /**
+     * Read a vector written with {@link #writeDeltaVector(DataOutput, BigDecimal[])}
+     * @param input Input where the vector is read
+     * @return Vector read or null
+     * @throws IOException If the input fails
+     */
+    public static BigDecimal[] readDeltaVector(final DataInput input) throws IOException {
+        int length = MatrixCodec.unZigZag(MatrixCodec.readVarInt(input));
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        DeltaState deltaState = new DeltaState();
+        BigDecimal[] vector = new BigDecimal[length];
+        for (int index = 0; index < length; index++) {
+            vector[index] = MatrixCodec.readDeltaBigDecimal(input, deltaState);
+        }
+        return vector;
+    }
+
+    /**
+     * Write a BigDecimal as the difference with the previous value, the header has the scale difference
+     * and one bit that indicates if the unscaled value is too long for the difference (then its bytes are
+     * written as in {@link #writeBigDecimal(DataOutput, BigDecimal)})
+     * @param output Output where the number is written
+     * @param value Number to write
+     * @param deltaState Previous value, it is updated
+     * @throws IOException If the output fails
+     */
+    private static void writeDeltaBigDecimal(final DataOutput output, final BigDecimal value,
+                                             final DeltaState deltaState) throws IOException {
+        BigInteger unscaledValue = value.unscaledValue();
+        long scaleDelta = MatrixCodec.zigZag(value.scale() - deltaState.scale) & 0xFFFFFFFFL;
+        deltaState.scale = value.scale();
+        if (unscaledValue.bitLength() > MAX_DELTA_BITS) {
+            byte[] bytes = unscaledValue.toByteArray();
+            MatrixCodec.writeVarLong(output, (scaleDelta << 1) | 1);
+            MatrixCodec.writeVarInt(output, bytes.length);
+            output.write(bytes);
+            deltaState.unscaledValue = 0;
+            return;
+        }
+        long unscaled = unscaledValue.longValue();
+        MatrixCodec.writeVarLong(output, scaleDelta << 1);
+        MatrixCodec.writeVarLong(output, MatrixCodec.zigZag(unscaled - deltaState.unscaledValue));
+        deltaState.unscaledValue = unscaled;
+    }
+
+    /**
+     * Read a BigDecimal written with {@link #writeDeltaBigDecimal(DataOutput, BigDecimal, DeltaState)}
+     * @param input Input where the number is read
+     * @param deltaState Previous value, it is updated
+     * @return Number read
+     * @throws IOException If the input fails
+     */
+    private static BigDecimal readDeltaBigDecimal(final DataInput input, final DeltaState deltaState)
+            throws IOException {
+        long header = MatrixCodec.readVarLong(input);
+        deltaState.scale += MatrixCodec.unZigZag((int) (header >>> 1));
+        if ((header & 1) != 0) {
+            byte[] bytes = new byte[MatrixCodec.readVarInt(input)];
+            input.readFully(bytes);
+            deltaState.unscaledValue = 0;
+            return new BigDecimal(new BigInteger(bytes), deltaState.scale);
+        }
+        deltaState.unscaledValue += MatrixCodec.unZigZag(MatrixCodec.readVarLong(input));
+        return BigDecimal.valueOf(deltaState.unscaledValue, deltaState.scale);
+    }
+
+    /**
+     * Write a string as UTF-8 bytes (varint length + bytes), there is no length limit as in DataOutput.writeUTF
+     * @param output Output where the string is written
+     * @param value String to write
+     * @throws IOException If the output fails
+     */
+    public static void writeString(final DataOutput output, final String value) throws IOException {
+        byte[] bytes = value.getBytes(UTF_8);
+        MatrixCodec.writeVarInt(output, bytes.length);
+        output.write(bytes);
+    }
+
+    private static int getStringSize(final String value) {
+        int length = value.getBytes(UTF_8).length;
+        return MatrixCodec.getVarIntSize(length) + length;
+    }
+
+    /**
+     * Read a string written with {@link #writeString(DataOutput, String)}
+     * @param input Input where the string is read
+     * @return String read
+     * @throws IOException If the input fails
+     */
+    public static String readString(final DataInput input) throws IOException {
+        byte[] bytes = new byte[MatrixCodec.readVarInt(input)];
+        input.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    /**
+     * Write an unsigned int using 7 bits per byte, small values use a single byte
+     * @param output Output where the value is written
+     * @param value Value to write
+     * @throws IOException If the output fails
+     */
+    public static void writeVarInt(final DataOutput output, final int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            output.writeByte((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        output.writeByte(remaining);
+    }
+
+    /**
+     * @param value Unsigned value
+     * @return Bytes written by {@link #writeVarInt(DataOutput, int)}
+     */
+    public static int getVarIntSize(final int value) {
+        return MatrixCodec.getVarLongSize(value & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Read an unsigned int written with {@link #writeVarInt(DataOutput, int)}
+     * @param input Input where the value is read
+     * @return Value read
+     * @throws IOException If the input fails or the value is too long
+     */
+    public static int readVarInt(final DataInput input) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int currentByte = input.readUnsignedByte();
+            value |= (currentByte & 0x7F) << shift;
+            if ((currentByte & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * Write an unsigned long using 7 bits per byte, small values use a single byte
+     * @param output Output where the value is written
+     * @param value Value to write
+     * @throws IOException If the output fails
+     */
+    public static void writeVarLong(final DataOutput output, final long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            output.writeByte((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        output.writeByte((int) remaining);
+    }
+
+    /**
+     * @param value Unsigned value
+     * @return Bytes written by {@link #writeVarLong(DataOutput, long)}
+     */
+    public static int getVarLongSize(final long value) {
+        int size = 1;
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            size++;
+            remaining >>>= 7;
+        }
+        return size;
+    }
+
+    /**
+     * Read an unsigned long written with {@link #writeVarLong(DataOutput, long)}
+     * @param input Input where the value is read
+     * @return Value read
+     * @throws IOException If the input fails or the value is too long
+     */
+    public static long readVarLong(final DataInput input) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            int currentByte = input.readUnsignedByte();
+            value |= (long) (currentByte & 0x7F) << shift;
+            if ((currentByte & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * Map signed values to unsigned so small negative values use a single byte as varint
+     * @param value Signed value
+     * @return Unsigned value
+     */
+    public static int zigZag(final int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    /**
+     * Inverse of {@link #zigZag(int)}
+     * @param value Unsigned value
+     * @return Signed value
+     */
+    public static int unZigZag(final int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Map signed values to unsigned so small negative values use a single byte as varint
+     * @param value Signed value
+     * @return Unsigned value
+     */
+    public static long zigZag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Inverse of {@link #zigZag(long)}
+     * @param value Unsigned value
+     * @return Signed value
+     */
+    public static long unZigZag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Previous value written or read with the delta encoding
+     */
+    private static class DeltaState {
+        private int scale;
+        private long unscaledValue;
+    }
+}
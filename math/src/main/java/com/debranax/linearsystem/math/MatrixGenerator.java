@@ -0,0 +1,205 @@
+package com.debranax.linearsystem.math;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+/**
+ * Reproducible augmented matrices of several families, the same family, size and seed always give the
+ * same matrix. The constants are calculated exactly from {@link #getExpectedSolution(int, long)}, so the
+ * expected solution of every system is known.
+ */
+public class MatrixGenerator {
+
+    public enum Family {
+        /** Integers between -9 and 9 */
+        RANDOM,
+        /** Random off-diagonal integers, the diagonal is greater than the sum of the rest of the row */
+        DIAGONALLY_DOMINANT,
+        /** B^T B + n I with a random integer matrix B (symmetric positive definite) */
+        SPD,
+        /** 1 / (i + j + 1) rounded to {@link LinearSystemUtils#SCALE}, ill-conditioned */
+        HILBERT,
+        /** Powers of distinct nodes with one decimal, row i is (1, x_i, x_i^2, ...) */
+        VANDERMONDE,
+        /** Diagonally dominant with a random bandwidth between 1 and 3 */
+        BANDED,
+        /** About 10% of off-diagonal non-zeros and a dominant diagonal */
+        SPARSE,
+        /** Random matrix whose last row is the first one plus 1e-8 on the diagonal */
+        NEAR_SINGULAR,
+        /** Constant diagonals with random integers and a dominant main diagonal */
+        TOEPLITZ
+    }
+
+    private static final int MAX_VALUE = 9;
+    private static final int SPD_MAX_VALUE = 3;
+    private static final int MAX_BANDWIDTH = 3;
+    private static final double SPARSE_DENSITY = 0.1d;
+    private static final BigDecimal NEAR_SINGULAR_PERTURBATION = new BigDecimal("1E-8");
+    private static final int MAX_SOLUTION_VALUE = 5;
+
+    private MatrixGenerator() {
+    }
+
+    /**
+     * @param family Family of the matrix
+     * @param size   Unknowns of the system
+     * @param seed   Seed of the random values
+     * @return New augmented matrix (size x size+1)
+     */
+    public static BigDecimal[][] generate(final Family family, final int size, final long seed) {
+        Random random = new Random(seed * Family.values().length + family.ordinal());
+        BigDecimal[][] matrix = new BigDecimal[size][size + 1];
+        switch (family) {
+            case DIAGONALLY_DOMINANT:
+                MatrixGenerator.fillDominant(matrix, random, size, 1);
+                break;
+            case SPD:
+                MatrixGenerator.fillSpd(matrix, random, size);
+                break;
+            case HILBERT:
+                for (int row = 0; row < size; row++) {
+                    for (int column = 0; column < size; column++) {
+                        matrix[row][column] = BigDecimal.ONE.divide(BigDecimal.valueOf(row + column + 1L),
+                                LinearSystemUtils.SCALE, RoundingMode.HALF_UP);
+                    }
+                }
+                break;
+            case VANDERMONDE:
+                for (int row = 0; row < size; row++) {
+                    BigDecimal node = BigDecimal.valueOf(2L * row - size + 1, 1);
+                    matrix[row][0] = BigDecimal.ONE;
+                    for (int column = 1; column < size; column++) {
+                        matrix[row][column] = matrix[row][column - 1].multiply(node);
+                    }
+                }
+                break;
+            case BANDED:
+                MatrixGenerator.fillBanded(matrix, random, size, 1 + random.nextInt(MAX_BANDWIDTH));
+                break;
+            case SPARSE:
+                MatrixGenerator.fillDominant(matrix, random, size, SPARSE_DENSITY);
+                break;
+            case TOEPLITZ:
+                MatrixGenerator.fillToeplitz(matrix, random, size);
+                break;
+            default:
+                for (int row = 0; row < size; row++) {
+                    for (int column = 0; column < size; column++) {
+                        matrix[row][column] = MatrixGenerator.nextValue(random, MAX_VALUE);
+                    }
+                }
+                if (family == Family.NEAR_SINGULAR && size > 1) {
+                    System.arraycopy(matrix[0], 0, matrix[size - 1], 0, size);
+                    matrix[size - 1][size - 1] = matrix[size - 1][size - 1].add(NEAR_SINGULAR_PERTURBATION);
+                }
+                break;
+        }
+        BigDecimal[] solution = MatrixGenerator.getExpectedSolution(size, seed);
+        for (int row = 0; row < size; row++) {
+            BigDecimal constant = BigDecimal.ZERO;
+            for (int column = 0; column < size; column++) {
+                constant = constant.add(matrix[row][column].multiply(solution[column]));
+            }
+            matrix[row][size] = constant;
+        }
+        return matrix;
+    }
+
+    /**
+     * @param size Unknowns of the system
+     * @param seed Seed of the random values
+     * @return Solution of every matrix generated with the size and seed, integers between -5 and 5
+     * (never a zero solution)
+     */
+    public static BigDecimal[] getExpectedSolution(final int size, final long seed) {
+        Random random = new Random(seed);
+        BigDecimal[] solution = new BigDecimal[size];
+        for (int index = 0; index < size; index++) {
+            solution[index] = MatrixGenerator.nextValue(random, MAX_SOLUTION_VALUE);
+        }
+        if (size > 0 && solution[0].signum() == 0) {
+            solution[0] = BigDecimal.ONE;
+        }
+        return solution;
+    }
+
+    private static void fillDominant(final BigDecimal[][] matrix, final Random random, final int size,
+                                     final double density) {
+        for (int row = 0; row < size; row++) {
+            BigDecimal offDiagonalSum = BigDecimal.ZERO;
+            for (int column = 0; column < size; column++) {
+                if (column == row) {
+                    continue;
+                }
+                matrix[row][column] = random.nextDouble() < density
+                        ? MatrixGenerator.nextValue(random, MAX_VALUE) : BigDecimal.ZERO;
+                offDiagonalSum = offDiagonalSum.add(matrix[row][column].abs());
+            }
+            matrix[row][row] = MatrixGenerator.getDominantDiagonal(random, offDiagonalSum);
+        }
+    }
+
+    private static void fillBanded(final BigDecimal[][] matrix, final Random random, final int size,
+                                   final int bandwidth) {
+        for (int row = 0; row < size; row++) {
+            BigDecimal offDiagonalSum = BigDecimal.ZERO;
+            for (int column = 0; column < size; column++) {
+                if (column == row) {
+                    continue;
+                }
+                matrix[row][column] = Math.abs(row - column) <= bandwidth
+                        ? MatrixGenerator.nextValue(random, MAX_VALUE) : BigDecimal.ZERO;
+                offDiagonalSum = offDiagonalSum.add(matrix[row][column].abs());
+            }
+            matrix[row][row] = MatrixGenerator.getDominantDiagonal(random, offDiagonalSum);
+        }
+    }
+
+    private static void fillToeplitz(final BigDecimal[][] matrix, final Random random, final int size) {
+        //diagonals[size - 1 + k] is the value of the diagonal column - row = k
+        BigDecimal[] diagonals = new BigDecimal[2 * size - 1];
+        BigDecimal offDiagonalSum = BigDecimal.ZERO;
+        for (int index = 0; index < diagonals.length; index++) {
+            if (index != size - 1) {
+                diagonals[index] = MatrixGenerator.nextValue(random, MAX_VALUE);
+                offDiagonalSum = offDiagonalSum.add(diagonals[index].abs());
+            }
+        }
+        diagonals[size - 1] = MatrixGenerator.getDominantDiagonal(random, offDiagonalSum);
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                matrix[row][column] = diagonals[size - 1 + column - row];
+            }
+        }
+    }
+
+    private static void fillSpd(final BigDecimal[][] matrix, final Random random, final int size) {
+        long[][] values = new long[size][size];
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                values[row][column] = random.nextInt(2 * SPD_MAX_VALUE + 1) - SPD_MAX_VALUE;
+            }
+        }
+        for (int row = 0; row < size; row++) {
+            for (int column = row; column < size; column++) {
+                long value = row == column ? size : 0;
+                for (int index = 0; index < size; index++) {
+                    value += values[index][row] * values[index][column];
+                }
+                matrix[row][column] = BigDecimal.valueOf(value);
+                matrix[column][row] = matrix[row][column];
+            }
+        }
+    }
+
+    private static BigDecimal getDominantDiagonal(final Random random, final BigDecimal offDiagonalSum) {
+        BigDecimal diagonal = offDiagonalSum.add(BigDecimal.valueOf(1L + random.nextInt(MAX_VALUE)));
+        return random.nextBoolean() ? diagonal : diagonal.negate();
+    }
+
+    private static BigDecimal nextValue(final Random random, final int maxValue) {
+        return BigDecimal.valueOf(random.nextInt(2 * maxValue + 1) - maxValue);
+    }
+}
@@ -0,0 +1,154 @@
+package com.debranax.linearsystem.math;
+
+import java.io.Serializable;
+
+/**
+ * Properties of an augmented matrix found by {@link MatrixAnalyzer}, used to choose the engine of the solver
+ */
+public class MatrixStructure implements Serializable {
+    private final int unknowns;
+    private final boolean zero;
+    private final boolean homogeneous;
+    private final long nonZeros;
+    private final int lowerBandwidth;
+    private final int upperBandwidth;
+    private final boolean symmetric;
+    private final boolean diagonallyDominant;
+    private final boolean integerOnly;
+    private final boolean toeplitz;
+    private final boolean vandermonde;
+    private final int[] blockStarts;
+
+    MatrixStructure(final int unknowns, final boolean zero, final boolean homogeneous, final long nonZeros,
+                    final int lowerBandwidth, final int upperBandwidth, final boolean symmetric,
+                    final boolean diagonallyDominant, final boolean integerOnly, final boolean toeplitz,
+                    final boolean vandermonde, final int[] blockStarts) {
+        this.unknowns = unknowns;
+        this.zero = zero;
+        this.homogeneous = homogeneous;
+        this.nonZeros = nonZeros;
+        this.lowerBandwidth = lowerBandwidth;
+        this.upperBandwidth = upperBandwidth;
+        this.symmetric = symmetric;
+        this.diagonallyDominant = diagonallyDominant;
+        this.integerOnly = integerOnly;
+        this.toeplitz = toeplitz;
+        this.vandermonde = vandermonde;
+        this.blockStarts = blockStarts;
+    }
+
+    public int getUnknowns() {
+        return unknowns;
+    }
+
+    /**
+     * @return True if all the elements of the augmented matrix are zero
+     */
+    public boolean isZero() {
+        return zero;
+    }
+
+    /**
+     * @return True if all the constants (last column) are zero
+     */
+    public boolean isHomogeneous() {
+        return homogeneous;
+    }
+
+    /**
+     * @return Non-zero elements of the coefficient matrix
+     */
+    public long getNonZeros() {
+        return nonZeros;
+    }
+
+    /**
+     * @return Non-zero elements of the coefficient matrix divided by n^2
+     */
+    public double getDensity() {
+        return unknowns == 0 ? 0 : (double) nonZeros / ((double) unknowns * unknowns);
+    }
+
+    /**
+     * @return Maximum distance below the diagonal of a non-zero coefficient
+     */
+    public int getLowerBandwidth() {
+        return lowerBandwidth;
+    }
+
+    /**
+     * @return Maximum distance above the diagonal of a non-zero coefficient
+     */
+    public int getUpperBandwidth() {
+        return upperBandwidth;
+    }
+
+    public boolean isSymmetric() {
+        return symmetric;
+    }
+
+    /**
+     * @return True if in every row the absolute value of the diagonal is greater than the sum of the
+     * absolute values of the other coefficients
+     */
+    public boolean isDiagonallyDominant() {
+        return diagonallyDominant;
+    }
+
+    /**
+     * @return True if all the elements of the augmented matrix are integers
+     */
+    public boolean isIntegerOnly() {
+        return integerOnly;
+    }
+
+    /**
+     * @return True if every diagonal of the coefficient matrix is constant, see {@link ToeplitzMatrix}
+     */
+    public boolean isToeplitz() {
+        return toeplitz;
+    }
+
+    /**
+     * @return True if every row of the coefficient matrix is (1, x, x^2, ..., x^(n-1)), see
+     * {@link VandermondeSolver}
+     */
+    public boolean isVandermonde() {
+        return vandermonde;
+    }
+
+    public boolean isDiagonal() {
+        return lowerBandwidth == 0 && upperBandwidth == 0;
+    }
+
+    public boolean isUpperTriangular() {
+        return lowerBandwidth == 0;
+    }
+
+    public boolean isLowerTriangular() {
+        return upperBandwidth == 0;
+    }
+
+    /**
+     * @return Number of independent square blocks along the diagonal (1 if the matrix has no block structure)
+     */
+    public int getBlockCount() {
+        return blockStarts.length;
+    }
+
+    /**
+     * @param block Index of the block
+     * @return First row (and column) of the block
+     */
+    public int getBlockStart(final int block) {
+        return blockStarts[block];
+    }
+
+    /**
+     * @param block Index of the block
+     * @return Row (and column) after the last one of the block
+     */
+    public int getBlockEnd(final int block) {
+        return block + 1 < blockStarts.length ? blockStarts[block + 1] : unknowns;
+    }
+}
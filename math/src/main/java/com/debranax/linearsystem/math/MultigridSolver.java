@@ -0,0 +1,405 @@
+package com.debranax.linearsystem.math;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Geometric multigrid for the grid systems of a {@link GridStencil} in double precision. Every cycle
+ * smooths the error with Gauss-Seidel sweeps, restricts the residual to the coarser grid (full
+ * weighting), solves the coarse correction recursively (once in a V cycle, twice in a W cycle) and
+ * prolongs it back (linear interpolation). The coarse operators are the stencil discretized again, except
+ * in the last point of the axes with an even number of points: it is next to the boundary, so its center
+ * is the one of the Galerkin operator (restriction x operator x prolongation) of the axis.
+ * The error of every frequency is reduced by a constant factor
+ * per cycle, so the solve needs O(n) operations and memory, and the matrix is never built.
+ * The residual reduction of every cycle is recorded in {@link LinearSystemInfo#getResidualReductions()}.
+ */
+public class MultigridSolver {
+    /** The solve stops when the residual is this fraction of the constants */
+    private static final double RELATIVE_TOLERANCE = 1e-10;
+    /** A cycle that reduces the residual less than this stops the solve */
+    private static final double STAGNATION_REDUCTION = 0.99;
+    private static final int MAX_CYCLES = 100;
+    private static final int PRE_SMOOTHING_SWEEPS = 2;
+    private static final int POST_SMOOTHING_SWEEPS = 2;
+    private static final int COARSEST_SWEEPS = 50;
+
+    public enum Cycle {
+        /** One coarse correction per level */
+        V,
+        /** Two coarse corrections per level, more robust and about 50% more expensive in 2-D */
+        W
+    }
+
+    private MultigridSolver() {
+    }
+
+    /**
+     * Solve the grid system of a stencil
+     *
+     * @param stencil   Stencil of the operator
+     * @param constants Constants of the system, one per point of the grid
+     * @param cycle     Cycle of the solve
+     * @param options   Options of the solver (cancellation token, progress listener, time budget and
+     *                  metrics) or null, the progress is reported per cycle
+     * @return An instance of LinearSystemInfo containing the result, the status
+     * {@link LinearSystemUtils.StatusCode#NOT_CONVERGED} if the residual stops decreasing
+     */
+    public static LinearSystemInfo solve(final GridStencil stencil, final BigDecimal[] constants,
+                                         final Cycle cycle, final SolverOptions options) {
+        if (constants.length != stencil.getUnknowns()) {
+            throw new IllegalArgumentException("There must be one constant per point of the grid");
+        }
+        SolverContext context = new SolverContext(options, MAX_CYCLES);
+        LinearSystemInfo linearSystemInfo;
+        try {
+            linearSystemInfo = MultigridSolver.solve(stencil, constants, cycle, context);
+        } catch (SolverInterruptedException e) {
+            linearSystemInfo = LinearSystemsSolver.getLinearSystemInfoResponse(e.getMessage()
+                    + "(cycles " + context.getEliminatedColumns() + ")", e.getStatusCode(), null, Level.INFO);
+        }
+        linearSystemInfo.setEngine(SolverEngine.MULTIGRID);
+        linearSystemInfo.setMetrics(context.finishMetrics());
+        return linearSystemInfo;
+    }
+
+    static LinearSystemInfo solve(final GridStencil stencil, final BigDecimal[] constants, final Cycle cycle,
+                                  final SolverContext context) {
+        context.startPhase();
+        GridLevel[] levels = MultigridSolver.getLevels(stencil);
+        GridLevel finest = levels[0];
+        double constantsNorm = 0;
+        for (int index = 0; index < constants.length; index++) {
+            finest.constants[index] = constants[index].doubleValue();
+            constantsNorm += finest.constants[index] * finest.constants[index];
+        }
+        constantsNorm = Math.sqrt(constantsNorm);
+        if (constantsNorm == 0) {
+            context.endPhase(SolverMetrics.Phase.ITERATION);
+            return LinearSystemsSolver.getLinearSystemInfoResponse(LinearSystemUtils.HOMOGENEOUS_MESSAGE,
+                    LinearSystemUtils.StatusCode.HOMOGENEOUS, null, Level.INFO);
+        }
+
+        int corrections = cycle == Cycle.W ? 2 : 1;
+        double[] reductions = new double[MAX_CYCLES];
+        int totalCycles = 0;
+        double residualNorm = constantsNorm;
+        boolean converged = false;
+        while (totalCycles < MAX_CYCLES && !converged) {
+            context.checkInterrupted();
+            MultigridSolver.cycle(levels, 0, corrections);
+            double nextResidualNorm = Math.sqrt(MultigridSolver.computeResidual(finest));
+            reductions[totalCycles++] = nextResidualNorm / residualNorm;
+            residualNorm = nextResidualNorm;
+            context.columnEliminated();
+            converged = residualNorm <= RELATIVE_TOLERANCE * constantsNorm;
+            if (!converged && !(reductions[totalCycles - 1] < STAGNATION_REDUCTION)) {
+                break;
+            }
+        }
+        context.endPhase(SolverMetrics.Phase.ITERATION);
+
+        LinearSystemInfo linearSystemInfo;
+        if (converged) {
+            context.startPhase();
+            BigDecimal[] solution = new BigDecimal[finest.solution.length];
+            for (int index = 0; index < solution.length; index++) {
+                solution[index] = new BigDecimal(finest.solution[index])
+                        .setScale(LinearSystemUtils.SCALE, RoundingMode.HALF_UP);
+            }
+            linearSystemInfo = LinearSystemsSolver.getSolvedResponse(solution);
+            context.endPhase(SolverMetrics.Phase.RESULT_BUILDING);
+        } else {
+            linearSystemInfo = LinearSystemsSolver.getLinearSystemInfoResponse(
+                    LinearSystemUtils.NOT_CONVERGED_MESSAGE + "(relative residual " + residualNorm / constantsNorm
+                            + ")", LinearSystemUtils.StatusCode.NOT_CONVERGED, null, Level.INFO);
+        }
+        linearSystemInfo.setResidualReductions(Arrays.copyOf(reductions, totalCycles));
+        return linearSystemInfo;
+    }
+
+    /**
+     * @return Grids from the finest to the coarsest
+     */
+    private static GridLevel[] getLevels(final GridStencil stencil) {
+        List<GridLevel> levels = new ArrayList<>();
+        GridStencil current = stencil;
+        //Center of the last point of every axis minus the one of the stencil, in units of -neighbor
+        double[] boundaryTerms = new double[3];
+        while (current != null) {
+            levels.add(new GridLevel(current, boundaryTerms));
+            GridStencil coarse = current.coarsen();
+            for (int axis = 0; coarse != null && axis < current.getAxes(); axis++) {
+                if (coarse.getPoints(axis) != current.getPoints(axis)) {
+                    boundaryTerms[axis] = current.getPoints(axis) % 2 == 1 ? boundaryTerms[axis] / 2
+                            : 1 + 2 * boundaryTerms[axis];
+                }
+            }
+            current = coarse;
+        }
+        return levels.toArray(new GridLevel[0]);
+    }
+
+    private static void cycle(final GridLevel[] levels, final int levelIndex, final int corrections) {
+        GridLevel level = levels[levelIndex];
+        if (levelIndex == levels.length - 1) {
+            MultigridSolver.smooth(level, COARSEST_SWEEPS);
+            return;
+        }
+        GridLevel coarse = levels[levelIndex + 1];
+        MultigridSolver.smooth(level, PRE_SMOOTHING_SWEEPS);
+        MultigridSolver.computeResidual(level);
+        MultigridSolver.restrict(level, coarse);
+        Arrays.fill(coarse.solution, 0d);
+        for (int correction = 0; correction < corrections; correction++) {
+            MultigridSolver.cycle(levels, levelIndex + 1, corrections);
+        }
+        MultigridSolver.prolongAndAdd(coarse, level);
+        MultigridSolver.smooth(level, POST_SMOOTHING_SWEEPS);
+    }
+
+    /**
+     * Lexicographic Gauss-Seidel sweeps
+     */
+    private static void smooth(final GridLevel level, final int sweeps) {
+        int pointsX = level.points[0];
+        int pointsY = level.points[1];
+        int pointsZ = level.points[2];
+        int strideZ = pointsX * pointsY;
+        double[] solution = level.solution;
+        for (int sweep = 0; sweep < sweeps; sweep++) {
+            int index = 0;
+            for (int z = 0; z < pointsZ; z++) {
+                for (int y = 0; y < pointsY; y++) {
+                    for (int x = 0; x < pointsX; x++, index++) {
+                        double sum = level.constants[index];
+                        if (x > 0) {
+                            sum -= level.neighbors[0] * solution[index - 1];
+                        }
+                        if (x < pointsX - 1) {
+                            sum -= level.neighbors[0] * solution[index + 1];
+                        }
+                        if (y > 0) {
+                            sum -= level.neighbors[1] * solution[index - pointsX];
+                        }
+                        if (y < pointsY - 1) {
+                            sum -= level.neighbors[1] * solution[index + pointsX];
+                        }
+                        if (z > 0) {
+                            sum -= level.neighbors[2] * solution[index - strideZ];
+                        }
+                        if (z < pointsZ - 1) {
+                            sum -= level.neighbors[2] * solution[index + strideZ];
+                        }
+                        solution[index] = sum / level.getCenter(x, y, z);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * r = b - A x
+     *
+     * @return Squared norm of the residual
+     */
+    private static double computeResidual(final GridLevel level) {
+        int pointsX = level.points[0];
+        int pointsY = level.points[1];
+        int pointsZ = level.points[2];
+        int strideZ = pointsX * pointsY;
+        double[] solution = level.solution;
+        double squaredNorm = 0;
+        int index = 0;
+        for (int z = 0; z < pointsZ; z++) {
+            for (int y = 0; y < pointsY; y++) {
+                for (int x = 0; x < pointsX; x++, index++) {
+                    double product = level.getCenter(x, y, z) * solution[index];
+                    if (x > 0) {
+                        product += level.neighbors[0] * solution[index - 1];
+                    }
+                    if (x < pointsX - 1) {
+                        product += level.neighbors[0] * solution[index + 1];
+                    }
+                    if (y > 0) {
+                        product += level.neighbors[1] * solution[index - pointsX];
+                    }
+                    if (y < pointsY - 1) {
+                        product += level.neighbors[1] * solution[index + pointsX];
+                    }
+                    if (z > 0) {
+                        product += level.neighbors[2] * solution[index - strideZ];
+                    }
+                    if (z < pointsZ - 1) {
+                        product += level.neighbors[2] * solution[index + strideZ];
+                    }
+                    level.residual[index] = level.constants[index] - product;
+                    squaredNorm += level.residual[index] * level.residual[index];
+                }
+            }
+        }
+        return squaredNorm;
+    }
+
+    /**
+     * Full weighting of the residual of the fine grid into the constants of the coarse grid, one axis at
+     * a time (1/4, 1/2, 1/4)
+     */
+    private static void restrict(final GridLevel fine, final GridLevel coarse) {
+        int[] points = fine.points.clone();
+        double[] input = fine.residual;
+        int lastAxis = MultigridSolver.getLastCoarsenedAxis(fine, coarse);
+        for (int axis = 0; axis <= lastAxis; axis++) {
+            if (points[axis] == coarse.points[axis]) {
+                continue;
+            }
+            double[] output = axis == lastAxis ? coarse.constants
+                    : input == fine.scratch ? fine.secondScratch : fine.scratch;
+            int stride = MultigridSolver.getStride(points, axis);
+            int outer = MultigridSolver.getOuter(points, axis);
+            int finePoints = points[axis];
+            int coarsePoints = coarse.points[axis];
+            for (int block = 0; block < outer; block++) {
+                for (int coarseIndex = 0; coarseIndex < coarsePoints; coarseIndex++) {
+                    int outputStart = (block * coarsePoints + coarseIndex) * stride;
+                    int inputStart = (block * finePoints + 2 * coarseIndex) * stride;
+                    //The last point of an even axis is next to the boundary
+                    boolean last = 2 * coarseIndex + 2 == finePoints;
+                    for (int offset = 0; offset < stride; offset++) {
+                        output[outputStart + offset] = 0.25d * input[inputStart + offset]
+                                + 0.5d * input[inputStart + stride + offset]
+                                + (last ? 0d : 0.25d * input[inputStart + 2 * stride + offset]);
+                    }
+                }
+            }
+            points[axis] = coarsePoints;
+            input = output;
+        }
+    }
+
+    /**
+     * Linear interpolation of the solution of the coarse grid added to the solution of the fine grid,
+     * one axis at a time. The coarse point i is the fine point 2i + 1
+     */
+    private static void prolongAndAdd(final GridLevel coarse, final GridLevel fine) {
+        int[] points = coarse.points.clone();
+        double[] input = coarse.solution;
+        for (int axis = 2; axis >= 0; axis--) {
+            if (points[axis] == fine.points[axis]) {
+                continue;
+            }
+            double[] output = input == fine.scratch ? fine.secondScratch : fine.scratch;
+            int stride = MultigridSolver.getStride(points, axis);
+            int outer = MultigridSolver.getOuter(points, axis);
+            int coarsePoints = points[axis];
+            int finePoints = fine.points[axis];
+            for (int block = 0; block < outer; block++) {
+                for (int fineIndex = 0; fineIndex < finePoints; fineIndex++) {
+                    int outputStart = (block * finePoints + fineIndex) * stride;
+                    int left = fineIndex % 2 == 1 ? (fineIndex - 1) / 2 : fineIndex / 2 - 1;
+                    int right = fineIndex % 2 == 1 ? left : fineIndex / 2;
+                    double weight = fineIndex % 2 == 1 ? 1d : 0.5d;
+                    for (int offset = 0; offset < stride; offset++) {
+                        double value = 0;
+                        //The points outside the coarse grid are boundary values (zero)
+                        if (left >= 0 && left < coarsePoints) {
+                            value += input[(block * coarsePoints + left) * stride + offset];
+                        }
+                        if (right != left && right < coarsePoints) {
+                            value += input[(block * coarsePoints + right) * stride + offset];
+                        }
+                        output[outputStart + offset] = weight * value;
+                    }
+                }
+            }
+            points[axis] = finePoints;
+            input = output;
+        }
+        for (int index = 0; index < fine.solution.length; index++) {
+            fine.solution[index] += input[index];
+        }
+    }
+
+    private static int getLastCoarsenedAxis(final GridLevel fine, final GridLevel coarse) {
+        int lastAxis = -1;
+        for (int axis = 0; axis < 3; axis++) {
+            if (fine.points[axis] != coarse.points[axis]) {
+                lastAxis = axis;
+            }
+        }
+        return lastAxis;
+    }
+
+    /**
+     * @return Distance between two consecutive points of the axis
+     */
+    private static int getStride(final int[] points, final int axis) {
+        int stride = 1;
+        for (int previous = 0; previous < axis; previous++) {
+            stride *= points[previous];
+        }
+        return stride;
+    }
+
+    /**
+     * @return Lines of the axis
+     */
+    private static int getOuter(final int[] points, final int axis) {
+        int outer = 1;
+        for (int next = axis + 1; next < 3; next++) {
+            outer *= points[next];
+        }
+        return outer;
+    }
+
+    /**
+     * Grid of a level, the missing axes have 1 point
+     */
+    private static class GridLevel {
+        private final int[] points = {1, 1, 1};
+        private final double[] neighbors = new double[3];
+        private final double center;
+        private final double[] lastCenters = new double[3];
+        private final double[] solution;
+        private final double[] constants;
+        private final double[] residual;
+        private final double[] scratch;
+        private final double[] secondScratch;
+
+        private GridLevel(final GridStencil stencil, final double[] boundaryTerms) {
+            for (int axis = 0; axis < stencil.getAxes(); axis++) {
+                points[axis] = stencil.getPoints(axis);
+                neighbors[axis] = stencil.getNeighbor(axis);
+                lastCenters[axis] = -boundaryTerms[axis] * neighbors[axis];
+            }
+            center = stencil.getCenter();
+            int unknowns = stencil.getUnknowns();
+            solution = new double[unknowns];
+            constants = new double[unknowns];
+            residual = new double[unknowns];
+            scratch = new double[unknowns];
+            secondScratch = new double[unknowns];
+        }
+
+        /**
+         * @return Coefficient of the unknown of the point
+         */
+        private double getCenter(final int x, final int y, final int z) {
+            double pointCenter = center;
+            if (x == points[0] - 1) {
+                pointCenter += lastCenters[0];
+            }
+            if (y == points[1] - 1) {
+                pointCenter += lastCenters[1];
+            }
+            if (z == points[2] - 1) {
+                pointCenter += lastCenters[2];
+            }
+            return pointCenter;
+        }
+    }
+}
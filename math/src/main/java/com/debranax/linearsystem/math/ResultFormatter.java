@@ -0,0 +1,93 @@
+package com.debranax.linearsystem.math;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+
+/**
+ * Format the values of a solution with a single DecimalFormat, every value is formatted the first time
+ * it is requested and then it is cached. The complex values are formatted as a + bi. Not thread safe
+ * (as DecimalFormat).
+ */
+public class ResultFormatter {
+    private final DecimalFormat decimalFormat;
+    private final int maximumFractionDigits;
+    private final BigDecimal[] values;
+    private final BigDecimal[] imaginaryValues;
+    private final String[] formattedValues;
+
+    /**
+     * @param values Values to format (e.g. the solution of the linear system)
+     * @param pattern Pattern to use in the formatting
+     */
+    public ResultFormatter(final BigDecimal[] values, final String pattern) {
+        this(values, null, pattern);
+    }
+
+    /**
+     * @param values Real parts of the values to format
+     * @param imaginaryValues Imaginary parts of the values, null if the values are real
+     * @param pattern Pattern to use in the formatting
+     */
+    public ResultFormatter(final BigDecimal[] values, final BigDecimal[] imaginaryValues, final String pattern) {
+        this.decimalFormat = new DecimalFormat(pattern);
+        this.decimalFormat.setRoundingMode(RoundingMode.HALF_EVEN);
+        this.maximumFractionDigits = decimalFormat.getMaximumFractionDigits();
+        this.values = values;
+        this.imaginaryValues = imaginaryValues;
+        this.formattedValues = new String[values.length];
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Get the formatted value, long values are shown without decimals
+     * @param index Index of the value
+     * @return Value formatted
+     */
+    public String get(final int index) {
+        String formattedValue = formattedValues[index];
+        if (formattedValue == null) {
+            formattedValue = imaginaryValues != null ? format(values[index], imaginaryValues[index])
+                    : format(values[index]);
+            formattedValues[index] = formattedValue;
+        }
+        return formattedValue;
+    }
+
+    /**
+     * Format the BigDecimal with the pattern of this formatter
+     * @param bg BigDecimal to format
+     * @return String formatted
+     */
+    public String format(final BigDecimal bg) {
+        if (LinearSystemUtils.isLong(bg)) {
+            return String.valueOf(bg.longValue());
+        }
+        //When is applied the format to very small numbers could be return -0
+        if (bg.setScale(maximumFractionDigits, RoundingMode.HALF_EVEN).signum() == 0) {
+            return "0";
+        }
+        return decimalFormat.format(bg);
+    }
+
+    /**
+     * Format the complex value as a + bi, without the part that is zero
+     * @param real Real part
+     * @param imaginary Imaginary part
+     * @return String formatted
+     */
+    public String format(final BigDecimal real, final BigDecimal imaginary) {
+        String formattedImaginary = format(imaginary.abs());
+        if (formattedImaginary.equals("0")) {
+            return format(real);
+        }
+        String formattedReal = format(real);
+        if (formattedReal.equals("0")) {
+            return (imaginary.signum() < 0 ? "-" : "") + formattedImaginary + "i";
+        }
+        return formattedReal + (imaginary.signum() < 0 ? " - " : " + ") + formattedImaginary + "i";
+    }
+}
@@ -0,0 +1,47 @@
+package com.debranax.linearsystem.math;
+
+/**
+ * Double precision kernels of the row operations, see {@link RowKernelsSelector#getRowKernels()}
+ * for the implementation of the platform
+ */
+public interface RowKernels {
+    /**
+     * @return Name of the implementation (e.g. "scalar")
+     */
+    String getName();
+
+    /**
+     * y = y + alpha * x
+     * @param alpha Scalar
+     * @param x Source array
+     * @param xOffset First index of x
+     * @param y Target array, it is modified
+     * @param yOffset First index of y
+     * @param length Number of elements
+     */
+    void axpy(double alpha, double[] x, int xOffset, double[] y, int yOffset, int length);
+
+    /**
+     * @param x First array
+     * @param xOffset First index of x
+     * @param y Second array
+     * @param yOffset First index of y
+     * @param length Number of elements
+     * @return Sum of x[i] * y[i]
+     */
+    double dot(double[] x, int xOffset, double[] y, int yOffset, int length);
+
+    /**
+     * a[i][j] = a[i][j] - column[i] * row[j] for firstRow &lt;= i &lt; lastRow and firstColumn &lt;= j &lt; lastColumn,
+     * the update of the rows below the pivot in the elimination
+     * @param matrix Matrix, it is modified
+     * @param firstRow First row updated
+     * @param lastRow Row after the last one updated
+     * @param firstColumn First column updated
+     * @param lastColumn Column after the last one updated
+     * @param column Factor of every row (indexed by row)
+     * @param row Pivot row (indexed by column)
+     */
+    void rank1Update(double[][] matrix, int firstRow, int lastRow, int firstColumn, int lastColumn,
+                     double[] column, double[] row);
+}
@@ -0,0 +1,82 @@
+package com.debranax.linearsystem.math;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Choose once per process the fastest {@link RowKernels} available. The vector kernels are in the :vector
+ * module, they are only found when it is in the classpath of a JVM started with
+ * --add-modules jdk.incubator.vector (they are looked up by reflection because Android does not have the
+ * module), when they load both implementations are timed with the same axpy and the fastest is kept.
+ * Otherwise the scalar kernels are used without a trial.
+ */
+public class RowKernelsSelector {
+    static final String VECTOR_KERNELS_CLASS = "com.debranax.linearsystem.math.VectorRowKernels";
+    private static final int TRIAL_LENGTH = 4096;
+    private static final int TRIAL_ROUNDS = 200;
+
+    private static volatile RowKernels rowKernels;
+
+    private RowKernelsSelector() {
+    }
+
+    /**
+     * @return Fastest kernels of the platform
+     */
+    public static RowKernels getRowKernels() {
+        RowKernels selected = rowKernels;
+        if (selected == null) {
+            synchronized (RowKernelsSelector.class) {
+                selected = rowKernels;
+                if (selected == null) {
+                    selected = RowKernelsSelector.select(RowKernelsSelector.getAvailableKernels());
+                    rowKernels = selected;
+                }
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * @return All the kernels that load in the platform, the scalar ones first
+     */
+    public static List<RowKernels> getAvailableKernels() {
+        List<RowKernels> kernels = new ArrayList<>();
+        kernels.add(new ScalarRowKernels());
+        try {
+            kernels.add((RowKernels) Class.forName(VECTOR_KERNELS_CLASS).getDeclaredConstructor().newInstance());
+        } catch (Exception | LinkageError e) {
+            //The vector kernels are not in the build or the module is not available
+        }
+        return kernels;
+    }
+
+    private static RowKernels select(final List<RowKernels> kernels) {
+        if (kernels.size() == 1) {
+            return kernels.get(0);
+        }
+        double[] x = new double[TRIAL_LENGTH];
+        double[] y = new double[TRIAL_LENGTH];
+        for (int index = 0; index < TRIAL_LENGTH; index++) {
+            x[index] = index;
+        }
+        RowKernels fastest = null;
+        long fastestNanos = Long.MAX_VALUE;
+        for (RowKernels candidate : kernels) {
+            //The first half warms up the JIT
+            long startNanos = 0;
+            for (int round = 0; round < 2 * TRIAL_ROUNDS; round++) {
+                if (round == TRIAL_ROUNDS) {
+                    startNanos = System.nanoTime();
+                }
+                candidate.axpy(0.5d, x, 0, y, 0, TRIAL_LENGTH);
+            }
+            long nanos = System.nanoTime() - startNanos;
+            if (nanos < fastestNanos) {
+                fastest = candidate;
+                fastestNanos = nanos;
+            }
+        }
+        return fastest;
+    }
+}
@@ -0,0 +1,40 @@
+package com.debranax.linearsystem.math;
+
+/**
+ * Plain loops, available on every platform
+ */
+public class ScalarRowKernels implements RowKernels {
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+
+    @Override
+    public void axpy(final double alpha, final double[] x, final int xOffset, final double[] y, final int yOffset,
+                     final int length) {
+        if (alpha == 0) {
+            return;
+        }
+        for (int index = 0; index < length; index++) {
+            y[yOffset + index] += alpha * x[xOffset + index];
+        }
+    }
+
+    @Override
+    public double dot(final double[] x, final int xOffset, final double[] y, final int yOffset, final int length) {
+        double sum = 0;
+        for (int index = 0; index < length; index++) {
+            sum += x[xOffset + index] * y[yOffset + index];
+        }
+        return sum;
+    }
+
+    @Override
+    public void rank1Update(final double[][] matrix, final int firstRow, final int lastRow, final int firstColumn,
+                            final int lastColumn, final double[] column, final double[] row) {
+        for (int rowIndex = firstRow; rowIndex < lastRow; rowIndex++) {
+            axpy(-column[rowIndex], row, firstColumn, matrix[rowIndex], firstColumn, lastColumn - firstColumn);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.debranax.linearsystem.math;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+/**
+ * A-posteriori checks of the results of the engines, much cheaper than solving again: the residual
+ * b - A x of a solution is calculated with 34 significant digits ({@link MathContext#DECIMAL128}), and a
+ * product A X = B (e.g. an inverse or the solutions of several constants) is checked with the randomized
+ * Freivalds test A (X r) = B r, O(n^2) per trial instead of the O(n^3) of the product.
+ * <p>
+ * A small residual proves a small backward error (x solves a system close to A x = b), not a small
+ * error of x itself, an ill-conditioned matrix can have a small residual and an inaccurate solution.
+ * Every value of the solutions is rounded to {@link LinearSystemUtils#SCALE} decimals, so the accepted
+ * residual includes the effect of that rounding.
+ */
+public class SolutionVerifier {
+    /** Trials of the Freivalds test, a wrong product passes every trial with probability 2^-20 at most */
+    public static final int DEFAULT_TRIALS = 20;
+    /** Residual accepted relative to the size of A x and b */
+    private static final double RELATIVE_TOLERANCE = 1e-8d;
+    /** The residual is calculated in parallel if every task has at least this many rows */
+    private static final int MIN_ROWS_PER_TASK = 16;
+
+    private SolutionVerifier() {
+    }
+
+    /**
+     * Check the solution of the LinearSystemInfo with its residual, the result is recorded with
+     * {@link LinearSystemInfo#setVerified(boolean)} and {@link LinearSystemInfo#setResidualNorm(double)}
+     *
+     * @param linearSystemInfo Result of the solve of the augmented matrix
+     * @param augmentedMatrix  Augmented matrix (n x n+1), it is not modified
+     * @return True if the residual is small for the size of the system, false if it is too large or there
+     * is no solution
+     */
+    public static boolean verify(final LinearSystemInfo linearSystemInfo, final BigDecimal[][] augmentedMatrix) {
+        BigDecimal[] solution = linearSystemInfo.getSolution();
+        if (!linearSystemInfo.isSolved() || solution == null) {
+            linearSystemInfo.setVerified(false);
+            return false;
+        }
+        int totalRows = LinearSystemUtils.getTotalRows(augmentedMatrix);
+        double[] norms = SolutionVerifier.getResidualNorms(augmentedMatrix, totalRows, solution);
+        double solutionNorm = SolutionVerifier.getNorm(solution);
+        double constantsNorm = 0;
+        for (int rowIndex = 0; rowIndex < totalRows; rowIndex++) {
+            constantsNorm = Math.max(constantsNorm, augmentedMatrix[rowIndex][totalRows].abs().doubleValue());
+        }
+        boolean verified = SolutionVerifier.isAccepted(norms[0], norms[1], solutionNorm, constantsNorm, 1);
+        linearSystemInfo.setResidualNorm(norms[0]);
+        linearSystemInfo.setVerified(verified);
+        return verified;
+    }
+
+    /**
+     * Check the product A X = B with the Freivalds test
+     *
+     * @param matrixA Matrix A (n x m)
+     * @param matrixX Matrix X (m x k)
+     * @param matrixB Matrix B (n x k)
+     * @param trials  Random vectors checked, every trial halves the probability of accepting a wrong product
+     * @param random  Source of the random vectors
+     * @return True if A (X r) = B r for every random vector r of 1 and -1 within the rounding of the values
+     */
+    public static boolean verifyProduct(final BigDecimal[][] matrixA, final BigDecimal[][] matrixX,
+                                        final BigDecimal[][] matrixB, final int trials, final Random random) {
+        if (matrixA.length != matrixB.length || matrixA.length == 0 || matrixX.length != matrixA[0].length
+                || matrixX.length == 0 || matrixX[0].length != matrixB[0].length) {
+            throw new IllegalArgumentException("The dimensions of the matrices do not match");
+        }
+        int columns = matrixB[0].length;
+        double normA = SolutionVerifier.getNorm(matrixA);
+        double normX = SolutionVerifier.getNorm(matrixX);
+        double normB = SolutionVerifier.getNorm(matrixB);
+        BigDecimal[] signs = new BigDecimal[columns];
+        for (int trial = 0; trial < trials; trial++) {
+            for (int columnIndex = 0; columnIndex < columns; columnIndex++) {
+                signs[columnIndex] = random.nextBoolean() ? BigDecimal.ONE : BigDecimal.ONE.negate();
+            }
+            //The sums of +-1 multiples are exact
+            BigDecimal[] productX = SolutionVerifier.multiplySigns(matrixX, signs);
+            BigDecimal[] productB = SolutionVerifier.multiplySigns(matrixB, signs);
+            double residual = 0;
+            for (int rowIndex = 0; rowIndex < matrixA.length; rowIndex++) {
+                BigDecimal value = productB[rowIndex];
+                for (int columnIndex = 0; columnIndex < productX.length; columnIndex++) {
+                    value = value.subtract(matrixA[rowIndex][columnIndex].multiply(productX[columnIndex],
+                            MathContext.DECIMAL128), MathContext.DECIMAL128);
+                }
+                residual = Math.max(residual, value.abs().doubleValue());
+            }
+            if (!SolutionVerifier.isAccepted(residual, normA, normX, normB, columns)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check that X is the inverse of A with the Freivalds test of A X = I
+     *
+     * @param matrixA Square matrix A
+     * @param inverse Inverse of A to check
+     * @param trials  Random vectors checked
+     * @param random  Source of the random vectors
+     * @return True if the product is the identity within the rounding of the values
+     */
+    public static boolean verifyInverse(final BigDecimal[][] matrixA, final BigDecimal[][] inverse,
+                                        final int trials, final Random random) {
+        BigDecimal[][] identity = new BigDecimal[matrixA.length][matrixA.length];
+        for (int rowIndex = 0; rowIndex < identity.length; rowIndex++) {
+            for (int columnIndex = 0; columnIndex < identity.length; columnIndex++) {
+                identity[rowIndex][columnIndex] = rowIndex == columnIndex ? BigDecimal.ONE : BigDecimal.ZERO;
+            }
+        }
+        return SolutionVerifier.verifyProduct(matrixA, inverse, identity, trials, random);
+    }
+
+    /**
+     * @param residual Infinity norm of the residual
+     * @param normA    Infinity norm of A
+     * @param normX    Infinity norm of the solution(s)
+     * @param normB    Infinity norm of the constants
+     * @param columns  Columns of the solutions, each one rounded to {@link LinearSystemUtils#SCALE} decimals
+     * @return True if the residual is explained by the rounding of the values
+     */
+    private static boolean isAccepted(final double residual, final double normA, final double normX,
+                                      final double normB, final int columns) {
+        double roundingResidual = normA * columns * Math.pow(10, -LinearSystemUtils.SCALE);
+        return residual <= RELATIVE_TOLERANCE * (normA * normX + normB) + roundingResidual;
+    }
+
+    /**
+     * @return Infinity norm of the residual and infinity norm of the matrix (without the constants), the
+     * rows are split between the threads of {@link SolverExecutor} if there are enough of them
+     */
+    private static double[] getResidualNorms(final BigDecimal[][] augmentedMatrix, final int totalRows,
+                                             final BigDecimal[] solution) {
+        int tasks = Math.min(SolverExecutor.getThreads(), totalRows / MIN_ROWS_PER_TASK);
+        if (tasks < 2) {
+            return SolutionVerifier.getResidualNorms(augmentedMatrix, totalRows, solution, 0, totalRows);
+        }
+        List<Callable<double[]>> callables = new ArrayList<>(tasks);
+        for (int task = 0; task < tasks; task++) {
+            final int startRow = (int) ((long) totalRows * task / tasks);
+            final int endRow = (int) ((long) totalRows * (task + 1) / tasks);
+            callables.add(new Callable<double[]>() {
+                @Override
+                public double[] call() {
+                    return SolutionVerifier.getResidualNorms(augmentedMatrix, totalRows, solution, startRow,
+                            endRow);
+                }
+            });
+        }
+        double[] norms = new double[2];
+        for (double[] taskNorms : SolverExecutor.invokeAll(callables)) {
+            norms[0] = Math.max(norms[0], taskNorms[0]);
+            norms[1] = Math.max(norms[1], taskNorms[1]);
+        }
+        return norms;
+    }
+
+    private static double[] getResidualNorms(final BigDecimal[][] augmentedMatrix, final int totalRows,
+                                             final BigDecimal[] solution, final int startRow, final int endRow) {
+        double residualNorm = 0;
+        double matrixNorm = 0;
+        for (int rowIndex = startRow; rowIndex < endRow; rowIndex++) {
+            BigDecimal[] row = augmentedMatrix[rowIndex];
+            BigDecimal residual = row[totalRows];
+            BigDecimal rowSum = BigDecimal.ZERO;
+            for (int columnIndex = 0; columnIndex < totalRows; columnIndex++) {
+                if (row[columnIndex].signum() == 0) {
+                    continue;
+                }
+                residual = residual.subtract(row[columnIndex].multiply(solution[columnIndex],
+                        MathContext.DECIMAL128), MathContext.DECIMAL128);
+                rowSum = rowSum.add(row[columnIndex].abs(), MathContext.DECIMAL128);
+            }
+            residualNorm = Math.max(residualNorm, residual.abs().doubleValue());
+            matrixNorm = Math.max(matrixNorm, rowSum.doubleValue());
+        }
+        return new double[]{residualNorm, matrixNorm};
+    }
+
+    private static BigDecimal[] multiplySigns(final BigDecimal[][] matrix, final BigDecimal[] signs) {
+        BigDecimal[] product = new BigDecimal[matrix.length];
+        for (int rowIndex = 0; rowIndex < matrix.length; rowIndex++) {
+            BigDecimal value = BigDecimal.ZERO;
+            for (int columnIndex = 0; columnIndex < signs.length; columnIndex++) {
+                value = signs[columnIndex].signum() > 0 ? value.add(matrix[rowIndex][columnIndex])
+                        : value.subtract(matrix[rowIndex][columnIndex]);
+            }
+            product[rowIndex] = value;
+        }
+        return product;
+    }
+
+    private static double getNorm(final BigDecimal[] vector) {
+        double norm = 0;
+        for (BigDecimal value : vector) {
+            norm = Math.max(norm, value.abs().doubleValue());
+        }
+        return norm;
+    }
+
+    /**
+     * @return Maximum sum of the absolute values of a row
+     */
+    private static double getNorm(final BigDecimal[][] matrix) {
+        double norm = 0;
+        for (BigDecimal[] row : matrix) {
+            BigDecimal rowSum = BigDecimal.ZERO;
+            for (BigDecimal value : row) {
+                rowSum = rowSum.add(value.abs(), MathContext.DECIMAL128);
+            }
+            norm = Math.max(norm, rowSum.doubleValue());
+        }
+        return norm;
+    }
+}
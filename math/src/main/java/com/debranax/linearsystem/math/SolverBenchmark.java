@@ -0,0 +1,218 @@
+package com.debranax.linearsystem.math;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Latency of every engine with a set of generated systems on the running device, and the maximum
+ * unknowns that the dense Gauss-Jordan elimination solves within a target latency
+ */
+public class SolverBenchmark {
+    private static final int[] STANDARD_SIZES = {10, 20, 40};
+    private static final MatrixGenerator.Family[] STANDARD_FAMILIES = {MatrixGenerator.Family.RANDOM,
+            MatrixGenerator.Family.DIAGONALLY_DOMINANT, MatrixGenerator.Family.BANDED,
+            MatrixGenerator.Family.SPARSE};
+    private static final int STANDARD_REPETITIONS = 5;
+    private static final long SEED = 1;
+    private static final double PERCENTILE_50 = 0.5d;
+    private static final double PERCENTILE_95 = 0.95d;
+    /** Bounds of the exponent fitted to the growth of the latency with the unknowns */
+    private static final double MIN_EXPONENT = 2;
+    private static final double MAX_EXPONENT = 4;
+    /** Copies of the augmented matrix alive during a solve (input, solver copy and result) */
+    private static final int MATRIX_COPIES = 3;
+    /** Estimated bytes of a BigDecimal element with its BigInteger */
+    private static final int ELEMENT_BYTES = 96;
+
+    public interface ProgressListener {
+        /**
+         * @param completedCases Cases (family, size and engine) measured so far
+         * @param totalCases     Total cases
+         */
+        void onProgress(int completedCases, int totalCases);
+    }
+
+    public static class Result {
+        private final MatrixGenerator.Family family;
+        private final int size;
+        private final SolverEngine engine;
+        private final long medianNanos;
+        private final long p95Nanos;
+        private final long memoryBytes;
+
+        public Result(final MatrixGenerator.Family family, final int size, final SolverEngine engine,
+                      final long medianNanos, final long p95Nanos, final long memoryBytes) {
+            this.family = family;
+            this.size = size;
+            this.engine = engine;
+            this.medianNanos = medianNanos;
+            this.p95Nanos = p95Nanos;
+            this.memoryBytes = memoryBytes;
+        }
+
+        public MatrixGenerator.Family getFamily() {
+            return family;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public SolverEngine getEngine() {
+            return engine;
+        }
+
+        public long getMedianNanos() {
+            return medianNanos;
+        }
+
+        public long getP95Nanos() {
+            return p95Nanos;
+        }
+
+        /**
+         * @return Median of the bytes allocated by a solve, or of the growth of the heap if the platform
+         * cannot report the allocations (e.g. Android)
+         */
+        public long getMemoryBytes() {
+            return memoryBytes;
+        }
+    }
+
+    private final int[] sizes;
+    private final MatrixGenerator.Family[] families;
+    private final int repetitions;
+
+    /**
+     * @param sizes       Unknowns of the systems, ascending
+     * @param families    Families of the systems
+     * @param repetitions Solves of every case
+     */
+    public SolverBenchmark(final int[] sizes, final MatrixGenerator.Family[] families, final int repetitions) {
+        this.sizes = sizes.clone();
+        this.families = families.clone();
+        this.repetitions = repetitions;
+    }
+
+    /**
+     * @return Benchmark with the standard set of systems, it includes the dense random systems used by
+     * {@link #suggestMaxUnknowns(List, long, long, int, int)}
+     */
+    public static SolverBenchmark standard() {
+        return new SolverBenchmark(STANDARD_SIZES, STANDARD_FAMILIES, STANDARD_REPETITIONS);
+    }
+
+    /**
+     * Solve every system with every engine that supports it
+     *
+     * @param cancellationToken Token to stop the benchmark or null
+     * @param progressListener  Listener of the progress or null
+     * @return Results ordered by family, size and engine, null if it was cancelled
+     */
+    public List<Result> run(final CancellationToken cancellationToken, final ProgressListener progressListener) {
+        List<MatrixGenerator.Family> caseFamilies = new ArrayList<>();
+        List<BigDecimal[][]> matrices = new ArrayList<>();
+        List<SolverEngine> engines = new ArrayList<>();
+        List<Result> results = new ArrayList<>();
+        for (MatrixGenerator.Family family : families) {
+            for (int size : sizes) {
+                BigDecimal[][] matrix = MatrixGenerator.generate(family, size, SEED);
+                MatrixStructure structure = MatrixAnalyzer.analyze(matrix);
+                for (SolverEngine engine : SolverEngine.values()) {
+                    if (engine.supports(structure)) {
+                        caseFamilies.add(family);
+                        matrices.add(matrix);
+                        engines.add(engine);
+                    }
+                }
+            }
+        }
+
+        SolverOptions options = new SolverOptions();
+        options.setCancellationToken(cancellationToken);
+        options.setMetricsEnabled(true);
+        Runtime runtime = Runtime.getRuntime();
+        for (int index = 0; index < matrices.size(); index++) {
+            BigDecimal[][] matrix = matrices.get(index);
+            long[] nanos = new long[repetitions];
+            long[] bytes = new long[repetitions];
+            options.setEngine(engines.get(index));
+            //The first solve is not measured (class loading and JIT)
+            LinearSystemsSolver.solve(matrix, options);
+            for (int repetition = 0; repetition < repetitions; repetition++) {
+                long usedMemory = runtime.totalMemory() - runtime.freeMemory();
+                long startNanos = System.nanoTime();
+                LinearSystemInfo linearSystemInfo = LinearSystemsSolver.solve(matrix, options);
+                nanos[repetition] = System.nanoTime() - startNanos;
+                if (linearSystemInfo.getStatusCode() == LinearSystemUtils.StatusCode.CANCELLED.getStatusCodeVal()) {
+                    return null;
+                }
+                long allocatedBytes = linearSystemInfo.getMetrics().getAllocatedBytes();
+                bytes[repetition] = allocatedBytes != SolverMetrics.UNAVAILABLE ? allocatedBytes
+                        : Math.max(0, runtime.totalMemory() - runtime.freeMemory() - usedMemory);
+            }
+            results.add(new Result(caseFamilies.get(index), matrix.length, engines.get(index),
+                    SolverBenchmark.percentile(nanos, PERCENTILE_50), SolverBenchmark.percentile(nanos, PERCENTILE_95),
+                    SolverBenchmark.percentile(bytes, PERCENTILE_50)));
+            if (progressListener != null) {
+                progressListener.onProgress(index + 1, matrices.size());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Maximum unknowns of a dense system solved within the target latency, extrapolated from the p95
+     * latency of the two largest dense random systems of the results, and whose copies of the augmented
+     * matrix fit in the memory budget
+     *
+     * @param results            Results of the benchmark
+     * @param targetLatencyNanos Maximum latency of a solve
+     * @param memoryBudgetBytes  Maximum memory of a solve
+     * @param minUnknowns        Minimum value of the suggestion
+     * @param maxUnknowns        Maximum value of the suggestion
+     * @return Suggested maximum unknowns, maxUnknowns if the results have less than two dense sizes
+     */
+    public static int suggestMaxUnknowns(final List<Result> results, final long targetLatencyNanos,
+                                         final long memoryBudgetBytes, final int minUnknowns,
+                                         final int maxUnknowns) {
+        Result smaller = null;
+        Result larger = null;
+        for (Result result : results) {
+            if (result.getFamily() != MatrixGenerator.Family.RANDOM
+                    || result.getEngine() != SolverEngine.GAUSS_JORDAN) {
+                continue;
+            }
+            if (larger == null || result.getSize() > larger.getSize()) {
+                smaller = larger;
+                larger = result;
+            } else if (result.getSize() < larger.getSize()
+                    && (smaller == null || result.getSize() > smaller.getSize())) {
+                smaller = result;
+            }
+        }
+        if (smaller == null) {
+            return maxUnknowns;
+        }
+        double exponent = Math.log((double) Math.max(larger.getP95Nanos(), 1) / Math.max(smaller.getP95Nanos(), 1))
+                / Math.log((double) larger.getSize() / smaller.getSize());
+        exponent = Math.max(MIN_EXPONENT, Math.min(MAX_EXPONENT, exponent));
+        double suggestion = larger.getSize()
+                * Math.pow((double) targetLatencyNanos / Math.max(larger.getP95Nanos(), 1), 1 / exponent);
+        suggestion = Math.min(suggestion, Math.sqrt((double) memoryBudgetBytes / (MATRIX_COPIES * ELEMENT_BYTES)));
+        return (int) Math.max(minUnknowns, Math.min(maxUnknowns, Math.floor(suggestion)));
+    }
+
+    /**
+     * @param values     Values, they are sorted
+     * @param percentile Percentile between 0 and 1
+     * @return Value of the percentile (nearest rank)
+     */
+    static long percentile(final long[] values, final double percentile) {
+        Arrays.sort(values);
+        int rank = (int) Math.ceil(percentile * values.length);
+        return values[Math.max(0, Math.min(values.length - 1, rank - 1))];
+    }
+}
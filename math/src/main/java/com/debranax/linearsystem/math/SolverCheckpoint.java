@@ -0,0 +1,370 @@
+package com.debranax.linearsystem.math;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Checkpoints of the Gauss-Jordan elimination (see {@link SolverOptions#setCheckpoint(SolverCheckpoint)}).
+ * Every few eliminated columns the matrix reached so far (the row swaps are part of it) and the next
+ * column are written to a file, and a solve of the same augmented matrix continues from it instead of
+ * starting again. The first checkpoint is written only once the elimination took long enough to pay
+ * for it, the time of a write ({@link #getFirstWriteMillis()} until one is measured) divided by
+ * {@link #getTargetOverhead()}, so a short solve never writes. After it the number of columns between
+ * checkpoints adapts so the writes take about {@link #getTargetOverhead()} of the time of the
+ * elimination. A cancelled solve or one whose time budget ran out writes a last checkpoint, and a
+ * finished solve deletes the file.
+ * <p>
+ * The file has the SHA-256 of the original augmented matrix and a CRC32 of its content, it is written
+ * to a temporary file that replaces the previous checkpoint only once it is complete, so a process
+ * killed while writing keeps the previous one.
+ */
+public class SolverCheckpoint {
+    public static final double DEFAULT_TARGET_OVERHEAD = 0.05d;
+    public static final long DEFAULT_FIRST_WRITE_MILLIS = 50;
+
+    private static final Logger LOGGER = Logger.getLogger(SolverCheckpoint.class.getName());
+    private static final int MAGIC = 0x4C534350;
+    private static final int VERSION = 1;
+    private static final String TEMP_EXTENSION = ".tmp";
+    private static final int CRC_BYTES = 4;
+
+    private final File file;
+    private double targetOverhead = DEFAULT_TARGET_OVERHEAD;
+    private long writeNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_FIRST_WRITE_MILLIS);
+    private int interval = 1;
+    private int totalCheckpoints;
+    private byte[] fingerprint;
+    private BigDecimal[][] matrix;
+    private boolean backElimination;
+    private int nextRow;
+    private int eliminatedColumns;
+    private int columnsSinceCheckpoint;
+    private long intervalStartNanos;
+    private long startNanos;
+
+    /**
+     * @param file File of the checkpoint, its directory must exist
+     */
+    public SolverCheckpoint(final File file) {
+        this.file = file;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public double getTargetOverhead() {
+        return targetOverhead;
+    }
+
+    /**
+     * @param targetOverhead Time of the writes divided by the time of the elimination, greater than zero
+     */
+    public void setTargetOverhead(final double targetOverhead) {
+        if (!(targetOverhead > 0)) {
+            throw new IllegalArgumentException("The target overhead must be greater than zero");
+        }
+        this.targetOverhead = targetOverhead;
+    }
+
+    public long getFirstWriteMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(writeNanos);
+    }
+
+    /**
+     * @param firstWriteMillis Expected time of a write before one is measured, it sizes the elimination
+     *                         time before the first checkpoint. The last write measured replaces it
+     */
+    public void setFirstWriteMillis(final long firstWriteMillis) {
+        if (firstWriteMillis < 0) {
+            throw new IllegalArgumentException("The time of the first write cannot be negative");
+        }
+        this.writeNanos = TimeUnit.MILLISECONDS.toNanos(firstWriteMillis);
+    }
+
+    /**
+     * @return Columns eliminated between the last two checkpoints
+     */
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * @return Checkpoints written by the last solve
+     */
+    public int getCheckpointCount() {
+        return totalCheckpoints;
+    }
+
+    /**
+     * @param augmentedMatrix Augmented matrix of the solve
+     * @return True if there is a valid checkpoint of the augmented matrix, a solve would continue from it
+     */
+    public boolean exists(final BigDecimal[][] augmentedMatrix) {
+        return read(SolverCheckpoint.getFingerprint(augmentedMatrix)) != null;
+    }
+
+    public void delete() {
+        file.delete();
+        new File(file.getParentFile(), file.getName() + TEMP_EXTENSION).delete();
+    }
+
+    /**
+     * Start the checkpoints of an elimination
+     *
+     * @param augmentedMatrix Augmented matrix before the elimination
+     * @return Saved state of the augmented matrix or null if there is no valid checkpoint of it
+     */
+    State start(final BigDecimal[][] augmentedMatrix) {
+        fingerprint = SolverCheckpoint.getFingerprint(augmentedMatrix);
+        totalCheckpoints = 0;
+        interval = 1;
+        columnsSinceCheckpoint = 0;
+        matrix = null;
+        startNanos = System.nanoTime();
+        intervalStartNanos = startNanos;
+        return read(fingerprint);
+    }
+
+    /**
+     * Record the position of the elimination after a column, the checkpoint is written if it is due
+     *
+     * @param matrix            Matrix of the elimination
+     * @param backElimination   True if the elements above the diagonal are eliminated
+     * @param nextRow           Row of the next column to eliminate
+     * @param eliminatedColumns Columns eliminated so far (below and above the diagonal)
+     */
+    void columnEliminated(final BigDecimal[][] matrix, final boolean backElimination, final int nextRow,
+                          final int eliminatedColumns) {
+        this.matrix = matrix;
+        this.backElimination = backElimination;
+        this.nextRow = nextRow;
+        this.eliminatedColumns = eliminatedColumns;
+        columnsSinceCheckpoint++;
+        long writeStartNanos;
+        if (totalCheckpoints == 0) {
+            //The first write must take the target overhead of the elimination done so far
+            writeStartNanos = System.nanoTime();
+            if (writeStartNanos - startNanos < writeNanos / targetOverhead) {
+                return;
+            }
+        } else if (columnsSinceCheckpoint < interval) {
+            return;
+        } else {
+            writeStartNanos = System.nanoTime();
+        }
+        double columnNanos = Math.max(1d, writeStartNanos - intervalStartNanos) / columnsSinceCheckpoint;
+        write();
+        writeNanos = System.nanoTime() - writeStartNanos;
+        //The writes of K columns must take the target overhead of their elimination
+        interval = (int) Math.max(1d, Math.min(Integer.MAX_VALUE,
+                Math.ceil(writeNanos / (targetOverhead * columnNanos))));
+        columnsSinceCheckpoint = 0;
+        intervalStartNanos = System.nanoTime();
+    }
+
+    /**
+     * Write the last position recorded, called when the solve is cancelled or stopped by its time budget
+     */
+    void interrupted() {
+        if (matrix != null && columnsSinceCheckpoint > 0) {
+            write();
+        }
+    }
+
+    /**
+     * The elimination finished, its checkpoint is not needed anymore
+     */
+    void finish() {
+        matrix = null;
+        delete();
+    }
+
+    private void write() {
+        File tempFile = new File(file.getParentFile(), file.getName() + TEMP_EXTENSION);
+        try {
+            FileOutputStream fileOutput = new FileOutputStream(tempFile);
+            CrcOutputStream crcOutput = new CrcOutputStream(new BufferedOutputStream(fileOutput));
+            DataOutputStream output = new DataOutputStream(crcOutput);
+            try {
+                output.writeInt(MAGIC);
+                MatrixCodec.writeVarInt(output, VERSION);
+                MatrixCodec.writeVarInt(output, fingerprint.length);
+                output.write(fingerprint);
+                output.writeBoolean(backElimination);
+                MatrixCodec.writeVarInt(output, nextRow);
+                MatrixCodec.writeVarInt(output, eliminatedColumns);
+                MatrixCodec.writeDeltaMatrix(output, matrix);
+                output.writeInt((int) crcOutput.crc.getValue());
+                output.flush();
+                fileOutput.getFD().sync();
+            } finally {
+                output.close();
+            }
+            if (!tempFile.renameTo(file)) {
+                throw new IOException("The checkpoint cannot replace " + file);
+            }
+            totalCheckpoints++;
+        } catch (IOException e) {
+            //The solve continues without this checkpoint
+            tempFile.delete();
+            SolverCheckpoint.LOGGER.warning(LinearSystemUtils.getStackTrace(e));
+        }
+    }
+
+    /**
+     * @return State of the checkpoint or null if it does not exist, it is damaged or it belongs to other
+     * matrix
+     */
+    private State read(final byte[] expectedFingerprint) {
+        if (!file.isFile() || file.length() < CRC_BYTES || file.length() > Integer.MAX_VALUE) {
+            return null;
+        }
+        try {
+            byte[] bytes = new byte[(int) file.length()];
+            DataInputStream fileInput = new DataInputStream(new FileInputStream(file));
+            try {
+                fileInput.readFully(bytes);
+            } finally {
+                fileInput.close();
+            }
+            CRC32 crc = new CRC32();
+            crc.update(bytes, 0, bytes.length - CRC_BYTES);
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes));
+            input.skipBytes(bytes.length - CRC_BYTES);
+            if (input.readInt() != (int) crc.getValue()) {
+                return null;
+            }
+            input = new DataInputStream(new ByteArrayInputStream(bytes, 0, bytes.length - CRC_BYTES));
+            if (input.readInt() != MAGIC || MatrixCodec.readVarInt(input) != VERSION) {
+                return null;
+            }
+            byte[] savedFingerprint = new byte[MatrixCodec.readVarInt(input)];
+            input.readFully(savedFingerprint);
+            if (!Arrays.equals(savedFingerprint, expectedFingerprint)) {
+                return null;
+            }
+            boolean savedBackElimination = input.readBoolean();
+            int savedNextRow = MatrixCodec.readVarInt(input);
+            int savedEliminatedColumns = MatrixCodec.readVarInt(input);
+            return new State(MatrixCodec.readDeltaMatrix(input), savedBackElimination, savedNextRow,
+                    savedEliminatedColumns);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return SHA-256 of the exact values of the augmented matrix
+     */
+    private static byte[] getFingerprint(final BigDecimal[][] augmentedMatrix) {
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            //SHA-256 is available in every Java and Android platform
+            throw new IllegalStateException(e);
+        }
+        DataOutputStream output = new DataOutputStream(new DigestOutputStream(new CrcOutputStream(null),
+                messageDigest));
+        try {
+            MatrixCodec.writeMatrix(output, augmentedMatrix);
+            output.flush();
+        } catch (IOException e) {
+            //The digest does not throw IOException
+            throw new IllegalStateException(e);
+        }
+        return messageDigest.digest();
+    }
+
+    /**
+     * Position of the elimination saved in a checkpoint
+     */
+    static class State {
+        private final BigDecimal[][] matrix;
+        private final boolean backElimination;
+        private final int nextRow;
+        private final int eliminatedColumns;
+
+        private State(final BigDecimal[][] matrix, final boolean backElimination, final int nextRow,
+                      final int eliminatedColumns) {
+            this.matrix = matrix;
+            this.backElimination = backElimination;
+            this.nextRow = nextRow;
+            this.eliminatedColumns = eliminatedColumns;
+        }
+
+        BigDecimal[][] getMatrix() {
+            return matrix;
+        }
+
+        boolean isBackElimination() {
+            return backElimination;
+        }
+
+        int getNextRow() {
+            return nextRow;
+        }
+
+        int getEliminatedColumns() {
+            return eliminatedColumns;
+        }
+    }
+
+    /**
+     * Output that calculates the CRC32 of the bytes written to the stream, null to discard them
+     */
+    private static class CrcOutputStream extends OutputStream {
+        private final OutputStream outputStream;
+        private final CRC32 crc = new CRC32();
+
+        private CrcOutputStream(final OutputStream outputStream) {
+            this.outputStream = outputStream;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            crc.update(b);
+            if (outputStream != null) {
+                outputStream.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            crc.update(b, off, len);
+            if (outputStream != null) {
+                outputStream.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (outputStream != null) {
+                outputStream.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (outputStream != null) {
+                outputStream.close();
+            }
+        }
+    }
+}
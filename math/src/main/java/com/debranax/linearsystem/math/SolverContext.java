@@ -0,0 +1,158 @@
+package com.debranax.linearsystem.math;
+
+/**
+ * State shared by the steps of a single solve: cancellation, time budget, progress, metrics and
+ * the record of the row operations
+ */
+class SolverContext {
+    private static final long NANOS_PER_MILLI = 1000000L;
+
+    private final CancellationToken cancellationToken;
+    private final SolverProgressListener progressListener;
+    private final long deadlineNanos;
+    private final int totalColumns;
+    private int eliminatedColumns;
+    private final SolverMetrics metrics;
+    private final EliminationStepRecorder stepRecorder;
+    private final SolverCheckpoint checkpoint;
+    private final long allocatedBytesStart;
+    private long phaseStartNanos;
+
+    SolverContext(final SolverOptions options, final int totalColumns) {
+        SolverOptions solverOptions = options != null ? options : new SolverOptions();
+        this.cancellationToken = solverOptions.getCancellationToken();
+        this.progressListener = solverOptions.getProgressListener();
+        this.deadlineNanos = solverOptions.getTimeBudgetMillis() > SolverOptions.NO_TIME_BUDGET
+                ? System.nanoTime() + solverOptions.getTimeBudgetMillis() * NANOS_PER_MILLI : 0;
+        this.totalColumns = totalColumns;
+        this.metrics = solverOptions.isMetricsEnabled() ? new SolverMetrics() : null;
+        this.stepRecorder = solverOptions.getStepRecorder();
+        this.checkpoint = solverOptions.getCheckpoint();
+        this.allocatedBytesStart = metrics != null
+                ? SolverMetrics.AllocationCounter.getCurrentThreadAllocatedBytes() : SolverMetrics.UNAVAILABLE;
+    }
+
+    /**
+     * Context of a part of the solve run in another thread, it shares the cancellation and the time
+     * budget and has its own metrics, see {@link #merge(SolverContext)}
+     * @param parent Context of the solve
+     */
+    private SolverContext(final SolverContext parent) {
+        this.cancellationToken = parent.cancellationToken;
+        this.progressListener = null;
+        this.deadlineNanos = parent.deadlineNanos;
+        this.totalColumns = 0;
+        this.metrics = parent.metrics != null ? new SolverMetrics() : null;
+        this.stepRecorder = null;
+        this.checkpoint = null;
+        this.allocatedBytesStart = SolverMetrics.UNAVAILABLE;
+    }
+
+    /**
+     * @return New context for a part of the solve run in another thread
+     */
+    SolverContext createChild() {
+        return new SolverContext(this);
+    }
+
+    /**
+     * Add the progress and the metrics of a part of the solve, called by the thread of the solve once
+     * the part finished
+     * @param child Context created by {@link #createChild()}
+     */
+    void merge(final SolverContext child) {
+        for (int column = 0; column < child.eliminatedColumns; column++) {
+            columnEliminated();
+        }
+        if (metrics != null) {
+            metrics.add(child.metrics);
+        }
+    }
+
+    /**
+     * Verify if the solve was cancelled or the time budget ran out
+     * @throws SolverInterruptedException If the solver must stop
+     */
+    void checkInterrupted() {
+        if (cancellationToken != null && cancellationToken.isCancelled()) {
+            throw new SolverInterruptedException(LinearSystemUtils.CANCELLED_MESSAGE,
+                    LinearSystemUtils.StatusCode.CANCELLED);
+        }
+        if (deadlineNanos != 0 && System.nanoTime() - deadlineNanos > 0) {
+            throw new SolverInterruptedException(LinearSystemUtils.TIME_BUDGET_EXCEEDED_MESSAGE,
+                    LinearSystemUtils.StatusCode.TIME_BUDGET_EXCEEDED);
+        }
+    }
+
+    /**
+     * Notify the progress listener (if any) that one more column was eliminated
+     */
+    void columnEliminated() {
+        eliminatedColumns++;
+        if (progressListener != null) {
+            progressListener.onProgress(eliminatedColumns, totalColumns);
+        }
+    }
+
+    int getEliminatedColumns() {
+        return eliminatedColumns;
+    }
+
+    /**
+     * Continue the progress of a solve resumed from a checkpoint
+     * @param eliminatedColumns Columns eliminated before the checkpoint
+     */
+    void resume(final int eliminatedColumns) {
+        this.eliminatedColumns = eliminatedColumns;
+        if (progressListener != null) {
+            progressListener.onProgress(eliminatedColumns, totalColumns);
+        }
+    }
+
+    /**
+     * @return Checkpoint of the Gauss-Jordan elimination or null if there are no checkpoints
+     */
+    SolverCheckpoint getCheckpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * @return Metrics of the solve or null if they are disabled, the steps only record them if not null
+     */
+    SolverMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return Recorder of the row operations or null if they are not recorded
+     */
+    EliminationStepRecorder getStepRecorder() {
+        return stepRecorder;
+    }
+
+    void startPhase() {
+        if (metrics != null) {
+            phaseStartNanos = System.nanoTime();
+        }
+    }
+
+    void endPhase(final SolverMetrics.Phase phase) {
+        if (metrics != null) {
+            metrics.addPhaseNanos(phase, System.nanoTime() - phaseStartNanos);
+        }
+    }
+
+    /**
+     * Complete the metrics with the bytes allocated since the solve started
+     * @return Metrics of the solve or null if they are disabled
+     */
+    SolverMetrics finishMetrics() {
+        if (metrics != null && allocatedBytesStart != SolverMetrics.UNAVAILABLE) {
+            long allocatedBytesEnd = SolverMetrics.AllocationCounter.getCurrentThreadAllocatedBytes();
+            if (allocatedBytesEnd != SolverMetrics.UNAVAILABLE) {
+                metrics.setAllocatedBytes(allocatedBytesEnd - allocatedBytesStart);
+            }
+        }
+        return metrics;
+    }
+}
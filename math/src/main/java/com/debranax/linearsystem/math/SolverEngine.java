@@ -0,0 +1,77 @@
+package com.debranax.linearsystem.math;
+
+/**
+ * Algorithms used to solve the linear system, chosen by {@link MatrixAnalyzer#chooseEngine(MatrixStructure)}
+ * or by the caller with {@link SolverOptions#setEngine(SolverEngine)}
+ */
+public enum SolverEngine {
+    /** Dense Gauss-Jordan elimination, it solves any system */
+    GAUSS_JORDAN,
+    /** One division per unknown */
+    DIAGONAL,
+    /** Forward or back substitution of an upper or lower triangular matrix */
+    TRIANGULAR,
+    /** Gaussian elimination without pivoting limited to the band, for diagonally dominant matrices */
+    BANDED,
+    /** Gauss-Jordan elimination of every independent block along the diagonal */
+    BLOCK_DIAGONAL,
+    /**
+     * Levinson recursion of a Toeplitz matrix in O(n^2) (see {@link ToeplitzSolver}), if a leading
+     * principal minor is zero the system is solved by the Gauss-Jordan elimination. It is chosen only for
+     * diagonally dominant matrices because it does not pivot
+     */
+    TOEPLITZ,
+    /**
+     * Björck-Pereyra algorithm of a Vandermonde matrix in O(n^2) (see {@link VandermondeSolver}), if two
+     * nodes are equal the system is solved by the Gauss-Jordan elimination
+     */
+    VANDERMONDE,
+    /**
+     * Gauss-Jordan elimination of the diagonal blocks of the block triangular form of a sparse matrix
+     * (see {@link BlockTriangularForm}), the independent blocks are solved in parallel. If the matrix is
+     * irreducible the system is solved by the Gauss-Jordan elimination
+     */
+    BLOCK_TRIANGULAR,
+    /**
+     * Double precision solve with a verified interval enclosure of every unknown (see
+     * {@link LinearSystemInfo#getEnclosureWidths()}), only used when it is chosen by the caller. If the
+     * enclosure cannot be verified the system is solved by the Gauss-Jordan elimination without it
+     */
+    VERIFIED,
+    /**
+     * Geometric multigrid of the grid systems described by a {@link GridStencil} (see
+     * {@link MultigridSolver}), it is never used for an augmented matrix
+     */
+    MULTIGRID,
+    /**
+     * LU decomposition with partial pivoting of a {@link ComplexMatrix} in double precision (see
+     * {@link ComplexSolver}), it is never used for a real augmented matrix
+     */
+    COMPLEX;
+
+    /**
+     * @param structure Structure of the augmented matrix
+     * @return True if the engine gives the solution of a matrix with this structure
+     */
+    public boolean supports(final MatrixStructure structure) {
+        switch (this) {
+            case DIAGONAL:
+                return structure.isDiagonal();
+            case TRIANGULAR:
+                return structure.isUpperTriangular() || structure.isLowerTriangular();
+            case BANDED:
+                return structure.isDiagonallyDominant();
+            case BLOCK_DIAGONAL:
+                return structure.getBlockCount() > 1;
+            case TOEPLITZ:
+                return structure.isToeplitz();
+            case VANDERMONDE:
+                return structure.isVandermonde();
+            case MULTIGRID:
+            case COMPLEX:
+                return false;
+            default:
+                return true;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.debranax.linearsystem.math;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Pool of threads shared by the parts of the solves that run in parallel, its threads are daemons so it
+ * never keeps the process alive
+ */
+class SolverExecutor {
+    private static volatile ExecutorService executorService;
+
+    private SolverExecutor() {
+    }
+
+    /**
+     * @return Threads of the pool
+     */
+    static int getThreads() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Run the tasks in the pool and wait for all of them
+     *
+     * @param tasks Tasks to run
+     * @param <T>   Type of the results
+     * @return Results of the tasks in the same order
+     * @throws SolverInterruptedException If the thread was interrupted or a task was interrupted
+     */
+    static <T> List<T> invokeAll(final List<Callable<T>> tasks) {
+        try {
+            List<Future<T>> futures = SolverExecutor.getExecutorService().invokeAll(tasks);
+            List<T> results = new ArrayList<>(futures.size());
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SolverInterruptedException(LinearSystemUtils.CANCELLED_MESSAGE,
+                    LinearSystemUtils.StatusCode.CANCELLED);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static ExecutorService getExecutorService() {
+        ExecutorService current = executorService;
+        if (current == null) {
+            synchronized (SolverExecutor.class) {
+                current = executorService;
+                if (current == null) {
+                    current = Executors.newFixedThreadPool(SolverExecutor.getThreads(), new ThreadFactory() {
+                        @Override
+                        public Thread newThread(final Runnable runnable) {
+                            Thread thread = new Thread(runnable, "solver");
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+                    executorService = current;
+                }
+            }
+        }
+        return current;
+    }
+}
@@ -0,0 +1,14 @@
+package com.debranax.linearsystem.math;
+
+public class SolverInterruptedException extends RuntimeException {
+    private final LinearSystemUtils.StatusCode statusCode;
+
+    public SolverInterruptedException(final String message, final LinearSystemUtils.StatusCode statusCode) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    public LinearSystemUtils.StatusCode getStatusCode() {
+        return statusCode;
+    }
+}
@@ -0,0 +1,205 @@
+package com.debranax.linearsystem.math;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+
+/**
+ * Metrics of a single solve, they are recorded only when {@link SolverOptions#setMetricsEnabled(boolean)}
+ * is enabled. Operations are counted per element of the augmented matrix.
+ */
+public class SolverMetrics implements Serializable {
+    public static final long UNAVAILABLE = -1;
+
+    public enum Phase {
+        HOMOGENEITY_CHECK,
+        FORWARD_ELIMINATION,
+        BACK_ELIMINATION,
+        /** Interval verification of the {@link SolverEngine#VERIFIED} engine */
+        VERIFICATION,
+        /** Cycles of the iterative {@link SolverEngine#MULTIGRID} engine */
+        ITERATION,
+        RESULT_BUILDING
+    }
+
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private long rowSwaps;
+    private long divisions;
+    private long multiplications;
+    private long subtractions;
+    private int maxPrecision;
+    private long allocatedBytes = UNAVAILABLE;
+
+    /**
+     * @param phase Phase of the solve
+     * @return Wall time of the phase in nanoseconds, 0 if the phase was not reached
+     */
+    public long getPhaseNanos(final Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * @return Wall time of all the phases in nanoseconds
+     */
+    public long getTotalNanos() {
+        long totalNanos = 0;
+        for (long nanos : phaseNanos) {
+            totalNanos += nanos;
+        }
+        return totalNanos;
+    }
+
+    public long getRowSwaps() {
+        return rowSwaps;
+    }
+
+    public long getDivisions() {
+        return divisions;
+    }
+
+    public long getMultiplications() {
+        return multiplications;
+    }
+
+    public long getSubtractions() {
+        return subtractions;
+    }
+
+    /**
+     * @return Sum of divisions, multiplications and subtractions
+     */
+    public long getArithmeticOperations() {
+        return divisions + multiplications + subtractions;
+    }
+
+    /**
+     * @return Maximum precision (digits of the unscaled value) of the elements calculated by the solver
+     */
+    public int getMaxPrecision() {
+        return maxPrecision;
+    }
+
+    /**
+     * @return Bytes allocated by the thread of the solve or {@link #UNAVAILABLE} if the platform cannot
+     * report them (e.g. Android)
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    void addPhaseNanos(final Phase phase, final long nanos) {
+        phaseNanos[phase.ordinal()] += nanos;
+    }
+
+    void rowSwapped() {
+        rowSwaps++;
+    }
+
+    void addDivisions(final int count) {
+        divisions += count;
+    }
+
+    /**
+     * Count the multiplications and subtractions of a row operation (row - factor * pivot row)
+     * @param count Elements of the row updated
+     */
+    void addMultiplySubtract(final int count) {
+        multiplications += count;
+        subtractions += count;
+    }
+
+    void recordPrecision(final BigDecimal value) {
+        if (value.precision() > maxPrecision) {
+            maxPrecision = value.precision();
+        }
+    }
+
+    /**
+     * Add the phases and operations of a part of the solve run in another thread, the phase times of
+     * parts run in parallel are added (CPU time instead of wall time)
+     * @param metrics Metrics of the part
+     */
+    void add(final SolverMetrics metrics) {
+        for (int phase = 0; phase < phaseNanos.length; phase++) {
+            phaseNanos[phase] += metrics.phaseNanos[phase];
+        }
+        rowSwaps += metrics.rowSwaps;
+        divisions += metrics.divisions;
+        multiplications += metrics.multiplications;
+        subtractions += metrics.subtractions;
+        maxPrecision = Math.max(maxPrecision, metrics.maxPrecision);
+    }
+
+    /**
+     * Restore the operations of a decoded solve (see {@link MatrixCodec#decode(byte[])})
+     */
+    void setOperations(final long rowSwaps, final long divisions, final long multiplications,
+                       final long subtractions, final int maxPrecision) {
+        this.rowSwaps = rowSwaps;
+        this.divisions = divisions;
+        this.multiplications = multiplications;
+        this.subtractions = subtractions;
+        this.maxPrecision = maxPrecision;
+    }
+
+    void setAllocatedBytes(final long allocatedBytes) {
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "homogeneityCheckNanos=" + getPhaseNanos(Phase.HOMOGENEITY_CHECK)
+                + ", forwardEliminationNanos=" + getPhaseNanos(Phase.FORWARD_ELIMINATION)
+                + ", backEliminationNanos=" + getPhaseNanos(Phase.BACK_ELIMINATION)
+                + ", verificationNanos=" + getPhaseNanos(Phase.VERIFICATION)
+                + ", iterationNanos=" + getPhaseNanos(Phase.ITERATION)
+                + ", resultBuildingNanos=" + getPhaseNanos(Phase.RESULT_BUILDING)
+                + ", rowSwaps=" + rowSwaps + ", divisions=" + divisions + ", multiplications=" + multiplications
+                + ", subtractions=" + subtractions + ", maxPrecision=" + maxPrecision
+                + ", allocatedBytes=" + allocatedBytes;
+    }
+
+    /**
+     * Bytes allocated by the current thread, available in the JVMs that provide
+     * com.sun.management.ThreadMXBean (it is looked up by reflection because Android does not have it)
+     */
+    static class AllocationCounter {
+        private static final Object THREAD_MX_BEAN;
+        private static final Method GET_THREAD_ALLOCATED_BYTES;
+
+        static {
+            Object threadMXBean = null;
+            Method getThreadAllocatedBytes = null;
+            try {
+                Class<?> managementFactory = Class.forName("java.lang.management.ManagementFactory");
+                Class<?> sunThreadMXBean = Class.forName("com.sun.management.ThreadMXBean");
+                Object bean = managementFactory.getMethod("getThreadMXBean").invoke(null);
+                if (sunThreadMXBean.isInstance(bean)) {
+                    Method method = sunThreadMXBean.getMethod("getThreadAllocatedBytes", long.class);
+                    if ((Long) method.invoke(bean, Thread.currentThread().getId()) >= 0) {
+                        threadMXBean = bean;
+                        getThreadAllocatedBytes = method;
+                    }
+                }
+            } catch (Exception | LinkageError e) {
+                //The platform cannot report the allocated bytes
+            }
+            THREAD_MX_BEAN = threadMXBean;
+            GET_THREAD_ALLOCATED_BYTES = getThreadAllocatedBytes;
+        }
+
+        /**
+         * @return Bytes allocated by the current thread since it started or {@link #UNAVAILABLE}
+         */
+        static long getCurrentThreadAllocatedBytes() {
+            if (GET_THREAD_ALLOCATED_BYTES == null) {
+                return UNAVAILABLE;
+            }
+            try {
+                return (Long) GET_THREAD_ALLOCATED_BYTES.invoke(THREAD_MX_BEAN, Thread.currentThread().getId());
+            } catch (Exception e) {
+                return UNAVAILABLE;
+            }
+        }
+    }
+}
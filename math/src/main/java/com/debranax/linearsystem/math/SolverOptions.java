@@ -0,0 +1,121 @@
+package com.debranax.linearsystem.math;
+
+public class SolverOptions {
+    public static final long NO_TIME_BUDGET = 0;
+
+    private CancellationToken cancellationToken;
+    private SolverProgressListener progressListener;
+    private long timeBudgetMillis = NO_TIME_BUDGET;
+    private boolean metricsEnabled;
+    private EliminationStepRecorder stepRecorder;
+    private SolverEngine engine;
+    private MatrixStructure matrixStructure;
+    private SolverCheckpoint checkpoint;
+    private boolean verificationEnabled;
+
+    public CancellationToken getCancellationToken() {
+        return cancellationToken;
+    }
+
+    public void setCancellationToken(CancellationToken cancellationToken) {
+        this.cancellationToken = cancellationToken;
+    }
+
+    public SolverProgressListener getProgressListener() {
+        return progressListener;
+    }
+
+    public void setProgressListener(SolverProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    public long getTimeBudgetMillis() {
+        return timeBudgetMillis;
+    }
+
+    /**
+     * Maximum time the solver can spend, when it runs out a partial result is returned
+     * @param timeBudgetMillis Time budget in milliseconds, {@link #NO_TIME_BUDGET} to disable it
+     */
+    public void setTimeBudgetMillis(long timeBudgetMillis) {
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    /**
+     * Record the metrics of the solve (see {@link LinearSystemInfo#getMetrics()}), disabled by default
+     * @param metricsEnabled True to record the metrics
+     */
+    public void setMetricsEnabled(boolean metricsEnabled) {
+        this.metricsEnabled = metricsEnabled;
+    }
+
+    public EliminationStepRecorder getStepRecorder() {
+        return stepRecorder;
+    }
+
+    /**
+     * Record the row operations of the elimination, null (default) to solve without recording them
+     * @param stepRecorder Recorder of the operations, it is restarted by every solve
+     */
+    public void setStepRecorder(EliminationStepRecorder stepRecorder) {
+        this.stepRecorder = stepRecorder;
+    }
+
+    public SolverEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Engine of the solve, null (default) to choose the cheapest one for the structure of the matrix.
+     * If the engine does not support the matrix (see {@link SolverEngine#supports(MatrixStructure)}) the
+     * cheapest one is used
+     * @param engine Engine of the solve
+     */
+    public void setEngine(SolverEngine engine) {
+        this.engine = engine;
+    }
+
+    public MatrixStructure getMatrixStructure() {
+        return matrixStructure;
+    }
+
+    /**
+     * Structure of the matrix already found by {@link MatrixAnalyzer#analyze(java.math.BigDecimal[][])},
+     * so the solver does not analyze it again, null (default) to analyze it in the solve
+     * @param matrixStructure Structure of the augmented matrix to solve
+     */
+    public void setMatrixStructure(MatrixStructure matrixStructure) {
+        this.matrixStructure = matrixStructure;
+    }
+
+    public SolverCheckpoint getCheckpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * Write checkpoints of the Gauss-Jordan elimination and continue from the checkpoint of the same
+     * augmented matrix if there is one, null (default) to solve without checkpoints. They are not used
+     * with a step recorder
+     * @param checkpoint Checkpoint of the solve
+     */
+    public void setCheckpoint(SolverCheckpoint checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    public boolean isVerificationEnabled() {
+        return verificationEnabled;
+    }
+
+    /**
+     * Check the residual of the solution (see {@link SolutionVerifier}), disabled by default. If the
+     * solution of other engine is not verified the system is solved again by the Gauss-Jordan elimination
+     * @param verificationEnabled True to check the solution
+     */
+    public void setVerificationEnabled(boolean verificationEnabled) {
+        this.verificationEnabled = verificationEnabled;
+    }
+}
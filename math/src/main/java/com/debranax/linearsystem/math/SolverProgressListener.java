@@ -0,0 +1,10 @@
+package com.debranax.linearsystem.math;
+
+public interface SolverProgressListener {
+    /**
+     * Called by the solver every time a column is eliminated (below and above the diagonal)
+     * @param eliminatedColumns Columns eliminated so far
+     * @param totalColumns Total columns to eliminate
+     */
+    void onProgress(int eliminatedColumns, int totalColumns);
+}
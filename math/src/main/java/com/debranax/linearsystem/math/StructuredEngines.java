@@ -0,0 +1,176 @@
+package com.debranax.linearsystem.math;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Engines of the solver for matrices whose structure avoids the dense elimination (see {@link SolverEngine}).
+ * The intermediate values use {@link LinearSystemUtils#WORKING_SCALE} and the solution is rounded to
+ * {@link LinearSystemUtils#SCALE}, as the one of the Gauss-Jordan elimination
+ */
+class StructuredEngines {
+
+    private StructuredEngines() {
+    }
+
+    /**
+     * Solve a diagonal matrix with one division per unknown
+     *
+     * @param augmentedMatrix Augmented matrix, it is not modified
+     * @param totalRows       Total rows of augmented matrix
+     * @param context         State of the solve
+     * @return An instance of LinearSystemInfo containing the result
+     */
+    static LinearSystemInfo solveDiagonal(final BigDecimal[][] augmentedMatrix, final int totalRows,
+                                          final SolverContext context) {
+        BigDecimal[] solution = new BigDecimal[totalRows];
+        context.startPhase();
+        for (int rowIndex = 0; rowIndex < totalRows; rowIndex++) {
+            context.checkInterrupted();
+            BigDecimal pivot = augmentedMatrix[rowIndex][rowIndex];
+            if (pivot.signum() == 0) {
+                return LinearSystemsSolver.getZeroColumnResponse(rowIndex, null);
+            }
+            solution[rowIndex] = augmentedMatrix[rowIndex][totalRows].divide(pivot, LinearSystemUtils.SCALE,
+                    RoundingMode.HALF_UP);
+            StructuredEngines.recordDivision(context, solution[rowIndex]);
+            context.columnEliminated();
+        }
+        context.endPhase(SolverMetrics.Phase.BACK_ELIMINATION);
+        return LinearSystemsSolver.getSolvedResponse(solution);
+    }
+
+    /**
+     * Solve an upper triangular matrix with back substitution or a lower triangular matrix with forward
+     * substitution
+     *
+     * @param augmentedMatrix Augmented matrix, it is not modified
+     * @param totalRows       Total rows of augmented matrix
+     * @param structure       Structure of the augmented matrix
+     * @param context         State of the solve
+     * @return An instance of LinearSystemInfo containing the result
+     */
+    static LinearSystemInfo solveTriangular(final BigDecimal[][] augmentedMatrix, final int totalRows,
+                                            final MatrixStructure structure, final SolverContext context) {
+        boolean upper = structure.isUpperTriangular();
+        BigDecimal[] solution = new BigDecimal[totalRows];
+        context.startPhase();
+        for (int step = 0; step < totalRows; step++) {
+            context.checkInterrupted();
+            int rowIndex = upper ? totalRows - 1 - step : step;
+            BigDecimal pivot = augmentedMatrix[rowIndex][rowIndex];
+            if (pivot.signum() == 0) {
+                return LinearSystemsSolver.getZeroColumnResponse(rowIndex, null);
+            }
+            int firstColumn = upper ? rowIndex + 1 : 0;
+            int lastColumn = upper ? totalRows : rowIndex;
+            solution[rowIndex] = StructuredEngines.substitute(augmentedMatrix[rowIndex], rowIndex, totalRows,
+                    firstColumn, lastColumn, solution, context);
+        }
+        context.endPhase(upper ? SolverMetrics.Phase.BACK_ELIMINATION : SolverMetrics.Phase.FORWARD_ELIMINATION);
+        return LinearSystemsSolver.getSolvedResponse(StructuredEngines.round(solution));
+    }
+
+    /**
+     * Solve a diagonally dominant banded matrix with Gaussian elimination without pivoting limited to the
+     * band (no fill-in out of it) and back substitution, O(n * lower * upper) operations
+     *
+     * @param matrix    Copy of the augmented matrix, it is modified
+     * @param totalRows Total rows of augmented matrix
+     * @param structure Structure of the augmented matrix
+     * @param context   State of the solve
+     * @return An instance of LinearSystemInfo containing the result
+     */
+    static LinearSystemInfo solveBanded(final BigDecimal[][] matrix, final int totalRows,
+                                        final MatrixStructure structure, final SolverContext context) {
+        int lowerBandwidth = structure.getLowerBandwidth();
+        int upperBandwidth = structure.getUpperBandwidth();
+        SolverMetrics metrics = context.getMetrics();
+        context.startPhase();
+        for (int columnIndex = 0; columnIndex < totalRows; columnIndex++) {
+            context.checkInterrupted();
+            BigDecimal pivot = matrix[columnIndex][columnIndex];
+            if (pivot.signum() == 0) {
+                return LinearSystemsSolver.getZeroColumnResponse(columnIndex, null);
+            }
+            int lastRow = Math.min(totalRows - 1, columnIndex + lowerBandwidth);
+            int lastColumn = Math.min(totalRows - 1, columnIndex + upperBandwidth);
+            for (int rowIndex = columnIndex + 1; rowIndex <= lastRow; rowIndex++) {
+                BigDecimal[] row = matrix[rowIndex];
+                if (row[columnIndex].signum() == 0) {
+                    continue;
+                }
+                BigDecimal factor = row[columnIndex].divide(pivot, LinearSystemUtils.WORKING_SCALE,
+                        RoundingMode.HALF_UP);
+                row[columnIndex] = BigDecimal.ZERO;
+                for (int index = columnIndex + 1; index <= lastColumn; index++) {
+                    row[index] = row[index].subtract(factor.multiply(matrix[columnIndex][index]))
+                            .setScale(LinearSystemUtils.WORKING_SCALE, RoundingMode.HALF_UP);
+                }
+                row[totalRows] = row[totalRows].subtract(factor.multiply(matrix[columnIndex][totalRows]))
+                        .setScale(LinearSystemUtils.WORKING_SCALE, RoundingMode.HALF_UP);
+                if (metrics != null) {
+                    metrics.addDivisions(1);
+                    metrics.addMultiplySubtract(lastColumn - columnIndex + 1);
+                    metrics.recordPrecision(row[totalRows]);
+                }
+            }
+            context.columnEliminated();
+        }
+        context.endPhase(SolverMetrics.Phase.FORWARD_ELIMINATION);
+
+        BigDecimal[] solution = new BigDecimal[totalRows];
+        context.startPhase();
+        for (int rowIndex = totalRows - 1; rowIndex >= 0; rowIndex--) {
+            context.checkInterrupted();
+            solution[rowIndex] = StructuredEngines.substitute(matrix[rowIndex], rowIndex, totalRows,
+                    rowIndex + 1, Math.min(totalRows, rowIndex + upperBandwidth + 1), solution, context);
+        }
+        context.endPhase(SolverMetrics.Phase.BACK_ELIMINATION);
+        return LinearSystemsSolver.getSolvedResponse(StructuredEngines.round(solution));
+    }
+
+    /**
+     * Unknown of the row once the known unknowns are substituted
+     *
+     * @param row         Row of the augmented matrix
+     * @param rowIndex    Index of the row (and of its unknown)
+     * @param totalRows   Total rows of augmented matrix (index of the constant)
+     * @param firstColumn First column of the known unknowns
+     * @param lastColumn  Column after the last known unknown
+     * @param solution    Solution with the known unknowns
+     * @param context     State of the solve
+     * @return Unknown of the row at the working scale
+     */
+    private static BigDecimal substitute(final BigDecimal[] row, final int rowIndex, final int totalRows,
+                                         final int firstColumn, final int lastColumn,
+                                         final BigDecimal[] solution, final SolverContext context) {
+        BigDecimal value = row[totalRows];
+        for (int columnIndex = firstColumn; columnIndex < lastColumn; columnIndex++) {
+            if (row[columnIndex].signum() != 0) {
+                value = value.subtract(row[columnIndex].multiply(solution[columnIndex]));
+            }
+        }
+        value = value.divide(row[rowIndex], LinearSystemUtils.WORKING_SCALE, RoundingMode.HALF_UP);
+        if (context.getMetrics() != null) {
+            context.getMetrics().addMultiplySubtract(lastColumn - firstColumn);
+        }
+        StructuredEngines.recordDivision(context, value);
+        context.columnEliminated();
+        return value;
+    }
+
+    static void recordDivision(final SolverContext context, final BigDecimal value) {
+        if (context.getMetrics() != null) {
+            context.getMetrics().addDivisions(1);
+            context.getMetrics().recordPrecision(value);
+        }
+    }
+
+    static BigDecimal[] round(final BigDecimal[] solution) {
+        for (int rowIndex = 0; rowIndex < solution.length; rowIndex++) {
+            solution[rowIndex] = solution[rowIndex].setScale(LinearSystemUtils.SCALE, RoundingMode.HALF_UP);
+        }
+        return solution;
+    }
+}
@@ -0,0 +1,84 @@
+package com.debranax.linearsystem.math;
+
+import java.math.BigDecimal;
+
+/**
+ * Toeplitz matrix (constant diagonals, a(i, j) = t(i - j)) stored as its first column and first row,
+ * O(n) memory instead of O(n^2)
+ */
+public class ToeplitzMatrix {
+    private final BigDecimal[] column;
+    private final BigDecimal[] row;
+
+    /**
+     * @param column First column: t(0), t(1), ..., t(n - 1)
+     * @param row    First row: t(0), t(-1), ..., t(-(n - 1)), its first element must be the one of the column
+     */
+    public ToeplitzMatrix(final BigDecimal[] column, final BigDecimal[] row) {
+        if (column.length == 0 || column.length != row.length) {
+            throw new IllegalArgumentException("The first column and row must have the same length");
+        }
+        if (column[0].compareTo(row[0]) != 0) {
+            throw new IllegalArgumentException("The first column and row must start with the same element");
+        }
+        this.column = column.clone();
+        this.row = row.clone();
+    }
+
+    /**
+     * @param augmentedMatrix Augmented matrix whose coefficients are a Toeplitz matrix (see
+     *                        {@link MatrixStructure#isToeplitz()}), only its first row and column are read
+     * @return Toeplitz matrix of the coefficients
+     */
+    public static ToeplitzMatrix fromAugmentedMatrix(final BigDecimal[][] augmentedMatrix) {
+        int size = LinearSystemUtils.getTotalRows(augmentedMatrix);
+        BigDecimal[] column = new BigDecimal[size];
+        BigDecimal[] row = new BigDecimal[size];
+        for (int index = 0; index < size; index++) {
+            column[index] = augmentedMatrix[index][0];
+            row[index] = augmentedMatrix[0][index];
+        }
+        return new ToeplitzMatrix(column, row);
+    }
+
+    public int getSize() {
+        return column.length;
+    }
+
+    /**
+     * @param diagonal Diagonal between -(n - 1) (last column) and n - 1 (last row), 0 is the main diagonal
+     * @return Element t(diagonal) of the diagonal
+     */
+    public BigDecimal getDiagonal(final int diagonal) {
+        return diagonal >= 0 ? column[diagonal] : row[-diagonal];
+    }
+
+    public BigDecimal get(final int rowIndex, final int columnIndex) {
+        return getDiagonal(rowIndex - columnIndex);
+    }
+
+    public boolean isSymmetric() {
+        for (int index = 1; index < column.length; index++) {
+            if (column[index].compareTo(row[index]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param constants Constants of the system
+     * @return Dense augmented matrix (n x n+1) of the system
+     */
+    public BigDecimal[][] toAugmentedMatrix(final BigDecimal[] constants) {
+        int size = getSize();
+        BigDecimal[][] augmentedMatrix = new BigDecimal[size][size + 1];
+        for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+            for (int columnIndex = 0; columnIndex < size; columnIndex++) {
+                augmentedMatrix[rowIndex][columnIndex] = get(rowIndex, columnIndex);
+            }
+            augmentedMatrix[rowIndex][size] = constants[rowIndex];
+        }
+        return augmentedMatrix;
+    }
+}
@@ -0,0 +1,147 @@
+package com.debranax.linearsystem.math;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.logging.Level;
+
+/**
+ * Levinson recursion for Toeplitz systems: O(n^2) operations and O(n) memory besides the matrix. The
+ * solution of the leading k x k system is extended to k + 1 unknowns with a forward vector f (T f = e1)
+ * and a backward vector g (T g = ek). A symmetric matrix uses the Levinson-Durbin recursion (g is f
+ * reversed) and a non-symmetric one the Levinson-Trench recursion (f and g are both updated).
+ * There is no pivoting, so the recursion breaks down if a leading principal minor is zero.
+ */
+public class ToeplitzSolver {
+
+    private ToeplitzSolver() {
+    }
+
+    /**
+     * Solve a Toeplitz system without building the dense matrix
+     *
+     * @param matrix    Toeplitz matrix of the coefficients
+     * @param constants Constants of the system
+     * @param options   Options of the solver (cancellation token, progress listener, time budget and
+     *                  metrics) or null
+     * @return An instance of LinearSystemInfo containing the result, if the recursion breaks down the
+     * dense system is solved by {@link LinearSystemsSolver}
+     */
+    public static LinearSystemInfo solve(final ToeplitzMatrix matrix, final BigDecimal[] constants,
+                                         final SolverOptions options) {
+        SolverContext context = new SolverContext(options, matrix.getSize());
+        LinearSystemInfo linearSystemInfo;
+        try {
+            linearSystemInfo = ToeplitzSolver.solve(matrix, constants, context);
+        } catch (SolverInterruptedException e) {
+            linearSystemInfo = LinearSystemsSolver.getLinearSystemInfoResponse(e.getMessage(), e.getStatusCode(),
+                    null, Level.INFO);
+        }
+        if (linearSystemInfo == null) {
+            return LinearSystemsSolver.solve(matrix.toAugmentedMatrix(constants), options);
+        }
+        linearSystemInfo.setEngine(SolverEngine.TOEPLITZ);
+        linearSystemInfo.setMetrics(context.finishMetrics());
+        return linearSystemInfo;
+    }
+
+    /**
+     * @param matrix    Toeplitz matrix of the coefficients
+     * @param constants Constants of the system
+     * @param context   State of the solve
+     * @return An instance of LinearSystemInfo containing the result, null if a leading principal minor
+     * is zero
+     */
+    static LinearSystemInfo solve(final ToeplitzMatrix matrix, final BigDecimal[] constants,
+                                  final SolverContext context) {
+        int size = matrix.getSize();
+        boolean symmetric = matrix.isSymmetric();
+        BigDecimal[] forward = new BigDecimal[size];
+        BigDecimal[] backward = symmetric ? null : new BigDecimal[size];
+        BigDecimal[] solution = new BigDecimal[size];
+        BigDecimal[] nextForward = new BigDecimal[size];
+        BigDecimal[] nextBackward = new BigDecimal[size];
+        SolverMetrics metrics = context.getMetrics();
+
+        context.startPhase();
+        context.checkInterrupted();
+        BigDecimal diagonal = matrix.getDiagonal(0);
+        if (diagonal.signum() == 0) {
+            return null;
+        }
+        forward[0] = ToeplitzSolver.divide(BigDecimal.ONE, diagonal, context);
+        if (!symmetric) {
+            backward[0] = forward[0];
+        }
+        solution[0] = ToeplitzSolver.divide(constants[0], diagonal, context);
+        context.columnEliminated();
+
+        for (int step = 1; step < size; step++) {
+            context.checkInterrupted();
+            //Last row of T(k+1) times (f, 0) and (x, 0), first row of T(k+1) times (0, g)
+            BigDecimal forwardError = BigDecimal.ZERO;
+            BigDecimal backwardError = BigDecimal.ZERO;
+            BigDecimal solutionError = BigDecimal.ZERO;
+            for (int index = 0; index < step; index++) {
+                BigDecimal element = matrix.getDiagonal(step - index);
+                forwardError = forwardError.add(element.multiply(forward[index]));
+                solutionError = solutionError.add(element.multiply(solution[index]));
+                if (!symmetric) {
+                    backwardError = backwardError.add(matrix.getDiagonal(-1 - index).multiply(backward[index]));
+                }
+            }
+            forwardError = ToeplitzSolver.round(forwardError);
+            backwardError = symmetric ? forwardError : ToeplitzSolver.round(backwardError);
+            BigDecimal denominator = BigDecimal.ONE.subtract(forwardError.multiply(backwardError));
+            if (denominator.signum() == 0) {
+                return null;
+            }
+
+            //f' = ((f, 0) - ef (0, g)) / d and g' = ((0, g) - eg (f, 0)) / d
+            for (int index = 0; index <= step; index++) {
+                BigDecimal extendedForward = index < step ? forward[index] : BigDecimal.ZERO;
+                BigDecimal extendedBackward = index > 0
+                        ? (symmetric ? forward[step - index] : backward[index - 1]) : BigDecimal.ZERO;
+                nextForward[index] = ToeplitzSolver.divide(extendedForward.subtract(
+                        forwardError.multiply(extendedBackward)), denominator, context);
+                if (!symmetric) {
+                    nextBackward[index] = ToeplitzSolver.divide(extendedBackward.subtract(
+                            backwardError.multiply(extendedForward)), denominator, context);
+                }
+            }
+            if (symmetric) {
+                for (int index = 0; index <= step; index++) {
+                    nextBackward[index] = nextForward[step - index];
+                }
+            }
+
+            //x' = (x, 0) + (b(k) - ex) g'
+            BigDecimal correction = constants[step].subtract(solutionError);
+            solution[step] = BigDecimal.ZERO;
+            for (int index = 0; index <= step; index++) {
+                solution[index] = ToeplitzSolver.round(solution[index].add(
+                        correction.multiply(nextBackward[index])));
+            }
+            System.arraycopy(nextForward, 0, forward, 0, step + 1);
+            if (!symmetric) {
+                System.arraycopy(nextBackward, 0, backward, 0, step + 1);
+            }
+            if (metrics != null) {
+                metrics.addMultiplySubtract((symmetric ? 3 : 5) * step + 1);
+            }
+            context.columnEliminated();
+        }
+        context.endPhase(SolverMetrics.Phase.FORWARD_ELIMINATION);
+        return LinearSystemsSolver.getSolvedResponse(StructuredEngines.round(solution));
+    }
+
+    private static BigDecimal divide(final BigDecimal dividend, final BigDecimal divisor,
+                                     final SolverContext context) {
+        BigDecimal quotient = dividend.divide(divisor, LinearSystemUtils.WORKING_SCALE, RoundingMode.HALF_UP);
+        StructuredEngines.recordDivision(context, quotient);
+        return quotient;
+    }
+
+    private static BigDecimal round(final BigDecimal value) {
+        return value.setScale(LinearSystemUtils.WORKING_SCALE, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,125 @@
+package com.debranax.linearsystem.math;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.logging.Level;
+
+/**
+ * Björck-Pereyra algorithm for Vandermonde systems whose row i is (1, x(i), x(i)^2, ..., x(i)^(n-1)),
+ * the coefficients of the polynomial that interpolates the points (x(i), b(i)). The divided differences
+ * of Newton's form are calculated and then converted to the monomial basis: O(n^2) operations and O(n)
+ * memory (only the nodes and the constants are used), and usually more accurate than the elimination
+ * because the ill-conditioned matrix is never formed.
+ */
+public class VandermondeSolver {
+
+    private VandermondeSolver() {
+    }
+
+    /**
+     * Solve a Vandermonde system without building the dense matrix
+     *
+     * @param nodes     Nodes x(i) of the rows
+     * @param constants Constants of the system (values of the polynomial at the nodes)
+     * @param options   Options of the solver (cancellation token, progress listener, time budget and
+     *                  metrics) or null
+     * @return An instance of LinearSystemInfo containing the result, if two nodes are equal the dense
+     * system is solved by {@link LinearSystemsSolver}
+     */
+    public static LinearSystemInfo solve(final BigDecimal[] nodes, final BigDecimal[] constants,
+                                         final SolverOptions options) {
+        SolverContext context = new SolverContext(options, 2 * nodes.length - 1);
+        LinearSystemInfo linearSystemInfo;
+        try {
+            linearSystemInfo = VandermondeSolver.solve(nodes, constants, context);
+        } catch (SolverInterruptedException e) {
+            linearSystemInfo = LinearSystemsSolver.getLinearSystemInfoResponse(e.getMessage(), e.getStatusCode(),
+                    null, Level.INFO);
+        }
+        if (linearSystemInfo == null) {
+            return LinearSystemsSolver.solve(VandermondeSolver.toAugmentedMatrix(nodes, constants), options);
+        }
+        linearSystemInfo.setEngine(SolverEngine.VANDERMONDE);
+        linearSystemInfo.setMetrics(context.finishMetrics());
+        return linearSystemInfo;
+    }
+
+    /**
+     * @param nodes     Nodes x(i) of the rows
+     * @param constants Constants of the system
+     * @param context   State of the solve
+     * @return An instance of LinearSystemInfo containing the result, null if two nodes are equal
+     */
+    static LinearSystemInfo solve(final BigDecimal[] nodes, final BigDecimal[] constants,
+                                  final SolverContext context) {
+        int size = nodes.length;
+        BigDecimal[] coefficients = constants.clone();
+        SolverMetrics metrics = context.getMetrics();
+
+        //Divided differences c(i) = f[x(i-k-1), ..., x(i)]
+        context.startPhase();
+        for (int step = 0; step < size - 1; step++) {
+            context.checkInterrupted();
+            for (int index = size - 1; index > step; index--) {
+                BigDecimal difference = nodes[index].subtract(nodes[index - step - 1]);
+                if (difference.signum() == 0) {
+                    return null;
+                }
+                coefficients[index] = coefficients[index].subtract(coefficients[index - 1])
+                        .divide(difference, LinearSystemUtils.WORKING_SCALE, RoundingMode.HALF_UP);
+                StructuredEngines.recordDivision(context, coefficients[index]);
+            }
+            context.columnEliminated();
+        }
+        context.endPhase(SolverMetrics.Phase.FORWARD_ELIMINATION);
+
+        //Newton's form to the monomial basis
+        context.startPhase();
+        for (int step = size - 2; step >= 0; step--) {
+            context.checkInterrupted();
+            for (int index = step; index < size - 1; index++) {
+                coefficients[index] = coefficients[index].subtract(nodes[step].multiply(coefficients[index + 1]))
+                        .setScale(LinearSystemUtils.WORKING_SCALE, RoundingMode.HALF_UP);
+            }
+            if (metrics != null) {
+                metrics.addMultiplySubtract(size - 1 - step);
+            }
+            context.columnEliminated();
+        }
+        context.endPhase(SolverMetrics.Phase.BACK_ELIMINATION);
+        return LinearSystemsSolver.getSolvedResponse(StructuredEngines.round(coefficients));
+    }
+
+    /**
+     * @param augmentedMatrix Augmented matrix whose coefficients are a Vandermonde matrix (see
+     *                        {@link MatrixStructure#isVandermonde()})
+     * @return Nodes x(i) of the rows, the second column
+     */
+    static BigDecimal[] getNodes(final BigDecimal[][] augmentedMatrix) {
+        int size = LinearSystemUtils.getTotalRows(augmentedMatrix);
+        BigDecimal[] nodes = new BigDecimal[size];
+        for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+            nodes[rowIndex] = size > 1 ? augmentedMatrix[rowIndex][1] : BigDecimal.ZERO;
+        }
+        return nodes;
+    }
+
+    /**
+     * @param nodes     Nodes x(i) of the rows
+     * @param constants Constants of the system
+     * @return Dense augmented matrix (n x n+1) of the system
+     */
+    public static BigDecimal[][] toAugmentedMatrix(final BigDecimal[] nodes, final BigDecimal[] constants) {
+        int size = nodes.length;
+        BigDecimal[][] augmentedMatrix = new BigDecimal[size][size + 1];
+        for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+            augmentedMatrix[rowIndex][0] = BigDecimal.ONE;
+            for (int columnIndex = 1; columnIndex < size; columnIndex++) {
+                augmentedMatrix[rowIndex][columnIndex] = augmentedMatrix[rowIndex][columnIndex - 1]
+                        .multiply(nodes[rowIndex]);
+            }
+            augmentedMatrix[rowIndex][size] = constants[rowIndex];
+        }
+        return augmentedMatrix;
+    }
+}
@@ -0,0 +1,62 @@
+package com.debranax.linearsystem.math;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernels with the Vector API (SIMD), only for the headless JVM: the :vector module is not part of the
+ * Android build, it is compiled with --add-modules jdk.incubator.vector (JDK 17) and loaded by
+ * {@link RowKernelsSelector} when the module is present
+ */
+public class VectorRowKernels implements RowKernels {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public String getName() {
+        return "vector-" + SPECIES.vectorBitSize();
+    }
+
+    @Override
+    public void axpy(final double alpha, final double[] x, final int xOffset, final double[] y, final int yOffset,
+                     final int length) {
+        if (alpha == 0) {
+            return;
+        }
+        int upperBound = SPECIES.loopBound(length);
+        int index = 0;
+        for (; index < upperBound; index += SPECIES.length()) {
+            DoubleVector xVector = DoubleVector.fromArray(SPECIES, x, xOffset + index);
+            DoubleVector yVector = DoubleVector.fromArray(SPECIES, y, yOffset + index);
+            xVector.mul(alpha).add(yVector).intoArray(y, yOffset + index);
+        }
+        for (; index < length; index++) {
+            y[yOffset + index] += alpha * x[xOffset + index];
+        }
+    }
+
+    @Override
+    public double dot(final double[] x, final int xOffset, final double[] y, final int yOffset, final int length) {
+        int upperBound = SPECIES.loopBound(length);
+        int index = 0;
+        DoubleVector sum = DoubleVector.zero(SPECIES);
+        for (; index < upperBound; index += SPECIES.length()) {
+            DoubleVector xVector = DoubleVector.fromArray(SPECIES, x, xOffset + index);
+            DoubleVector yVector = DoubleVector.fromArray(SPECIES, y, yOffset + index);
+            sum = xVector.fma(yVector, sum);
+        }
+        double result = sum.reduceLanes(VectorOperators.ADD);
+        for (; index < length; index++) {
+            result += x[xOffset + index] * y[yOffset + index];
+        }
+        return result;
+    }
+
+    @Override
+    public void rank1Update(final double[][] matrix, final int firstRow, final int lastRow, final int firstColumn,
+                            final int lastColumn, final double[] column, final double[] row) {
+        for (int rowIndex = firstRow; rowIndex < lastRow; rowIndex++) {
+            axpy(-column[rowIndex], row, firstColumn, matrix[rowIndex], firstColumn, lastColumn - firstColumn);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.debranax.linearsystem;
+
+import com.debranax.linearsystem.math.*;
+
+import org.junit.*;
+
+import java.util.*;
+
+public class VectorRowKernelsTest {
+
+    @Before
+    public void vectorModule() {
+        //The test task adds the module, a JVM without it keeps the scalar kernels
+        Assume.assumeTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent());
+    }
+
+    @Test
+    public void sameResultsAsScalar() {
+        RowKernels scalar = new ScalarRowKernels();
+        RowKernels vector = new VectorRowKernels();
+        Random random = new Random(7);
+        //Lengths around the vector length, the tail is done without vectors
+        for (int length = 0; length < 40; length++) {
+            double[] x = new double[length + 3];
+            double[] y = new double[length + 3];
+            for (int index = 0; index < x.length; index++) {
+                x[index] = random.nextInt(21) - 10;
+                y[index] = random.nextInt(21) - 10;
+            }
+            double[] scalarY = y.clone();
+            scalar.axpy(1.5, x, 1, scalarY, 2, length);
+            vector.axpy(1.5, x, 1, y, 2, length);
+            Assert.assertArrayEquals(scalarY, y, 0);
+            //Integer values, the order of the sum does not change the result
+            Assert.assertEquals(scalar.dot(x, 3, y, 0, length), vector.dot(x, 3, y, 0, length), 0);
+        }
+
+        double[][] matrix = {{1, 2, 3}, {4, 5, 6}, {7, 8, 9}};
+        vector.rank1Update(matrix, 1, 3, 0, 3, new double[]{0, 4, 7}, matrix[0]);
+        Assert.assertArrayEquals(new double[]{0, -3, -6}, matrix[1], 0);
+        Assert.assertArrayEquals(new double[]{0, -6, -12}, matrix[2], 0);
+    }
+
+    @Test
+    public void selectorLoadsVectorKernels() {
+        List<RowKernels> kernels = RowKernelsSelector.getAvailableKernels();
+        Assert.assertEquals(2, kernels.size());
+        Assert.assertTrue(kernels.get(0) instanceof ScalarRowKernels);
+        Assert.assertTrue(kernels.get(1) instanceof VectorRowKernels);
+        //The fastest one in the trial
+        String selected = RowKernelsSelector.getRowKernels().getName();
+        Assert.assertTrue(selected.equals(kernels.get(0).getName()) || selected.equals(kernels.get(1).getName()));
+    }
+}